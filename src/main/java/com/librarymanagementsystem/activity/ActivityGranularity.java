@@ -0,0 +1,49 @@
+package com.librarymanagementsystem.activity;
+
+import java.time.Duration;
+
+/**
+ * The bucket sizes of the activity rollups.
+ * <p>
+ * Each granularity is counted in memory in a ring of buckets that is large enough to keep closed
+ * buckets until they are flushed, even if a few flushes fail.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+public enum ActivityGranularity {
+
+    /**
+     * One bucket per minute, two hours kept in memory.
+     */
+    MINUTE(Duration.ofMinutes(1), 120),
+
+    /**
+     * One bucket per hour, two days kept in memory.
+     */
+    HOUR(Duration.ofHours(1), 48);
+
+    private final Duration bucketLength;
+
+    private final int buckets;
+
+    ActivityGranularity(Duration bucketLength, int buckets) {
+        this.bucketLength = bucketLength;
+        this.buckets = buckets;
+    }
+
+    /**
+     * @return the length of one bucket
+     */
+    public Duration getBucketLength() {
+        return bucketLength;
+    }
+
+    /**
+     * @return the number of buckets kept in memory
+     */
+    public int getBuckets() {
+        return buckets;
+    }
+}
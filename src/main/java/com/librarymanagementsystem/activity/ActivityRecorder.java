@@ -0,0 +1,85 @@
+package com.librarymanagementsystem.activity;
+
+import com.librarymanagementsystem.event.BookEvent;
+import com.librarymanagementsystem.event.BookEventType;
+import com.librarymanagementsystem.event.BorrowerEvent;
+import com.librarymanagementsystem.event.BorrowerEventType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Counts committed catalog activity per minute and per hour.
+ * <p>
+ * Every committed {@link BookEvent} and {@link BorrowerEvent} is counted into one {@link ActivityRing}
+ * per {@link ActivityGranularity}. Closed buckets are written to the {@code activity_rollup} table by
+ * {@link com.librarymanagementsystem.service.ActivityService#flush()}.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+@Component
+public class ActivityRecorder {
+
+    private final Map<ActivityGranularity, ActivityRing> rings = new EnumMap<>(ActivityGranularity.class);
+
+    public ActivityRecorder() {
+        for (ActivityGranularity granularity : ActivityGranularity.values()) {
+            rings.put(granularity, new ActivityRing(granularity));
+        }
+    }
+
+    /**
+     * Counts activity at the current time.
+     *
+     * @param type   the kind of activity
+     * @param amount the number of occurrences
+     */
+    public void record(ActivityType type, long amount) {
+        long now = System.currentTimeMillis();
+        for (ActivityRing ring : rings.values()) {
+            ring.record(type, amount, now);
+        }
+    }
+
+    /**
+     * @param granularity the bucket size
+     * @return the ring counting the given granularity
+     */
+    public ActivityRing getRing(ActivityGranularity granularity) {
+        return rings.get(granularity);
+    }
+
+    /**
+     * Counts a committed book change.
+     *
+     * @param event the book change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookEvent(BookEvent event) {
+        if (event.getType() == BookEventType.BORROWED) {
+            record(ActivityType.BORROWED, 1);
+        } else if (event.getType() == BookEventType.RETURNED) {
+            record(ActivityType.RETURNED, 1);
+        } else if (event.getType() == BookEventType.CREATED) {
+            record(ActivityType.CREATED, 1);
+        } else if (event.getType() == BookEventType.DELETED) {
+            record(ActivityType.DELETED, 1);
+        }
+    }
+
+    /**
+     * Counts the books deleted together with a borrower.
+     *
+     * @param event the borrower change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBorrowerEvent(BorrowerEvent event) {
+        if (event.getType() == BorrowerEventType.DELETED && !event.getRemovedBookIds().isEmpty()) {
+            record(ActivityType.DELETED, event.getRemovedBookIds().size());
+        }
+    }
+}
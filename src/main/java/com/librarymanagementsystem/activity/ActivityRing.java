@@ -0,0 +1,154 @@
+package com.librarymanagementsystem.activity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Ring buffer of activity counters for one {@link ActivityGranularity}.
+ * <p>
+ * All counters live in one {@link AtomicLongArray}, one row of {@link ActivityType} counters per slot,
+ * and each slot is tagged with the epoch (bucket lengths since the Unix epoch) it currently counts, so
+ * buckets begin on whole UTC minutes or hours whatever the time zone of the server.
+ * A free slot is claimed for a new epoch with a compare-and-set, so recording never locks. A slot is
+ * only reused once its closed bucket has been flushed and released; if flushing falls behind by a
+ * whole ring, new activity for that slot is dropped and counted in {@link #getDropped()} rather than
+ * mixed into the old bucket.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+public class ActivityRing {
+
+    private static final long FREE = -1;
+
+    private static final int TYPES = ActivityType.values().length;
+
+    private final long bucketMillis;
+
+    private final AtomicLongArray epochs;
+
+    private final AtomicLongArray counts;
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * @param granularity the bucket size and number of slots
+     */
+    public ActivityRing(ActivityGranularity granularity) {
+        this.bucketMillis = granularity.getBucketLength().toMillis();
+        this.epochs = new AtomicLongArray(granularity.getBuckets());
+        this.counts = new AtomicLongArray(granularity.getBuckets() * TYPES);
+        for (int slot = 0; slot < epochs.length(); slot++) {
+            epochs.set(slot, FREE);
+        }
+    }
+
+    /**
+     * Counts activity in the bucket of the given time.
+     *
+     * @param type      the kind of activity
+     * @param amount    the number of occurrences
+     * @param nowMillis the time of the activity in milliseconds since the Unix epoch
+     */
+    public void record(ActivityType type, long amount, long nowMillis) {
+        long epoch = nowMillis / bucketMillis;
+        int slot = (int) (epoch % epochs.length());
+        while (true) {
+            long current = epochs.get(slot);
+            if (current == epoch) {
+                break;
+            }
+            if (current != FREE) {
+                dropped.addAndGet(amount);
+                return;
+            }
+            if (epochs.compareAndSet(slot, FREE, epoch)) {
+                break;
+            }
+        }
+        counts.addAndGet(slot * TYPES + type.ordinal(), amount);
+    }
+
+    /**
+     * Returns the buckets that closed before the given time and are not released yet.
+     * The buckets stay in the ring until they are {@linkplain #release(Bucket) released}.
+     *
+     * @param beforeMillis only buckets ending at or before this time are returned
+     * @return the closed buckets, oldest first
+     */
+    public List<Bucket> closedBuckets(long beforeMillis) {
+        long before = beforeMillis / bucketMillis;
+        List<Bucket> closed = new ArrayList<>();
+        for (int slot = 0; slot < epochs.length(); slot++) {
+            long epoch = epochs.get(slot);
+            if (epoch != FREE && epoch < before) {
+                long[] bucketCounts = new long[TYPES];
+                for (int type = 0; type < TYPES; type++) {
+                    bucketCounts[type] = counts.get(slot * TYPES + type);
+                }
+                closed.add(new Bucket(slot, epoch, epoch * bucketMillis, bucketCounts));
+            }
+        }
+        closed.sort((a, b) -> Long.compare(a.epoch, b.epoch));
+        return closed;
+    }
+
+    /**
+     * Frees the slot of a flushed bucket for reuse. Callers should only flush buckets that closed at
+     * least one bucket length ago, so that no late increment races with the reset.
+     *
+     * @param bucket a bucket returned by {@link #closedBuckets(long)}
+     */
+    public void release(Bucket bucket) {
+        for (int type = 0; type < TYPES; type++) {
+            counts.set(bucket.slot * TYPES + type, 0);
+        }
+        epochs.compareAndSet(bucket.slot, bucket.epoch, FREE);
+    }
+
+    /**
+     * @return the number of occurrences dropped because their slot was not flushed yet
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * The counts of one closed bucket.
+     */
+    public static final class Bucket {
+
+        private final int slot;
+
+        private final long epoch;
+
+        private final long startMillis;
+
+        private final long[] counts;
+
+        private Bucket(int slot, long epoch, long startMillis, long[] counts) {
+            this.slot = slot;
+            this.epoch = epoch;
+            this.startMillis = startMillis;
+            this.counts = counts;
+        }
+
+        /**
+         * @return the start of the bucket in milliseconds since the Unix epoch
+         */
+        public long getStartMillis() {
+            return startMillis;
+        }
+
+        /**
+         * @param type the kind of activity
+         * @return the number of occurrences of the given kind in the bucket
+         */
+        public long getCount(ActivityType type) {
+            return counts[type.ordinal()];
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.librarymanagementsystem.activity;
+
+/**
+ * The kinds of catalog activity counted in the activity rollups.
+ * <p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ * </p>
+ */
+public enum ActivityType {
+
+    /**
+     * A book was borrowed.
+     */
+    BORROWED,
+
+    /**
+     * A borrowed book was returned.
+     */
+    RETURNED,
+
+    /**
+     * A book was added to the catalog.
+     */
+    CREATED,
+
+    /**
+     * A book was removed from the catalog.
+     */
+    DELETED
+}
@@ -0,0 +1,78 @@
+package com.librarymanagementsystem.catalog;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable catalog entry of a book.
+ * <p>
+ * A {@code BookRecord} holds the columns of the {@code book} table that in-process indexes and
+ * the catalog snapshot need, without the JPA state of the {@link com.librarymanagementsystem.model.Book} entity.
+ * In particular the borrower is held by id, so a record never references a lazy borrower proxy.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+@Value
+@Builder
+@AllArgsConstructor
+public class BookRecord implements BookRecordView {
+
+    /**
+     * The unique identifier of the book.
+     */
+    Long id;
+
+    /**
+     * The ISBN of the book.
+     */
+    String isbn;
+
+    /**
+     * The title of the book.
+     */
+    String title;
+
+    /**
+     * The author of the book.
+     */
+    String author;
+
+    /**
+     * The id of the borrower holding the book, or {@code null} if the book is available.
+     */
+    Long borrowerId;
+
+    /**
+     * The date and time of the last update of the book row.
+     */
+    LocalDateTime lastUpdated;
+
+    /**
+     * The library branch owning the book.
+     */
+    String branchId;
+
+    /**
+     * The optimistic locking version of the book row.
+     */
+    Long version;
+
+    /**
+     * Copies a view into an immutable record.
+     *
+     * @param view the view to copy
+     * @return a record with the columns of the view
+     */
+    public static BookRecord copyOf(BookRecordView view) {
+        if (view instanceof BookRecord record) {
+            return record;
+        }
+        return new BookRecord(view.getId(), view.getIsbn(), view.getTitle(), view.getAuthor(), view.getBorrowerId(),
+                view.getLastUpdated(), view.getBranchId(), view.getVersion());
+    }
+}
@@ -0,0 +1,48 @@
+package com.librarymanagementsystem.catalog;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only access to the catalog columns of a book.
+ * <p>
+ * Implemented by the immutable {@link BookRecord} and by the cursor of the {@link OffHeapRecordStore},
+ * which reads the columns straight from off-heap memory. A view handed to a reader by the
+ * {@link CatalogIndex} is only valid during that call and must not be retained.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+public interface BookRecordView {
+
+    Long getId();
+
+    String getIsbn();
+
+    String getTitle();
+
+    String getAuthor();
+
+    Long getBorrowerId();
+
+    LocalDateTime getLastUpdated();
+
+    String getBranchId();
+
+    Long getVersion();
+
+    /**
+     * @return {@code true} if the book is borrowed
+     */
+    default boolean isBorrowed() {
+        return getBorrowerId() != null;
+    }
+
+    /**
+     * @param branchId a branch id, or {@code null} for all branches
+     * @return {@code true} if the book belongs to the given branch
+     */
+    default boolean belongsTo(String branchId) {
+        return branchId == null || branchId.equals(getBranchId());
+    }
+}
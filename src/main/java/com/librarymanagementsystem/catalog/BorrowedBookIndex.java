@@ -0,0 +1,276 @@
+package com.librarymanagementsystem.catalog;
+
+import com.librarymanagementsystem.event.BookEvent;
+import com.librarymanagementsystem.event.BookEventType;
+import com.librarymanagementsystem.event.BorrowerEvent;
+import com.librarymanagementsystem.event.BorrowerEventType;
+import com.librarymanagementsystem.repository.BookRepository;
+import com.librarymanagementsystem.repository.projection.BookBranchView;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process index of the ids of all currently borrowed books, held in one {@link IdBitmap} per library branch.
+ * <p>
+ * The bitmap is built at startup from the {@code borrower_id} column in keyset-ordered chunks of ids,
+ * kept in sync by the {@link BookEvent}s and {@link BorrowerEvent}s of this node, and caught up with a
+ * periodic delta query on {@code last_updated_on} for borrows and returns made by other nodes. It serves
+ * availability filters and bulk availability checks without reading the book table. Readers must check
+ * {@link #isReady()} and fall back to the database while the bitmap is being built.
+ * </p>
+ * <p>
+ * Books never change their branch, so a borrowed id is added to the bitmap of its branch, and listing the
+ * borrowed books of a branch only walks the ids of that branch. Ids are unique across branches, so returns
+ * and deletions, which do not always carry the branch, remove the id from every bitmap.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+@Component
+@Slf4j
+public class BorrowedBookIndex implements ApplicationRunner {
+
+    // Overlap of every delta query, covering transactions that were still in flight at the previous sync.
+    private static final Duration SYNC_MARGIN = Duration.ofMinutes(1);
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${library-system.catalog.chunk-size:10000}")
+    private int chunkSize = 10000;
+
+    // Guarded by the lock, like the bitmaps it holds.
+    private final Map<String, IdBitmap> borrowedByBranch = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile boolean ready;
+
+    // Time up to which the bitmap is known to contain every borrow and return.
+    private volatile LocalDateTime syncedUntil;
+
+    /**
+     * Builds the bitmap once the application context is ready to serve.
+     *
+     * @param args the application arguments
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        Gauge.builder("library.catalog.borrowed.bytes", this, BorrowedBookIndex::sizeInBytes)
+                .description("Memory held by the bitmap of borrowed book ids")
+                .register(meterRegistry);
+        build();
+    }
+
+    /**
+     * Loads the ids of all borrowed books from the database.
+     */
+    public void build() {
+        long start = System.nanoTime();
+        LocalDateTime startedOn = LocalDateTime.now();
+        long afterId = 0;
+        List<BookBranchView> books;
+        while (!(books = bookRepository.findBorrowedIdsWithBranch(afterId, PageRequest.of(0, chunkSize))).isEmpty()) {
+            lock.writeLock().lock();
+            try {
+                books.forEach(book -> bitmapOf(book.getBranchId()).add(book.getId()));
+            } finally {
+                lock.writeLock().unlock();
+            }
+            afterId = books.get(books.size() - 1).getId();
+        }
+
+        // Returns committed while the chunks were read may have been overtaken by an older chunk.
+        applyDelta(startedOn.minus(SYNC_MARGIN));
+        syncedUntil = startedOn;
+        ready = true;
+        log.info("Borrowed book bitmap ready, books:{}, bytes:{}, took:{}ms", cardinality(), sizeInBytes(),
+                Duration.ofNanos(System.nanoTime() - start).toMillis());
+    }
+
+    /**
+     * Applies the borrows and returns made since the last sync, including those made by other nodes.
+     */
+    @Scheduled(fixedDelayString = "${library-system.catalog.refresh-interval:PT30S}",
+            initialDelayString = "${library-system.catalog.refresh-interval:PT30S}")
+    public void refresh() {
+        if (!ready) {
+            return;
+        }
+        LocalDateTime startedOn = LocalDateTime.now();
+        LocalDateTime since = syncedUntil.minus(SYNC_MARGIN);
+        applyDelta(since);
+        List<Long> deleted = bookRepository.findIdsDeletedSince(since);
+        update(null, List.of(), deleted);
+        syncedUntil = startedOn;
+    }
+
+    /**
+     * @return {@code true} once the bitmap has been fully built
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * @param bookId the id of a book
+     * @return {@code true} if the book is borrowed
+     */
+    public boolean isBorrowed(long bookId) {
+        lock.readLock().lock();
+        try {
+            return borrowedByBranch.values().stream().anyMatch(borrowed -> borrowed.contains(bookId));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param branchId the library branch, or {@code null} for all branches
+     * @return the ids of the borrowed books of the branch, in ascending order
+     */
+    public List<Long> borrowedIds(String branchId) {
+        lock.readLock().lock();
+        try {
+            if (branchId != null) {
+                IdBitmap borrowed = borrowedByBranch.get(branchId);
+                List<Long> ids = new ArrayList<>(borrowed == null ? 0 : (int) borrowed.cardinality());
+                if (borrowed != null) {
+                    borrowed.forEach(ids::add);
+                }
+                return ids;
+            }
+            List<Long> ids = new ArrayList<>((int) borrowedByBranch.values().stream().mapToLong(IdBitmap::cardinality).sum());
+            borrowedByBranch.values().forEach(borrowed -> borrowed.forEach(ids::add));
+            ids.sort(null);
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of borrowed books of all branches
+     */
+    public long cardinality() {
+        lock.readLock().lock();
+        try {
+            return borrowedByBranch.values().stream().mapToLong(IdBitmap::cardinality).sum();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the approximate number of bytes held by the bitmaps
+     */
+    public long sizeInBytes() {
+        lock.readLock().lock();
+        try {
+            return borrowedByBranch.values().stream().mapToLong(IdBitmap::sizeInBytes).sum();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Applies a committed borrow or return, or the deletion of a borrowed book.
+     *
+     * @param event the book change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookEvent(BookEvent event) {
+        Long bookId = event.getBook().getId();
+        if (event.getType() == BookEventType.BORROWED) {
+            update(event.getBook().getBranchId(), List.of(bookId), List.of());
+        } else if (event.getType() == BookEventType.RETURNED || event.getType() == BookEventType.DELETED) {
+            update(null, List.of(), List.of(bookId));
+        }
+    }
+
+    /**
+     * Removes the books deleted together with a borrower.
+     *
+     * @param event the borrower change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBorrowerEvent(BorrowerEvent event) {
+        if (event.getType() == BorrowerEventType.DELETED) {
+            update(null, List.of(), event.getRemovedBookIds());
+        }
+    }
+
+    private void applyDelta(LocalDateTime since) {
+        long afterId = 0;
+        List<BookRecord> chunk;
+        while (!(chunk = bookRepository.findRecordsUpdatedSince(since, afterId, PageRequest.of(0, chunkSize))).isEmpty()) {
+            List<Long> availableIds = new ArrayList<>();
+            lock.writeLock().lock();
+            try {
+                for (BookRecord record : chunk) {
+                    if (record.getBorrowerId() != null) {
+                        bitmapOf(record.getBranchId()).add(record.getId());
+                    } else {
+                        availableIds.add(record.getId());
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            update(null, List.of(), availableIds);
+            afterId = chunk.get(chunk.size() - 1).getId();
+        }
+    }
+
+    /**
+     * Adds borrowed ids to the bitmap of their branch and removes available ids from every bitmap.
+     *
+     * @param branchId     the branch of the borrowed ids, unused if there are none
+     * @param borrowedIds  the ids of books that are borrowed
+     * @param availableIds the ids of books that are no longer borrowed
+     */
+    private void update(String branchId, Collection<Long> borrowedIds, Collection<Long> availableIds) {
+        lock.writeLock().lock();
+        try {
+            if (!borrowedIds.isEmpty()) {
+                IdBitmap borrowed = bitmapOf(branchId);
+                borrowedIds.forEach(borrowed::add);
+            }
+            for (IdBitmap borrowed : borrowedByBranch.values()) {
+                availableIds.forEach(borrowed::remove);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the bitmap of a branch, creating it if needed. The caller must hold the write lock.
+     */
+    private IdBitmap bitmapOf(String branchId) {
+        return borrowedByBranch.computeIfAbsent(branchId, branch -> new IdBitmap());
+    }
+}
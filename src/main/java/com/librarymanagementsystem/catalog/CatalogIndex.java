@@ -0,0 +1,392 @@
+package com.librarymanagementsystem.catalog;
+
+import com.librarymanagementsystem.event.BookEvent;
+import com.librarymanagementsystem.event.BookEventType;
+import com.librarymanagementsystem.event.BorrowerEvent;
+import com.librarymanagementsystem.event.BorrowerEventType;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.util.AbstractCollection;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * In-process index of the book catalog, keyed by book id.
+ * <p>
+ * The index is filled at startup by {@link CatalogSnapshotService}, from the last snapshot file when one
+ * exists, and is then kept up to date from the {@link BookEvent}s and {@link BorrowerEvent}s of this node
+ * and a periodic delta query for changes made elsewhere. Readers must check {@link #isReady()} and fall
+ * back to the database while the index is still warming up.
+ * </p>
+ * <p>
+ * The records are also indexed by their normalized {@link Isbn} key in a {@link LongMultiMap}, which
+ * answers ISBN lookups and duplicate checks without a database round trip. Records and ISBN entries are
+ * guarded by one read-write lock, so a record and its ISBN entry always change together.
+ * </p>
+ * <p>
+ * The records are held on the heap by default. With {@code library-system.catalog.off-heap.enabled} they
+ * are held in an {@link OffHeapRecordStore} instead, which keeps a catalog of millions of books out of the
+ * garbage collected heap, and book reads are then served from the index, see {@link #isServingReads()}.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+@Component
+public class CatalogIndex {
+
+    // Number of records copied per lock acquisition while iterating over all records.
+    private static final int ITERATION_CHUNK = 1024;
+
+    // Holds the records off-heap and serves book reads from them.
+    @Value("${library-system.catalog.off-heap.enabled:false}")
+    private boolean offHeap;
+
+    // Size of an off-heap memory segment.
+    @Value("${library-system.catalog.off-heap.segment-size:64MB}")
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+    private CatalogRecordStore store = new HeapRecordStore();
+
+    private final LongMultiMap idsByIsbn = new LongMultiMap(1024);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile boolean ready;
+
+    @PostConstruct
+    void init() {
+        if (offHeap) {
+            store = new OffHeapRecordStore(Math.toIntExact(segmentSize.toBytes()));
+        }
+    }
+
+    /**
+     * @return {@code true} once the index has been fully loaded
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * @return {@code true} if the records are held off-heap and the index is fully loaded, so that book
+     * reads may be served from it
+     */
+    public boolean isServingReads() {
+        return offHeap && ready;
+    }
+
+    /**
+     * Marks the index as fully loaded.
+     */
+    void markReady() {
+        ready = true;
+    }
+
+    /**
+     * Returns the record of the given book.
+     *
+     * @param id the id of the book
+     * @return the record, or {@code null} if the book is not in the index
+     */
+    public BookRecord get(Long id) {
+        return read(id, BookRecord::copyOf);
+    }
+
+    /**
+     * Returns the records of the given books that are in the index.
+     *
+     * @param ids the ids of the books
+     * @return the found records keyed by id
+     */
+    public Map<Long, BookRecord> getAll(Collection<Long> ids) {
+        Map<Long, BookRecord> found = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            for (Long id : ids) {
+                BookRecord record = store.read(id, BookRecord::copyOf);
+                if (record != null) {
+                    found.put(id, record);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return found;
+    }
+
+    /**
+     * Reads the record of the given book, without copying it.
+     *
+     * @param id     the id of the book
+     * @param reader maps the view of the record to the result; the view must not be retained
+     * @return the result of the reader, or {@code null} if the book is not in the index
+     */
+    public <T> T read(long id, Function<? super BookRecordView, T> reader) {
+        lock.readLock().lock();
+        try {
+            return store.read(id, reader);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reads the records matching a filter, without copying them.
+     * <p>
+     * Like {@link #records()}, the scan is weakly consistent: the ids are taken first and the records are
+     * read in chunks, so writers wait for one chunk at most. Records removed in the meantime are skipped.
+     * </p>
+     *
+     * @param filter selects the records to read
+     * @param reader maps the view of a selected record to a result; the view must not be retained
+     * @return the results, in ascending id order
+     */
+    public <T> List<T> readAll(Predicate<? super BookRecordView> filter, Function<? super BookRecordView, T> reader) {
+        long[] ids = ids();
+        List<T> results = new ArrayList<>();
+        for (int from = 0; from < ids.length; from += ITERATION_CHUNK) {
+            int to = Math.min(from + ITERATION_CHUNK, ids.length);
+            lock.readLock().lock();
+            try {
+                store.forEach(ids, from, to, record -> {
+                    if (filter.test(record)) {
+                        results.add(reader.apply(record));
+                    }
+                });
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Returns the records of the books with the given ISBN, in all branches.
+     *
+     * @param isbnKey the normalized ISBN, see {@link Isbn#toKey(String)}
+     * @return the records, possibly empty
+     */
+    public List<BookRecord> findByIsbn(long isbnKey) {
+        List<BookRecord> found = new ArrayList<>(1);
+        lock.readLock().lock();
+        try {
+            idsByIsbn.forEach(isbnKey, id -> {
+                BookRecord record = store.read(id, BookRecord::copyOf);
+                if (record != null) {
+                    found.add(record);
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        return found;
+    }
+
+    /**
+     * Adds or replaces a record, unless the index already holds a more recent version of it.
+     *
+     * @param record the record to store
+     */
+    public void put(BookRecord record) {
+        lock.writeLock().lock();
+        try {
+            BookRecord current = store.read(record.getId(), BookRecord::copyOf);
+            if (current != null && isNewer(current, record)) {
+                return;
+            }
+            store.put(record);
+            if (current != null) {
+                idsByIsbn.remove(Isbn.toKey(current.getIsbn()), current.getId());
+            }
+            long isbnKey = Isbn.toKey(record.getIsbn());
+            if (isbnKey != Isbn.INVALID) {
+                idsByIsbn.put(isbnKey, record.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the record of the given book.
+     *
+     * @param id the id of the book
+     */
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            String isbn = store.read(id, BookRecordView::getIsbn);
+            if (store.remove(id)) {
+                idsByIsbn.remove(Isbn.toKey(isbn), id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes all records.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            store.clear();
+            idsByIsbn.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of records in the index
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return store.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the approximate number of bytes held by the ISBN index
+     */
+    public long isbnIndexSizeInBytes() {
+        lock.readLock().lock();
+        try {
+            return idsByIsbn.sizeInBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of bytes of off-heap memory held by the records, {@code 0} when they are on the heap
+     */
+    public long offHeapSizeInBytes() {
+        lock.readLock().lock();
+        try {
+            return store.offHeapBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the ids of all records, in ascending order
+     */
+    public long[] ids() {
+        long[] ids;
+        lock.readLock().lock();
+        try {
+            ids = new long[store.size()];
+            int[] count = {0};
+            store.forEachId(id -> ids[count[0]++] = id);
+        } finally {
+            lock.readLock().unlock();
+        }
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    /**
+     * Returns a weakly consistent, unmodifiable view of all records, in ascending id order.
+     * <p>
+     * The ids are taken when the view is created; the records are copied in chunks while iterating, so
+     * writers are never blocked for long. Records removed in the meantime are skipped.
+     * </p>
+     *
+     * @return the records
+     */
+    public Collection<BookRecord> records() {
+        long[] ids = ids();
+        return new AbstractCollection<>() {
+
+            @Override
+            public Iterator<BookRecord> iterator() {
+                return new Iterator<>() {
+
+                    private int next;
+
+                    private final ArrayDeque<BookRecord> chunk = new ArrayDeque<>(ITERATION_CHUNK);
+
+                    @Override
+                    public boolean hasNext() {
+                        while (chunk.isEmpty() && next < ids.length) {
+                            int end = Math.min(next + ITERATION_CHUNK, ids.length);
+                            lock.readLock().lock();
+                            try {
+                                store.forEach(ids, next, end, record -> chunk.add(BookRecord.copyOf(record)));
+                            } finally {
+                                lock.readLock().unlock();
+                            }
+                            next = end;
+                        }
+                        return !chunk.isEmpty();
+                    }
+
+                    @Override
+                    public BookRecord next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        return chunk.poll();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return ids.length;
+            }
+        };
+    }
+
+    /**
+     * Applies a committed book change to the index.
+     *
+     * @param event the book change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookEvent(BookEvent event) {
+        if (event.getType() == BookEventType.DELETED) {
+            remove(event.getBook().getId());
+        } else {
+            put(event.getBook());
+        }
+    }
+
+    /**
+     * Removes the books deleted together with a borrower.
+     *
+     * @param event the borrower change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBorrowerEvent(BorrowerEvent event) {
+        if (event.getType() == BorrowerEventType.DELETED) {
+            event.getRemovedBookIds().forEach(this::remove);
+        }
+    }
+
+    private static boolean isNewer(BookRecord current, BookRecord candidate) {
+        return current.getLastUpdated() != null && candidate.getLastUpdated() != null
+                && current.getLastUpdated().isAfter(candidate.getLastUpdated());
+    }
+}
@@ -0,0 +1,83 @@
+package com.librarymanagementsystem.catalog;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+
+/**
+ * Storage of the records of the {@link CatalogIndex}, keyed by book id.
+ * <p>
+ * Implementations are not thread-safe; the {@link CatalogIndex} guards them with a read-write lock.
+ * Views passed to readers and consumers are only valid during the call.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ * @see HeapRecordStore
+ * @see OffHeapRecordStore
+ */
+interface CatalogRecordStore {
+
+    /**
+     * Reads the record of a book.
+     *
+     * @param id     the id of the book
+     * @param reader maps the view of the record to the result
+     * @return the result of the reader, or {@code null} if the book is not stored
+     */
+    <T> T read(long id, Function<? super BookRecordView, T> reader);
+
+    /**
+     * Passes every record to the given consumer, in no particular order.
+     *
+     * @param consumer the consumer of the records
+     */
+    void forEach(Consumer<? super BookRecordView> consumer);
+
+    /**
+     * Passes the stored records of the given ids to the given consumer, in the order of the ids.
+     *
+     * @param ids      the ids of the books
+     * @param from     the index of the first id, inclusive
+     * @param to       the index of the last id, exclusive
+     * @param consumer the consumer of the records
+     */
+    void forEach(long[] ids, int from, int to, Consumer<? super BookRecordView> consumer);
+
+    /**
+     * Passes the id of every record to the given consumer, in no particular order.
+     *
+     * @param consumer the consumer of the ids
+     */
+    void forEachId(LongConsumer consumer);
+
+    /**
+     * Adds or replaces the record of a book.
+     *
+     * @param record the record to store
+     */
+    void put(BookRecord record);
+
+    /**
+     * Removes the record of a book.
+     *
+     * @param id the id of the book
+     * @return {@code true} if the book was stored
+     */
+    boolean remove(long id);
+
+    /**
+     * Removes all records.
+     */
+    void clear();
+
+    /**
+     * @return the number of records
+     */
+    int size();
+
+    /**
+     * @return the number of bytes of off-heap memory held by the store
+     */
+    long offHeapBytes();
+}
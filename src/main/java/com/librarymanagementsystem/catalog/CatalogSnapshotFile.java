@@ -0,0 +1,230 @@
+package com.librarymanagementsystem.catalog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.function.Consumer;
+
+/**
+ * Reader and writer of the binary catalog snapshot file.
+ * <p>
+ * The file starts with a fixed header followed by one variable length entry per book, all big-endian:
+ * <pre>
+ * header: int magic ("LMSC"), int version, long snapshot time, long record count
+ * record: long id, long borrower id, long last updated, long version, then isbn, title, author and branch id,
+ *         each as an int byte length followed by the UTF-8 bytes, or a length of -1 for null
+ * </pre>
+ * Files of an older version are rejected, so the index is then loaded from the database.
+ * Times are stored as microseconds since the epoch in UTC and absent values as {@link Long#MIN_VALUE}.
+ * Files are written to a temporary sibling and moved into place, so a reader never sees a partial file.
+ * They are read through a sliding memory mapped window, so files larger than 2 GB are supported.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+public final class CatalogSnapshotFile {
+
+    private static final int MAGIC = 0x4C4D5343;
+
+    private static final int VERSION = 3;
+
+    private static final int HEADER_SIZE = 24;
+
+    static final long ABSENT = Long.MIN_VALUE;
+
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private static final long MAP_WINDOW = 1L << 28;
+
+    private CatalogSnapshotFile() {
+    }
+
+    /**
+     * Writes the given records to a snapshot file.
+     *
+     * @param file         the snapshot file to write
+     * @param records      the records to store
+     * @param snapshotTime the time up to which the records are known to be complete
+     * @return the number of written records
+     * @throws IOException if the file cannot be written
+     */
+    public static long write(Path file, Iterable<BookRecord> records, LocalDateTime snapshotTime) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        long count = 0;
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            buffer.putInt(MAGIC).putInt(VERSION).putLong(toMicros(snapshotTime)).putLong(0);
+            for (BookRecord record : records) {
+                byte[] isbn = bytes(record.getIsbn());
+                byte[] title = bytes(record.getTitle());
+                byte[] author = bytes(record.getAuthor());
+                byte[] branchId = bytes(record.getBranchId());
+                int size = 4 * Long.BYTES + 4 * Integer.BYTES + length(isbn) + length(title) + length(author) + length(branchId);
+                if (buffer.remaining() < size) {
+                    drain(channel, buffer);
+                    if (buffer.capacity() < size) {
+                        buffer = ByteBuffer.allocate(size);
+                    }
+                }
+                buffer.putLong(record.getId())
+                        .putLong(record.getBorrowerId() == null ? ABSENT : record.getBorrowerId())
+                        .putLong(toMicros(record.getLastUpdated()))
+                        .putLong(record.getVersion() == null ? ABSENT : record.getVersion());
+                putString(buffer, isbn);
+                putString(buffer, title);
+                putString(buffer, author);
+                putString(buffer, branchId);
+                count++;
+            }
+            drain(channel, buffer);
+
+            // Patch the record count into the header now that it is known.
+            channel.write(ByteBuffer.allocate(Long.BYTES).putLong(0, count), HEADER_SIZE - Long.BYTES);
+            channel.force(true);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return count;
+    }
+
+    /**
+     * Reads all records of a snapshot file.
+     *
+     * @param file     the snapshot file to read
+     * @param consumer receives every record of the file
+     * @return the snapshot time stored in the file
+     * @throws IOException if the file cannot be read or is not a valid snapshot
+     */
+    public static LocalDateTime read(Path file, Consumer<BookRecord> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            Window window = new Window(channel);
+            window.ensure(HEADER_SIZE);
+            if (window.buffer.getInt() != MAGIC) {
+                throw new IOException("Not a catalog snapshot: " + file);
+            }
+            int version = window.buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported catalog snapshot version " + version + ": " + file);
+            }
+            LocalDateTime snapshotTime = fromMicros(window.buffer.getLong());
+            long count = window.buffer.getLong();
+
+            for (long i = 0; i < count; i++) {
+                window.ensure(4 * Long.BYTES);
+                long id = window.buffer.getLong();
+                long borrowerId = window.buffer.getLong();
+                long lastUpdated = window.buffer.getLong();
+                long recordVersion = window.buffer.getLong();
+                consumer.accept(BookRecord.builder()
+                        .id(id)
+                        .borrowerId(borrowerId == ABSENT ? null : borrowerId)
+                        .lastUpdated(fromMicros(lastUpdated))
+                        .version(recordVersion == ABSENT ? null : recordVersion)
+                        .isbn(window.string())
+                        .title(window.string())
+                        .author(window.string())
+                        .branchId(window.string())
+                        .build());
+            }
+            return snapshotTime;
+        }
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static byte[] bytes(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int length(byte[] bytes) {
+        return bytes == null ? 0 : bytes.length;
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] bytes) {
+        if (bytes == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(bytes.length).put(bytes);
+        }
+    }
+
+    static long toMicros(LocalDateTime time) {
+        if (time == null) {
+            return ABSENT;
+        }
+        return Math.addExact(Math.multiplyExact(time.toEpochSecond(ZoneOffset.UTC), 1_000_000L), time.getNano() / 1_000);
+    }
+
+    static LocalDateTime fromMicros(long micros) {
+        if (micros == ABSENT) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    /**
+     * Memory mapped window over the snapshot file, remapped whenever a value crosses its end.
+     */
+    private static final class Window {
+
+        private final FileChannel channel;
+        private final long size;
+        private long offset;
+        private MappedByteBuffer buffer;
+
+        private Window(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+            map(0);
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                map(offset + buffer.position());
+                if (buffer.remaining() < bytes) {
+                    throw new IOException("Truncated catalog snapshot");
+                }
+            }
+        }
+
+        private String string() throws IOException {
+            ensure(Integer.BYTES);
+            int length = buffer.getInt();
+            if (length < 0) {
+                return null;
+            }
+            if (length > MAP_WINDOW) {
+                throw new IOException("Corrupt catalog snapshot");
+            }
+            ensure(length);
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private void map(long position) throws IOException {
+            offset = position;
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAP_WINDOW, size - position));
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.librarymanagementsystem.catalog;
+
+import com.librarymanagementsystem.repository.BookRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Service warming up the {@link CatalogIndex} at startup and persisting it as a binary snapshot.
+ * <p>
+ * At startup the index is loaded from the snapshot file, then caught up with a delta query on
+ * {@code last_updated_on} and a keyset walk over the book ids that drops books deleted since the
+ * snapshot. Without a usable snapshot the index is built from the database in keyset-ordered chunks.
+ * The index is refreshed with the same delta query periodically, and the snapshot is written
+ * periodically and on shutdown.
+ * </p>
+ * <p>
+ * The warm-up duration is published as the {@code library.catalog.warmup} timer, tagged with the source
+ * it was loaded from. The overall startup-to-ready time is published by Spring Boot as
+ * {@code application.ready.time}.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "library-system.catalog.enabled", matchIfMissing = true)
+public class CatalogSnapshotService implements ApplicationRunner {
+
+    // Overlap of every delta query, covering transactions that were still in flight at the previous sync.
+    private static final Duration SYNC_MARGIN = Duration.ofMinutes(1);
+
+    @Autowired
+    private CatalogIndex catalogIndex;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${library-system.catalog.snapshot-file:./data/catalog.snapshot}")
+    private Path snapshotFile;
+
+    @Value("${library-system.catalog.chunk-size:10000}")
+    private int chunkSize = 10000;
+
+    // Time up to which the index is known to contain every change.
+    private volatile LocalDateTime syncedUntil;
+
+    /**
+     * Loads the catalog index once the application context is ready to serve.
+     *
+     * @param args the application arguments
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        Gauge.builder("library.catalog.records", catalogIndex, CatalogIndex::size)
+                .description("Number of books held in the in-process catalog index")
+                .register(meterRegistry);
+        Gauge.builder("library.catalog.isbn.bytes", catalogIndex, CatalogIndex::isbnIndexSizeInBytes)
+                .description("Memory held by the ISBN index of the catalog")
+                .register(meterRegistry);
+        Gauge.builder("library.catalog.off-heap.bytes", catalogIndex, CatalogIndex::offHeapSizeInBytes)
+                .description("Off-heap memory held by the records of the catalog")
+                .register(meterRegistry);
+        warmUp();
+    }
+
+    /**
+     * Loads the catalog index from the snapshot file, or from the database if no usable snapshot exists.
+     */
+    public void warmUp() {
+        long start = System.nanoTime();
+        String source = "database";
+        LocalDateTime startedOn = LocalDateTime.now();
+
+        LocalDateTime snapshotTime = loadSnapshot();
+        if (snapshotTime != null) {
+            source = "snapshot";
+            long updated = applyDelta(snapshotTime.minus(SYNC_MARGIN));
+            long removed = removeDeleted();
+            log.info("Caught up catalog snapshot, updated:{}, removed:{}", updated, removed);
+        } else {
+            loadChunks(afterId -> bookRepository.findRecords(afterId, PageRequest.of(0, chunkSize)));
+        }
+
+        syncedUntil = startedOn;
+        catalogIndex.markReady();
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        Timer.builder("library.catalog.warmup")
+                .description("Time taken to load the in-process catalog index at startup")
+                .tag("source", source)
+                .register(meterRegistry)
+                .record(elapsed);
+        log.info("Catalog index ready from {}, records:{}, took:{}ms", source, catalogIndex.size(), elapsed.toMillis());
+    }
+
+    /**
+     * Applies the changes made since the last sync, including those made by other nodes.
+     * <p>
+     * Books deleted by other nodes are found through their tombstones, which are kept until purged.
+     * </p>
+     */
+    @Scheduled(fixedDelayString = "${library-system.catalog.refresh-interval:PT30S}",
+            initialDelayString = "${library-system.catalog.refresh-interval:PT30S}")
+    public void refresh() {
+        if (!catalogIndex.isReady()) {
+            return;
+        }
+        LocalDateTime startedOn = LocalDateTime.now();
+        LocalDateTime since = syncedUntil.minus(SYNC_MARGIN);
+        applyDelta(since);
+        bookRepository.findIdsDeletedSince(since).forEach(catalogIndex::remove);
+        syncedUntil = startedOn;
+    }
+
+    /**
+     * Writes the current content of the catalog index to the snapshot file.
+     */
+    @Scheduled(fixedDelayString = "${library-system.catalog.snapshot-interval:PT15M}",
+            initialDelayString = "${library-system.catalog.snapshot-interval:PT15M}")
+    public void writeSnapshot() {
+        if (!catalogIndex.isReady()) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            long count = CatalogSnapshotFile.write(snapshotFile, catalogIndex.records(), syncedUntil);
+            log.info("Wrote catalog snapshot {}, records:{}, took:{}ms",
+                    snapshotFile, count, Duration.ofNanos(System.nanoTime() - start).toMillis());
+        } catch (IOException e) {
+            log.error("Unable to write catalog snapshot {}", snapshotFile, e);
+        }
+    }
+
+    /**
+     * Writes a final snapshot on shutdown, so the next start only needs a short delta.
+     */
+    @PreDestroy
+    public void writeSnapshotOnShutdown() {
+        writeSnapshot();
+    }
+
+    private LocalDateTime loadSnapshot() {
+        if (!Files.isReadable(snapshotFile)) {
+            log.info("No catalog snapshot found at {}", snapshotFile);
+            return null;
+        }
+        try {
+            return CatalogSnapshotFile.read(snapshotFile, catalogIndex::put);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring unreadable catalog snapshot {}", snapshotFile, e);
+            catalogIndex.clear();
+            return null;
+        }
+    }
+
+    private long applyDelta(LocalDateTime since) {
+        return loadChunks(afterId -> bookRepository.findRecordsUpdatedSince(since, afterId, PageRequest.of(0, chunkSize)));
+    }
+
+    private long loadChunks(Function<Long, List<BookRecord>> chunks) {
+        long loaded = 0;
+        long afterId = 0;
+        List<BookRecord> chunk;
+        while (!(chunk = chunks.apply(afterId)).isEmpty()) {
+            chunk.forEach(catalogIndex::put);
+            loaded += chunk.size();
+            afterId = chunk.get(chunk.size() - 1).getId();
+        }
+        return loaded;
+    }
+
+    /**
+     * Drops the records of books that no longer exist, by walking the book ids in keyset order and
+     * marking the indexed ids that are still present.
+     */
+    private long removeDeleted() {
+        long[] indexed = catalogIndex.ids();
+        BitSet present = new BitSet(indexed.length);
+
+        long afterId = 0;
+        List<Long> ids;
+        while (!(ids = bookRepository.findIdsAfter(afterId, PageRequest.of(0, chunkSize))).isEmpty()) {
+            for (Long id : ids) {
+                int position = Arrays.binarySearch(indexed, id);
+                if (position >= 0) {
+                    present.set(position);
+                }
+            }
+            afterId = ids.get(ids.size() - 1);
+        }
+
+        long removed = 0;
+        for (int i = present.nextClearBit(0); i < indexed.length; i = present.nextClearBit(i + 1)) {
+            catalogIndex.remove(indexed[i]);
+            removed++;
+        }
+        return removed;
+    }
+}
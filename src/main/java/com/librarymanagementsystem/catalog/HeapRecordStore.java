@@ -0,0 +1,73 @@
+package com.librarymanagementsystem.catalog;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+
+/**
+ * {@link CatalogRecordStore} holding the {@link BookRecord}s on the heap, in a hash map.
+ * <p>
+ * This is the default store: cheap to update, but every book costs a record, its strings and a map entry,
+ * all of which the garbage collector has to trace.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+final class HeapRecordStore implements CatalogRecordStore {
+
+    private final Map<Long, BookRecord> records = new HashMap<>();
+
+    @Override
+    public <T> T read(long id, Function<? super BookRecordView, T> reader) {
+        BookRecord record = records.get(id);
+        return record == null ? null : reader.apply(record);
+    }
+
+    @Override
+    public void forEach(Consumer<? super BookRecordView> consumer) {
+        records.values().forEach(consumer);
+    }
+
+    @Override
+    public void forEach(long[] ids, int from, int to, Consumer<? super BookRecordView> consumer) {
+        for (int i = from; i < to; i++) {
+            BookRecord record = records.get(ids[i]);
+            if (record != null) {
+                consumer.accept(record);
+            }
+        }
+    }
+
+    @Override
+    public void forEachId(LongConsumer consumer) {
+        records.keySet().forEach(consumer::accept);
+    }
+
+    @Override
+    public void put(BookRecord record) {
+        records.put(record.getId(), record);
+    }
+
+    @Override
+    public boolean remove(long id) {
+        return records.remove(id) != null;
+    }
+
+    @Override
+    public void clear() {
+        records.clear();
+    }
+
+    @Override
+    public int size() {
+        return records.size();
+    }
+
+    @Override
+    public long offHeapBytes() {
+        return 0;
+    }
+}
@@ -0,0 +1,278 @@
+package com.librarymanagementsystem.catalog;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Compressed set of {@code long} ids, organised like a Roaring bitmap.
+ * <p>
+ * The ids are partitioned by their upper 48 bits into chunks of 65536 ids. Every chunk holding at least
+ * one id has a container for the lower 16 bits: a sorted {@code char[]} while it holds at most 4096 ids,
+ * and a 8 KB bitmap above that. A sparse chunk therefore costs 2 bytes per id, a dense one at most 8 KB,
+ * and a million borrowed books fit in a few megabytes instead of the ~60 MB of a {@code Set<Long>}.
+ * The chunk keys are kept in a sorted array searched by binary search.
+ * </p>
+ * <p>
+ * The class is not thread-safe; {@link BorrowedBookIndex} guards it with a read-write lock.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+public final class IdBitmap {
+
+    // Largest number of ids held by an array container; above this a bitmap container is smaller.
+    static final int ARRAY_MAX = 4096;
+
+    private long[] keys = new long[4];
+
+    private Container[] containers = new Container[4];
+
+    private int size;
+
+    private long cardinality;
+
+    /**
+     * Adds an id.
+     *
+     * @param id the id to add
+     * @return {@code true} if the id was not in the set yet
+     */
+    public boolean add(long id) {
+        long key = id >> 16;
+        char low = (char) id;
+        int index = Arrays.binarySearch(keys, 0, size, key);
+        if (index < 0) {
+            index = -index - 1;
+            insertContainer(index, key, new ArrayContainer());
+        }
+        Container container = containers[index];
+        if (container.contains(low)) {
+            return false;
+        }
+        containers[index] = container.add(low);
+        cardinality++;
+        return true;
+    }
+
+    /**
+     * Removes an id.
+     *
+     * @param id the id to remove
+     * @return {@code true} if the id was in the set
+     */
+    public boolean remove(long id) {
+        int index = Arrays.binarySearch(keys, 0, size, id >> 16);
+        if (index < 0 || !containers[index].contains((char) id)) {
+            return false;
+        }
+        Container container = containers[index].remove((char) id);
+        if (container.cardinality() == 0) {
+            removeContainer(index);
+        } else {
+            containers[index] = container;
+        }
+        cardinality--;
+        return true;
+    }
+
+    /**
+     * @param id the id to look up
+     * @return {@code true} if the id is in the set
+     */
+    public boolean contains(long id) {
+        int index = Arrays.binarySearch(keys, 0, size, id >> 16);
+        return index >= 0 && containers[index].contains((char) id);
+    }
+
+    /**
+     * @return the number of ids in the set
+     */
+    public long cardinality() {
+        return cardinality;
+    }
+
+    /**
+     * Passes every id of the set to the given consumer, in ascending order.
+     *
+     * @param consumer the consumer of the ids
+     */
+    public void forEach(LongConsumer consumer) {
+        for (int i = 0; i < size; i++) {
+            containers[i].forEach(keys[i] << 16, consumer);
+        }
+    }
+
+    /**
+     * @return the approximate number of bytes held by the set
+     */
+    public long sizeInBytes() {
+        long bytes = 16L + keys.length * 8L + containers.length * 4L;
+        for (int i = 0; i < size; i++) {
+            bytes += containers[i].sizeInBytes();
+        }
+        return bytes;
+    }
+
+    private void insertContainer(int index, long key, Container container) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index] = key;
+        containers[index] = container;
+        size++;
+    }
+
+    private void removeContainer(int index) {
+        System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+        System.arraycopy(containers, index + 1, containers, index, size - index - 1);
+        size--;
+        containers[size] = null;
+    }
+
+    /**
+     * Set of the lower 16 bits of the ids of one chunk.
+     * <p>
+     * {@link #add} and {@link #remove} return the container to use from then on, which is a converted
+     * one when the cardinality crosses {@link #ARRAY_MAX}. They are only called for absent, respectively
+     * present, values.
+     * </p>
+     */
+    private interface Container {
+
+        boolean contains(char value);
+
+        Container add(char value);
+
+        Container remove(char value);
+
+        int cardinality();
+
+        void forEach(long base, LongConsumer consumer);
+
+        long sizeInBytes();
+    }
+
+    /**
+     * Container of a sparse chunk: the values as a sorted array.
+     */
+    private static final class ArrayContainer implements Container {
+
+        private char[] values = new char[4];
+
+        private int cardinality;
+
+        @Override
+        public boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+        }
+
+        @Override
+        public Container add(char value) {
+            if (cardinality == ARRAY_MAX) {
+                return toBitmap().add(value);
+            }
+            int index = -Arrays.binarySearch(values, 0, cardinality, value) - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_MAX, cardinality * 2));
+            }
+            System.arraycopy(values, index, values, index + 1, cardinality - index);
+            values[index] = value;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        public Container remove(char value) {
+            int index = Arrays.binarySearch(values, 0, cardinality, value);
+            System.arraycopy(values, index + 1, values, index, cardinality - index - 1);
+            cardinality--;
+            return this;
+        }
+
+        @Override
+        public int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        public void forEach(long base, LongConsumer consumer) {
+            for (int i = 0; i < cardinality; i++) {
+                consumer.accept(base | values[i]);
+            }
+        }
+
+        @Override
+        public long sizeInBytes() {
+            return 16L + values.length * 2L;
+        }
+
+        private BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer();
+            for (int i = 0; i < cardinality; i++) {
+                bitmap.add(values[i]);
+            }
+            return bitmap;
+        }
+    }
+
+    /**
+     * Container of a dense chunk: one bit per value.
+     */
+    private static final class BitmapContainer implements Container {
+
+        private final long[] words = new long[1024];
+
+        private int cardinality;
+
+        @Override
+        public boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        public Container add(char value) {
+            words[value >>> 6] |= 1L << value;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        public Container remove(char value) {
+            words[value >>> 6] &= ~(1L << value);
+            cardinality--;
+            return cardinality > ARRAY_MAX ? this : toArray();
+        }
+
+        @Override
+        public int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        public void forEach(long base, LongConsumer consumer) {
+            for (int i = 0; i < words.length; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    consumer.accept(base | ((long) i << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+        }
+
+        @Override
+        public long sizeInBytes() {
+            return 16L + words.length * 8L;
+        }
+
+        private ArrayContainer toArray() {
+            ArrayContainer array = new ArrayContainer();
+            array.values = new char[ARRAY_MAX];
+            forEach(0, value -> array.values[array.cardinality++] = (char) value);
+            return array;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.librarymanagementsystem.catalog;
+
+/**
+ * Normalization of ISBN-10 and ISBN-13 strings to a numeric key.
+ * <p>
+ * Hyphens and spaces are ignored and the check digit is verified. An ISBN-10 is converted to its
+ * {@code 978}-prefixed ISBN-13, so that {@code "0-13-468599-7"}, {@code "978-0-13-468599-1"} and
+ * {@code "9780134685991"} all have the key {@code 9780134685991L}. A key fits in a {@code long} and is
+ * never {@code 0}, which therefore marks an invalid ISBN.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+public final class Isbn {
+
+    /**
+     * The key returned for strings that are not a valid ISBN.
+     */
+    public static final long INVALID = 0L;
+
+    private Isbn() {
+    }
+
+    /**
+     * Normalizes an ISBN to its numeric ISBN-13 key.
+     *
+     * @param isbn the ISBN-10 or ISBN-13, with or without hyphens and spaces
+     * @return the ISBN-13 as a number, or {@link #INVALID} if the string is not a valid ISBN
+     */
+    public static long toKey(String isbn) {
+        if (isbn == null) {
+            return INVALID;
+        }
+        char[] digits = new char[13];
+        int length = 0;
+        for (int i = 0; i < isbn.length(); i++) {
+            char c = isbn.charAt(i);
+            if (c == '-' || c == ' ') {
+                continue;
+            }
+            if (length == 13 || !(c >= '0' && c <= '9' || c == 'X' || c == 'x')) {
+                return INVALID;
+            }
+            digits[length++] = c;
+        }
+        if (length == 13) {
+            return isbn13Key(digits);
+        }
+        return length == 10 ? isbn10Key(digits) : INVALID;
+    }
+
+    /**
+     * @param isbn the ISBN-10 or ISBN-13, with or without hyphens and spaces
+     * @return {@code true} if the string is a valid ISBN
+     */
+    public static boolean isValid(String isbn) {
+        return toKey(isbn) != INVALID;
+    }
+
+    /**
+     * Returns the range of keys of the ISBN-13s starting with the given digits.
+     *
+     * @param prefix the first 1 to 13 digits of an ISBN-13, with or without hyphens and spaces
+     * @return the lowest key of the range and the key following the range, or {@code null} if the prefix is
+     * not made of 1 to 13 digits
+     */
+    public static long[] toKeyRange(String prefix) {
+        long from = 0;
+        int length = 0;
+        for (int i = 0; i < prefix.length(); i++) {
+            char c = prefix.charAt(i);
+            if (c == '-' || c == ' ') {
+                continue;
+            }
+            if (length == 13 || c < '0' || c > '9') {
+                return null;
+            }
+            from = from * 10 + (c - '0');
+            length++;
+        }
+        if (length == 0) {
+            return null;
+        }
+        long scale = 1;
+        for (int i = length; i < 13; i++) {
+            scale *= 10;
+        }
+        return new long[]{from * scale, (from + 1) * scale};
+    }
+
+    private static long isbn13Key(char[] digits) {
+        if (digits[0] != '9' || digits[1] != '7' || (digits[2] != '8' && digits[2] != '9')) {
+            return INVALID;
+        }
+        long key = 0;
+        int sum = 0;
+        for (int i = 0; i < 13; i++) {
+            int digit = digits[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return INVALID;
+            }
+            sum += i % 2 == 0 ? digit : 3 * digit;
+            key = key * 10 + digit;
+        }
+        return sum % 10 == 0 ? key : INVALID;
+    }
+
+    private static long isbn10Key(char[] digits) {
+        int sum = 0;
+        long key = 978;
+        int sum13 = 9 + 3 * 7 + 8;
+        for (int i = 0; i < 10; i++) {
+            int digit;
+            if (digits[i] == 'X' || digits[i] == 'x') {
+                if (i != 9) {
+                    return INVALID;
+                }
+                digit = 10;
+            } else {
+                digit = digits[i] - '0';
+            }
+            sum += (10 - i) * digit;
+            if (i < 9) {
+                // The first nine digits move to positions 4 to 12 of the ISBN-13.
+                sum13 += (i % 2 == 0 ? 3 : 1) * digit;
+                key = key * 10 + digit;
+            }
+        }
+        if (sum % 11 != 0) {
+            return INVALID;
+        }
+        return key * 10 + (10 - sum13 % 10) % 10;
+    }
+}
@@ -0,0 +1,204 @@
+package com.librarymanagementsystem.catalog;
+
+import java.util.Arrays;
+
+/**
+ * Map from a positive {@code long} key to a non-negative {@code long} value, without boxing.
+ * <p>
+ * Like {@link LongMultiMap}, the keys are kept in an open-addressing table with linear probing and
+ * backward-shift deletion, with the values in a parallel array. At most 3/4 full, an entry costs between
+ * 21 and 43 bytes instead of the ~80 bytes of a {@code HashMap<Long, Long>} entry. It is the id to offset
+ * index of the {@link OffHeapRecordStore}.
+ * </p>
+ * <p>
+ * The class is not thread-safe; {@link CatalogIndex} guards it with a read-write lock.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+public final class LongLongMap {
+
+    /**
+     * Value returned for a key that is not mapped.
+     */
+    public static final long MISSING = -1L;
+
+    // Key of a free slot.
+    private static final long FREE = 0L;
+
+    private long[] keys;
+
+    private long[] values;
+
+    private int size;
+
+    /**
+     * Creates a map sized for the given number of keys.
+     *
+     * @param expectedKeys the expected number of keys
+     */
+    public LongLongMap(int expectedKeys) {
+        int capacity = Integer.highestOneBit(Math.max(8, expectedKeys * 4 / 3) - 1) << 1;
+        keys = new long[capacity];
+        values = new long[capacity];
+    }
+
+    /**
+     * Maps a key to a value, replacing its previous value.
+     *
+     * @param key   the key, positive
+     * @param value the value, not negative
+     * @return the previous value, or {@link #MISSING} if the key was not mapped
+     */
+    public long put(long key, long value) {
+        if (key <= 0 || value < 0) {
+            throw new IllegalArgumentException("Key must be positive and value not negative, key:" + key + ", value:" + value);
+        }
+        int slot = find(key);
+        if (keys[slot] == FREE) {
+            keys[slot] = key;
+            values[slot] = value;
+            if (++size > keys.length / 4 * 3) {
+                rehash(keys.length * 2);
+            }
+            return MISSING;
+        }
+        long previous = values[slot];
+        values[slot] = value;
+        return previous;
+    }
+
+    /**
+     * @param key the key
+     * @return the value of the key, or {@link #MISSING} if the key is not mapped
+     */
+    public long get(long key) {
+        if (key <= 0) {
+            return MISSING;
+        }
+        int slot = find(key);
+        return keys[slot] == FREE ? MISSING : values[slot];
+    }
+
+    /**
+     * Removes a key.
+     *
+     * @param key the key
+     * @return the removed value, or {@link #MISSING} if the key was not mapped
+     */
+    public long remove(long key) {
+        if (key <= 0) {
+            return MISSING;
+        }
+        int slot = find(key);
+        if (keys[slot] == FREE) {
+            return MISSING;
+        }
+        long previous = values[slot];
+        delete(slot);
+        return previous;
+    }
+
+    /**
+     * Passes every entry to the given consumer, in table order. The consumer may replace the value of the
+     * current key with {@link #put}, but must not add or remove keys.
+     *
+     * @param consumer the consumer of the entries
+     */
+    public void forEach(EntryConsumer consumer) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != FREE) {
+                consumer.accept(keys[slot], values[slot]);
+            }
+        }
+    }
+
+    /**
+     * @return the number of keys
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all keys.
+     */
+    public void clear() {
+        Arrays.fill(keys, FREE);
+        size = 0;
+    }
+
+    /**
+     * @return the approximate number of bytes held by the map
+     */
+    public long sizeInBytes() {
+        return 24L + 2 * 16L + keys.length * (8L + 8L);
+    }
+
+    /**
+     * @return the slot holding the key, or the free slot where it would be inserted
+     */
+    private int find(long key) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (keys[slot] != FREE && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Frees a slot and moves later entries of the probe sequence back, so that lookups never stop early.
+     */
+    private void delete(int slot) {
+        int mask = keys.length - 1;
+        int free = slot;
+        int next = (slot + 1) & mask;
+        while (keys[next] != FREE) {
+            int home = hash(keys[next]) & mask;
+            // The entry may move to the free slot if its home is not between the free slot and itself.
+            if (((next - home) & mask) >= ((next - free) & mask)) {
+                keys[free] = keys[next];
+                values[free] = values[next];
+                free = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[free] = FREE;
+        size--;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        keys = new long[capacity];
+        values = new long[capacity];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) {
+                int slot = find(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static int hash(long key) {
+        // Finalizer of MurmurHash3, spreading the sequential book ids over the table.
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+
+    /**
+     * Consumer of the entries of the map.
+     */
+    @FunctionalInterface
+    public interface EntryConsumer {
+
+        void accept(long key, long value);
+    }
+}
@@ -0,0 +1,277 @@
+package com.librarymanagementsystem.catalog;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Map from a {@code long} key to a set of {@code long} ids, without boxing.
+ * <p>
+ * Keys are kept in an open-addressing table with linear probing and backward-shift deletion, so there are
+ * neither entry objects nor tombstones. A key with a single id, the common case of an ISBN, stores the id
+ * inline in a parallel {@code long[]}; only keys with several ids get an id array of their own. With the
+ * table at most 3/4 full, an entry costs between 27 and 53 bytes, about 40 on average, instead of the
+ * ~140 bytes of a {@code HashMap<Long, List<Long>>} entry; see {@code IsbnIndexBenchmark}.
+ * </p>
+ * <p>
+ * Keys must not be {@code 0} and ids must be positive. The class is not thread-safe; {@link CatalogIndex}
+ * guards it with a read-write lock.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+public final class LongMultiMap {
+
+    private static final long[] NONE = new long[0];
+
+    // Key of a free slot.
+    private static final long FREE = 0L;
+
+    // Value of a slot whose ids are held in the ids array.
+    private static final long MANY = -1L;
+
+    private long[] keys;
+
+    private long[] values;
+
+    private long[][] ids;
+
+    private int size;
+
+    /**
+     * Creates a map sized for the given number of keys.
+     *
+     * @param expectedKeys the expected number of keys
+     */
+    public LongMultiMap(int expectedKeys) {
+        int capacity = Integer.highestOneBit(Math.max(8, expectedKeys * 4 / 3) - 1) << 1;
+        allocate(capacity);
+    }
+
+    /**
+     * Adds an id to the ids of a key.
+     *
+     * @param key the key, not {@code 0}
+     * @param id  the id, positive
+     * @return {@code true} if the id was not mapped to the key yet
+     */
+    public boolean put(long key, long id) {
+        if (key == FREE || id <= 0) {
+            throw new IllegalArgumentException("Key must not be 0 and id must be positive, key:" + key + ", id:" + id);
+        }
+        int slot = find(key);
+        if (keys[slot] == FREE) {
+            keys[slot] = key;
+            values[slot] = id;
+            if (++size > keys.length / 4 * 3) {
+                rehash(keys.length * 2);
+            }
+            return true;
+        }
+        if (values[slot] == id) {
+            return false;
+        }
+        if (values[slot] != MANY) {
+            ids[slot] = new long[]{values[slot], id};
+            values[slot] = MANY;
+            return true;
+        }
+        long[] current = ids[slot];
+        for (long existing : current) {
+            if (existing == id) {
+                return false;
+            }
+        }
+        long[] extended = Arrays.copyOf(current, current.length + 1);
+        extended[current.length] = id;
+        ids[slot] = extended;
+        return true;
+    }
+
+    /**
+     * Removes an id from the ids of a key, and the key once it has no ids left.
+     *
+     * @param key the key
+     * @param id  the id
+     * @return {@code true} if the id was mapped to the key
+     */
+    public boolean remove(long key, long id) {
+        if (key == FREE) {
+            return false;
+        }
+        int slot = find(key);
+        if (keys[slot] == FREE) {
+            return false;
+        }
+        if (values[slot] != MANY) {
+            if (values[slot] != id) {
+                return false;
+            }
+            delete(slot);
+            return true;
+        }
+        long[] current = ids[slot];
+        int index = -1;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == id) {
+                index = i;
+            }
+        }
+        if (index < 0) {
+            return false;
+        }
+        if (current.length == 2) {
+            values[slot] = current[1 - index];
+            ids[slot] = null;
+        } else {
+            long[] reduced = new long[current.length - 1];
+            System.arraycopy(current, 0, reduced, 0, index);
+            System.arraycopy(current, index + 1, reduced, index, current.length - index - 1);
+            ids[slot] = reduced;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the ids of a key.
+     *
+     * @param key the key
+     * @return the ids, in insertion order, or an empty array if the key is not mapped; must not be modified
+     */
+    public long[] get(long key) {
+        if (key == FREE) {
+            return NONE;
+        }
+        int slot = find(key);
+        if (keys[slot] == FREE) {
+            return NONE;
+        }
+        return values[slot] == MANY ? ids[slot] : new long[]{values[slot]};
+    }
+
+    /**
+     * Passes the ids of a key to the given consumer, in insertion order, without allocating.
+     *
+     * @param key      the key
+     * @param consumer the consumer of the ids
+     */
+    public void forEach(long key, LongConsumer consumer) {
+        if (key == FREE) {
+            return;
+        }
+        int slot = find(key);
+        if (keys[slot] == FREE) {
+            return;
+        }
+        if (values[slot] != MANY) {
+            consumer.accept(values[slot]);
+            return;
+        }
+        for (long id : ids[slot]) {
+            consumer.accept(id);
+        }
+    }
+
+    /**
+     * @param key the key
+     * @return {@code true} if at least one id is mapped to the key
+     */
+    public boolean containsKey(long key) {
+        return key != FREE && keys[find(key)] != FREE;
+    }
+
+    /**
+     * @return the number of keys
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all keys.
+     */
+    public void clear() {
+        Arrays.fill(keys, FREE);
+        Arrays.fill(ids, null);
+        size = 0;
+    }
+
+    /**
+     * @return the approximate number of bytes held by the map
+     */
+    public long sizeInBytes() {
+        long bytes = 32L + 3 * 16L + keys.length * (8L + 8L + 4L);
+        for (long[] list : ids) {
+            if (list != null) {
+                bytes += 16L + list.length * 8L;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * @return the slot holding the key, or the free slot where it would be inserted
+     */
+    private int find(long key) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (keys[slot] != FREE && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Frees a slot and moves later entries of the probe sequence back, so that lookups never stop early.
+     */
+    private void delete(int slot) {
+        int mask = keys.length - 1;
+        int free = slot;
+        int next = (slot + 1) & mask;
+        while (keys[next] != FREE) {
+            int home = hash(keys[next]) & mask;
+            // The entry may move to the free slot if its home is not between the free slot and itself.
+            if (((next - home) & mask) >= ((next - free) & mask)) {
+                keys[free] = keys[next];
+                values[free] = values[next];
+                ids[free] = ids[next];
+                free = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[free] = FREE;
+        ids[free] = null;
+        size--;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        long[][] oldIds = ids;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) {
+                int slot = find(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+                ids[slot] = oldIds[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        ids = new long[capacity][];
+    }
+
+    private static int hash(long key) {
+        // Finalizer of MurmurHash3, spreading the sequential digits of ISBNs over the table.
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+}
@@ -0,0 +1,441 @@
+package com.librarymanagementsystem.catalog;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+
+/**
+ * {@link CatalogRecordStore} holding the records in off-heap memory, outside the reach of the garbage collector.
+ * <p>
+ * Records are appended to direct {@link ByteBuffer} segments of a fixed size, each with a fixed-layout
+ * header followed by its strings, all big-endian and padded to 8 bytes:
+ * <pre>
+ *  0: long id
+ *  8: long borrower id
+ * 16: long last updated, as microseconds since the epoch in UTC
+ * 24: long version
+ * 32: unsigned short byte length of isbn, title, author and branch id, or 0xFFFF for null
+ * 40: the UTF-8 bytes of isbn, title, author and branch id
+ * </pre>
+ * Absent numbers are stored as {@link Long#MIN_VALUE}. A {@link LongLongMap} maps every id to the offset of
+ * its record, the segment number in the upper and the position in the lower 32 bits. On the heap this
+ * leaves the map, about 20 bytes per book, and the segment list.
+ * </p>
+ * <p>
+ * A replaced or removed record stays in its segment as garbage. Once the segments hold more than twice the
+ * live bytes, the segment with the fewest live bytes is evacuated: every write moves the live records of
+ * the next {@value #COMPACTION_STEP} bytes of it to the tail, so no write copies more than that while the
+ * caller holds its lock. An evacuated segment is dropped and its number reused; its memory is released
+ * when the collector reclaims the buffer.
+ * </p>
+ * <p>
+ * Readers get a cursor over the record instead of a {@link BookRecord}: nothing is allocated per record
+ * except the strings the reader asks for.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+final class OffHeapRecordStore implements CatalogRecordStore {
+
+    private static final int HEADER_SIZE = 40;
+
+    private static final int LENGTHS = 32;
+
+    private static final int STRINGS = 4;
+
+    private static final int NULL_LENGTH = 0xFFFF;
+
+    private static final long ABSENT = CatalogSnapshotFile.ABSENT;
+
+    // Bytes of the segment being evacuated scanned per write.
+    private static final int COMPACTION_STEP = 64 * 1024;
+
+    private final int segmentSize;
+
+    // Segments by number; null for a dropped segment whose number is free.
+    private final List<Segment> segments = new ArrayList<>();
+
+    private final LongLongMap offsets = new LongLongMap(1024);
+
+    // Number of the segment records are appended to, or -1.
+    private int current = -1;
+
+    // Number of the segment being evacuated, or -1, and the position of its next record.
+    private int victim = -1;
+
+    private int victimPosition;
+
+    private int segmentCount;
+
+    // Bytes of the records the index points to.
+    private long liveBytes;
+
+    /**
+     * Creates an empty store.
+     *
+     * @param segmentSize the size of a memory segment in bytes, which bounds the size of a record
+     */
+    OffHeapRecordStore(int segmentSize) {
+        if (segmentSize < 1024) {
+            throw new IllegalArgumentException("Segment size must be at least 1024 bytes: " + segmentSize);
+        }
+        this.segmentSize = segmentSize & -8;
+    }
+
+    @Override
+    public <T> T read(long id, Function<? super BookRecordView, T> reader) {
+        long offset = offsets.get(id);
+        if (offset == LongLongMap.MISSING) {
+            return null;
+        }
+        Cursor cursor = new Cursor();
+        cursor.moveTo(offset);
+        return reader.apply(cursor);
+    }
+
+    @Override
+    public void forEach(Consumer<? super BookRecordView> consumer) {
+        Cursor cursor = new Cursor();
+        offsets.forEach((id, offset) -> {
+            cursor.moveTo(offset);
+            consumer.accept(cursor);
+        });
+    }
+
+    @Override
+    public void forEach(long[] ids, int from, int to, Consumer<? super BookRecordView> consumer) {
+        Cursor cursor = new Cursor();
+        for (int i = from; i < to; i++) {
+            long offset = offsets.get(ids[i]);
+            if (offset != LongLongMap.MISSING) {
+                cursor.moveTo(offset);
+                consumer.accept(cursor);
+            }
+        }
+    }
+
+    @Override
+    public void forEachId(LongConsumer consumer) {
+        offsets.forEach((id, offset) -> consumer.accept(id));
+    }
+
+    @Override
+    public void put(BookRecord record) {
+        byte[][] strings = {bytes(record.getIsbn()), bytes(record.getTitle()), bytes(record.getAuthor()), bytes(record.getBranchId())};
+        int size = HEADER_SIZE;
+        for (byte[] string : strings) {
+            if (string != null && string.length >= NULL_LENGTH) {
+                throw new IllegalArgumentException("Value too long for the catalog, bookId:" + record.getId());
+            }
+            size += string == null ? 0 : string.length;
+        }
+        size = align(size);
+        if (size > segmentSize) {
+            throw new IllegalArgumentException("Record larger than a segment, bookId:" + record.getId());
+        }
+
+        long offset = allocate(size);
+        ByteBuffer segment = segments.get(segment(offset)).buffer;
+        int position = position(offset);
+        segment.putLong(position, record.getId())
+                .putLong(position + 8, record.getBorrowerId() == null ? ABSENT : record.getBorrowerId())
+                .putLong(position + 16, CatalogSnapshotFile.toMicros(record.getLastUpdated()))
+                .putLong(position + 24, record.getVersion() == null ? ABSENT : record.getVersion());
+        int next = position + HEADER_SIZE;
+        for (int i = 0; i < STRINGS; i++) {
+            byte[] string = strings[i];
+            segment.putChar(position + LENGTHS + 2 * i, (char) (string == null ? NULL_LENGTH : string.length));
+            if (string != null) {
+                segment.put(next, string);
+                next += string.length;
+            }
+        }
+
+        long previous = offsets.put(record.getId(), offset);
+        liveBytes += size;
+        if (previous != LongLongMap.MISSING) {
+            liveBytes -= release(previous);
+        }
+        compactStep();
+    }
+
+    @Override
+    public boolean remove(long id) {
+        long offset = offsets.remove(id);
+        if (offset == LongLongMap.MISSING) {
+            return false;
+        }
+        liveBytes -= release(offset);
+        compactStep();
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        offsets.clear();
+        segments.clear();
+        current = -1;
+        victim = -1;
+        segmentCount = 0;
+        liveBytes = 0;
+    }
+
+    @Override
+    public int size() {
+        return offsets.size();
+    }
+
+    @Override
+    public long offHeapBytes() {
+        return (long) segmentCount * segmentSize;
+    }
+
+    /**
+     * @return the number of bytes of the records the index points to
+     */
+    long liveBytes() {
+        return liveBytes;
+    }
+
+    /**
+     * Reserves space at the end of the current segment, starting a new segment if it does not fit.
+     *
+     * @return the offset of the reserved space
+     */
+    private long allocate(int size) {
+        Segment segment = current < 0 ? null : segments.get(current);
+        if (segment == null || segment.end + size > segmentSize) {
+            segment = new Segment(ByteBuffer.allocateDirect(segmentSize));
+            current = segments.indexOf(null);
+            if (current < 0) {
+                current = segments.size();
+                segments.add(segment);
+            } else {
+                segments.set(current, segment);
+            }
+            segmentCount++;
+        }
+        long offset = ((long) current << 32) | segment.end;
+        segment.end += size;
+        segment.live += size;
+        return offset;
+    }
+
+    /**
+     * Marks the record at an offset as garbage.
+     *
+     * @return the size of the record
+     */
+    private int release(long offset) {
+        Segment segment = segments.get(segment(offset));
+        int size = sizeAt(segment.buffer, position(offset));
+        segment.live -= size;
+        return size;
+    }
+
+    /**
+     * Moves the live records of the next {@link #COMPACTION_STEP} bytes of the segment being evacuated, after
+     * choosing the segment with the fewest live bytes once the segments hold more than twice the live bytes.
+     */
+    private void compactStep() {
+        if (victim < 0) {
+            if (segmentCount <= 2 || offHeapBytes() <= 2 * liveBytes + segmentSize) {
+                return;
+            }
+            for (int i = 0; i < segments.size(); i++) {
+                Segment segment = segments.get(i);
+                if (segment != null && i != current && (victim < 0 || segment.live < segments.get(victim).live)) {
+                    victim = i;
+                }
+            }
+            victimPosition = 0;
+        }
+
+        Segment source = segments.get(victim);
+        int limit = Math.min(source.end, victimPosition + COMPACTION_STEP);
+        while (victimPosition < limit) {
+            int size = sizeAt(source.buffer, victimPosition);
+            long id = source.buffer.getLong(victimPosition);
+            if (offsets.get(id) == (((long) victim << 32) | victimPosition)) {
+                long target = allocate(size);
+                segments.get(segment(target)).buffer.put(position(target), source.buffer, victimPosition, size);
+                offsets.put(id, target);
+                source.live -= size;
+            }
+            victimPosition += size;
+        }
+        if (victimPosition >= source.end) {
+            segments.set(victim, null);
+            segmentCount--;
+            victim = -1;
+        }
+    }
+
+    private static int sizeAt(ByteBuffer segment, int position) {
+        int size = HEADER_SIZE;
+        for (int i = 0; i < STRINGS; i++) {
+            int length = segment.getChar(position + LENGTHS + 2 * i);
+            size += length == NULL_LENGTH ? 0 : length;
+        }
+        return align(size);
+    }
+
+    private static int align(int size) {
+        return (size + 7) & -8;
+    }
+
+    private static int segment(long offset) {
+        return (int) (offset >>> 32);
+    }
+
+    private static int position(long offset) {
+        return (int) offset;
+    }
+
+    private static byte[] bytes(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A memory segment with its write position and the bytes of its live records.
+     */
+    private static final class Segment {
+
+        private final ByteBuffer buffer;
+
+        private int end;
+
+        private long live;
+
+        private Segment(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+    }
+
+    /**
+     * View of the record at an offset, decoding its columns on access.
+     */
+    private final class Cursor implements BookRecordView {
+
+        private ByteBuffer segment;
+
+        private int position;
+
+        // Buffer the strings are decoded from, reused for all records of a read.
+        private byte[] scratch = new byte[256];
+
+        // Branch compared by the last belongsTo call, with its UTF-8 bytes.
+        private String branchId;
+
+        private byte[] branchBytes;
+
+        private void moveTo(long offset) {
+            segment = segments.get(segment(offset)).buffer;
+            position = position(offset);
+        }
+
+        @Override
+        public Long getId() {
+            return segment.getLong(position);
+        }
+
+        @Override
+        public String getIsbn() {
+            return string(0);
+        }
+
+        @Override
+        public String getTitle() {
+            return string(1);
+        }
+
+        @Override
+        public String getAuthor() {
+            return string(2);
+        }
+
+        @Override
+        public Long getBorrowerId() {
+            long borrowerId = segment.getLong(position + 8);
+            return borrowerId == ABSENT ? null : borrowerId;
+        }
+
+        @Override
+        public LocalDateTime getLastUpdated() {
+            return CatalogSnapshotFile.fromMicros(segment.getLong(position + 16));
+        }
+
+        @Override
+        public String getBranchId() {
+            return string(3);
+        }
+
+        @Override
+        public Long getVersion() {
+            long version = segment.getLong(position + 24);
+            return version == ABSENT ? null : version;
+        }
+
+        @Override
+        public boolean isBorrowed() {
+            return segment.getLong(position + 8) != ABSENT;
+        }
+
+        @Override
+        public boolean belongsTo(String branchId) {
+            if (branchId == null) {
+                return true;
+            }
+            if (!branchId.equals(this.branchId)) {
+                this.branchId = branchId;
+                this.branchBytes = branchId.getBytes(StandardCharsets.UTF_8);
+            }
+            int length = segment.getChar(position + LENGTHS + 2 * 3);
+            if (length != branchBytes.length) {
+                return false;
+            }
+            int start = start(3);
+            for (int i = 0; i < length; i++) {
+                if (segment.get(start + i) != branchBytes[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return BookRecord.copyOf(this).toString();
+        }
+
+        private String string(int index) {
+            int length = segment.getChar(position + LENGTHS + 2 * index);
+            if (length == NULL_LENGTH) {
+                return null;
+            }
+            if (scratch.length < length) {
+                scratch = new byte[length];
+            }
+            segment.get(start(index), scratch, 0, length);
+            return new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * @return the position of the bytes of the string with the given index
+         */
+        private int start(int index) {
+            int start = position + HEADER_SIZE;
+            for (int i = 0; i < index; i++) {
+                int length = segment.getChar(position + LENGTHS + 2 * i);
+                start += length == NULL_LENGTH ? 0 : length;
+            }
+            return start;
+        }
+    }
+}
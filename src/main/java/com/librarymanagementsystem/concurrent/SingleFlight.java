@@ -0,0 +1,106 @@
+package com.librarymanagementsystem.concurrent;
+
+import com.librarymanagementsystem.exception.ErrorCode;
+import com.librarymanagementsystem.exception.ServiceUnavailableException;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads of the same key into a single call.
+ * <p>
+ * The first caller of {@link #load} for a key becomes the leader and runs the loader in its own thread.
+ * Callers arriving while the load is in flight wait for it and receive its result, or the exception it
+ * threw, as the very same instance; they must therefore treat the result as read-only. Domain exceptions
+ * carry no stack trace, other exceptions show the stack of the leader. The flight ends with the load, so
+ * the next caller after that runs a new load; nothing is cached.
+ * </p>
+ * <p>
+ * A waiter gives up after the given timeout with a {@link ServiceUnavailableException}, while the leader
+ * keeps loading for the others. A caller that must not see the result of a load started before a change,
+ * such as a read right after a write, requires the change to {@link #forget} the key once it is committed.
+ * </p>
+ * <p>
+ * Typical usage example:
+ * <pre>
+ *     BookDto book = bookLoads.load(bookId, timeout, () -&gt; loadBook(bookId));
+ * </pre>
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the loaded values
+ */
+public final class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> flights = new ConcurrentHashMap<>();
+
+    /**
+     * Loads the value of a key, sharing the load with concurrent callers of the same key.
+     *
+     * @param key     the key; it must identify everything the loader depends on, such as the branch of the request
+     * @param timeout the longest time to wait for a load started by another caller
+     * @param loader  the loader, run only if no load of the key is in flight
+     * @return the loaded value
+     * @throws ServiceUnavailableException if the load of another caller did not finish in time
+     */
+    public V load(K key, Duration timeout, Supplier<V> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> inFlight = flights.putIfAbsent(key, flight);
+        if (inFlight != null) {
+            return await(inFlight, timeout);
+        }
+        try {
+            V value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(key, flight);
+        }
+    }
+
+    /**
+     * Detaches the load in flight for a key, if any, so later callers start a new load.
+     * Callers already waiting still receive its result.
+     *
+     * @param key the key
+     */
+    public void forget(K key) {
+        flights.remove(key);
+    }
+
+    /**
+     * @return the number of loads in flight
+     */
+    public int inFlight() {
+        return flights.size();
+    }
+
+    private static <V> V await(CompletableFuture<V> flight, Duration timeout) {
+        try {
+            return flight.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw (Error) cause;
+        } catch (TimeoutException e) {
+            throw new ServiceUnavailableException(ErrorCode.LOAD_TIMEOUT);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException(ErrorCode.LOAD_TIMEOUT);
+        }
+    }
+}
@@ -74,6 +74,11 @@ public interface APIResourcePaths {
      */
     String UPDATE_BOOK_URL = "/{bookId}";
 
+    /**
+     * URL for partially updating an existing book by ID with a JSON Merge Patch.
+     */
+    String PATCH_BOOK_URL = "/{bookId}";
+
     /**
      * URL for deleting an existing book by ID.
      */
@@ -84,6 +89,31 @@ public interface APIResourcePaths {
      */
     String GET_BOOK_URL = "/{bookId}";
 
+    /**
+     * URL for importing books from a CSV catalog file.
+     */
+    String IMPORT_BOOK_URL = "/import";
+
+    /**
+     * URL for retrieving the status of a book import job by its ID.
+     */
+    String IMPORT_BOOK_STATUS_URL = "/import/{jobId}";
+
+    /**
+     * URL for listing the most borrowed books of a time window.
+     */
+    String TRENDING_BOOK_URL = "/trending";
+
+    /**
+     * URL for the Server-Sent Events stream of book availability changes.
+     */
+    String AVAILABILITY_BOOK_URL = "/availability";
+
+    /**
+     * URL for searching books by a combination of filters.
+     */
+    String SEARCH_BOOK_URL = "/search";
+
     // Borrower-related endpoints
 
     /**
@@ -106,6 +136,16 @@ public interface APIResourcePaths {
      */
     String UPDATE_BORROWER_URL = "/{borrowerId}";
 
+    /**
+     * URL for partially updating an existing borrower by ID with a JSON Merge Patch.
+     */
+    String PATCH_BORROWER_URL = "/{borrowerId}";
+
+    /**
+     * Media type of JSON Merge Patch request bodies (RFC 7396).
+     */
+    String MERGE_PATCH_JSON = "application/merge-patch+json";
+
     /**
      * URL for deleting an existing borrower by ID.
      */
@@ -115,4 +155,19 @@ public interface APIResourcePaths {
      * URL for retrieving a specific borrower by ID.
      */
     String GET_BORROWER_URL = "/{borrowerId}";
+
+    /**
+     * URL for listing the books currently borrowed by a specific borrower.
+     */
+    String GET_BORROWER_BOOKS_URL = "/{borrowerId}/books";
+
+    /**
+     * Base URL for the library statistics.
+     */
+    String STATS_URL = API_BASE_URL + "/stats";
+
+    /**
+     * URL for the catalog activity rollups.
+     */
+    String ACTIVITY_STATS_URL = "/activity";
 }
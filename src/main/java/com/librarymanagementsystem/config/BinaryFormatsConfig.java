@@ -0,0 +1,47 @@
+package com.librarymanagementsystem.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Configuration class registering the CBOR and Smile message converters for service-to-service consumers.
+ * <p>
+ * Both are binary encodings of the JSON data model: a client sending {@code Accept: application/cbor} or
+ * {@code Accept: application/x-jackson-smile} receives the same document as in JSON, with the same
+ * properties and the schema published for JSON, only more compact and faster to parse. The bulk endpoints
+ * list both media types after JSON in their {@code produces}, so they appear in the OpenAPI document and
+ * requests without a matching {@code Accept} header keep getting JSON.
+ * </p>
+ * <p>
+ * The converters replace the ones Spring MVC registers by default when the formats are on the classpath,
+ * keeping their position after the JSON converter, and use a mapper built from the application's Jackson
+ * configuration, so dates and the {@code LibraryJsonModule} serializers apply to them as well.
+ * </p>
+ *
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+@Configuration
+public class BinaryFormatsConfig {
+
+    /**
+     * Media type of the Smile encoding.
+     */
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
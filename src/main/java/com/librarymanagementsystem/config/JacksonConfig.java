@@ -0,0 +1,29 @@
+package com.librarymanagementsystem.config;
+
+import com.librarymanagementsystem.json.LibraryJsonModule;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class adding the hand-written serializers of the {@link LibraryJsonModule} to the
+ * application's {@code ObjectMapper}.
+ * <p>
+ * Spring Boot registers every Jackson module bean with the mapper used by the message converters. Setting
+ * {@code library-system.json.specialized-serializers} to {@code false} falls back to Jackson's reflective
+ * serializers.
+ * </p>
+ *
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+@Configuration
+@ConditionalOnProperty(name = "library-system.json.specialized-serializers", matchIfMissing = true)
+public class JacksonConfig {
+
+    @Bean
+    public LibraryJsonModule libraryJsonModule() {
+        return new LibraryJsonModule();
+    }
+}
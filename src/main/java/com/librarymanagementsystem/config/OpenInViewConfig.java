@@ -0,0 +1,38 @@
+package com.librarymanagementsystem.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuration class registering the open-in-view interceptor for all requests but the event streams.
+ * <p>
+ * Spring Boot registers the interceptor for every request. An asynchronous request keeps its
+ * {@code EntityManager} open until the request completes, which for a Server-Sent Events stream means for
+ * the whole life of the connection. Declaring the interceptor here replaces the default registration, so
+ * the streams, which never touch the database, can be excluded. Setting {@code spring.jpa.open-in-view}
+ * to {@code false} still disables it altogether.
+ * </p>
+ *
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "spring.jpa", name = "open-in-view", havingValue = "true", matchIfMissing = true)
+public class OpenInViewConfig implements WebMvcConfigurer {
+
+    @Bean
+    public OpenEntityManagerInViewInterceptor openEntityManagerInViewInterceptor() {
+        return new OpenEntityManagerInViewInterceptor();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addWebRequestInterceptor(openEntityManagerInViewInterceptor())
+                .excludePathPatterns("/" + APIResourcePaths.BOOK_URL + APIResourcePaths.AVAILABILITY_BOOK_URL);
+    }
+}
@@ -0,0 +1,20 @@
+package com.librarymanagementsystem.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuration class enabling scheduled background jobs.
+ * <p>
+ * The jobs themselves live in the {@code com.librarymanagementsystem.job} package. Each job reads its
+ * schedule from the application properties, and can be disabled by setting its cron expression to {@code -}.
+ * </p>
+ *
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,48 @@
+package com.librarymanagementsystem.config;
+
+import com.librarymanagementsystem.sharding.ShardRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration class of the application data source, spreading borrowers over several databases.
+ * <p>
+ * The {@code spring.datasource.*} database is shard {@code 0} and keeps holding everything that is not
+ * sharded. Every URL of {@code library-system.sharding.borrower-shard-urls} adds a borrower shard using the
+ * same driver and credentials. Without further URLs the application runs on the single primary database.
+ * </p>
+ *
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+@Configuration
+public class ShardDataSourceConfig {
+
+    /**
+     * Creates the routing data source over the primary database and the configured borrower shards.
+     *
+     * @param properties the {@code spring.datasource.*} properties of the primary database
+     * @param shardUrls  the JDBC URLs of the further borrower shards
+     * @return the routing data source
+     */
+    @Bean
+    public ShardRoutingDataSource dataSource(DataSourceProperties properties,
+                                             @Value("${library-system.sharding.borrower-shard-urls:}") List<String> shardUrls) {
+        List<DataSource> shards = new ArrayList<>();
+        shards.add(properties.initializeDataSourceBuilder().type(HikariDataSource.class).build());
+        for (String url : shardUrls) {
+            if (!url.isBlank()) {
+                shards.add(properties.initializeDataSourceBuilder().type(HikariDataSource.class).url(url.trim()).build());
+            }
+        }
+        return new ShardRoutingDataSource(shards);
+    }
+}
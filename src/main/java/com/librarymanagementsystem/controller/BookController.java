@@ -1,14 +1,30 @@
 package com.librarymanagementsystem.controller;
 
 import com.librarymanagementsystem.config.APIResourcePaths;
+import com.librarymanagementsystem.config.BinaryFormatsConfig;
+import com.librarymanagementsystem.dto.AvailabilityCheckDto;
 import com.librarymanagementsystem.dto.BookDto;
+import com.librarymanagementsystem.dto.BookSearchCriteria;
+import com.librarymanagementsystem.dto.CursorPageDto;
+import com.librarymanagementsystem.dto.ImportJobStatusDto;
+import com.librarymanagementsystem.dto.MultiGetResponseDto;
+import com.librarymanagementsystem.dto.TrendingBookDto;
+import com.librarymanagementsystem.service.AvailabilityService;
+import com.librarymanagementsystem.service.BookImportService;
 import com.librarymanagementsystem.service.BookService;
+import com.librarymanagementsystem.service.TrendingBookService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
 
 /**
  * REST Controller for managing book-related operations in the library system.
@@ -29,29 +45,151 @@ public class BookController {
     @Autowired
     private BookService bookService;
 
+    /**
+     * Service responsible for bulk importing books.
+     */
+    @Autowired
+    private BookImportService bookImportService;
+
+    /**
+     * Service responsible for the trending books.
+     */
+    @Autowired
+    private TrendingBookService trendingBookService;
+
+    /**
+     * Service responsible for the book availability stream.
+     */
+    @Autowired
+    private AvailabilityService availabilityService;
+
     /**
      * Retrieve a list of all books in the library.
      * This endpoint returns all the books available in the library system.
      *
+     * @param expand the relations to embed: {@code borrower} for the borrower holding each borrowed book
      * @return a list of BookDto objects representing all books
      */
-    @GetMapping(value = APIResourcePaths.GET_ALL_BOOK_URL)
+    @GetMapping(value = APIResourcePaths.GET_ALL_BOOK_URL, produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinaryFormatsConfig.APPLICATION_SMILE_VALUE})
     @ResponseStatus(HttpStatus.OK)
-    public List<BookDto> getAllBooks() {
-        return bookService.getAllBooks();
+    public List<BookDto> getAllBooks(@RequestParam(required = false) List<String> expand) {
+        return bookService.expand(bookService.getAllBooks(), expand);
+    }
+
+    /**
+     * Retrieve several books by their IDs in a single request.
+     * This endpoint returns the found books in request order; IDs that do not exist are listed
+     * in the response instead of failing the request.
+     *
+     * @param ids    the IDs of the books to retrieve, e.g. {@code ids=1,2,3}
+     * @param expand the relations to embed: {@code borrower} for the borrower holding each borrowed book
+     * @return the MultiGetResponseDto holding the found books and the missing IDs
+     */
+    @GetMapping(params = "ids", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinaryFormatsConfig.APPLICATION_SMILE_VALUE})
+    @ResponseStatus(HttpStatus.OK)
+    public MultiGetResponseDto<BookDto> getBooksByIds(@RequestParam List<Long> ids,
+                                                      @RequestParam(required = false) List<String> expand) {
+        MultiGetResponseDto<BookDto> books = bookService.getBooksByIds(ids);
+        books.setItems(bookService.expand(books.getItems(), expand));
+        return books;
+    }
+
+    /**
+     * Retrieve the books with an ISBN.
+     * The ISBN may be given as ISBN-10 or ISBN-13, with or without hyphens; both forms find the same books.
+     * A request that also gives {@code ids} is served by the lookup by IDs instead.
+     *
+     * @param isbn   the ISBN of the books to retrieve
+     * @param expand the relations to embed: {@code borrower} for the borrower holding each borrowed book
+     * @return a list of BookDto objects representing the books with the ISBN
+     */
+    @GetMapping(params = {"isbn", "!ids"})
+    @ResponseStatus(HttpStatus.OK)
+    public List<BookDto> getBooksByIsbn(@RequestParam String isbn, @RequestParam(required = false) List<String> expand) {
+        return bookService.expand(bookService.getBooksByIsbn(isbn), expand);
+    }
+
+    /**
+     * Retrieve the available, or the borrowed, books in the library.
+     * This endpoint filters by the in-memory index of borrowed books instead of scanning the book table.
+     *
+     * @param available {@code true} for the books that can be borrowed, {@code false} for the borrowed ones
+     * @param expand    the relations to embed: {@code borrower} for the borrower holding each borrowed book
+     * @return a list of BookDto objects representing the matching books
+     */
+    @GetMapping(value = APIResourcePaths.GET_ALL_BOOK_URL, params = {"available", "!fields"}, produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinaryFormatsConfig.APPLICATION_SMILE_VALUE})
+    @ResponseStatus(HttpStatus.OK)
+    public List<BookDto> getBooksByAvailability(@RequestParam boolean available,
+                                                @RequestParam(required = false) List<String> expand) {
+        return bookService.expand(bookService.getBooksByAvailability(available), expand);
+    }
+
+    /**
+     * Search the books of the library by a combination of filters, one page at a time.
+     * Filters are {@code author}, {@code titlePrefix}, {@code isbnPrefix}, {@code available} and the
+     * {@code createdFrom}/{@code createdTo} and {@code updatedFrom}/{@code updatedTo} ranges. The next page
+     * is requested by passing the {@code nextCursor} value of the current page as {@code cursor}.
+     *
+     * @param criteria the filters, {@code sort}, {@code cursor} and {@code limit} of the search
+     * @param expand   the relations to embed: {@code borrower} for the borrower holding each borrowed book
+     * @return the CursorPageDto holding the page of matching books
+     */
+    @GetMapping(value = APIResourcePaths.SEARCH_BOOK_URL, produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinaryFormatsConfig.APPLICATION_SMILE_VALUE})
+    @ResponseStatus(HttpStatus.OK)
+    public CursorPageDto<BookDto> searchBooks(BookSearchCriteria criteria,
+                                              @RequestParam(required = false) List<String> expand) {
+        CursorPageDto<BookDto> page = bookService.searchBooks(criteria);
+        page.setItems(bookService.expand(page.getItems(), expand));
+        return page;
+    }
+
+    /**
+     * Retrieve the given fields of all books in the library, or of the available or the borrowed ones.
+     * This endpoint only reads the requested columns, which keeps large listings small.
+     *
+     * @param fields    the names of the BookDto fields to return, e.g. {@code fields=id,title}
+     * @param available {@code true} for the books that can be borrowed, {@code false} for the borrowed ones,
+     *                  or absent for all books
+     * @return a list of maps holding the requested fields of the matching books
+     */
+    @GetMapping(value = APIResourcePaths.GET_ALL_BOOK_URL, params = "fields", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinaryFormatsConfig.APPLICATION_SMILE_VALUE})
+    @ResponseStatus(HttpStatus.OK)
+    public List<Map<String, Object>> getAllBooksWithFields(@RequestParam List<String> fields,
+                                                           @RequestParam(required = false) Boolean available) {
+        return available == null ? bookService.getAllBooks(fields) : bookService.getBooksByAvailability(available, fields);
     }
 
     /**
      * Retrieve details of a specific book by its ID.
      * This endpoint fetches details of a book identified by its unique ID.
      *
-     * @param bookId the ID of the book to retrieve
+     * The version of the book is returned as the {@code ETag} header, for use in {@code If-Match}.
+     *
+     * @param bookId   the ID of the book to retrieve
+     * @param expand   the relations to embed: {@code borrower} for the borrower holding the book
+     * @param response the HTTP response receiving the {@code ETag} header
      * @return the BookDto object representing the retrieved book
      */
     @GetMapping(value = APIResourcePaths.GET_BOOK_URL)
     @ResponseStatus(HttpStatus.OK)
-    public BookDto getBookById(@PathVariable Long bookId) {
-        return bookService.getBookById(bookId);
+    public BookDto getBookById(@PathVariable Long bookId, @RequestParam(required = false) List<String> expand,
+                               HttpServletResponse response) {
+        BookDto book = bookService.getBookById(bookId);
+        response.setHeader(HttpHeaders.ETAG, EntityTags.of(book.getVersion()));
+        return bookService.expand(List.of(book), expand).get(0);
+    }
+
+    /**
+     * Retrieve the given fields of a specific book by its ID.
+     *
+     * @param bookId the ID of the book to retrieve
+     * @param fields the names of the BookDto fields to return, e.g. {@code fields=id,title}
+     * @return a map holding the requested fields of the book
+     */
+    @GetMapping(value = APIResourcePaths.GET_BOOK_URL, params = "fields")
+    @ResponseStatus(HttpStatus.OK)
+    public Map<String, Object> getBookById(@PathVariable Long bookId, @RequestParam List<String> fields) {
+        return bookService.getBookById(bookId, fields);
     }
 
     /**
@@ -81,6 +219,29 @@ public class BookController {
         return bookService.updateBook(bookId, bookDto);
     }
 
+    /**
+     * Partially update an existing book with a JSON Merge Patch.
+     * Only the given fields are changed; with an {@code If-Match} header the update only succeeds if the
+     * book is still at the given version, otherwise {@code 412 Precondition Failed} is returned.
+     *
+     * @param bookId   the ID of the book to patch
+     * @param ifMatch  the optional entity tag the book must still have
+     * @param patch    the merge patch holding the new {@code author}, {@code title} or {@code isbn}
+     * @param response the HTTP response receiving the new {@code ETag} header
+     * @return the patched BookDto object
+     */
+    @PatchMapping(value = APIResourcePaths.PATCH_BOOK_URL,
+            consumes = {APIResourcePaths.MERGE_PATCH_JSON, MediaType.APPLICATION_JSON_VALUE})
+    @ResponseStatus(HttpStatus.OK)
+    public BookDto patchBook(@PathVariable Long bookId,
+                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                             @RequestBody Map<String, Object> patch,
+                             HttpServletResponse response) {
+        BookDto book = bookService.patchBook(bookId, patch, EntityTags.parseIfMatch(ifMatch));
+        response.setHeader(HttpHeaders.ETAG, EntityTags.of(book.getVersion()));
+        return book;
+    }
+
     /**
      * Delete a book from the library system.
      * This endpoint allows deleting a book identified by its unique ID.
@@ -128,4 +289,74 @@ public class BookController {
             @PathVariable Long borrowerId) {
         return bookService.returnBook(bookId, borrowerId);
     }
+
+    /**
+     * Import books from a CSV catalog file.
+     * This endpoint accepts the CSV content as the request body and starts a background import job.
+     * The columns {@code author}, {@code title} and {@code isbn} are expected, optionally preceded by a header row.
+     *
+     * @param csv    the CSV content of the request body
+     * @param source an optional name of the imported file, reported in the job status
+     * @return the ImportJobStatusDto object representing the started job
+     */
+    @PostMapping(value = APIResourcePaths.IMPORT_BOOK_URL, consumes = {"text/csv", "application/octet-stream"})
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public ImportJobStatusDto importBooks(InputStream csv, @RequestParam(defaultValue = "upload") String source) {
+        return bookImportService.startImport(csv, source);
+    }
+
+    /**
+     * Retrieve the status of a book import job.
+     * This endpoint reports the progress, throughput and rejected rows of an import job.
+     *
+     * @param jobId the ID of the import job
+     * @return the ImportJobStatusDto object representing the job status
+     */
+    @GetMapping(value = APIResourcePaths.IMPORT_BOOK_STATUS_URL)
+    @ResponseStatus(HttpStatus.OK)
+    public ImportJobStatusDto getImportStatus(@PathVariable String jobId) {
+        return bookImportService.getImportStatus(jobId);
+    }
+
+    /**
+     * Retrieve the most borrowed books of the last hour, day or week.
+     * The ranking is estimated from in-memory sketches, so the borrow counts may slightly overcount.
+     *
+     * @param window the time window: {@code hour}, {@code day} or {@code week}
+     * @param limit  the maximum number of books; omitted for the configured default
+     * @return a list of TrendingBookDto objects, most borrowed first
+     */
+    @GetMapping(value = APIResourcePaths.TRENDING_BOOK_URL)
+    @ResponseStatus(HttpStatus.OK)
+    public List<TrendingBookDto> getTrendingBooks(@RequestParam(defaultValue = "day") String window,
+                                                  @RequestParam(required = false) Integer limit) {
+        return trendingBookService.getTrendingBooks(window, limit);
+    }
+
+    /**
+     * Stream the availability changes of the books of the branch as Server-Sent Events.
+     * A {@code borrowed} or {@code returned} event is pushed for every committed borrow or return, so
+     * clients no longer need to poll the book list. Browsers reconnect with the {@code Last-Event-ID}
+     * header and receive the events they missed; a {@code reset} event asks them to reload the books.
+     *
+     * @param lastEventId the id of the last event received before reconnecting, if any
+     * @return the SseEmitter streaming the events
+     */
+    @GetMapping(value = APIResourcePaths.AVAILABILITY_BOOK_URL, produces = MediaType.TEXT_EVENT_STREAM_VALUE, params = "!ids")
+    public SseEmitter streamAvailability(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return availabilityService.subscribe(lastEventId);
+    }
+
+    /**
+     * Check which of several books can be borrowed.
+     * This endpoint answers from the in-memory index of borrowed books; unknown IDs are listed separately.
+     *
+     * @param ids the IDs of the books to check, e.g. {@code ids=1,2,3}
+     * @return the AvailabilityCheckDto partitioning the IDs
+     */
+    @GetMapping(value = APIResourcePaths.AVAILABILITY_BOOK_URL, params = "ids")
+    @ResponseStatus(HttpStatus.OK)
+    public AvailabilityCheckDto checkAvailability(@RequestParam List<Long> ids) {
+        return bookService.checkAvailability(ids);
+    }
 }
@@ -1,15 +1,23 @@
 package com.librarymanagementsystem.controller;
 
 import com.librarymanagementsystem.config.APIResourcePaths;
+import com.librarymanagementsystem.config.BinaryFormatsConfig;
 import com.librarymanagementsystem.dto.ApiResponse;
+import com.librarymanagementsystem.dto.BookDto;
 import com.librarymanagementsystem.dto.BorrowerDto;
+import com.librarymanagementsystem.dto.KeysetPageDto;
+import com.librarymanagementsystem.dto.MultiGetResponseDto;
 import com.librarymanagementsystem.service.BorrowerService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * REST Controller for managing borrower-related operations in the library system.
@@ -48,26 +56,103 @@ public class BorrowerController {
     }
 
     /**
-     * Endpoint to retrieve all borrowers in the library system.
+     * Endpoint to list all borrowers in the library system, one page at a time.
+     * The next page is requested by passing the {@code nextAfter} value of the current page as {@code after}.
      *
-     * @return an ApiResponse containing a list of BorrowerDto objects
+     * @param after    the id of the last borrower of the previous page; omitted for the first page
+     * @param limit    the maximum number of borrowers of the page; omitted for the configured default
+     * @param envelope {@code compact} to leave the status and message out of the response
+     * @return an ApiResponse containing the page of borrowers
      */
-    @GetMapping(value = APIResourcePaths.GET_ALL_BORROWER_URL)
-    public ApiResponse<List<BorrowerDto>> getAllBorrowers() {
-        List<BorrowerDto> borrowers = borrowerService.getAllBorrowers();
-        return new ApiResponse<>("success", "Borrowers retrieved successfully", borrowers);
+    @GetMapping(value = APIResourcePaths.GET_ALL_BORROWER_URL, produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinaryFormatsConfig.APPLICATION_SMILE_VALUE})
+    public ApiResponse<KeysetPageDto<BorrowerDto>> getAllBorrowers(@RequestParam(required = false) Long after,
+                                                                  @RequestParam(required = false) Integer limit,
+                                                                  @RequestParam(required = false) String envelope) {
+        KeysetPageDto<BorrowerDto> borrowers = borrowerService.getAllBorrowers(after, limit);
+        return ApiResponse.of(envelope, "Borrowers retrieved successfully", borrowers);
+    }
+
+    /**
+     * Endpoint to retrieve several borrowers by their unique identifiers in a single request.
+     * IDs that do not exist are listed in the response instead of failing the request.
+     *
+     * @param ids      the identifiers of the borrowers to retrieve, e.g. {@code ids=1,2,3}
+     * @param envelope {@code compact} to leave the status and message out of the response
+     * @return an ApiResponse containing the found borrowers and the missing IDs
+     */
+    @GetMapping(params = "ids", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinaryFormatsConfig.APPLICATION_SMILE_VALUE})
+    public ApiResponse<MultiGetResponseDto<BorrowerDto>> getBorrowersByIds(@RequestParam List<Long> ids,
+                                                                          @RequestParam(required = false) String envelope) {
+        MultiGetResponseDto<BorrowerDto> borrowers = borrowerService.getBorrowersByIds(ids);
+        return ApiResponse.of(envelope, "Borrowers retrieved successfully", borrowers);
+    }
+
+    /**
+     * Endpoint to retrieve the given fields of all borrowers in the library system.
+     *
+     * @param fields   the names of the BorrowerDto fields to return
+     * @param envelope {@code compact} to leave the status and message out of the response
+     * @return an ApiResponse containing one map of the requested fields per borrower
+     */
+    @GetMapping(value = APIResourcePaths.GET_ALL_BORROWER_URL, params = "fields", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinaryFormatsConfig.APPLICATION_SMILE_VALUE})
+    public ApiResponse<List<Map<String, Object>>> getAllBorrowers(@RequestParam List<String> fields,
+                                                                 @RequestParam(required = false) String envelope) {
+        List<Map<String, Object>> borrowers = borrowerService.getAllBorrowers(fields);
+        return ApiResponse.of(envelope, "Borrowers retrieved successfully", borrowers);
     }
 
     /**
      * Endpoint to retrieve a specific borrower by their unique identifier.
      *
+     * The version of the borrower is returned as the {@code ETag} header, for use in {@code If-Match}.
+     *
      * @param borrowerId the identifier of the borrower to retrieve
+     * @param envelope   {@code compact} to leave the status and message out of the response
+     * @param response   the HTTP response receiving the {@code ETag} header
      * @return an ApiResponse containing the BorrowerDto object representing the retrieved borrower
      */
     @GetMapping(value = APIResourcePaths.GET_BORROWER_URL)
-    public ApiResponse<BorrowerDto> getBorrowerById(@PathVariable Long borrowerId) {
+    public ApiResponse<BorrowerDto> getBorrowerById(@PathVariable Long borrowerId,
+                                                    @RequestParam(required = false) String envelope,
+                                                    HttpServletResponse response) {
         BorrowerDto borrowerDto = borrowerService.getBorrowerById(borrowerId);
-        return new ApiResponse<>("success", "Borrower retrieved successfully", borrowerDto);
+        response.setHeader(HttpHeaders.ETAG, EntityTags.of(borrowerDto.getVersion()));
+        return ApiResponse.of(envelope, "Borrower retrieved successfully", borrowerDto);
+    }
+
+    /**
+     * Endpoint to retrieve the given fields of a specific borrower by their unique identifier.
+     *
+     * @param borrowerId the identifier of the borrower to retrieve
+     * @param fields     the names of the BorrowerDto fields to return
+     * @param envelope   {@code compact} to leave the status and message out of the response
+     * @return an ApiResponse containing a map of the requested fields of the borrower
+     */
+    @GetMapping(value = APIResourcePaths.GET_BORROWER_URL, params = "fields")
+    public ApiResponse<Map<String, Object>> getBorrowerById(@PathVariable Long borrowerId,
+                                                            @RequestParam List<String> fields,
+                                                            @RequestParam(required = false) String envelope) {
+        Map<String, Object> borrower = borrowerService.getBorrowerById(borrowerId, fields);
+        return ApiResponse.of(envelope, "Borrower retrieved successfully", borrower);
+    }
+
+    /**
+     * Endpoint to list the books currently borrowed by a borrower, one page at a time.
+     * The next page is requested by passing the {@code nextAfter} value of the current page as {@code after}.
+     *
+     * @param borrowerId the unique identifier of the borrower
+     * @param after      the id of the last book of the previous page; omitted for the first page
+     * @param limit      the maximum number of books of the page; omitted for the configured default
+     * @param envelope   {@code compact} to leave the status and message out of the response
+     * @return an ApiResponse containing the page of borrowed books
+     */
+    @GetMapping(value = APIResourcePaths.GET_BORROWER_BOOKS_URL, produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinaryFormatsConfig.APPLICATION_SMILE_VALUE})
+    public ApiResponse<KeysetPageDto<BookDto>> getBorrowedBooks(@PathVariable Long borrowerId,
+                                                               @RequestParam(required = false) Long after,
+                                                               @RequestParam(required = false) Integer limit,
+                                                               @RequestParam(required = false) String envelope) {
+        KeysetPageDto<BookDto> books = borrowerService.getBorrowedBooks(borrowerId, after, limit);
+        return ApiResponse.of(envelope, "Borrowed books retrieved successfully", books);
     }
 
     /**
@@ -83,6 +168,28 @@ public class BorrowerController {
         return new ApiResponse<>("success", "Borrower updated successfully", updatedBorrower);
     }
 
+    /**
+     * Endpoint to partially update an existing borrower with a JSON Merge Patch.
+     * Only the given fields are changed; with an {@code If-Match} header the update only succeeds if the
+     * borrower is still at the given version, otherwise {@code 412 Precondition Failed} is returned.
+     *
+     * @param borrowerId the identifier of the borrower to patch
+     * @param ifMatch    the optional entity tag the borrower must still have
+     * @param patch      the merge patch holding the new {@code name} or {@code email}
+     * @param response   the HTTP response receiving the new {@code ETag} header
+     * @return an ApiResponse containing the patched BorrowerDto object
+     */
+    @PatchMapping(value = APIResourcePaths.PATCH_BORROWER_URL,
+            consumes = {APIResourcePaths.MERGE_PATCH_JSON, MediaType.APPLICATION_JSON_VALUE})
+    public ApiResponse<BorrowerDto> patchBorrower(@PathVariable Long borrowerId,
+                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                  @RequestBody Map<String, Object> patch,
+                                                  HttpServletResponse response) {
+        BorrowerDto patchedBorrower = borrowerService.patchBorrower(borrowerId, patch, EntityTags.parseIfMatch(ifMatch));
+        response.setHeader(HttpHeaders.ETAG, EntityTags.of(patchedBorrower.getVersion()));
+        return new ApiResponse<>("success", "Borrower updated successfully", patchedBorrower);
+    }
+
     /**
      * Endpoint to delete a borrower by their unique identifier.
      *
@@ -0,0 +1,60 @@
+package com.librarymanagementsystem.controller;
+
+import com.librarymanagementsystem.exception.BadRequestException;
+import com.librarymanagementsystem.exception.ErrorCode;
+import com.librarymanagementsystem.exception.PreconditionFailedException;
+
+/**
+ * Conversion between entity versions and the strong entity tags of the {@code ETag} and {@code If-Match} headers.
+ * <p>
+ * The tag of a resource is its optimistic lock version in quotes, for example {@code "3"}.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+final class EntityTags {
+
+    private EntityTags() {
+    }
+
+    /**
+     * Returns the entity tag of the given version.
+     *
+     * @param version the optimistic lock version of the resource
+     * @return the quoted version
+     */
+    static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Returns the version required by an {@code If-Match} header.
+     * <p>
+     * A weak tag never matches, as {@code If-Match} uses the strong comparison.
+     * </p>
+     *
+     * @param ifMatch the header value, or {@code null}
+     * @return the required version, or {@code null} if the header is absent or {@code *}
+     * @throws BadRequestException if the header is not a single entity tag
+     * @throws PreconditionFailedException if the header is a weak entity tag
+     */
+    static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            throw new PreconditionFailedException(ErrorCode.PRECONDITION_FAILED);
+        }
+        if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            throw new BadRequestException(ErrorCode.INVALID_IF_MATCH);
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            // Not a tag issued by this service, so it cannot match the current version.
+            throw new PreconditionFailedException(ErrorCode.PRECONDITION_FAILED);
+        }
+    }
+}
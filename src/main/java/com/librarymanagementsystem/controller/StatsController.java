@@ -0,0 +1,71 @@
+package com.librarymanagementsystem.controller;
+
+import com.librarymanagementsystem.config.APIResourcePaths;
+import com.librarymanagementsystem.dto.ActivityBucketDto;
+import com.librarymanagementsystem.dto.LibraryStatsDto;
+import com.librarymanagementsystem.service.ActivityService;
+import com.librarymanagementsystem.service.LibraryStatsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * REST Controller for the statistics of the library system.
+ * <p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ * </p>
+ */
+@RestController
+@RequestMapping(value = APIResourcePaths.STATS_URL)
+public class StatsController {
+
+    /**
+     * Service responsible for the library statistics.
+     */
+    @Autowired
+    LibraryStatsService libraryStatsService;
+
+    /**
+     * Service responsible for the catalog activity rollups.
+     */
+    @Autowired
+    ActivityService activityService;
+
+    /**
+     * Retrieve the number of books, loans and borrowers in the library.
+     * The numbers are served from in-memory counters and are not recounted on each request.
+     *
+     * @return the LibraryStatsDto holding the current statistics
+     */
+    @GetMapping
+    @ResponseStatus(HttpStatus.OK)
+    public LibraryStatsDto getStats() {
+        return libraryStatsService.getStats();
+    }
+
+    /**
+     * Retrieve the number of borrows, returns, creates and deletes per time bucket, for charts.
+     *
+     * @param from        the inclusive start of the range, e.g. {@code 2024-06-01T00:00:00}
+     * @param to          the exclusive end of the range
+     * @param granularity the bucket size: {@code minute} or {@code hour}
+     * @return a list of ActivityBucketDto objects, one per bucket of the range
+     */
+    @GetMapping(value = APIResourcePaths.ACTIVITY_STATS_URL)
+    @ResponseStatus(HttpStatus.OK)
+    public List<ActivityBucketDto> getActivity(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                               @RequestParam(defaultValue = "hour") String granularity) {
+        return activityService.getActivity(from, to, granularity);
+    }
+}
@@ -0,0 +1,51 @@
+package com.librarymanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object (DTO) for representing the catalog activity of one time bucket.
+ * This class is used to serve activity charts from the activity rollups.
+ * <p>
+ * Annotations from the Lombok library are used to reduce boilerplate code for
+ * creating constructors, getters, setters, etc.
+ * <p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Data
+public class ActivityBucketDto {
+
+    /**
+     * The start of the time bucket, in the local time of the server.
+     */
+    private LocalDateTime bucketStart;
+
+    /**
+     * The number of books borrowed in the bucket.
+     */
+    private long borrowed;
+
+    /**
+     * The number of books returned in the bucket.
+     */
+    private long returned;
+
+    /**
+     * The number of books added in the bucket.
+     */
+    private long created;
+
+    /**
+     * The number of books removed in the bucket.
+     */
+    private long deleted;
+}
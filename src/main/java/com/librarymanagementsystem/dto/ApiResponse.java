@@ -1,5 +1,6 @@
 package com.librarymanagementsystem.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -7,6 +8,10 @@ import lombok.NoArgsConstructor;
 /**
  * ApiResponse is a generic class representing a standardized response structure
  * for API responses in the library management system.
+ * <p>
+ * The compact envelope leaves out {@code status} and {@code message}, so a response only carries its data;
+ * the outcome is given by the HTTP status code.
+ * </p>
  *
  * @param <T> the type of the data field in the response
  * Author: Gajendrasinh Zala
@@ -18,18 +23,41 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 public class ApiResponse<T> {
 
+    /**
+     * Value of the {@code envelope} request parameter selecting the compact envelope.
+     */
+    public static final String COMPACT = "compact";
+
     /**
      * Represents the status of the API response, such as "success" or "fail".
      */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private String status;
 
     /**
      * Provides a descriptive message about the API response status.
      */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private String message;
 
     /**
      * Contains the actual data payload of the API response, which can be of any type.
      */
     private T data;
+
+    /**
+     * Creates a response in the requested envelope.
+     *
+     * @param envelope {@code compact} for the compact envelope, anything else for the full envelope
+     * @param message  the message of the full envelope
+     * @param data     the data payload
+     * @param <T>      the type of the data payload
+     * @return the response
+     */
+    public static <T> ApiResponse<T> of(String envelope, String message, T data) {
+        if (COMPACT.equalsIgnoreCase(envelope)) {
+            return new ApiResponse<>(null, null, data);
+        }
+        return new ApiResponse<>("success", message, data);
+    }
 }
@@ -0,0 +1,42 @@
+package com.librarymanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for representing the result of a bulk availability check.
+ * This class partitions the requested book ids into the books that can be borrowed, the borrowed
+ * books and the ids for which no book exists.
+ * <p>
+ * Annotations from the Lombok library are used to reduce boilerplate code for
+ * creating constructors, getters, setters, etc.
+ * <p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Data
+public class AvailabilityCheckDto {
+
+    /**
+     * The ids of the books that can be borrowed, in request order.
+     */
+    private List<Long> availableIds;
+
+    /**
+     * The ids of the borrowed books, in request order.
+     */
+    private List<Long> borrowedIds;
+
+    /**
+     * The requested ids for which no book exists, in request order.
+     */
+    private List<Long> missingIds;
+}
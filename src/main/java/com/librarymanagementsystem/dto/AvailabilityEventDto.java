@@ -0,0 +1,46 @@
+package com.librarymanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object (DTO) for representing a change of the availability of a book.
+ * This class is the data of the {@code borrowed} and {@code returned} events of the book availability stream.
+ * <p>
+ * Annotations from the Lombok library are used to reduce boilerplate code for
+ * creating constructors, getters, setters, etc.
+ * <p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Data
+public class AvailabilityEventDto {
+
+    /**
+     * The unique identifier of the book.
+     */
+    private Long bookId;
+
+    /**
+     * The borrower who borrowed or returned the book.
+     */
+    private Long borrowerId;
+
+    /**
+     * Whether the book is available after the change.
+     */
+    private boolean available;
+
+    /**
+     * The date and time the change was committed.
+     */
+    private LocalDateTime changedOn;
+}
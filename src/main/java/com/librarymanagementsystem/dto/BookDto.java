@@ -1,11 +1,18 @@
 package com.librarymanagementsystem.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.librarymanagementsystem.dto.validation.ValidIsbn;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
 /**
  * Data Transfer Object (DTO) for representing Book data.
  * This class is used to transfer book-related data between different layers
@@ -20,7 +27,7 @@ import lombok.NoArgsConstructor;
  */
 @AllArgsConstructor
 @NoArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 @Data
 public class BookDto {
 
@@ -48,9 +55,74 @@ public class BookDto {
 
     /**
      * The International Standard Book Number (ISBN) of the book.
-     * This field is mandatory and must not be blank.
-     * ISBN uniquely identifies the book.
+     * This field is mandatory and must be a valid ISBN-10 or ISBN-13, with or without hyphens.
+     * ISBN uniquely identifies the book; the ISBN-10 and ISBN-13 forms of an ISBN are the same book.
      */
     @NotBlank(message = "ISBN is a required field")
+    @ValidIsbn
     private String isbn;
-}
\ No newline at end of file
+
+    /**
+     * The date and time by which the book has to be returned.
+     * This field is managed by the system and is only present while the book is borrowed.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private LocalDateTime dueDate;
+
+    /**
+     * Indicates whether the current loan is overdue.
+     * This field is managed by the system and is only present while the book is borrowed.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Boolean overdue;
+
+    /**
+     * The fine accumulated on the current loan.
+     * This field is managed by the system and is only present once the loan is overdue.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private BigDecimal fineAmount;
+
+    /**
+     * The id of the borrower currently holding the book.
+     * This field is not serialized; it tells which borrower to embed for {@code expand=borrower}.
+     */
+    @JsonIgnore
+    private Long borrowerId;
+
+    /**
+     * The borrower currently holding the book.
+     * This field is managed by the system and is only present while the book is borrowed and the request
+     * asks for it with {@code expand=borrower}.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private BorrowerDto borrower;
+
+    /**
+     * The optimistic lock version of the book.
+     * This field is not serialized; it is sent as the {@code ETag} header of single-book responses.
+     */
+    @JsonIgnore
+    private Long version;
+
+    /**
+     * Creates a book without borrower, as selected by the JPQL constructor expressions of the repository.
+     *
+     * @param id         the id of the book
+     * @param author     the author of the book
+     * @param title      the title of the book
+     * @param isbn       the ISBN of the book
+     * @param dueDate    the due date of the current loan, or {@code null}
+     * @param overdue    whether the current loan is overdue, or {@code null}
+     * @param fineAmount the fine of the current loan, or {@code null}
+     * @param version    the optimistic lock version of the book
+     */
+    public BookDto(Long id, String author, String title, String isbn, LocalDateTime dueDate, Boolean overdue,
+                   BigDecimal fineAmount, Long version) {
+        this(id, author, title, isbn, dueDate, overdue, fineAmount, null, null, version);
+    }
+}
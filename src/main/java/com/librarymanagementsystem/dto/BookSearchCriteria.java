@@ -0,0 +1,88 @@
+package com.librarymanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object (DTO) for representing the filters, sort order and page of a book search.
+ * This class is bound from the query parameters of the search request; every filter is optional
+ * and the given filters are combined with AND.
+ * <p>
+ * Annotations from the Lombok library are used to reduce boilerplate code for
+ * creating constructors, getters, setters, etc.
+ * <p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Data
+public class BookSearchCriteria {
+
+    /**
+     * The exact author of the books.
+     */
+    private String author;
+
+    /**
+     * The beginning of the title of the books.
+     */
+    private String titlePrefix;
+
+    /**
+     * The first digits of the ISBN-13 of the books; books entered with an ISBN-10 match by their ISBN-13.
+     */
+    private String isbnPrefix;
+
+    /**
+     * {@code true} for the books that can be borrowed, {@code false} for the borrowed ones.
+     */
+    private Boolean available;
+
+    /**
+     * The earliest creation time of the books, inclusive.
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdFrom;
+
+    /**
+     * The latest creation time of the books, exclusive.
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdTo;
+
+    /**
+     * The earliest last update time of the books, inclusive.
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime updatedFrom;
+
+    /**
+     * The latest last update time of the books, exclusive.
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime updatedTo;
+
+    /**
+     * The sort order: {@code id}, {@code title}, {@code isbn}, {@code created} or {@code updated},
+     * prefixed with {@code -} for descending order.
+     */
+    private String sort;
+
+    /**
+     * The {@code nextCursor} of the previous page, or {@code null} for the first page.
+     */
+    private String cursor;
+
+    /**
+     * The maximum number of books of the page, or {@code null} for the configured default.
+     */
+    private Integer limit;
+}
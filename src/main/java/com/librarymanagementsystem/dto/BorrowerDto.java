@@ -1,5 +1,6 @@
 package com.librarymanagementsystem.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
@@ -47,4 +48,11 @@ public class BorrowerDto {
     @NotBlank(message = "Email is a required field")
     @Email(message = "Email should be valid")
     private String email;
+
+    /**
+     * The optimistic lock version of the borrower.
+     * This field is not serialized; it is sent as the {@code ETag} header of single-borrower responses.
+     */
+    @JsonIgnore
+    private Long version;
 }
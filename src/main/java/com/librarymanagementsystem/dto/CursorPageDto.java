@@ -0,0 +1,41 @@
+package com.librarymanagementsystem.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for representing one page of a listing paginated by an opaque cursor.
+ * The cursor holds the sort key of the last item of this page, so the next page is read from the index
+ * position where this page ended, no matter how deep into the listing it is.
+ * <p>
+ * Annotations from the Lombok library are used to reduce boilerplate code for
+ * creating constructors, getters, setters, etc.
+ * <p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ *
+ * @param <T> the type of the listed items
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Data
+public class CursorPageDto<T> {
+
+    /**
+     * The items of this page, in the requested order.
+     */
+    private List<T> items;
+
+    /**
+     * The value to pass as {@code cursor} to read the next page; absent on the last page.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
+}
@@ -1,9 +1,10 @@
 package com.librarymanagementsystem.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import java.util.List;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
+import lombok.Value;
 
 /**
  * Data Transfer Object (DTO) for representing error responses.
@@ -11,7 +12,8 @@ import lombok.Data;
  * when operations fail due to validation issues or other errors.
  * <p>
  * Annotations from the Lombok library are used to reduce boilerplate code for
- * creating constructors, getters, setters, etc.
+ * creating constructors, getters, etc. The class is immutable, as the pre-built bodies of
+ * {@link com.librarymanagementsystem.exception.ErrorCode} are shared by all responses.
  * </p>
  * <p>
  * Author: Gajendrasinh Zala
@@ -19,21 +21,28 @@ import lombok.Data;
  * Github: https://github.com/Gajendrasinh
  * </p>
  */
-@AllArgsConstructor
-@Data
+@Value
 @Builder
+@AllArgsConstructor
 public class ErrorDto {
 
+    /**
+     * The stable error code from {@link com.librarymanagementsystem.exception.ErrorCode}, such as {@code LMS-1001}.
+     * Clients should match on this code rather than on the message.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    String code;
+
     /**
      * The general error message describing the nature of the error.
      * This message provides a high-level overview of the error.
      */
-    private String message;
+    String message;
 
     /**
      * A list of detailed error messages related to specific fields.
      * Each entry in the list represents an error message associated with a particular field,
      * providing more granular detail about the error.
      */
-    private List<ErrorDetailsDto> errorMessages;
+    List<ErrorDetailsDto> errorMessages;
 }
\ No newline at end of file
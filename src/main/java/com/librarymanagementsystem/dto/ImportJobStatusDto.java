@@ -0,0 +1,84 @@
+package com.librarymanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for representing the status of a book import job.
+ * This class is used to report the progress, throughput and rejected rows of a CSV catalog import
+ * while it is running and after it has finished.
+ * <p>
+ * Annotations from the Lombok library are used to reduce boilerplate code for
+ * creating constructors, getters, setters, etc.
+ * <p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Data
+public class ImportJobStatusDto {
+
+    /**
+     * The unique identifier of the import job.
+     */
+    private String jobId;
+
+    /**
+     * The name of the imported source, such as the uploaded file or the file path given to the CLI runner.
+     */
+    private String source;
+
+    /**
+     * The state of the import job: {@code RUNNING}, {@code COMPLETED} or {@code FAILED}.
+     */
+    private String state;
+
+    /**
+     * The number of data rows read from the source so far.
+     */
+    private long rowsRead;
+
+    /**
+     * The number of rows inserted into the catalog so far.
+     */
+    private long rowsImported;
+
+    /**
+     * The number of rows rejected so far because of parsing, validation or ISBN conflicts.
+     */
+    private long rowsRejected;
+
+    /**
+     * The average number of rows read per second since the job started.
+     */
+    private double rowsPerSecond;
+
+    /**
+     * The date and time at which the job started.
+     */
+    private LocalDateTime startedOn;
+
+    /**
+     * The date and time at which the job finished, or {@code null} while it is running.
+     */
+    private LocalDateTime finishedOn;
+
+    /**
+     * The reason of the failure if the job failed.
+     */
+    private String message;
+
+    /**
+     * The first rejected rows of the job. Only a bounded number of rejections is reported,
+     * {@link #rowsRejected} holds the total.
+     */
+    private List<ErrorDetailsDto> rejectedRows;
+}
@@ -0,0 +1,57 @@
+package com.librarymanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object (DTO) for representing the statistics of the library.
+ * This class is used to report the number of books, loans and borrowers without counting them
+ * in the database on every request.
+ * <p>
+ * Annotations from the Lombok library are used to reduce boilerplate code for
+ * creating constructors, getters, setters, etc.
+ * <p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Data
+public class LibraryStatsDto {
+
+    /**
+     * The number of books in the catalog.
+     */
+    private long totalBooks;
+
+    /**
+     * The number of books currently borrowed.
+     */
+    private long booksOnLoan;
+
+    /**
+     * The number of books that can be borrowed.
+     */
+    private long availableBooks;
+
+    /**
+     * The number of registered borrowers.
+     */
+    private long borrowers;
+
+    /**
+     * The number of borrowers currently holding at least one book.
+     */
+    private long borrowersWithActiveLoans;
+
+    /**
+     * The date and time the counters were last reconciled with the database.
+     */
+    private LocalDateTime reconciledOn;
+}
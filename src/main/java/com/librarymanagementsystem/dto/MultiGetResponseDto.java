@@ -0,0 +1,39 @@
+package com.librarymanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for representing the result of a multi-get request.
+ * This class is used to return the entities found for a list of requested ids together with the ids
+ * that do not exist, so that missing entities do not fail the whole request.
+ * <p>
+ * Annotations from the Lombok library are used to reduce boilerplate code for
+ * creating constructors, getters, setters, etc.
+ * <p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ *
+ * @param <T> the type of the returned items
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Data
+public class MultiGetResponseDto<T> {
+
+    /**
+     * The found items, in the order of the requested ids.
+     */
+    private List<T> items;
+
+    /**
+     * The requested ids for which no item exists, in request order.
+     */
+    private List<Long> missingIds;
+}
@@ -0,0 +1,50 @@
+package com.librarymanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) for representing a trending book.
+ * This class is used to list the most borrowed books of a time window together with their
+ * estimated number of borrows.
+ * <p>
+ * Annotations from the Lombok library are used to reduce boilerplate code for
+ * creating constructors, getters, setters, etc.
+ * <p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Data
+public class TrendingBookDto {
+
+    /**
+     * The unique identifier of the book.
+     */
+    private Long id;
+
+    /**
+     * The author of the book.
+     */
+    private String author;
+
+    /**
+     * The title of the book.
+     */
+    private String title;
+
+    /**
+     * The ISBN of the book.
+     */
+    private String isbn;
+
+    /**
+     * The estimated number of borrows in the window; it may slightly exceed the actual number.
+     */
+    private long borrows;
+}
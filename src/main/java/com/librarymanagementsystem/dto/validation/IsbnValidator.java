@@ -0,0 +1,22 @@
+package com.librarymanagementsystem.dto.validation;
+
+import com.librarymanagementsystem.catalog.Isbn;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+/**
+ * Validator of the {@link ValidIsbn} constraint.
+ * <p>
+ * Blank values are left to {@code @NotBlank}, so a missing ISBN is reported once.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+public class IsbnValidator implements ConstraintValidator<ValidIsbn, String> {
+
+    @Override
+    public boolean isValid(String value, ConstraintValidatorContext context) {
+        return value == null || value.isBlank() || Isbn.isValid(value);
+    }
+}
@@ -0,0 +1,35 @@
+package com.librarymanagementsystem.dto.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Constraint requiring a string to be a valid ISBN-10 or ISBN-13.
+ * <p>
+ * Hyphens and spaces are allowed and the check digit must match. {@code null} values are valid, so the
+ * constraint is combined with {@code @NotBlank} for required fields.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ *
+ * @see com.librarymanagementsystem.catalog.Isbn
+ */
+@Documented
+@Constraint(validatedBy = IsbnValidator.class)
+@Target({ElementType.FIELD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ValidIsbn {
+
+    String message() default "ISBN must be a valid ISBN-10 or ISBN-13";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
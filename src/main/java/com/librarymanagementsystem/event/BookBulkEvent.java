@@ -0,0 +1,36 @@
+package com.librarymanagementsystem.event;
+
+import com.librarymanagementsystem.catalog.BookRecord;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Application event published for a change of many books written with one bulk statement, such as the books
+ * deleted with their borrower or the rows of a CSV import, which bypass the {@link BookEvent} of every book.
+ * <p>
+ * It is published inside the transaction writing the change, so the outbox rows of the books are committed
+ * with it. In-process listeners learn of these changes from the {@link BorrowerEvent} of a deleted borrower or
+ * from the catalog deltas instead.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+@Value
+@Builder
+@AllArgsConstructor
+public class BookBulkEvent {
+
+    /**
+     * The type of the change, the same for every book.
+     */
+    BookEventType type;
+
+    /**
+     * The state of the books after the change, or before the change for {@link BookEventType#DELETED}.
+     */
+    List<BookRecord> books;
+}
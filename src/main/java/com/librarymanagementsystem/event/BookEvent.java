@@ -0,0 +1,38 @@
+package com.librarymanagementsystem.event;
+
+import com.librarymanagementsystem.catalog.BookRecord;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Application event published by the book service after every change of a book.
+ * <p>
+ * Listeners that only need committed state should use
+ * {@link org.springframework.transaction.event.TransactionalEventListener} with {@code fallbackExecution = true},
+ * so they also receive events published outside of a transaction.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+@Value
+@Builder
+@AllArgsConstructor
+public class BookEvent {
+
+    /**
+     * The type of the change.
+     */
+    BookEventType type;
+
+    /**
+     * The state of the book after the change, or before the change for {@link BookEventType#DELETED}.
+     */
+    BookRecord book;
+
+    /**
+     * The borrower involved in a {@link BookEventType#BORROWED} or {@link BookEventType#RETURNED} change.
+     */
+    Long borrowerId;
+}
@@ -0,0 +1,16 @@
+package com.librarymanagementsystem.event;
+
+/**
+ * Types of changes published as {@link BookEvent}s.
+ * <p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+public enum BookEventType {
+    CREATED,
+    UPDATED,
+    DELETED,
+    BORROWED,
+    RETURNED
+}
@@ -0,0 +1,40 @@
+package com.librarymanagementsystem.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.Set;
+
+/**
+ * Application event published by the borrower service after every change of a borrower.
+ * <p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+@Value
+@Builder
+@AllArgsConstructor
+public class BorrowerEvent {
+
+    /**
+     * The type of the change.
+     */
+    BorrowerEventType type;
+
+    /**
+     * The id of the changed borrower.
+     */
+    Long borrowerId;
+
+    /**
+     * The ids of the books removed together with a deleted borrower, empty for other changes.
+     */
+    Set<Long> removedBookIds;
+
+    /**
+     * The library branch owning the borrower.
+     */
+    String branchId;
+}
@@ -0,0 +1,14 @@
+package com.librarymanagementsystem.event;
+
+/**
+ * Types of changes published as {@link BorrowerEvent}s.
+ * <p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+public enum BorrowerEventType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -1,18 +1,13 @@
 package com.librarymanagementsystem.exception;
 
-import lombok.Getter;
-
 /**
  * Custom exception class to handle scenarios where an attempt is made to create or register
  * an entity that already exists in the system.
  * This exception should be used to signal a conflict when an entity with the same unique
  * identifier or properties is already present.
  * <p>
- * Inherits from {@link RuntimeException}, allowing it to be thrown during normal operation
- * of the Java Virtual Machine and caught to handle specific cases of conflicts.
- * </p>
- * <p>
- * Annotations from the Lombok library are used to generate boilerplate code for getters.
+ * Inherits from {@link LibraryException}, so it is created without a stack trace and carries an
+ * {@link ErrorCode} that selects the response body.
  * </p>
  * <p>
  * Author: Gajendrasinh Zala
@@ -20,24 +15,25 @@ import lombok.Getter;
  * Github: https://github.com/Gajendrasinh
  * </p>
  */
-@Getter
-public class AlreadyExistException extends RuntimeException {
-
-    /**
-     * The message that describes the nature of the exception.
-     * This field provides detailed information about the reason for the exception.
-     */
-    private final String message;
+public class AlreadyExistException extends LibraryException {
 
     /**
      * Constructs a new AlreadyExistException with the specified detail message.
-     * This constructor initializes the exception with the provided message, which can
-     * be retrieved using the {@link #getMessage()} method.
+     * The response body is built from this message, with the generic {@link ErrorCode#CONFLICT} code.
      *
      * @param message the detail message explaining the reason for the exception.
      */
     public AlreadyExistException(String message) {
-        super(message);
-        this.message = message;
+        super(ErrorCode.CONFLICT, message);
+    }
+
+    /**
+     * Constructs a new AlreadyExistException with the fixed message of the given error code.
+     * The pre-built response body of the code is returned for it.
+     *
+     * @param errorCode the error code.
+     */
+    public AlreadyExistException(ErrorCode errorCode) {
+        super(errorCode, (Object) null);
     }
 }
@@ -0,0 +1,38 @@
+package com.librarymanagementsystem.exception;
+
+/**
+ * Custom exception class to handle scenarios where a request is syntactically valid but its
+ * parameters cannot be served, such as an unknown field name or a too large list of ids.
+ * This exception typically results in a {@code 400 Bad Request} response.
+ * <p>
+ * Inherits from {@link LibraryException}, so it is created without a stack trace and carries an
+ * {@link ErrorCode} that selects the response body.
+ * </p>
+ * <p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ * </p>
+ */
+public class BadRequestException extends LibraryException {
+
+    /**
+     * Constructs a new BadRequestException with the specified detail message.
+     * The response body is built from this message, with the generic {@link ErrorCode#BAD_REQUEST} code.
+     *
+     * @param message the detail message explaining the reason for the exception.
+     */
+    public BadRequestException(String message) {
+        super(ErrorCode.BAD_REQUEST, message);
+    }
+
+    /**
+     * Constructs a new BadRequestException with the fixed message of the given error code.
+     * The pre-built response body of the code is returned for it.
+     *
+     * @param errorCode the error code.
+     */
+    public BadRequestException(ErrorCode errorCode) {
+        super(errorCode, (Object) null);
+    }
+}
@@ -0,0 +1,89 @@
+package com.librarymanagementsystem.exception;
+
+import com.librarymanagementsystem.dto.ErrorDto;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Catalog of the stable error codes returned by the library system.
+ * <p>
+ * Every code has a fixed HTTP status and message, and a pre-built {@link ErrorDto} that is returned
+ * as-is whenever an exception carries the code without a free-form message. Clients should match on
+ * {@link #getCode()}, which never changes, rather than on the message.
+ * </p>
+ * <p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ * </p>
+ */
+public enum ErrorCode {
+
+    NOT_FOUND("LMS-1000", HttpStatus.NOT_FOUND, "Resource not found"),
+    BOOK_NOT_FOUND("LMS-1001", HttpStatus.NOT_FOUND, "Book not found"),
+    BORROWER_NOT_FOUND("LMS-1002", HttpStatus.NOT_FOUND, "Borrower not found"),
+    IMPORT_JOB_NOT_FOUND("LMS-1003", HttpStatus.NOT_FOUND, "Import job not found"),
+    LOAN_NOT_FOUND("LMS-1004", HttpStatus.NOT_FOUND, "Borrower does not borrow this book"),
+
+    CONFLICT("LMS-2000", HttpStatus.CONFLICT, "Conflict with the current state"),
+    BOOK_ALREADY_EXISTS("LMS-2001", HttpStatus.CONFLICT, "Book already exists with the same title and author"),
+    BOOK_ALREADY_BORROWED("LMS-2002", HttpStatus.CONFLICT, "Book is already borrowed by the borrower"),
+    BOOK_NOT_BORROWED("LMS-2003", HttpStatus.CONFLICT, "Book is not borrowed by the given borrower"),
+    BOOK_ON_LOAN("LMS-2004", HttpStatus.CONFLICT, "Book is borrowed by another borrower"),
+    DATA_CONFLICT("LMS-2005", HttpStatus.CONFLICT, "Conflicts with an existing resource, such as one with the same unique values"),
+    BORROWER_ALREADY_EXISTS("LMS-2006", HttpStatus.CONFLICT, "Borrower already exists with the same name or email"),
+
+    BAD_REQUEST("LMS-3000", HttpStatus.BAD_REQUEST, "Bad request"),
+    VALIDATION_FAILED("LMS-3001", HttpStatus.BAD_REQUEST, "Validation Failed"),
+    INVALID_IF_MATCH("LMS-3002", HttpStatus.BAD_REQUEST, "If-Match must hold a single entity tag or *"),
+    INVALID_BRANCH("LMS-3003", HttpStatus.BAD_REQUEST, "Branch id must be 1 to 32 letters, digits, '-' or '_'"),
+
+    PRECONDITION_FAILED("LMS-4000", HttpStatus.PRECONDITION_FAILED, "Resource has been modified since the given version"),
+
+    INTERNAL_ERROR("LMS-5000", HttpStatus.INTERNAL_SERVER_ERROR, "Internal server error"),
+    LOAD_TIMEOUT("LMS-5001", HttpStatus.SERVICE_UNAVAILABLE, "Timed out waiting for a concurrent load of the same data");
+
+    private final String code;
+
+    private final HttpStatus status;
+
+    private final String message;
+
+    private final ErrorDto errorBody;
+
+    ErrorCode(String code, HttpStatus status, String message) {
+        this.code = code;
+        this.status = status;
+        this.message = message;
+        this.errorBody = new ErrorDto(code, message, null);
+    }
+
+    /**
+     * @return the stable error code, such as {@code LMS-1001}
+     */
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * @return the HTTP status of responses carrying this code
+     */
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * @return the fixed message of this code
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Returns the pre-built response body of this code. The instance is immutable and shared by all responses.
+     *
+     * @return the error body holding the code and its fixed message
+     */
+    public ErrorDto getErrorBody() {
+        return errorBody;
+    }
+}
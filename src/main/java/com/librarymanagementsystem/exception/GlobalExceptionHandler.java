@@ -5,7 +5,9 @@ import com.librarymanagementsystem.dto.ErrorDto;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -53,7 +55,8 @@ public class GlobalExceptionHandler {
 
         // Construct and return the ErrorDto with the list of field-specific error messages.
         return ErrorDto.builder()
-                .message("Validation Failed")
+                .code(ErrorCode.VALIDATION_FAILED.getCode())
+                .message(ErrorCode.VALIDATION_FAILED.getMessage())
                 .errorMessages(detailsDtos)
                 .build();
     }
@@ -71,10 +74,23 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(AlreadyExistException.class)
     @ResponseStatus(HttpStatus.CONFLICT)
     public ErrorDto handleAlreadyExistException(AlreadyExistException e) {
-        // Construct and return the ErrorDto with the conflict message.
-        return ErrorDto.builder()
-                .message(e.getMessage())
-                .build();
+        return errorBody(e);
+    }
+
+    /**
+     * Handles exceptions when request parameters cannot be served.
+     * This method captures {@link BadRequestException} exceptions and constructs
+     * an {@link ErrorDto} containing the error message.
+     * <p>
+     * The response status for this exception is {@code 400 Bad Request}.
+     *
+     * @param e the exception indicating that the request parameters are invalid.
+     * @return an {@link ErrorDto} containing the bad request error message.
+     */
+    @ExceptionHandler(BadRequestException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorDto handleBadRequestException(BadRequestException e) {
+        return errorBody(e);
     }
 
     /**
@@ -90,10 +106,71 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(NotFoundException.class)
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public ErrorDto handleNotFoundException(NotFoundException e) {
-        // Construct and return the ErrorDto with the not found message.
-        return ErrorDto.builder()
-                .message(e.getMessage())
-                .build();
+        return errorBody(e);
+    }
+
+    /**
+     * Handles conditional requests whose {@code If-Match} precondition does not hold.
+     * This method captures {@link PreconditionFailedException} exceptions and constructs
+     * an {@link ErrorDto} containing the error message.
+     * <p>
+     * The response status for this exception is {@code 412 Precondition Failed}.
+     *
+     * @param e the exception indicating that the resource has been modified.
+     * @return an {@link ErrorDto} containing the precondition failed error message.
+     */
+    @ExceptionHandler(PreconditionFailedException.class)
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    public ErrorDto handlePreconditionFailedException(PreconditionFailedException e) {
+        return errorBody(e);
+    }
+
+    /**
+     * Handles requests that cannot be served right now, such as one that timed out waiting for a
+     * concurrent load of the same data.
+     * This method captures {@link ServiceUnavailableException} exceptions and constructs
+     * an {@link ErrorDto} containing the error message.
+     * <p>
+     * The response status for this exception is {@code 503 Service Unavailable}.
+     *
+     * @param e the exception indicating that the request cannot be served right now.
+     * @return an {@link ErrorDto} containing the service unavailable error message.
+     */
+    @ExceptionHandler(ServiceUnavailableException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorDto handleServiceUnavailableException(ServiceUnavailableException e) {
+        return errorBody(e);
+    }
+
+    /**
+     * Handles optimistic lock failures, raised when a concurrent update has changed the row between
+     * the read and the version-checked update.
+     * <p>
+     * The response status for this exception is {@code 412 Precondition Failed}.
+     *
+     * @param e the optimistic locking failure.
+     * @return the pre-built {@link ErrorDto} of {@link ErrorCode#PRECONDITION_FAILED}.
+     */
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    public ErrorDto handleOptimisticLockingFailureException(ObjectOptimisticLockingFailureException e) {
+        return ErrorCode.PRECONDITION_FAILED.getErrorBody();
+    }
+
+    /**
+     * Handles integrity constraint violations raised by the database, such as a unique index rejecting
+     * a borrower whose name or email was taken by a concurrent request. The SQL in the exception is not
+     * returned to the client.
+     * <p>
+     * The response status for this exception is {@code 409 Conflict}.
+     *
+     * @param e the data integrity violation.
+     * @return the pre-built {@link ErrorDto} of {@link ErrorCode#DATA_CONFLICT}.
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorDto handleDataIntegrityViolationException(DataIntegrityViolationException e) {
+        return ErrorCode.DATA_CONFLICT.getErrorBody();
     }
 
     /**
@@ -111,7 +188,23 @@ public class GlobalExceptionHandler {
     public ErrorDto handleException(Exception e) {
         // Construct and return the ErrorDto with the general error message.
         return ErrorDto.builder()
+                .code(ErrorCode.INTERNAL_ERROR.getCode())
                 .message(e.getMessage())
                 .build();
     }
+
+    /**
+     * Returns the response body of a domain exception.
+     * Exceptions without a free-form message share the pre-built body of their {@link ErrorCode},
+     * so the common 404 and 409 responses allocate nothing per request.
+     *
+     * @param e the domain exception.
+     * @return an {@link ErrorDto} containing the error code and message.
+     */
+    private ErrorDto errorBody(LibraryException e) {
+        if (e.hasFixedMessage()) {
+            return e.getErrorCode().getErrorBody();
+        }
+        return new ErrorDto(e.getErrorCode().getCode(), e.getMessage(), null);
+    }
 }
@@ -0,0 +1,75 @@
+package com.librarymanagementsystem.exception;
+
+/**
+ * Base class of the domain exceptions of the library system.
+ * <p>
+ * Domain exceptions describe expected outcomes such as a missing book, so they are created without a
+ * stack trace and without suppression support; filling in the stack trace is the dominant cost of
+ * throwing an exception. Each carries an {@link ErrorCode}. The message is either a free-form message
+ * given by the caller, or composed from the code's fixed message and an optional id only when it is
+ * actually read, such as when the exception is logged.
+ * </p>
+ * <p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ * </p>
+ */
+public abstract class LibraryException extends RuntimeException {
+
+    private final ErrorCode errorCode;
+
+    private final String detail;
+
+    private final Object id;
+
+    /**
+     * Constructs an exception with a free-form message.
+     *
+     * @param errorCode the error code
+     * @param detail    the message explaining the reason for the exception
+     */
+    protected LibraryException(ErrorCode errorCode, String detail) {
+        this(errorCode, detail, null);
+    }
+
+    /**
+     * Constructs an exception with the fixed message of its code, about the entity with the given id.
+     *
+     * @param errorCode the error code
+     * @param id        the id of the entity concerned, or {@code null}
+     */
+    protected LibraryException(ErrorCode errorCode, Object id) {
+        this(errorCode, null, id);
+    }
+
+    private LibraryException(ErrorCode errorCode, String detail, Object id) {
+        super(null, null, false, false);
+        this.errorCode = errorCode;
+        this.detail = detail;
+        this.id = id;
+    }
+
+    /**
+     * @return the error code of the exception
+     */
+    public ErrorCode getErrorCode() {
+        return errorCode;
+    }
+
+    /**
+     * @return {@code true} if the exception has no free-form message, so the pre-built
+     * {@linkplain ErrorCode#getErrorBody() error body} of its code can be returned
+     */
+    public boolean hasFixedMessage() {
+        return detail == null;
+    }
+
+    @Override
+    public String getMessage() {
+        if (detail != null) {
+            return detail;
+        }
+        return id == null ? errorCode.getMessage() : errorCode.getMessage() + " with id: " + id;
+    }
+}
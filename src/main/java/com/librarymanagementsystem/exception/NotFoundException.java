@@ -1,17 +1,12 @@
 package com.librarymanagementsystem.exception;
 
-import lombok.Getter;
-
 /**
  * Custom exception class to handle scenarios where a requested entity is not found in the system.
  * This exception should be used to signal that a particular resource, such as a book or borrower,
  * could not be located, typically resulting in a {@code 404 Not Found} response.
  * <p>
- * Inherits from {@link RuntimeException}, allowing it to be thrown during normal operation
- * of the Java Virtual Machine and caught to handle specific cases of missing resources.
- * </p>
- * <p>
- * Annotations from the Lombok library are used to generate boilerplate code for getters.
+ * Inherits from {@link LibraryException}, so it is created without a stack trace and carries an
+ * {@link ErrorCode} that selects the response body.
  * </p>
  * <p>
  * Author: Gajendrasinh Zala
@@ -19,24 +14,36 @@ import lombok.Getter;
  * Github: https://github.com/Gajendrasinh
  * </p>
  */
-@Getter
-public class NotFoundException extends RuntimeException {
-
-    /**
-     * The message that describes the nature of the exception.
-     * This field provides detailed information about the reason for the exception.
-     */
-    private final String message;
+public class NotFoundException extends LibraryException {
 
     /**
      * Constructs a new NotFoundException with the specified detail message.
-     * This constructor initializes the exception with the provided message, which can
-     * be retrieved using the {@link #getMessage()} method.
+     * The response body is built from this message, with the generic {@link ErrorCode#NOT_FOUND} code.
      *
      * @param message the detail message explaining the reason for the exception.
      */
     public NotFoundException(String message) {
-        super(message);
-        this.message = message;
+        super(ErrorCode.NOT_FOUND, message);
+    }
+
+    /**
+     * Constructs a new NotFoundException with the fixed message of the given error code.
+     * The pre-built response body of the code is returned for it.
+     *
+     * @param errorCode the error code.
+     */
+    public NotFoundException(ErrorCode errorCode) {
+        super(errorCode, (Object) null);
+    }
+
+    /**
+     * Constructs a new NotFoundException with the fixed message of the given error code, about the
+     * entity with the given id. The id only appears in the message when it is read, such as in logs.
+     *
+     * @param errorCode the error code.
+     * @param id        the id of the entity that was not found.
+     */
+    public NotFoundException(ErrorCode errorCode, Object id) {
+        super(errorCode, id);
     }
 }
@@ -0,0 +1,28 @@
+package com.librarymanagementsystem.exception;
+
+/**
+ * Custom exception class to handle conditional requests whose precondition does not hold, such as an
+ * {@code If-Match} header naming a version that is no longer the current version of the resource.
+ * This exception typically results in a {@code 412 Precondition Failed} response.
+ * <p>
+ * Inherits from {@link LibraryException}, so it is created without a stack trace and carries an
+ * {@link ErrorCode} that selects the response body.
+ * </p>
+ * <p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ * </p>
+ */
+public class PreconditionFailedException extends LibraryException {
+
+    /**
+     * Constructs a new PreconditionFailedException with the fixed message of the given error code.
+     * The pre-built response body of the code is returned for it.
+     *
+     * @param errorCode the error code.
+     */
+    public PreconditionFailedException(ErrorCode errorCode) {
+        super(errorCode, (Object) null);
+    }
+}
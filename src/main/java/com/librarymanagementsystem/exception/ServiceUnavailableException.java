@@ -0,0 +1,28 @@
+package com.librarymanagementsystem.exception;
+
+/**
+ * Custom exception class to handle requests that cannot be served right now, such as a request that
+ * timed out waiting for a concurrent load of the same data. The request may be retried.
+ * This exception typically results in a {@code 503 Service Unavailable} response.
+ * <p>
+ * Inherits from {@link LibraryException}, so it is created without a stack trace and carries an
+ * {@link ErrorCode} that selects the response body.
+ * </p>
+ * <p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ * </p>
+ */
+public class ServiceUnavailableException extends LibraryException {
+
+    /**
+     * Constructs a new ServiceUnavailableException with the fixed message of the given error code.
+     * The pre-built response body of the code is returned for it.
+     *
+     * @param errorCode the error code.
+     */
+    public ServiceUnavailableException(ErrorCode errorCode) {
+        super(errorCode, (Object) null);
+    }
+}
@@ -0,0 +1,37 @@
+package com.librarymanagementsystem.job;
+
+import com.librarymanagementsystem.service.ActivityService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduled job that writes the closed activity buckets to the rollup table.
+ * <p>
+ * The schedule is configured with {@code library-system.activity.flush-cron}. Buckets of a failed
+ * flush stay in memory and are written by the next run.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+@Component
+@Slf4j
+public class ActivityRollupFlushJob {
+
+    @Autowired
+    private ActivityService activityService;
+
+    /**
+     * Runs the flush.
+     */
+    @Scheduled(cron = "${library-system.activity.flush-cron:15 * * * * *}")
+    public void run() {
+        try {
+            activityService.flush();
+        } catch (RuntimeException e) {
+            log.error("Activity rollup flush failed, it will be retried on the next run", e);
+        }
+    }
+}
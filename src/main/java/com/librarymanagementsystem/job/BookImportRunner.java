@@ -0,0 +1,68 @@
+package com.librarymanagementsystem.job;
+
+import com.librarymanagementsystem.dto.ImportJobStatusDto;
+import com.librarymanagementsystem.service.BookImportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * Command line runner importing a CSV catalog file at startup.
+ * <p>
+ * The runner is only active when {@code library-system.import.file} is set, for example:
+ * <pre>
+ * java -jar library-system.jar --spring.main.web-application-type=none \
+ *      --library-system.import.file=/data/catalog.csv
+ * </pre>
+ * Unless {@code library-system.import.exit-on-completion} is {@code false}, the application exits once
+ * the import has finished, with a non-zero exit code if the import failed.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "library-system.import.file")
+public class BookImportRunner implements ApplicationRunner {
+
+    @Autowired
+    private BookImportService bookImportService;
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @Value("${library-system.import.file}")
+    private Path file;
+
+    @Value("${library-system.import.exit-on-completion:true}")
+    private boolean exitOnCompletion;
+
+    /**
+     * Imports the configured file and optionally exits the application.
+     *
+     * @param args the application arguments
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        ImportJobStatusDto status = bookImportService.importFile(file);
+        log.info("Book import {}: read:{}, imported:{}, rejected:{}, rows/s:{}",
+                status.getState(), status.getRowsRead(), status.getRowsImported(), status.getRowsRejected(),
+                Math.round(status.getRowsPerSecond()));
+        status.getRejectedRows().forEach(rejection ->
+                log.warn("Rejected {}: {}", rejection.getField(), rejection.getMessage()));
+
+        if (exitOnCompletion) {
+            int exitCode = "COMPLETED".equals(status.getState()) ? 0 : 1;
+            System.exit(SpringApplication.exit(context, () -> exitCode));
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.librarymanagementsystem.job;
+
+import com.librarymanagementsystem.catalog.Isbn;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Startup runner filling the {@code isbn_key} column of books created before ISBNs were normalized.
+ * <p>
+ * The books without a key are read in keyset-ordered chunks and updated with one JDBC batch per chunk,
+ * across all branches. The update leaves {@code last_updated_on} alone, so the backfill does not show up
+ * as a change of the catalog. Books whose ISBN is not valid keep an empty key and are counted in the log;
+ * they are not found by ISBN lookups until their ISBN is corrected.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+@Component
+@Slf4j
+public class IsbnKeyBackfillRunner implements ApplicationRunner {
+
+    private static final String SELECT_SQL =
+            "select id, isbn from book where isbn_key is null and id > ? order by id fetch first ? rows only";
+
+    private static final String UPDATE_SQL = "update book set isbn_key = ? where id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${library-system.catalog.chunk-size:10000}")
+    private int chunkSize = 10000;
+
+    /**
+     * Fills the missing keys.
+     *
+     * @param args the application arguments
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        long afterId = 0;
+        long updated = 0;
+        long[] invalid = {0};
+        while (true) {
+            List<long[]> keys = new ArrayList<>();
+            List<Long> ids = new ArrayList<>();
+            jdbcTemplate.query(SELECT_SQL, row -> {
+                long id = row.getLong("id");
+                long isbnKey = Isbn.toKey(row.getString("isbn"));
+                ids.add(id);
+                if (isbnKey != Isbn.INVALID) {
+                    keys.add(new long[]{isbnKey, id});
+                } else {
+                    invalid[0]++;
+                }
+            }, afterId, chunkSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+            jdbcTemplate.batchUpdate(UPDATE_SQL, keys, keys.size(), (statement, key) -> {
+                statement.setLong(1, key[0]);
+                statement.setLong(2, key[1]);
+            });
+            updated += keys.size();
+            afterId = ids.get(ids.size() - 1);
+        }
+        if (updated > 0 || invalid[0] > 0) {
+            log.info("Backfilled normalized ISBNs, books:{}, invalid ISBNs:{}", updated, invalid[0]);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.librarymanagementsystem.job;
+
+import com.librarymanagementsystem.service.LibraryStatsService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduled job that reconciles the library statistics with the database.
+ * <p>
+ * The counters are first filled once the application is ready, and then recounted on the schedule
+ * configured with {@code library-system.stats.reconcile-cron}.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+@Component
+@Slf4j
+public class LibraryStatsReconcileJob {
+
+    @Autowired
+    private LibraryStatsService libraryStatsService;
+
+    /**
+     * Fills the counters at startup.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        run();
+    }
+
+    /**
+     * Runs the reconciliation.
+     */
+    @Scheduled(cron = "${library-system.stats.reconcile-cron:0 */10 * * * *}")
+    public void run() {
+        try {
+            libraryStatsService.reconcile();
+        } catch (RuntimeException e) {
+            log.error("Library statistics reconciliation failed, it will be retried on the next run", e);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.librarymanagementsystem.job;
+
+import com.librarymanagementsystem.service.OutboxRelayService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduled job that relays the transactional outbox to the configured sink.
+ * <p>
+ * The delay between two runs is configured with {@code library-system.outbox.relay-interval}. Events of
+ * a failed run stay in the outbox and are delivered by the next run.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "library-system.outbox.enabled", matchIfMissing = true)
+public class OutboxRelayJob {
+
+    @Autowired
+    private OutboxRelayService outboxRelayService;
+
+    /**
+     * Runs the relay.
+     */
+    @Scheduled(fixedDelayString = "${library-system.outbox.relay-interval:PT1S}",
+            initialDelayString = "${library-system.outbox.relay-interval:PT1S}")
+    public void run() {
+        try {
+            outboxRelayService.relay();
+        } catch (RuntimeException e) {
+            log.error("Outbox relay failed, it will be retried on the next run", e);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.librarymanagementsystem.job;
+
+import com.librarymanagementsystem.service.OverdueLoanService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduled job that marks overdue loans and computes their fines.
+ * <p>
+ * The schedule is configured with {@code library-system.overdue.cron}. A failed run keeps its checkpoint,
+ * so the next run resumes where the failed one stopped.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+@Component
+@Slf4j
+public class OverdueLoanJob {
+
+    @Autowired
+    private OverdueLoanService overdueLoanService;
+
+    /**
+     * Runs the overdue loan scan.
+     */
+    @Scheduled(cron = "${library-system.overdue.cron:0 0 * * * *}")
+    public void run() {
+        try {
+            overdueLoanService.scanOverdueLoans();
+        } catch (RuntimeException e) {
+            log.error("Overdue loan scan failed, it will resume from its checkpoint on the next run", e);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.librarymanagementsystem.job;
+
+import com.librarymanagementsystem.service.TombstonePurgeService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduled job that purges the tombstones of deleted books and borrowers.
+ * <p>
+ * The schedule is configured with {@code library-system.purge.cron}. Batches committed before a failure
+ * stay purged; the remaining tombstones are picked up by the next run.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+@Component
+@Slf4j
+public class TombstonePurgeJob {
+
+    @Autowired
+    private TombstonePurgeService tombstonePurgeService;
+
+    /**
+     * Runs the purge.
+     */
+    @Scheduled(cron = "${library-system.purge.cron:0 30 3 * * *}")
+    public void run() {
+        try {
+            tombstonePurgeService.purge();
+        } catch (RuntimeException e) {
+            log.error("Tombstone purge failed, it will be retried on the next run", e);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.librarymanagementsystem.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.librarymanagementsystem.dto.ApiResponse;
+
+import java.io.IOException;
+
+/**
+ * Hand-written serializer of the {@link ApiResponse} envelope.
+ * <p>
+ * Leaves out a {@code null} status and message, as the compact envelope requires, and hands the data to
+ * the serializer of its runtime type, so lists of books and borrowers reach their specialized serializers
+ * and any other payload is written by Jackson as before.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+@SuppressWarnings("rawtypes")
+public class ApiResponseSerializer extends StdSerializer<ApiResponse> {
+
+    private static final SerializedString STATUS = new SerializedString("status");
+
+    private static final SerializedString MESSAGE = new SerializedString("message");
+
+    private static final SerializedString DATA = new SerializedString("data");
+
+    public ApiResponseSerializer() {
+        super(ApiResponse.class);
+    }
+
+    @Override
+    public void serialize(ApiResponse response, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject(response);
+        if (response.getStatus() != null) {
+            generator.writeFieldName(STATUS);
+            generator.writeString(response.getStatus());
+        }
+        if (response.getMessage() != null) {
+            generator.writeFieldName(MESSAGE);
+            generator.writeString(response.getMessage());
+        }
+        generator.writeFieldName(DATA);
+        provider.defaultSerializeValue(response.getData(), generator);
+        generator.writeEndObject();
+    }
+}
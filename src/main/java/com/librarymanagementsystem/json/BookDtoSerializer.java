@@ -0,0 +1,69 @@
+package com.librarymanagementsystem.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.librarymanagementsystem.dto.BookDto;
+
+import java.io.IOException;
+
+/**
+ * Hand-written serializer of {@link BookDto}, replacing the reflective bean serializer of the list endpoints.
+ * <p>
+ * Writes the properties in declaration order with pre-encoded names, honouring the annotations of the
+ * class: the loan properties and the embedded borrower are left out while {@code null}, and
+ * {@code borrowerId} and {@code version} are never written.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+public class BookDtoSerializer extends StdSerializer<BookDto> {
+
+    private static final SerializedString ID = new SerializedString("id");
+
+    private static final SerializedString AUTHOR = new SerializedString("author");
+
+    private static final SerializedString TITLE = new SerializedString("title");
+
+    private static final SerializedString ISBN = new SerializedString("isbn");
+
+    private static final SerializedString DUE_DATE = new SerializedString("dueDate");
+
+    private static final SerializedString OVERDUE = new SerializedString("overdue");
+
+    private static final SerializedString FINE_AMOUNT = new SerializedString("fineAmount");
+
+    private static final SerializedString BORROWER = new SerializedString("borrower");
+
+    public BookDtoSerializer() {
+        super(BookDto.class);
+    }
+
+    @Override
+    public void serialize(BookDto book, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject(book);
+        JsonWriting.writeNumber(generator, ID, book.getId());
+        JsonWriting.writeString(generator, AUTHOR, book.getAuthor());
+        JsonWriting.writeString(generator, TITLE, book.getTitle());
+        JsonWriting.writeString(generator, ISBN, book.getIsbn());
+        if (book.getDueDate() != null) {
+            generator.writeFieldName(DUE_DATE);
+            JsonWriting.writeDateTime(generator, book.getDueDate(), provider);
+        }
+        if (book.getOverdue() != null) {
+            generator.writeFieldName(OVERDUE);
+            generator.writeBoolean(book.getOverdue());
+        }
+        if (book.getFineAmount() != null) {
+            generator.writeFieldName(FINE_AMOUNT);
+            generator.writeNumber(book.getFineAmount());
+        }
+        if (book.getBorrower() != null) {
+            generator.writeFieldName(BORROWER);
+            provider.defaultSerializeValue(book.getBorrower(), generator);
+        }
+        generator.writeEndObject();
+    }
+}
@@ -0,0 +1,40 @@
+package com.librarymanagementsystem.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.librarymanagementsystem.dto.BorrowerDto;
+
+import java.io.IOException;
+
+/**
+ * Hand-written serializer of {@link BorrowerDto}: the properties in declaration order with pre-encoded
+ * names, without the ignored {@code version}.
+ * <p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ * </p>
+ */
+public class BorrowerDtoSerializer extends StdSerializer<BorrowerDto> {
+
+    private static final SerializedString ID = new SerializedString("id");
+
+    private static final SerializedString NAME = new SerializedString("name");
+
+    private static final SerializedString EMAIL = new SerializedString("email");
+
+    public BorrowerDtoSerializer() {
+        super(BorrowerDto.class);
+    }
+
+    @Override
+    public void serialize(BorrowerDto borrower, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject(borrower);
+        JsonWriting.writeNumber(generator, ID, borrower.getId());
+        JsonWriting.writeString(generator, NAME, borrower.getName());
+        JsonWriting.writeString(generator, EMAIL, borrower.getEmail());
+        generator.writeEndObject();
+    }
+}
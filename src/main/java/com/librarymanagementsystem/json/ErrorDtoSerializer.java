@@ -0,0 +1,61 @@
+package com.librarymanagementsystem.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.librarymanagementsystem.dto.ErrorDetailsDto;
+import com.librarymanagementsystem.dto.ErrorDto;
+
+import java.io.IOException;
+
+/**
+ * Hand-written serializer of {@link ErrorDto} and its {@link ErrorDetailsDto}s, leaving out a {@code null} code.
+ * <p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ * </p>
+ */
+public class ErrorDtoSerializer extends StdSerializer<ErrorDto> {
+
+    private static final SerializedString CODE = new SerializedString("code");
+
+    private static final SerializedString MESSAGE = new SerializedString("message");
+
+    private static final SerializedString ERROR_MESSAGES = new SerializedString("errorMessages");
+
+    private static final SerializedString FIELD = new SerializedString("field");
+
+    public ErrorDtoSerializer() {
+        super(ErrorDto.class);
+    }
+
+    @Override
+    public void serialize(ErrorDto error, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject(error);
+        if (error.getCode() != null) {
+            generator.writeFieldName(CODE);
+            generator.writeString(error.getCode());
+        }
+        JsonWriting.writeString(generator, MESSAGE, error.getMessage());
+        generator.writeFieldName(ERROR_MESSAGES);
+        if (error.getErrorMessages() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeStartArray(error.getErrorMessages(), error.getErrorMessages().size());
+            for (ErrorDetailsDto details : error.getErrorMessages()) {
+                if (details == null) {
+                    generator.writeNull();
+                    continue;
+                }
+                generator.writeStartObject(details);
+                JsonWriting.writeString(generator, FIELD, details.getField());
+                JsonWriting.writeString(generator, MESSAGE, details.getMessage());
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        }
+        generator.writeEndObject();
+    }
+}
@@ -0,0 +1,89 @@
+package com.librarymanagementsystem.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Helpers of the hand-written serializers, writing a field whose value may be {@code null}.
+ * <p>
+ * Date-times are written in the ISO-8601 format of Jackson's {@code LocalDateTimeSerializer}, such as
+ * {@code 2024-06-01T10:15:30.123456}, straight from their fields into a small char buffer. Formatting them
+ * through a {@code DateTimeFormatter} costs about as much as writing two whole books.
+ * </p>
+ * <p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ * </p>
+ */
+final class JsonWriting {
+
+    private JsonWriting() {
+    }
+
+    static void writeString(JsonGenerator generator, SerializableString name, String value) throws IOException {
+        generator.writeFieldName(name);
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(value);
+        }
+    }
+
+    static void writeNumber(JsonGenerator generator, SerializableString name, Long value) throws IOException {
+        generator.writeFieldName(name);
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value);
+        }
+    }
+
+    /**
+     * Writes a date-time as an ISO-8601 string, seconds always included and the fraction without trailing
+     * zeros, like {@code DateTimeFormatter.ISO_LOCAL_DATE_TIME}. Years outside 0 to 9999 and mappers writing
+     * dates as timestamps are left to the configured serializer.
+     */
+    static void writeDateTime(JsonGenerator generator, LocalDateTime value, SerializerProvider provider) throws IOException {
+        int year = value.getYear();
+        if (year < 0 || year > 9999 || provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+            provider.defaultSerializeValue(value, generator);
+            return;
+        }
+        char[] buffer = new char[29];
+        digits(buffer, 0, year, 4);
+        buffer[4] = '-';
+        digits(buffer, 5, value.getMonthValue(), 2);
+        buffer[7] = '-';
+        digits(buffer, 8, value.getDayOfMonth(), 2);
+        buffer[10] = 'T';
+        digits(buffer, 11, value.getHour(), 2);
+        buffer[13] = ':';
+        digits(buffer, 14, value.getMinute(), 2);
+        buffer[16] = ':';
+        digits(buffer, 17, value.getSecond(), 2);
+        int length = 19;
+        int nano = value.getNano();
+        if (nano != 0) {
+            buffer[19] = '.';
+            digits(buffer, 20, nano, 9);
+            length = 29;
+            while (buffer[length - 1] == '0') {
+                length--;
+            }
+        }
+        generator.writeString(buffer, 0, length);
+    }
+
+    private static void digits(char[] buffer, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.librarymanagementsystem.json;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.librarymanagementsystem.dto.ApiResponse;
+import com.librarymanagementsystem.dto.BookDto;
+import com.librarymanagementsystem.dto.BorrowerDto;
+import com.librarymanagementsystem.dto.ErrorDto;
+
+/**
+ * Jackson module registering the hand-written serializers of the response types of the list endpoints.
+ * <p>
+ * Jackson's bean serializer reads every property through reflection and looks up its serializer by
+ * property; for a listing of thousands of books that dominates the CPU time of the request. The
+ * serializers of this module call the getters directly and write pre-encoded property names, producing
+ * the same bytes. They run inside the regular message converter, which writes straight to the response
+ * stream through Jackson's recycled buffers. Every other type keeps its Jackson serializer, so unknown
+ * payloads inside an {@link ApiResponse} are serialized as before.
+ * </p>
+ * <p>
+ * The serializers mirror the Jackson annotations of the DTOs; a property added to one of them must be
+ * added to its serializer as well, which {@code LibraryJsonModuleTest} checks.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+public class LibraryJsonModule extends SimpleModule {
+
+    public LibraryJsonModule() {
+        super(LibraryJsonModule.class.getSimpleName());
+        addSerializer(BookDto.class, new BookDtoSerializer());
+        addSerializer(BorrowerDto.class, new BorrowerDtoSerializer());
+        addSerializer(ErrorDto.class, new ErrorDtoSerializer());
+        addSerializer(ApiResponse.class, new ApiResponseSerializer());
+    }
+}
@@ -0,0 +1,77 @@
+package com.librarymanagementsystem.logging;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rate-based sampler for repetitive log statements.
+ * <p>
+ * Each key, typically one per log statement, may log a fixed number of times per interval; further
+ * occurrences in the same interval are only counted. The first statement logged in the next interval
+ * reports how many occurrences were suppressed, so no information about the volume is lost. Keys should
+ * be constants, since every key keeps a small state for the lifetime of the application.
+ * </p>
+ * <p>
+ * Typical usage example:
+ * <pre>
+ *     long suppressed = logSampler.sample("book-already-borrowed");
+ *     if (suppressed &gt;= 0) {
+ *         log.warn("Book is already borrowed, bookId:{}, suppressed:{}", bookId, suppressed);
+ *     }
+ * </pre>
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+@Component
+public class LogSampler {
+
+    // Number of statements logged per key and interval.
+    @Value("${library-system.logging.sample.permits:10}")
+    private int permits = 10;
+
+    // Length of a sampling interval.
+    @Value("${library-system.logging.sample.interval:PT1M}")
+    private Duration interval = Duration.ofMinutes(1);
+
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    /**
+     * Counts an occurrence of the given key and decides whether it should be logged.
+     *
+     * @param key the key of the log statement
+     * @return {@code -1} if the occurrence should not be logged, otherwise the number of occurrences
+     * suppressed since the key was last logged
+     */
+    public long sample(String key) {
+        Window window = windows.computeIfAbsent(key, k -> new Window());
+        long now = System.nanoTime();
+        long start = window.start.get();
+        if (now - start >= interval.toNanos() && window.start.compareAndSet(start, now)) {
+            window.count.set(0);
+        }
+        if (window.count.incrementAndGet() <= permits) {
+            return window.suppressed.getAndSet(0);
+        }
+        window.suppressed.incrementAndGet();
+        return -1;
+    }
+
+    /**
+     * The sampling state of one key.
+     */
+    private static final class Window {
+
+        private final AtomicLong start = new AtomicLong(System.nanoTime());
+
+        private final AtomicLong count = new AtomicLong();
+
+        private final AtomicLong suppressed = new AtomicLong();
+    }
+}
@@ -1,5 +1,8 @@
 package com.librarymanagementsystem.mapper;
 
+import com.librarymanagementsystem.catalog.BookRecord;
+import com.librarymanagementsystem.catalog.BookRecordView;
+import com.librarymanagementsystem.catalog.Isbn;
 import com.librarymanagementsystem.dto.BookDto;
 import com.librarymanagementsystem.dto.BorrowerDto;
 import com.librarymanagementsystem.model.Book;
@@ -36,6 +39,7 @@ public class LibraryMapper {
         return Book.builder()
                 .title(bookDto.getTitle())
                 .isbn(bookDto.getIsbn())
+                .isbnKey(isbnKey(bookDto.getIsbn()))
                 .author(bookDto.getAuthor())
                 .build();
     }
@@ -54,6 +58,52 @@ public class LibraryMapper {
                 .isbn(book.getIsbn())
                 .author(book.getAuthor())
                 .id(book.getId())
+                .dueDate(book.getDueDate())
+                .overdue(book.getDueDate() != null ? Boolean.TRUE.equals(book.getOverdue()) : null)
+                .fineAmount(book.getFineAmount())
+                .borrowerId(book.getBorrowerId())
+                .version(book.getVersion())
+                .build();
+    }
+
+    /**
+     * Converts a {@link Book} entity to a {@link BookRecord}.
+     * This method maps the catalog columns of the Book entity, holding the borrower by id only,
+     * so a lazy borrower association is never initialized.
+     *
+     * @param book the entity representing a book.
+     * @return a {@link BookRecord} with values populated from the Book entity.
+     */
+    public BookRecord buildBookRecordFromEntity(Book book) {
+        return BookRecord.builder()
+                .id(book.getId())
+                .isbn(book.getIsbn())
+                .title(book.getTitle())
+                .author(book.getAuthor())
+                .borrowerId(book.getBorrowerId())
+                .lastUpdated(book.getLastUpdated())
+                .branchId(book.getBranchId())
+                .version(book.getVersion())
+                .build();
+    }
+
+    /**
+     * Converts a catalog record to a {@link BookDto}.
+     * This method maps the catalog columns of the record, including the {@code id}, {@code borrowerId} and
+     * {@code version} fields.
+     * The loan columns are not part of a record and stay empty.
+     *
+     * @param record the catalog record representing a book, possibly an off-heap view.
+     * @return a {@link BookDto} with values populated from the record.
+     */
+    public BookDto buildBookDtoFromRecord(BookRecordView record) {
+        return BookDto.builder()
+                .title(record.getTitle())
+                .isbn(record.getIsbn())
+                .author(record.getAuthor())
+                .id(record.getId())
+                .borrowerId(record.getBorrowerId())
+                .version(record.getVersion())
                 .build();
     }
 
@@ -86,6 +136,18 @@ public class LibraryMapper {
                 .email(borrower.getEmail())
                 .name(borrower.getName())
                 .id(borrower.getId())
+                .version(borrower.getVersion())
                 .build();
     }
+
+    /**
+     * Normalizes an ISBN to the value of the {@code isbn_key} column.
+     *
+     * @param isbn the ISBN-10 or ISBN-13.
+     * @return the ISBN-13 as a number, or {@code null} if the ISBN is not valid.
+     */
+    public Long isbnKey(String isbn) {
+        long key = Isbn.toKey(isbn);
+        return key != Isbn.INVALID ? key : null;
+    }
 }
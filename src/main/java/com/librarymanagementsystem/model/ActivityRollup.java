@@ -0,0 +1,64 @@
+package com.librarymanagementsystem.model;
+
+import com.librarymanagementsystem.activity.ActivityGranularity;
+import com.librarymanagementsystem.activity.ActivityType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Entity class representing the number of occurrences of one kind of activity in one time bucket.
+ * <p>
+ * The {@code ActivityRollup} class is an entity that maps to the {@code activity_rollup} table in the database.
+ * Rows are appended in batches when in-memory buckets close; every node writes its own rows, so the
+ * activity of a bucket is the sum of its rows.
+ * </p>
+ *
+ * @see jakarta.persistence.Entity
+ * @see lombok
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Entity
+@Builder
+@Table(name = "activity_rollup", indexes = {
+        @Index(name = "idx_activity_rollup_bucket", columnList = "granularity, bucket_start")
+})
+public class ActivityRollup implements Serializable {
+
+    /**
+     * Unique identifier of the row.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * The bucket size of the row.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "granularity", nullable = false, length = 16)
+    private ActivityGranularity granularity;
+
+    /**
+     * Start of the time bucket, in UTC.
+     */
+    @Column(name = "bucket_start", nullable = false, columnDefinition = "TIMESTAMP")
+    private LocalDateTime bucketStart;
+
+    /**
+     * The kind of activity counted.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "activity_type", nullable = false, length = 16)
+    private ActivityType activityType;
+
+    /**
+     * The number of occurrences in the bucket.
+     */
+    @Column(name = "activity_count", nullable = false)
+    private Long activityCount;
+}
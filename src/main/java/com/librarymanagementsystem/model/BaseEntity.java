@@ -1,6 +1,7 @@
 package com.librarymanagementsystem.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.TenantId;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -27,6 +28,19 @@ public class BaseEntity implements Serializable {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    /**
+     * Library branch owning the row.
+     * <p>
+     * This is the Hibernate tenant id: it is set from the branch of the session on insert and every
+     * query of a branch session is restricted to it. Rows created before branches were introduced belong
+     * to the {@code main} branch.
+     * </p>
+     */
+    @TenantId
+    @Column(name = "branch_id", nullable = false, updatable = false, length = 32,
+            columnDefinition = "VARCHAR(32) DEFAULT 'main'")
+    private String branchId;
+
     @Column(name = "created_on", columnDefinition = "TIMESTAMP")
     private LocalDateTime createdOn;
 
@@ -36,6 +50,33 @@ public class BaseEntity implements Serializable {
     @Column(name = "last_updated_by")
     private String lastUpdatedBy;
 
+    /**
+     * Optimistic lock version of the row.
+     * <p>
+     * It is incremented by every entity update and is exposed as the {@code ETag} of the resource, so
+     * clients can make updates conditional with {@code If-Match}.
+     * </p>
+     */
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long version;
+
+    /**
+     * Tombstone flag of a soft-deleted row.
+     * <p>
+     * Deleted rows are excluded from every entity query by the {@code @SQLRestriction} of the entity and
+     * are physically removed by the tombstone purge job once the retention period has passed.
+     * </p>
+     */
+    @Column(name = "deleted", nullable = false, columnDefinition = "BOOLEAN DEFAULT FALSE")
+    private boolean deleted;
+
+    /**
+     * Date and time at which the row was soft-deleted, or {@code null} if it is live.
+     */
+    @Column(name = "deleted_on", columnDefinition = "TIMESTAMP")
+    private LocalDateTime deletedOn;
+
     @PrePersist
     protected void onCreate() {
         LocalDateTime now = LocalDateTime.now();
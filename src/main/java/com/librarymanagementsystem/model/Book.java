@@ -3,6 +3,11 @@ package com.librarymanagementsystem.model;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.SQLRestriction;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 /**
  * Entity class representing a book in the library management system.
@@ -24,7 +29,20 @@ import lombok.experimental.SuperBuilder;
  * </p>
  *
  * <p>
- * Note: The {@code Book} entity has a many-to-one relationship with the {@link Borrower} entity.
+ * Note: A borrowed {@code Book} refers to its {@link Borrower} by id.
+ * </p>
+ *
+ * <p>
+ * Books belong to a library branch and are only visible to requests of that branch.
+ * </p>
+ *
+ * <p>
+ * Deleted books are kept as tombstones until they are purged, and are hidden from all entity queries
+ * by the {@code deleted = false} restriction.
+ * </p>
+ *
+ * <p>
+ * Updates only write the columns that have changed, so one-field edits produce one-column updates.
  * </p>
  *
  * @see com.librarymanagementsystem.model.Borrower
@@ -36,7 +54,20 @@ import lombok.experimental.SuperBuilder;
 @Data
 @Entity
 @SuperBuilder
-@Table(name = "book")
+@Table(name = "book", indexes = {
+        @Index(name = "idx_book_due_date", columnList = "due_date"),
+        @Index(name = "idx_book_last_updated_on", columnList = "last_updated_on"),
+        @Index(name = "idx_book_branch_isbn", columnList = "branch_id, isbn"),
+        @Index(name = "idx_book_branch_isbn_key", columnList = "branch_id, isbn_key, id"),
+        @Index(name = "idx_book_branch_author_id", columnList = "branch_id, author, id"),
+        @Index(name = "idx_book_branch_title_id", columnList = "branch_id, title, id"),
+        @Index(name = "idx_book_branch_created_on_id", columnList = "branch_id, created_on, id"),
+        @Index(name = "idx_book_branch_last_updated_on_id", columnList = "branch_id, last_updated_on, id"),
+        @Index(name = "idx_book_branch_borrower_id", columnList = "branch_id, borrower_id, id"),
+        @Index(name = "idx_book_deleted_on", columnList = "deleted_on")
+})
+@SQLRestriction("deleted = false")
+@DynamicUpdate
 public class Book extends BaseEntity{
 
     /**
@@ -67,16 +98,57 @@ public class Book extends BaseEntity{
     private String isbn;
 
     /**
-     * The borrower who has borrowed the book.
+     * ISBN of the book normalized to a number.
+     * <p>
+     * This is the ISBN-13 of the book as a {@code long}, see {@link com.librarymanagementsystem.catalog.Isbn},
+     * and is the key of ISBN lookups and duplicate checks. It is mapped to the {@code isbn_key} column in the
+     * {@code book} table and is {@code null} for legacy rows whose ISBN is not valid.
+     * </p>
+     */
+    @Column(name = "isbn_key")
+    private Long isbnKey;
+
+    /**
+     * The id of the borrower who has borrowed the book.
      * <p>
-     * This field represents a many-to-one relationship with the {@link Borrower} entity.
-     * It is mapped by the {@code borrowedBy} field in the {@link Borrower} entity.
+     * Borrowers are stored on their own shard, possibly in another database, so the loan refers to the
+     * borrower by id rather than by a mapped association with a foreign key.
      * </p>
      *
      * <p>
      * Note: A book can be borrowed by only one borrower at a time.
      * </p>
      */
-    @ManyToOne(fetch = FetchType.LAZY) // Ensure lazy fetching for borrower
-    @JoinColumn(name = "borrower_id")
-    private Borrower borrowedBy;}
+    @Column(name = "borrower_id")
+    private Long borrowerId;
+
+    /**
+     * Date and time by which the current loan has to be returned.
+     * <p>
+     * This field is set when the book is borrowed and cleared when it is returned.
+     * It is mapped to the {@code due_date} column in the {@code book} table.
+     * </p>
+     */
+    @Column(name = "due_date", columnDefinition = "TIMESTAMP")
+    private LocalDateTime dueDate;
+
+    /**
+     * Indicates whether the current loan has passed its due date.
+     * <p>
+     * This flag is maintained by the overdue loan scanning job and is mapped to
+     * the {@code overdue} column in the {@code book} table.
+     * </p>
+     */
+    @Column(name = "overdue")
+    private Boolean overdue;
+
+    /**
+     * Fine accumulated on the current loan.
+     * <p>
+     * This value is computed by the overdue loan scanning job and is mapped to
+     * the {@code fine_amount} column in the {@code book} table.
+     * </p>
+     */
+    @Column(name = "fine_amount", precision = 10, scale = 2)
+    private BigDecimal fineAmount;
+}
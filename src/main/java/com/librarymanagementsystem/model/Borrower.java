@@ -3,9 +3,8 @@ package com.librarymanagementsystem.model;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
-
-import java.util.HashSet;
-import java.util.Set;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.SQLRestriction;
 
 /**
  * Entity class representing a borrower in the library management system.
@@ -26,7 +25,23 @@ import java.util.Set;
  * </p>
  *
  * <p>
- * Note: The {@code Borrower} entity has a one-to-many relationship with the {@code Book} entity.
+ * Borrowers are spread over several databases by id, see
+ * {@link com.librarymanagementsystem.sharding.BorrowerShardRouter}; the books they hold refer to them by id.
+ * </p>
+ *
+ * <p>
+ * Borrowers belong to a library branch and are only visible to requests of that branch.
+ * </p>
+ *
+ * <p>
+ * Deleted borrowers are kept as tombstones until they are purged, and are hidden from all entity queries
+ * by the {@code deleted = false} restriction. Names and emails are unique per branch among the live borrowers
+ * only, so a deleted borrower can register again; the unique indexes are partial indexes created by
+ * {@link com.librarymanagementsystem.sharding.ShardSchemaManager}, as JPA cannot declare them.
+ * </p>
+ *
+ * <p>
+ * Updates only write the columns that have changed, so one-field edits produce one-column updates.
  * </p>
  *
  * @see com.librarymanagementsystem.model.Book
@@ -38,39 +53,28 @@ import java.util.Set;
 @Data
 @Entity
 @SuperBuilder
-@Table(name = "borrower")
+@Table(name = "borrower", indexes = {
+        @Index(name = "idx_borrower_deleted_on", columnList = "deleted_on")
+})
+@SQLRestriction("deleted = false")
+@DynamicUpdate
 public class Borrower extends BaseEntity{
 
     /**
      * Name of the borrower.
      * <p>
-     * This field is required and must be unique. It is mapped to the {@code name} column in the {@code borrower} table.
+     * This field is required and must be unique among the live borrowers of the branch on its shard. It is mapped to the {@code name} column in the {@code borrower} table.
      * </p>
      */
-    @Column(name = "name", nullable = false, unique = true)
+    @Column(name = "name", nullable = false)
     private String name;
 
     /**
      * Email address of the borrower.
      * <p>
-     * This field is required and must be unique. It is mapped to the {@code email} column in the {@code borrower} table.
+     * This field is required and must be unique among the live borrowers of the branch on its shard. It is mapped to the {@code email} column in the {@code borrower} table.
      * </p>
      */
-    @Column(name = "email", nullable = false, unique = true)
+    @Column(name = "email", nullable = false)
     private String email;
-
-    /**
-     * Books borrowed by the borrower.
-     * <p>
-     * This field represents a one-to-many relationship with the {@link Book} entity.
-     * It is mapped by the {@code borrowedBy} field in the {@link Book} entity.
-     * </p>
-     *
-     * <p>
-     * Note: The {@code HashSet} ensures that the set of books is unique and does not allow duplicates.
-     * </p>
-     */
-    @OneToMany(mappedBy = "borrowedBy", cascade = CascadeType.ALL, orphanRemoval = true)
-    private Set<Book> books = new HashSet<>();
-
 }
@@ -0,0 +1,79 @@
+package com.librarymanagementsystem.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Entity class representing the progress of a long running background job.
+ * <p>
+ * The {@code JobCheckpoint} class is an entity that maps to the {@code job_checkpoint} table in the database.
+ * Jobs that process data in keyset-ordered chunks store the last processed id here after each
+ * committed chunk, so that a restarted node can resume the run instead of starting over.
+ * </p>
+ *
+ * <p>
+ * Typical usage example:
+ * <pre>
+ *     JobCheckpoint checkpoint = JobCheckpoint.builder()
+ *         .jobName("overdue-loan-scan")
+ *         .lastProcessedId(0L)
+ *         .build();
+ * </pre>
+ * </p>
+ *
+ * @see jakarta.persistence.Entity
+ * @see lombok
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Entity
+@Builder
+@Table(name = "job_checkpoint")
+public class JobCheckpoint implements Serializable {
+
+    /**
+     * Unique name of the job owning this checkpoint.
+     * <p>
+     * This field is the primary key and is mapped to the {@code job_name} column.
+     * </p>
+     */
+    @Id
+    @Column(name = "job_name", nullable = false)
+    private String jobName;
+
+    /**
+     * Highest id that has been processed and committed by the current run.
+     * <p>
+     * A value of {@code 0} means that no run is in progress. Continuous jobs, such as the outbox relay,
+     * keep their position here permanently.
+     * </p>
+     */
+    @Column(name = "last_processed_id", nullable = false)
+    private Long lastProcessedId;
+
+    /**
+     * Reference time of the current run.
+     * <p>
+     * It is kept for the whole run, so a resumed run evaluates rows against the same point in time
+     * as the chunks that were committed before the restart.
+     * </p>
+     */
+    @Column(name = "run_started_on", columnDefinition = "TIMESTAMP")
+    private LocalDateTime runStartedOn;
+
+    /**
+     * Date and time of the last checkpoint update.
+     */
+    @Column(name = "last_updated_on", columnDefinition = "TIMESTAMP")
+    private LocalDateTime lastUpdated;
+
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        lastUpdated = LocalDateTime.now();
+    }
+}
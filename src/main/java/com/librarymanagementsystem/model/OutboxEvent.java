@@ -0,0 +1,99 @@
+package com.librarymanagementsystem.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Entity class representing a change of a book or borrower waiting to be relayed to downstream systems.
+ * <p>
+ * The {@code OutboxEvent} class is an entity that maps to the {@code outbox_event} table in the database.
+ * A row is appended in the same transaction as the change it describes, so an event exists if and only if
+ * the change was committed. Book events are stored in the catalog database, borrower events on the shard
+ * of the borrower. The outbox relay reads the rows of every database in id order and hands them to the
+ * configured sink.
+ * </p>
+ *
+ * <p>
+ * Typical usage example:
+ * <pre>
+ *     OutboxEvent event = OutboxEvent.builder()
+ *         .aggregateType("BOOK")
+ *         .aggregateId(42L)
+ *         .eventType("BORROWED")
+ *         .branchId("main")
+ *         .payload("{...}")
+ *         .build();
+ * </pre>
+ * </p>
+ *
+ * @see jakarta.persistence.Entity
+ * @see lombok
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Entity
+@Builder
+@Table(name = "outbox_event")
+public class OutboxEvent implements Serializable {
+
+    /**
+     * Unique identifier of the event within its database.
+     * <p>
+     * Events are relayed in ascending id order. Ids of different databases are independent, so an event
+     * is identified downstream by its shard and its id.
+     * </p>
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * The kind of the changed entity, {@code BOOK} or {@code BORROWER}.
+     */
+    @Column(name = "aggregate_type", nullable = false, length = 16)
+    private String aggregateType;
+
+    /**
+     * The id of the changed entity.
+     */
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;
+
+    /**
+     * The type of the change, as named by {@code BookEventType} or {@code BorrowerEventType}.
+     */
+    @Column(name = "event_type", nullable = false, length = 16)
+    private String eventType;
+
+    /**
+     * The library branch owning the changed entity.
+     * <p>
+     * The relay serves all branches, so this is a plain column and not a tenant id.
+     * </p>
+     */
+    @Column(name = "branch_id", length = 32)
+    private String branchId;
+
+    /**
+     * The JSON serialized application event.
+     */
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    /**
+     * Date and time the event was appended.
+     */
+    @Column(name = "created_on", nullable = false, columnDefinition = "TIMESTAMP")
+    private LocalDateTime createdOn;
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdOn == null) {
+            createdOn = LocalDateTime.now();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.librarymanagementsystem.outbox;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.librarymanagementsystem.model.OutboxEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * {@link OutboxSink} appending the events to a local file, one JSON object per line.
+ * <p>
+ * A batch is encoded in memory and written with a single append, then forced to the disk before
+ * {@link #send} returns. Every line holds the shard, id and metadata of the event, and the event
+ * itself, unchanged, as {@code payload}.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+@Component
+@ConditionalOnProperty(name = "library-system.outbox.sink", havingValue = "file", matchIfMissing = true)
+public class FileOutboxSink implements OutboxSink {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${library-system.outbox.file:./data/outbox.jsonl}")
+    private Path file;
+
+    @Override
+    public synchronized void send(int shard, List<OutboxEvent> events) {
+        try {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(events.size() * 256);
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(buffer)) {
+                generator.setRootValueSeparator(null);
+                for (OutboxEvent event : events) {
+                    generator.writeStartObject();
+                    generator.writeNumberField("shard", shard);
+                    generator.writeNumberField("id", event.getId());
+                    generator.writeStringField("aggregateType", event.getAggregateType());
+                    generator.writeNumberField("aggregateId", event.getAggregateId());
+                    generator.writeStringField("eventType", event.getEventType());
+                    generator.writeStringField("branchId", event.getBranchId());
+                    generator.writeStringField("createdOn", event.getCreatedOn().toString());
+                    generator.writeFieldName("payload");
+                    generator.writeRawValue(event.getPayload());
+                    generator.writeEndObject();
+                    generator.writeRaw('\n');
+                }
+            }
+
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND)) {
+                ByteBuffer bytes = ByteBuffer.wrap(buffer.toByteArray());
+                while (bytes.hasRemaining()) {
+                    channel.write(bytes);
+                }
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to append outbox events to " + file + ": " + e.getMessage(), e);
+        }
+    }
+}
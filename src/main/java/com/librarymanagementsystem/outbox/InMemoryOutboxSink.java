@@ -0,0 +1,37 @@
+package com.librarymanagementsystem.outbox;
+
+import com.librarymanagementsystem.model.OutboxEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * {@link OutboxSink} keeping the delivered events in an in-process queue.
+ * <p>
+ * Meant for tests and local experiments: the queue is unbounded and lost on shutdown.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+@Component
+@ConditionalOnProperty(name = "library-system.outbox.sink", havingValue = "memory")
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final BlockingQueue<OutboxEvent> events = new LinkedBlockingQueue<>();
+
+    @Override
+    public void send(int shard, List<OutboxEvent> batch) {
+        events.addAll(batch);
+    }
+
+    /**
+     * @return the delivered events, in delivery order
+     */
+    public BlockingQueue<OutboxEvent> getEvents() {
+        return events;
+    }
+}
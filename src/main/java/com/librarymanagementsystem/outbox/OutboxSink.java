@@ -0,0 +1,36 @@
+package com.librarymanagementsystem.outbox;
+
+import com.librarymanagementsystem.model.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * Destination the outbox relay delivers events to.
+ * <p>
+ * The sink is chosen with {@code library-system.outbox.sink}: {@code file} appends the events to a local
+ * JSON lines file, {@code memory} keeps them in a queue for tests. Any other value expects an application
+ * provided bean, such as an adapter to a message broker.
+ * </p>
+ * <p>
+ * Delivery is at-least-once: the relay stores its position only after {@link #send} returned, so a batch
+ * interrupted by a failure or a restart is sent again. Events are identified by their shard and id, which
+ * lets consumers drop duplicates.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+public interface OutboxSink {
+
+    /**
+     * Delivers a batch of events.
+     * <p>
+     * The method must return only once the whole batch is stored durably by the destination, and throw
+     * otherwise.
+     * </p>
+     *
+     * @param shard  the index of the database the events were appended to
+     * @param events the events, in ascending id order
+     */
+    void send(int shard, List<OutboxEvent> events);
+}
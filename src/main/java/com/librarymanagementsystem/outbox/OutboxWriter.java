@@ -0,0 +1,104 @@
+package com.librarymanagementsystem.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.librarymanagementsystem.event.BookBulkEvent;
+import com.librarymanagementsystem.event.BookEvent;
+import com.librarymanagementsystem.event.BorrowerEvent;
+import com.librarymanagementsystem.model.OutboxEvent;
+import com.librarymanagementsystem.repository.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Listener appending every book and borrower change to the transactional outbox, including the bulk
+ * changes of books published as {@link BookBulkEvent}s.
+ * <p>
+ * The services publish their events inside the transaction writing the change, and this listener runs
+ * synchronously in the publishing thread, so the outbox row is part of the same transaction: it is
+ * committed with the change, or rolled back with it. Borrower events are published while the shard of the
+ * borrower is bound, so they land in the outbox of that shard.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+@Component
+@ConditionalOnProperty(name = "library-system.outbox.enabled", matchIfMissing = true)
+public class OutboxWriter {
+
+    /**
+     * Aggregate type of book events.
+     */
+    public static final String BOOK = "BOOK";
+
+    /**
+     * Aggregate type of borrower events.
+     */
+    public static final String BORROWER = "BORROWER";
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Appends a book change to the outbox.
+     *
+     * @param event the book change
+     */
+    @EventListener
+    public void onBookEvent(BookEvent event) {
+        append(BOOK, event.getBook().getId(), event.getType().name(), event.getBook().getBranchId(), event);
+    }
+
+    /**
+     * Appends a bulk change of books to the outbox, one row per book with the payload of its own book event.
+     *
+     * @param event the bulk change
+     */
+    @EventListener
+    public void onBookBulkEvent(BookBulkEvent event) {
+        List<OutboxEvent> rows = event.getBooks().stream()
+                .map(book -> row(BOOK, book.getId(), event.getType().name(), book.getBranchId(),
+                        new BookEvent(event.getType(), book, null)))
+                .collect(Collectors.toList());
+        outboxEventRepository.saveAll(rows);
+    }
+
+    /**
+     * Appends a borrower change to the outbox.
+     *
+     * @param event the borrower change
+     */
+    @EventListener
+    public void onBorrowerEvent(BorrowerEvent event) {
+        append(BORROWER, event.getBorrowerId(), event.getType().name(), event.getBranchId(), event);
+    }
+
+    private void append(String aggregateType, Long aggregateId, String eventType, String branchId, Object event) {
+        outboxEventRepository.save(row(aggregateType, aggregateId, eventType, branchId, event));
+    }
+
+    private OutboxEvent row(String aggregateType, Long aggregateId, String eventType, String branchId, Object event) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize " + aggregateType + " event: " + e.getMessage(), e);
+        }
+        return OutboxEvent.builder()
+                .aggregateType(aggregateType)
+                .aggregateId(aggregateId)
+                .eventType(eventType)
+                .branchId(branchId)
+                .payload(payload)
+                .build();
+    }
+}
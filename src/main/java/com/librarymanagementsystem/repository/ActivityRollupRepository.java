@@ -0,0 +1,43 @@
+package com.librarymanagementsystem.repository;
+
+import com.librarymanagementsystem.activity.ActivityGranularity;
+import com.librarymanagementsystem.model.ActivityRollup;
+import com.librarymanagementsystem.repository.projection.ActivityRollupView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for {@link ActivityRollup} entities.
+ * <p>
+ * Rollup rows are written in batches through JDBC by the activity service; this repository reads
+ * them back summed per bucket for the activity charts.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ * @see com.librarymanagementsystem.model.ActivityRollup
+ * @see org.springframework.data.jpa.repository.JpaRepository
+ */
+@Repository
+public interface ActivityRollupRepository extends JpaRepository<ActivityRollup, Long> {
+
+    /**
+     * Sums the activity of every bucket in the given range.
+     *
+     * @param granularity the bucket size.
+     * @param from        the inclusive start of the range.
+     * @param to          the exclusive end of the range.
+     * @return one row per bucket and kind of activity, in bucket order.
+     */
+    @Query("select r.bucketStart as bucketStart, r.activityType as activityType, sum(r.activityCount) as total "
+            + "from ActivityRollup r where r.granularity = :granularity and r.bucketStart >= :from and r.bucketStart < :to "
+            + "group by r.bucketStart, r.activityType order by r.bucketStart")
+    List<ActivityRollupView> sumByBucket(@Param("granularity") ActivityGranularity granularity,
+                                         @Param("from") LocalDateTime from,
+                                         @Param("to") LocalDateTime to);
+}
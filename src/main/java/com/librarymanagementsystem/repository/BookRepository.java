@@ -1,10 +1,25 @@
 package com.librarymanagementsystem.repository;
 
+import com.librarymanagementsystem.catalog.BookRecord;
+import com.librarymanagementsystem.dto.BookDto;
 import com.librarymanagementsystem.model.Book;
+import com.librarymanagementsystem.repository.projection.BookBranchView;
+import com.librarymanagementsystem.repository.projection.BorrowerLoanCountView;
+import com.librarymanagementsystem.repository.projection.BranchBookCountView;
+import com.librarymanagementsystem.repository.projection.IsbnView;
+import com.librarymanagementsystem.repository.projection.LoanView;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for {@link Book} entities.
@@ -42,6 +57,20 @@ import java.util.List;
 @Repository
 public interface BookRepository extends JpaRepository<Book, Long> {
 
+    /**
+     * Finds the entity with the given id in the current branch.
+     * <p>
+     * Redeclared as a query because {@code EntityManager.find} loads by primary key without applying
+     * the branch restriction, which would let one branch read and modify another branch's rows.
+     * </p>
+     *
+     * @param id the id of the book.
+     * @return the book, or empty if it does not exist in the current branch.
+     */
+    @Override
+    @Query("select b from Book b where b.id = :id")
+    Optional<Book> findById(@Param("id") Long id);
+
     /**
      * Finds and returns a list of books with the specified ISBN.
      * <p>
@@ -61,4 +90,230 @@ public interface BookRepository extends JpaRepository<Book, Long> {
      * @throws IllegalArgumentException if the given {@literal isbn} is {@literal null}.
      */
     List<Book> findByIsbn(String isbn);
+
+    /**
+     * Finds the books with the given normalized ISBN.
+     *
+     * @param isbnKey the ISBN-13 as a number, see {@link com.librarymanagementsystem.catalog.Isbn}.
+     * @return the books with the ISBN, in any of its forms.
+     */
+    List<Book> findByIsbnKey(Long isbnKey);
+
+    /**
+     * Finds the next chunk of loans that are past their due date.
+     * <p>
+     * Loans are returned in ascending id order starting after {@code afterId}, so the caller can walk
+     * the whole table in keyset-ordered chunks whose cost does not grow with the offset.
+     * Only the id and due date are selected.
+     * </p>
+     *
+     * @param afterId  the last id of the previous chunk, or {@code 0} for the first chunk.
+     * @param now      the reference time; loans due before it are overdue.
+     * @param pageable the chunk size; only the page size is used.
+     * @return the overdue loans of the chunk, in ascending id order.
+     */
+    @Query("select b.id as id, b.dueDate as dueDate from Book b "
+            + "where b.dueDate < :now and b.id > :afterId order by b.id")
+    List<LoanView> findOverdueLoans(@Param("afterId") Long afterId,
+                                    @Param("now") LocalDateTime now,
+                                    Pageable pageable);
+
+    /**
+     * Marks the given loans as overdue with the given fine in a single bulk update.
+     * <p>
+     * The loans were selected by an earlier query, so the overdue condition is checked again: a book
+     * returned, or returned and borrowed again, in the meantime is left alone. The version and the last
+     * update time are advanced like on an entity update, so entity tags and the catalog deltas see the change.
+     * </p>
+     *
+     * @param ids        the ids of the borrowed books to update.
+     * @param fineAmount the fine to set on every given loan.
+     * @param now        the reference time of the scan; only loans due before it are updated.
+     * @param updatedOn  the time of the update.
+     * @return the number of updated rows.
+     */
+    @Modifying
+    @Query("update Book b set b.overdue = true, b.fineAmount = :fineAmount, "
+            + "b.version = b.version + 1, b.lastUpdated = :updatedOn "
+            + "where b.id in :ids and b.borrowerId is not null and b.dueDate < :now")
+    int markOverdue(@Param("ids") Collection<Long> ids,
+                    @Param("fineAmount") BigDecimal fineAmount,
+                    @Param("now") LocalDateTime now,
+                    @Param("updatedOn") LocalDateTime updatedOn);
+
+    /**
+     * Finds the normalized ISBN, author and title of all books having one of the given ISBNs.
+     * <p>
+     * This is the set-wise counterpart of {@link #findByIsbn(String)}, used to check the ISBNs of a
+     * whole batch of new books with one query.
+     * </p>
+     *
+     * @param isbnKeys the normalized ISBNs to look up.
+     * @return the matching books; several rows may share an ISBN.
+     */
+    @Query("select b.isbnKey as isbnKey, b.author as author, b.title as title from Book b where b.isbnKey in :isbnKeys")
+    List<IsbnView> findIsbnViews(@Param("isbnKeys") Collection<Long> isbnKeys);
+
+    /**
+     * Finds the next chunk of catalog records in ascending id order.
+     * <p>
+     * The borrower is selected by id through a left join, so no borrower entity is loaded.
+     * </p>
+     *
+     * @param afterId  the last id of the previous chunk, or {@code 0} for the first chunk.
+     * @param pageable the chunk size; only the page size is used.
+     * @return the catalog records of the chunk.
+     */
+    @Query("select new com.librarymanagementsystem.catalog.BookRecord(b.id, b.isbn, b.title, b.author, b.borrowerId, b.lastUpdated, b.branchId, b.version) "
+            + "from Book b where b.id > :afterId order by b.id")
+    List<BookRecord> findRecords(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Finds the next chunk of catalog records updated at or after the given time, in ascending id order.
+     *
+     * @param since    the lower bound of {@code lastUpdated}.
+     * @param afterId  the last id of the previous chunk, or {@code 0} for the first chunk.
+     * @param pageable the chunk size; only the page size is used.
+     * @return the catalog records of the chunk.
+     */
+    @Query("select new com.librarymanagementsystem.catalog.BookRecord(b.id, b.isbn, b.title, b.author, b.borrowerId, b.lastUpdated, b.branchId, b.version) "
+            + "from Book b where b.lastUpdated >= :since and b.id > :afterId order by b.id")
+    List<BookRecord> findRecordsUpdatedSince(@Param("since") LocalDateTime since,
+                                             @Param("afterId") Long afterId,
+                                             Pageable pageable);
+
+    /**
+     * Finds the next page of books currently borrowed by the given borrower, in ascending id order.
+     * <p>
+     * The books are selected straight into {@link BookDto}s by the {@code (branch_id, borrower_id, id)} index, so
+     * neither the borrower nor its {@code books} collection is loaded.
+     * </p>
+     *
+     * @param borrowerId the id of the borrower.
+     * @param afterId    the last id of the previous page, or {@code 0} for the first page.
+     * @param pageable   the page size; only the page size is used.
+     * @return the borrowed books of the page.
+     */
+    @Query("select new com.librarymanagementsystem.dto.BookDto(b.id, b.author, b.title, b.isbn, b.dueDate, b.overdue, b.fineAmount, b.version) "
+            + "from Book b where b.borrowerId = :borrowerId and b.id > :afterId order by b.id")
+    List<BookDto> findBorrowedBooks(@Param("borrowerId") Long borrowerId,
+                                    @Param("afterId") Long afterId,
+                                    Pageable pageable);
+
+    /**
+     * Counts the books and the borrowed books of every branch.
+     *
+     * @return one row per branch holding at least one book.
+     */
+    @Query("select b.branchId as branchId, count(b) as books, count(b.borrowerId) as onLoan "
+            + "from Book b group by b.branchId")
+    List<BranchBookCountView> countBooksByBranch();
+
+    /**
+     * Counts the borrowed books of every borrower holding at least one book.
+     *
+     * @return one row per borrower with active loans.
+     */
+    @Query("select b.branchId as branchId, b.borrowerId as borrowerId, count(b) as loans from Book b "
+            + "where b.borrowerId is not null group by b.branchId, b.borrowerId")
+    List<BorrowerLoanCountView> findLoanCountsByBorrower();
+
+    /**
+     * Finds the next chunk of book ids in ascending order.
+     *
+     * @param afterId  the last id of the previous chunk, or {@code 0} for the first chunk.
+     * @param pageable the chunk size; only the page size is used.
+     * @return the ids of the chunk.
+     */
+    @Query("select b.id from Book b where b.id > :afterId order by b.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Finds which of the given ids belong to books of the current branch, without reading the rows.
+     *
+     * @param ids the ids to look up.
+     * @return the existing ids among the given ones.
+     */
+    @Query("select b.id from Book b where b.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Finds the next chunk of ids and branches of borrowed books in ascending id order.
+     *
+     * @param afterId  the last id of the previous chunk, or {@code 0} for the first chunk.
+     * @param pageable the chunk size; only the page size is used.
+     * @return the ids and branches of the chunk.
+     */
+    @Query("select b.id as id, b.branchId as branchId from Book b where b.borrowerId is not null and b.id > :afterId order by b.id")
+    List<BookBranchView> findBorrowedIdsWithBranch(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Finds the next chunk of available books in ascending id order.
+     * <p>
+     * Within a branch this is a range scan of {@code idx_book_branch_borrower_id}.
+     * </p>
+     *
+     * @param afterId  the last id of the previous chunk, or {@code 0} for the first chunk.
+     * @param pageable the chunk size; only the page size is used.
+     * @return the books of the chunk.
+     */
+    @Query("select b from Book b where b.borrowerId is null and b.id > :afterId order by b.id")
+    List<Book> findAvailable(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Finds the next chunk of borrowed books in ascending id order.
+     *
+     * @param afterId  the last id of the previous chunk, or {@code 0} for the first chunk.
+     * @param pageable the chunk size; only the page size is used.
+     * @return the books of the chunk.
+     */
+    @Query("select b from Book b where b.borrowerId is not null and b.id > :afterId order by b.id")
+    List<Book> findBorrowed(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Finds the catalog records of all books currently borrowed by the given borrower.
+     *
+     * @param borrowerId the id of the borrower.
+     * @return the records of the borrowed books.
+     */
+    @Query("select new com.librarymanagementsystem.catalog.BookRecord(b.id, b.isbn, b.title, b.author, b.borrowerId, b.lastUpdated, b.branchId, b.version) "
+            + "from Book b where b.borrowerId = :borrowerId")
+    List<BookRecord> findRecordsByBorrowerId(@Param("borrowerId") Long borrowerId);
+
+    /**
+     * Turns the given books into tombstones in a single bulk update.
+     *
+     * @param ids the ids of the books to delete.
+     * @param now the deletion time, also set as last update time so catalog deltas pick the change up.
+     * @return the number of updated rows.
+     */
+    @Modifying
+    @Query("update Book b set b.deleted = true, b.deletedOn = :now, b.lastUpdated = :now "
+            + "where b.id in :ids and b.deleted = false")
+    int markDeleted(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    /**
+     * Finds the ids of the books deleted at or after the given time.
+     * <p>
+     * This is a native query, as tombstones are hidden from every entity query.
+     * </p>
+     *
+     * @param since the lower bound of the deletion time.
+     * @return the ids of the deleted books that have not been purged yet.
+     */
+    @Query(value = "select id from book where deleted = true and deleted_on >= :since", nativeQuery = true)
+    List<Long> findIdsDeletedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Physically removes at most {@code limit} book tombstones deleted before the given time.
+     *
+     * @param before the upper bound of the deletion time.
+     * @param limit  the maximum number of rows to remove.
+     * @return the number of removed rows.
+     */
+    @Modifying
+    @Query(value = "delete from book where id in ("
+            + "select id from book where deleted = true and deleted_on < :before order by id limit :limit)",
+            nativeQuery = true)
+    int purgeDeleted(@Param("before") LocalDateTime before, @Param("limit") int limit);
 }
@@ -0,0 +1,146 @@
+package com.librarymanagementsystem.repository;
+
+import com.librarymanagementsystem.catalog.Isbn;
+import com.librarymanagementsystem.dto.BookSearchCriteria;
+import com.librarymanagementsystem.model.Book;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Repository searching books by a combination of optional filters, one keyset page at a time.
+ * <p>
+ * The query is assembled from the given filters only, so every request gets the smallest statement for
+ * its filters. Author and availability are equality filters, matching the leading columns of
+ * {@code idx_book_branch_author_id} and {@code idx_book_branch_borrower_id}; title and ISBN prefixes and
+ * the time ranges are range filters on {@code idx_book_branch_title_id}, {@code idx_book_branch_isbn_key},
+ * {@code idx_book_branch_created_on_id} and {@code idx_book_branch_last_updated_on_id}. The caller is
+ * responsible for only combining filters and sort orders that one of these indexes can serve.
+ * </p>
+ *
+ * <p>
+ * Typical usage example:
+ * <pre>
+ *     List&lt;Book&gt; page = bookSearchRepository.search(criteria, BookSearchSort.TITLE, false, "Java", 42L, 51);
+ * </pre>
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+@Repository
+public class BookSearchRepository {
+
+    // Escape character of the LIKE patterns built from prefixes.
+    private static final char ESCAPE = '\\';
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Finds the next books matching the filters, in the given order.
+     *
+     * @param criteria   the filters; the sort, cursor and limit of the criteria are not used.
+     * @param sort       the sort order.
+     * @param descending {@code true} for descending order.
+     * @param afterValue the sort key of the last book of the previous page, or {@code null}; ignored when sorting by id.
+     * @param afterId    the id of the last book of the previous page, or {@code null} for the first page.
+     * @param limit      the maximum number of books to return.
+     * @return the books, in the given order.
+     */
+    public List<Book> search(BookSearchCriteria criteria, BookSearchSort sort, boolean descending,
+                             Comparable<?> afterValue, Long afterId, int limit) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Book> query = builder.createQuery(Book.class);
+        Root<Book> root = query.from(Book.class);
+
+        List<Predicate> predicates = filter(builder, root, criteria);
+        Path<Long> id = root.get("id");
+        if (sort.isById()) {
+            if (afterId != null) {
+                predicates.add(descending ? builder.lessThan(id, afterId) : builder.greaterThan(id, afterId));
+            }
+            query.orderBy(descending ? builder.desc(id) : builder.asc(id));
+        } else {
+            Path<Comparable<Object>> key = root.get(sort.getAttribute());
+            predicates.add(builder.isNotNull(key));
+            if (afterId != null) {
+                predicates.add(after(builder, key, id, afterValue, afterId, descending));
+            }
+            query.orderBy(descending ? List.of(builder.desc(key), builder.desc(id)) : List.of(builder.asc(key), builder.asc(id)));
+        }
+
+        query.where(predicates.toArray(new Predicate[0]));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private static List<Predicate> filter(CriteriaBuilder builder, Root<Book> root, BookSearchCriteria criteria) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (criteria.getAuthor() != null) {
+            predicates.add(builder.equal(root.get("author"), criteria.getAuthor()));
+        }
+        if (criteria.getAvailable() != null) {
+            Path<Long> borrowerId = root.get("borrowerId");
+            predicates.add(criteria.getAvailable() ? builder.isNull(borrowerId) : builder.isNotNull(borrowerId));
+        }
+        if (criteria.getTitlePrefix() != null) {
+            predicates.addAll(prefix(builder, root.get("title"), criteria.getTitlePrefix()));
+        }
+        if (criteria.getIsbnPrefix() != null) {
+            // The digits of an ISBN-13 prefix are a range of normalized ISBNs.
+            long[] keys = Isbn.toKeyRange(criteria.getIsbnPrefix());
+            Path<Long> isbnKey = root.get("isbnKey");
+            predicates.add(builder.greaterThanOrEqualTo(isbnKey, keys[0]));
+            predicates.add(builder.lessThan(isbnKey, keys[1]));
+        }
+        range(builder, root.get("createdOn"), criteria.getCreatedFrom(), criteria.getCreatedTo(), predicates);
+        range(builder, root.get("lastUpdated"), criteria.getUpdatedFrom(), criteria.getUpdatedTo(), predicates);
+        return predicates;
+    }
+
+    /**
+     * Matches the values starting with the prefix. The lower bound lets the index scan start at the
+     * prefix under any collation, the LIKE pattern decides which values actually match.
+     */
+    private static List<Predicate> prefix(CriteriaBuilder builder, Expression<String> column, String prefix) {
+        String pattern = prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        return List.of(builder.greaterThanOrEqualTo(column, prefix), builder.like(column, pattern, ESCAPE));
+    }
+
+    private static void range(CriteriaBuilder builder, Expression<LocalDateTime> column, LocalDateTime from,
+                              LocalDateTime to, List<Predicate> predicates) {
+        if (from != null) {
+            predicates.add(builder.greaterThanOrEqualTo(column, from));
+        }
+        if (to != null) {
+            predicates.add(builder.lessThan(column, to));
+        }
+    }
+
+    /**
+     * Matches the rows after {@code (value, id)} in {@code (key, id)} order.
+     */
+    @SuppressWarnings("unchecked")
+    private static Predicate after(CriteriaBuilder builder, Path<Comparable<Object>> key, Path<Long> id,
+                                   Comparable<?> value, Long afterId, boolean descending) {
+        Comparable<Object> last = (Comparable<Object>) value;
+        if (descending) {
+            return builder.or(builder.lessThan(key, last),
+                    builder.and(builder.equal(key, last), builder.lessThan(id, afterId)));
+        }
+        return builder.or(builder.greaterThan(key, last),
+                builder.and(builder.equal(key, last), builder.greaterThan(id, afterId)));
+    }
+}
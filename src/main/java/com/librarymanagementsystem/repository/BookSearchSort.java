@@ -0,0 +1,76 @@
+package com.librarymanagementsystem.repository;
+
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+/**
+ * The sort orders of a book search.
+ * <p>
+ * Every order is backed by an index on {@code (branch_id, <column>, id)} or {@code (branch_id, <column>)},
+ * and ties are broken by the id, so the attribute value and the id of the last book of a page identify
+ * where the next page starts.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+public enum BookSearchSort {
+
+    /**
+     * By id, the order of creation.
+     */
+    ID("id", null),
+
+    /**
+     * By title.
+     */
+    TITLE("title", value -> value),
+
+    /**
+     * By normalized ISBN; books without a valid ISBN are left out.
+     */
+    ISBN("isbnKey", Long::valueOf),
+
+    /**
+     * By creation time; books without a creation time are left out.
+     */
+    CREATED("createdOn", LocalDateTime::parse),
+
+    /**
+     * By last update time; books without an update time are left out.
+     */
+    UPDATED("lastUpdated", LocalDateTime::parse);
+
+    private final String attribute;
+
+    private final Function<String, Comparable<?>> parser;
+
+    BookSearchSort(String attribute, Function<String, Comparable<?>> parser) {
+        this.attribute = attribute;
+        this.parser = parser;
+    }
+
+    /**
+     * @return the name of the {@link com.librarymanagementsystem.model.Book} attribute sorted by
+     */
+    public String getAttribute() {
+        return attribute;
+    }
+
+    /**
+     * @return {@code true} if the books are sorted by their id only
+     */
+    public boolean isById() {
+        return parser == null;
+    }
+
+    /**
+     * Parses the sort key written to a cursor.
+     *
+     * @param value the string form of the attribute value
+     * @return the attribute value
+     */
+    public Comparable<?> parse(String value) {
+        return parser.apply(value);
+    }
+}
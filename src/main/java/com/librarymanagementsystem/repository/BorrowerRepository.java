@@ -1,9 +1,18 @@
 package com.librarymanagementsystem.repository;
 
 import com.librarymanagementsystem.model.Borrower;
+import com.librarymanagementsystem.repository.projection.BranchBorrowerCountView;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
 /**
  * Repository interface for {@link Borrower} entities.
  * <p>
@@ -31,6 +40,11 @@ import org.springframework.stereotype.Repository;
  * Note: The Spring Data JPA repository abstraction significantly reduces the amount of boilerplate
  * code required to interact with the database.
  * </p>
+ *
+ * <p>
+ * Borrowers are spread over several databases; calls must run through
+ * {@link com.librarymanagementsystem.sharding.BorrowerShardRouter} to reach the shard of a borrower.
+ * </p>
  * Author: Gajendrasinh Zala
  * Email: gajendrasinh.zala93@gmail.com
  * Github: https://github.com/Gajendrasinh
@@ -40,4 +54,76 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public interface BorrowerRepository extends JpaRepository<Borrower, Long> {
+
+    /**
+     * Finds the next page of borrowers in ascending id order, starting after {@code afterId}.
+     *
+     * @param afterId  the id of the last borrower of the previous page, or {@code 0} for the first page.
+     * @param pageable the page size; only the page size is used.
+     * @return the borrowers of the page.
+     */
+    @Query("select br from Borrower br where br.id > :afterId order by br.id")
+    List<Borrower> findPage(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Checks whether a live borrower of the current branch has the given name or email.
+     * A {@code null} argument is compared with {@code is null} and, both columns being required, matches no borrower.
+     *
+     * @param name  the name of the borrower.
+     * @param email the email of the borrower.
+     * @return {@code true} if such a borrower exists.
+     */
+    boolean existsByNameOrEmail(String name, String email);
+
+    /**
+     * Finds the entity with the given id in the current branch.
+     * <p>
+     * Redeclared as a query because {@code EntityManager.find} loads by primary key without applying
+     * the branch restriction, which would let one branch read and modify another branch's rows.
+     * </p>
+     *
+     * @param id the id of the borrower.
+     * @return the borrower, or empty if it does not exist in the current branch.
+     */
+    @Override
+    @Query("select br from Borrower br where br.id = :id")
+    Optional<Borrower> findById(@Param("id") Long id);
+
+    /**
+     * Turns the given borrower into a tombstone with a single-row update.
+     *
+     * @param id  the id of the borrower to delete.
+     * @param now the deletion time.
+     * @return the number of updated rows.
+     */
+    @Modifying
+    @Query("update Borrower br set br.deleted = true, br.deletedOn = :now, br.lastUpdated = :now "
+            + "where br.id = :id and br.deleted = false")
+    int markDeleted(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    /**
+     * Physically removes at most {@code limit} borrower tombstones deleted before the given time.
+     * <p>
+     * Borrowers live on their own shard, apart from the books, so references from book rows cannot be
+     * checked here. The books of a borrower are deleted with it and purged by the same job.
+     * </p>
+     *
+     * @param before the upper bound of the deletion time.
+     * @param limit  the maximum number of rows to remove.
+     * @return the number of removed rows.
+     */
+    @Modifying
+    @Query(value = "delete from borrower where id in ("
+            + "select br.id from borrower br where br.deleted = true and br.deleted_on < :before "
+            + "order by br.id limit :limit)",
+            nativeQuery = true)
+    int purgeDeleted(@Param("before") LocalDateTime before, @Param("limit") int limit);
+
+    /**
+     * Counts the borrowers of every branch.
+     *
+     * @return one row per branch holding at least one borrower.
+     */
+    @Query("select br.branchId as branchId, count(br) as borrowers from Borrower br group by br.branchId")
+    List<BranchBorrowerCountView> countByBranch();
 }
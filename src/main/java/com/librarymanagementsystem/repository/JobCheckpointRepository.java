@@ -0,0 +1,51 @@
+package com.librarymanagementsystem.repository;
+
+import com.librarymanagementsystem.model.JobCheckpoint;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for {@link JobCheckpoint} entities.
+ * <p>
+ * This interface extends the {@link JpaRepository} interface to provide CRUD operations for the
+ * checkpoints of background jobs. Checkpoints are keyed by the job name.
+ * </p>
+ *
+ * <p>
+ * Typical usage example:
+ * <pre>
+ *     Optional&lt;JobCheckpoint&gt; checkpoint = jobCheckpointRepository.findById("overdue-loan-scan");
+ * </pre>
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ * @see com.librarymanagementsystem.model.JobCheckpoint
+ * @see org.springframework.data.jpa.repository.JpaRepository
+ */
+@Repository
+public interface JobCheckpointRepository extends JpaRepository<JobCheckpoint, String> {
+
+    /**
+     * Finds and write-locks the checkpoint of the given job, skipping it if another node holds the lock.
+     * <p>
+     * The lock is held until the end of the current transaction, so only one node at a time works on the
+     * position stored in the checkpoint.
+     * </p>
+     *
+     * @param jobName the name of the job.
+     * @return the locked checkpoint, or empty if it does not exist or is locked by another transaction.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select c from JobCheckpoint c where c.jobName = :jobName")
+    Optional<JobCheckpoint> findAndLock(@Param("jobName") String jobName);
+}
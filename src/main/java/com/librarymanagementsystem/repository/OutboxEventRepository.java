@@ -0,0 +1,61 @@
+package com.librarymanagementsystem.repository;
+
+import com.librarymanagementsystem.model.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for {@link OutboxEvent} entities.
+ * <p>
+ * This interface extends the {@link JpaRepository} interface to provide CRUD operations for the
+ * transactional outbox. Every database holding books or borrowers has its own outbox table; calls for
+ * a borrower shard must run through {@link com.librarymanagementsystem.sharding.BorrowerShardRouter}.
+ * </p>
+ *
+ * <p>
+ * Typical usage example:
+ * <pre>
+ *     List&lt;OutboxEvent&gt; batch = outboxEventRepository.findBatch(lastRelayedId, PageRequest.ofSize(500));
+ * </pre>
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ * @see com.librarymanagementsystem.model.OutboxEvent
+ * @see org.springframework.data.jpa.repository.JpaRepository
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Finds the next batch of committed events in ascending id order, starting after {@code afterId}.
+     * <p>
+     * Ids are assigned on insert but become visible on commit, so the batch may skip the id of a transaction
+     * still in flight; the caller must not move past such a gap before it is filled or known to be rolled back.
+     * </p>
+     *
+     * @param afterId  the id of the last relayed event, or {@code 0} if none was relayed yet.
+     * @param pageable the batch size; only the page size is used.
+     * @return the events of the batch.
+     */
+    @Query("select e from OutboxEvent e where e.id > :afterId order by e.id")
+    List<OutboxEvent> findBatch(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Removes the relayed events appended before the given time.
+     *
+     * @param lastRelayedId the id of the last relayed event.
+     * @param before        the upper bound of the append time.
+     * @return the number of removed rows.
+     */
+    @Modifying
+    @Query("delete from OutboxEvent e where e.id <= :lastRelayedId and e.createdOn < :before")
+    int deleteRelayed(@Param("lastRelayedId") Long lastRelayedId, @Param("before") LocalDateTime before);
+}
@@ -0,0 +1,117 @@
+package com.librarymanagementsystem.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.springframework.stereotype.Repository;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Repository selecting a subset of the attributes of an entity.
+ * <p>
+ * The queries only select the requested columns and return each row as an ordered map of attribute
+ * name to value, so neither entities nor DTOs are materialized for sparse fieldset requests.
+ * Attribute names must be validated by the caller; {@code null} values are left out of the rows.
+ * </p>
+ *
+ * <p>
+ * Typical usage example:
+ * <pre>
+ *     List&lt;Map&lt;String, Object&gt;&gt; rows = sparseFieldRepository.findAll(Book.class, List.of("id", "title"));
+ * </pre>
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+@Repository
+public class SparseFieldRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Selects the given attributes of all entities of a type, in ascending id order.
+     *
+     * @param type       the entity type.
+     * @param attributes the attribute names to select.
+     * @return one map per entity, holding the non-null selected attributes.
+     */
+    public List<Map<String, Object>> findAll(Class<?> type, List<String> attributes) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = select(builder, type, attributes);
+        Root<?> root = query.getRoots().iterator().next();
+        query.orderBy(builder.asc(root.get("id")));
+        return entityManager.createQuery(query).getResultStream()
+                .map(SparseFieldRepository::toMap)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Selects the given attributes of the entities of a type whose given attribute is, or is not,
+     * {@code null}, in ascending id order.
+     *
+     * @param type       the entity type.
+     * @param attributes the attribute names to select.
+     * @param attribute  the attribute to filter on.
+     * @param isNull     {@code true} for the entities where the attribute is {@code null}, {@code false} for the others.
+     * @return one map per matching entity, holding the non-null selected attributes.
+     */
+    public List<Map<String, Object>> findAll(Class<?> type, List<String> attributes, String attribute, boolean isNull) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = select(builder, type, attributes);
+        Root<?> root = query.getRoots().iterator().next();
+        query.where(isNull ? builder.isNull(root.get(attribute)) : builder.isNotNull(root.get(attribute)));
+        query.orderBy(builder.asc(root.get("id")));
+        return entityManager.createQuery(query).getResultStream()
+                .map(SparseFieldRepository::toMap)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Selects the given attributes of the entity with the given id.
+     *
+     * @param type       the entity type.
+     * @param id         the id of the entity.
+     * @param attributes the attribute names to select.
+     * @return the map of the non-null selected attributes, or empty if no entity has the given id.
+     */
+    public Optional<Map<String, Object>> findById(Class<?> type, Long id, List<String> attributes) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = select(builder, type, attributes);
+        Root<?> root = query.getRoots().iterator().next();
+        query.where(builder.equal(root.get("id"), id));
+        return entityManager.createQuery(query).getResultStream()
+                .findFirst()
+                .map(SparseFieldRepository::toMap);
+    }
+
+    private static CriteriaQuery<Tuple> select(CriteriaBuilder builder, Class<?> type, List<String> attributes) {
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<?> root = query.from(type);
+        query.multiselect(attributes.stream()
+                .map(attribute -> root.get(attribute).alias(attribute))
+                .collect(Collectors.toList()));
+        return query;
+    }
+
+    private static Map<String, Object> toMap(Tuple tuple) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (TupleElement<?> element : tuple.getElements()) {
+            Object value = tuple.get(element);
+            if (value != null) {
+                row.put(element.getAlias(), value);
+            }
+        }
+        return row;
+    }
+}
@@ -0,0 +1,31 @@
+package com.librarymanagementsystem.repository.projection;
+
+import com.librarymanagementsystem.activity.ActivityType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Closed projection of the total occurrences of one kind of activity in one time bucket.
+ * <p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ * </p>
+ */
+public interface ActivityRollupView {
+
+    /**
+     * @return the start of the time bucket
+     */
+    LocalDateTime getBucketStart();
+
+    /**
+     * @return the kind of activity
+     */
+    ActivityType getActivityType();
+
+    /**
+     * @return the number of occurrences summed over all nodes
+     */
+    Long getTotal();
+}
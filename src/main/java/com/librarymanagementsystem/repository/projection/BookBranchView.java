@@ -0,0 +1,23 @@
+package com.librarymanagementsystem.repository.projection;
+
+/**
+ * Closed projection of the id and branch of a book.
+ * <p>
+ * It is used to build the per-branch indexes of books without materializing the book entities.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+public interface BookBranchView {
+
+    /**
+     * @return the id of the book
+     */
+    Long getId();
+
+    /**
+     * @return the library branch owning the book
+     */
+    String getBranchId();
+}
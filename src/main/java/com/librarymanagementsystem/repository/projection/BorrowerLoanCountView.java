@@ -0,0 +1,28 @@
+package com.librarymanagementsystem.repository.projection;
+
+/**
+ * Closed projection of the number of books a borrower currently holds.
+ * <p>
+ * Used to rebuild the active loan counters of the library statistics from the database.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+public interface BorrowerLoanCountView {
+
+    /**
+     * @return the id of the branch of the borrower
+     */
+    String getBranchId();
+
+    /**
+     * @return the id of the borrower
+     */
+    Long getBorrowerId();
+
+    /**
+     * @return the number of books currently borrowed by the borrower
+     */
+    Long getLoans();
+}
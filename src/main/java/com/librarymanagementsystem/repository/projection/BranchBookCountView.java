@@ -0,0 +1,28 @@
+package com.librarymanagementsystem.repository.projection;
+
+/**
+ * Closed projection of the number of books and loans of a library branch.
+ * <p>
+ * Used to rebuild the book counters of the library statistics from the database.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+public interface BranchBookCountView {
+
+    /**
+     * @return the id of the branch
+     */
+    String getBranchId();
+
+    /**
+     * @return the number of books of the branch
+     */
+    Long getBooks();
+
+    /**
+     * @return the number of books of the branch that are currently borrowed
+     */
+    Long getOnLoan();
+}
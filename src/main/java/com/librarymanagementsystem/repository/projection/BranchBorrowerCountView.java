@@ -0,0 +1,23 @@
+package com.librarymanagementsystem.repository.projection;
+
+/**
+ * Closed projection of the number of borrowers of a library branch.
+ * <p>
+ * Used to rebuild the borrower counters of the library statistics from the database.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+public interface BranchBorrowerCountView {
+
+    /**
+     * @return the id of the branch
+     */
+    String getBranchId();
+
+    /**
+     * @return the number of borrowers of the branch
+     */
+    Long getBorrowers();
+}
@@ -0,0 +1,28 @@
+package com.librarymanagementsystem.repository.projection;
+
+/**
+ * Closed projection of the columns that decide whether an ISBN conflicts with an existing book.
+ * <p>
+ * Used for set-wise duplicate checks, where the ISBNs of a whole batch are checked with a single query.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+public interface IsbnView {
+
+    /**
+     * @return the normalized ISBN of the book
+     */
+    Long getIsbnKey();
+
+    /**
+     * @return the author of the book
+     */
+    String getAuthor();
+
+    /**
+     * @return the title of the book
+     */
+    String getTitle();
+}
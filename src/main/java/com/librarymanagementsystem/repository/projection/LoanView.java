@@ -0,0 +1,26 @@
+package com.librarymanagementsystem.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Closed projection of an active loan.
+ * <p>
+ * Only the columns needed to evaluate a loan are selected, so the book entity and its
+ * borrower are never materialized when large numbers of loans are scanned.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+public interface LoanView {
+
+    /**
+     * @return the id of the borrowed book
+     */
+    Long getId();
+
+    /**
+     * @return the date and time by which the book has to be returned
+     */
+    LocalDateTime getDueDate();
+}
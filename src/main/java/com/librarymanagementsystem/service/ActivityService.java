@@ -0,0 +1,41 @@
+package com.librarymanagementsystem.service;
+
+import com.librarymanagementsystem.dto.ActivityBucketDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Service interface for the catalog activity rollups of the library system.
+ * <p>
+ * Borrows, returns, creates and deletes are counted in memory per minute and per hour; closed
+ * buckets are flushed to the {@code activity_rollup} table, from which activity charts are served.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ * @see com.librarymanagementsystem.service.impl.ActivityServiceImpl
+ */
+public interface ActivityService {
+
+    /**
+     * Writes the closed in-memory buckets to the rollup table in one batch.
+     *
+     * @return the number of written rollup rows
+     */
+    int flush();
+
+    /**
+     * Retrieves the activity of every bucket in the given range.
+     * <p>
+     * Only flushed buckets are included, so the most recent bucket appears once it has closed.
+     * </p>
+     *
+     * @param from        the inclusive start of the range
+     * @param to          the exclusive end of the range
+     * @param granularity the bucket size: {@code minute} or {@code hour}
+     * @return one entry per bucket of the range, including buckets without activity
+     * @throws com.librarymanagementsystem.exception.BadRequestException if the range or granularity is invalid
+     */
+    List<ActivityBucketDto> getActivity(LocalDateTime from, LocalDateTime to, String granularity);
+}
@@ -0,0 +1,27 @@
+package com.librarymanagementsystem.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Service interface for the Server-Sent Events stream of book availability changes.
+ * <p>
+ * Clients subscribe once and receive a {@code borrowed} or {@code returned} event for every committed
+ * borrow or return of their branch, instead of polling the book list. A reconnecting client passes the
+ * id of the last event it received and gets the events it missed from a bounded replay buffer; if they are
+ * no longer buffered it gets a {@code reset} event, telling it to reload the books once.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ * @see com.librarymanagementsystem.service.impl.AvailabilityServiceImpl
+ */
+public interface AvailabilityService {
+
+    /**
+     * Subscribes the current request to the availability changes of its branch.
+     *
+     * @param lastEventId the {@code Last-Event-ID} sent by a reconnecting client, or {@code null}
+     * @return the emitter streaming the events
+     */
+    SseEmitter subscribe(String lastEventId);
+}
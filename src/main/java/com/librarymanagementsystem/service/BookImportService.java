@@ -0,0 +1,53 @@
+package com.librarymanagementsystem.service;
+
+import com.librarymanagementsystem.dto.ImportJobStatusDto;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+
+/**
+ * Service interface for bulk importing books from CSV catalog files.
+ * <p>
+ * The CSV source is expected to have the columns {@code author}, {@code title} and {@code isbn}.
+ * A header row naming these columns is optional; when present, the columns may be in any order.
+ * Rows that cannot be parsed, fail validation or conflict with an existing ISBN are rejected
+ * and reported in the job status, the remaining rows are imported.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ * @see com.librarymanagementsystem.service.impl.BookImportServiceImpl
+ */
+public interface BookImportService {
+
+    /**
+     * Starts an asynchronous import of the given CSV stream.
+     * <p>
+     * The stream is spooled to a temporary file before this method returns, so the caller may close it
+     * afterwards. The import itself runs in the background; its progress can be followed with
+     * {@link #getImportStatus(String)}.
+     * </p>
+     *
+     * @param csv    the CSV content
+     * @param source a descriptive name of the source, used in the job status
+     * @return the initial status of the started job
+     */
+    ImportJobStatusDto startImport(InputStream csv, String source);
+
+    /**
+     * Imports the given CSV file in the calling thread.
+     *
+     * @param file the CSV file to import
+     * @return the final status of the import job
+     */
+    ImportJobStatusDto importFile(Path file);
+
+    /**
+     * Retrieves the status of an import job.
+     *
+     * @param jobId the ID of the import job
+     * @return the current status of the job
+     * @throws com.librarymanagementsystem.exception.NotFoundException if no job exists with the given ID
+     */
+    ImportJobStatusDto getImportStatus(String jobId);
+}
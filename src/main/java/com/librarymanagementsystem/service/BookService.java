@@ -1,8 +1,13 @@
 package com.librarymanagementsystem.service;
 
+import com.librarymanagementsystem.dto.AvailabilityCheckDto;
 import com.librarymanagementsystem.dto.BookDto;
+import com.librarymanagementsystem.dto.BookSearchCriteria;
+import com.librarymanagementsystem.dto.CursorPageDto;
+import com.librarymanagementsystem.dto.MultiGetResponseDto;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service interface for managing books in the library system.
@@ -40,6 +45,27 @@ public interface BookService {
      */
     List<BookDto> getAllBooks();
 
+    /**
+     * Retrieves all available, or all borrowed, books in the library system.
+     * <p>
+     * Availability is read from the in-process bitmap of borrowed book ids, so the borrowed books are
+     * read by id instead of scanning the book table.
+     * </p>
+     *
+     * @param available {@code true} for the books that can be borrowed, {@code false} for the borrowed ones
+     * @return the matching books as {@link BookDto}, in ascending id order
+     */
+    List<BookDto> getBooksByAvailability(boolean available);
+
+    /**
+     * Checks which of the given books can be borrowed.
+     *
+     * @param bookIds the IDs of the books to check; duplicates are ignored
+     * @return the available and borrowed IDs, and the IDs for which no book exists
+     * @throws com.librarymanagementsystem.exception.BadRequestException if no or too many IDs are given
+     */
+    AvailabilityCheckDto checkAvailability(List<Long> bookIds);
+
     /**
      * Retrieves a specific book from the library system based on its ID.
      * <p>
@@ -52,6 +78,92 @@ public interface BookService {
      */
     BookDto getBookById(Long bookId);
 
+    /**
+     * Retrieves several books by their IDs.
+     * <p>
+     * The books are read with a bounded number of IN queries. IDs that do not exist are
+     * reported in the result instead of failing the request.
+     * </p>
+     *
+     * @param bookIds the IDs of the books to retrieve
+     * @return the found books in request order and the IDs that do not exist
+     * @throws com.librarymanagementsystem.exception.BadRequestException if no ID or more than the configured maximum is given
+     */
+    MultiGetResponseDto<BookDto> getBooksByIds(List<Long> bookIds);
+
+    /**
+     * Embeds the related resources named by an {@code expand} parameter into the given books.
+     * The only relation is {@code borrower}, the borrower holding a borrowed book. All borrowers of the
+     * books are read together, so the number of queries does not grow with the number of books.
+     *
+     * @param books  the books, which are not modified
+     * @param expand the names of the relations to embed, or {@code null} for none
+     * @return the books in the given order, copies of those with an embedded resource
+     * @throws com.librarymanagementsystem.exception.BadRequestException if a relation is unknown
+     */
+    List<BookDto> expand(List<BookDto> books, List<String> expand);
+
+    /**
+     * Retrieves the books with the given ISBN, in either its ISBN-10 or ISBN-13 form.
+     *
+     * @param isbn the ISBN, with or without hyphens
+     * @return the books with the ISBN, possibly none
+     * @throws com.librarymanagementsystem.exception.BadRequestException if the ISBN is not valid
+     */
+    List<BookDto> getBooksByIsbn(String isbn);
+
+    /**
+     * Retrieves the given fields of all books from the library system.
+     * <p>
+     * Only the requested columns are read and no {@link BookDto} is built. Each book is returned
+     * as a map of field name to value, without the fields whose value is {@code null}.
+     * </p>
+     *
+     * @param fields the names of the {@link BookDto} fields to retrieve
+     * @return a list of maps holding the requested fields of every book
+     * @throws com.librarymanagementsystem.exception.BadRequestException if a field name is unknown
+     */
+    List<Map<String, Object>> getAllBooks(List<String> fields);
+
+    /**
+     * Retrieves the given fields of the available, or the borrowed, books from the library system.
+     * <p>
+     * Only the requested columns are read, like {@link #getAllBooks(List)}, filtered on the borrower column.
+     * </p>
+     *
+     * @param available {@code true} for the books that can be borrowed, {@code false} for the borrowed ones
+     * @param fields    the names of the {@link BookDto} fields to retrieve
+     * @return a list of maps holding the requested fields of the matching books, in ascending id order
+     * @throws com.librarymanagementsystem.exception.BadRequestException if a field name is unknown
+     */
+    List<Map<String, Object>> getBooksByAvailability(boolean available, List<String> fields);
+
+    /**
+     * Searches the books matching a combination of filters, one page at a time.
+     * <p>
+     * Only filter and sort combinations that an index can serve are accepted: at most one of the title
+     * prefix, ISBN prefix, creation range and update range filters, and a sort order by id or by the
+     * column of that filter.
+     * </p>
+     *
+     * @param criteria the filters, sort order, cursor and limit of the search
+     * @return the page of matching books and the cursor of the next page
+     * @throws com.librarymanagementsystem.exception.BadRequestException if the combination is not
+     *                                                                   supported, or the sort, cursor or limit is invalid
+     */
+    CursorPageDto<BookDto> searchBooks(BookSearchCriteria criteria);
+
+    /**
+     * Retrieves the given fields of a specific book based on its ID.
+     *
+     * @param bookId the ID of the book to retrieve
+     * @param fields the names of the {@link BookDto} fields to retrieve
+     * @return a map holding the requested fields of the book
+     * @throws com.librarymanagementsystem.exception.NotFoundException if the book with the given ID does not exist
+     * @throws com.librarymanagementsystem.exception.BadRequestException if a field name is unknown
+     */
+    Map<String, Object> getBookById(Long bookId, List<String> fields);
+
     /**
      * Updates details of an existing book in the library system.
      * <p>
@@ -66,6 +178,23 @@ public interface BookService {
      */
     BookDto updateBook(Long bookId, BookDto bookDto);
 
+    /**
+     * Applies a JSON Merge Patch to an existing book.
+     * <p>
+     * Only the fields present in the patch are changed, and only the columns whose value actually
+     * changes are written. An unchanged book is not written at all.
+     * </p>
+     *
+     * @param bookId          the ID of the book to patch
+     * @param patch           the merge patch; only {@code author}, {@code title} and {@code isbn} may be given
+     * @param expectedVersion the version the client has read, from {@code If-Match}, or {@code null} for an unconditional patch
+     * @return the patched {@link BookDto} object
+     * @throws com.librarymanagementsystem.exception.NotFoundException if the book with the given ID does not exist
+     * @throws com.librarymanagementsystem.exception.BadRequestException if the patch holds an unknown or invalid field
+     * @throws com.librarymanagementsystem.exception.PreconditionFailedException if the book is not at the expected version
+     */
+    BookDto patchBook(Long bookId, Map<String, Object> patch, Long expectedVersion);
+
     /**
      * Deletes a book from the library system based on its ID.
      * <p>
@@ -88,7 +217,7 @@ public interface BookService {
      * @param borrowerId the ID of the borrower
      * @return the updated {@link BookDto} with borrowing details
      * @throws com.librarymanagementsystem.exception.NotFoundException if the book or borrower does not exist
-     * @throws com.librarymanagementsystem.exception.AlreadyExistException if the book is already borrowed by the borrower
+     * @throws com.librarymanagementsystem.exception.AlreadyExistException if the book is already borrowed, by the given or by another borrower
      */
     BookDto borrowedBook(Long bookId, Long borrowerId);
 
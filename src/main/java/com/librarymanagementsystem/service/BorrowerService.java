@@ -1,8 +1,13 @@
 package com.librarymanagementsystem.service;
 
+import com.librarymanagementsystem.dto.BookDto;
 import com.librarymanagementsystem.dto.BorrowerDto;
+import com.librarymanagementsystem.dto.KeysetPageDto;
+import com.librarymanagementsystem.dto.MultiGetResponseDto;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service interface for managing borrowers in the library system.
@@ -38,11 +43,14 @@ public interface BorrowerService {
     BorrowerDto createBorrower(BorrowerDto borrowerDto);
 
     /**
-     * Retrieves all borrowers in the library system.
+     * Retrieves one page of all borrowers in the library system, in ascending id order.
      *
-     * @return a list of {@link BorrowerDto} objects representing all borrowers
+     * @param after the id of the last borrower of the previous page, or {@code null} for the first page
+     * @param limit the maximum number of borrowers of the page, or {@code null} for the configured default
+     * @return the page of borrowers
+     * @throws com.librarymanagementsystem.exception.BadRequestException if the limit is not between 1 and the configured maximum
      */
-    List<BorrowerDto> getAllBorrowers();
+    KeysetPageDto<BorrowerDto> getAllBorrowers(Long after, Integer limit);
 
     /**
      * Retrieves a borrower by their unique identifier.
@@ -52,6 +60,58 @@ public interface BorrowerService {
      */
     BorrowerDto getBorrowerById(Long id);
 
+    /**
+     * Retrieves several borrowers by their unique identifiers.
+     * IDs that do not exist are reported in the result instead of failing the request.
+     *
+     * @param ids the identifiers of the borrowers to retrieve
+     * @return the found borrowers in request order and the IDs that do not exist
+     * @throws com.librarymanagementsystem.exception.BadRequestException if no ID or more than the configured maximum is given
+     */
+    MultiGetResponseDto<BorrowerDto> getBorrowersByIds(List<Long> ids);
+
+    /**
+     * Retrieves any number of borrowers by their unique identifiers, for embedding them in other resources.
+     * Unlike {@link #getBorrowersByIds(List)} the number of IDs is not limited and IDs that do not exist are left out.
+     *
+     * @param ids the identifiers of the borrowers to retrieve
+     * @return the found borrowers by their ID
+     */
+    Map<Long, BorrowerDto> getBorrowerSummaries(Collection<Long> ids);
+
+    /**
+     * Retrieves one page of the books currently borrowed by a borrower.
+     * Pages are addressed by the id of the last book of the previous page, so every page costs
+     * the same regardless of how many books the borrower holds.
+     *
+     * @param id    the unique identifier of the borrower
+     * @param after the id of the last book of the previous page, or {@code null} for the first page
+     * @param limit the maximum number of books of the page, or {@code null} for the configured default
+     * @return the page of borrowed books
+     * @throws com.librarymanagementsystem.exception.NotFoundException if no borrower is found with the given ID
+     * @throws com.librarymanagementsystem.exception.BadRequestException if the limit is not between 1 and the configured maximum
+     */
+    KeysetPageDto<BookDto> getBorrowedBooks(Long id, Long after, Integer limit);
+
+    /**
+     * Retrieves the given fields of all borrowers, without building {@link BorrowerDto}s.
+     *
+     * @param fields the names of the {@link BorrowerDto} fields to retrieve
+     * @return a list of maps holding the requested fields of every borrower
+     * @throws com.librarymanagementsystem.exception.BadRequestException if a field name is unknown
+     */
+    List<Map<String, Object>> getAllBorrowers(List<String> fields);
+
+    /**
+     * Retrieves the given fields of a borrower by their unique identifier.
+     *
+     * @param id     the identifier of the borrower to retrieve
+     * @param fields the names of the {@link BorrowerDto} fields to retrieve
+     * @return a map holding the requested fields of the borrower
+     * @throws com.librarymanagementsystem.exception.BadRequestException if a field name is unknown
+     */
+    Map<String, Object> getBorrowerById(Long id, List<String> fields);
+
     /**
      * Updates an existing borrower's details.
      *
@@ -61,6 +121,23 @@ public interface BorrowerService {
      */
     BorrowerDto updateBorrower(Long id, BorrowerDto borrowerDto);
 
+    /**
+     * Applies a JSON Merge Patch to an existing borrower.
+     * <p>
+     * Only the fields present in the patch are changed, and only the columns whose value actually
+     * changes are written. An unchanged borrower is not written at all.
+     * </p>
+     *
+     * @param id              the identifier of the borrower to patch
+     * @param patch           the merge patch; only {@code name} and {@code email} may be given
+     * @param expectedVersion the version the client has read, from {@code If-Match}, or {@code null} for an unconditional patch
+     * @return the patched {@link BorrowerDto} object
+     * @throws com.librarymanagementsystem.exception.NotFoundException if no borrower exists with the specified ID
+     * @throws com.librarymanagementsystem.exception.BadRequestException if the patch holds an unknown or invalid field
+     * @throws com.librarymanagementsystem.exception.PreconditionFailedException if the borrower is not at the expected version
+     */
+    BorrowerDto patchBorrower(Long id, Map<String, Object> patch, Long expectedVersion);
+
     /**
      * Deletes a borrower by their unique identifier.
      *
@@ -0,0 +1,37 @@
+package com.librarymanagementsystem.service;
+
+import com.librarymanagementsystem.dto.LibraryStatsDto;
+
+/**
+ * Service interface for the statistics of the library system.
+ * <p>
+ * The statistics are kept in counters that are updated together with the changes of books, loans
+ * and borrowers, and are periodically reconciled with the database to correct any drift.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ * @see com.librarymanagementsystem.service.impl.LibraryStatsServiceImpl
+ */
+public interface LibraryStatsService {
+
+    /**
+     * Returns the current statistics of the branch of the request from the counters, without querying the database.
+     *
+     * @return the current statistics
+     */
+    LibraryStatsDto getStats();
+
+    /**
+     * Records books added to the catalog without going through the book service, such as by a bulk import.
+     *
+     * @param branchId the branch the books were added to
+     * @param count    the number of added books
+     */
+    void recordBooksAdded(String branchId, int count);
+
+    /**
+     * Recounts books, loans and borrowers of every branch in the database and corrects the counters.
+     */
+    void reconcile();
+}
@@ -0,0 +1,23 @@
+package com.librarymanagementsystem.service;
+
+/**
+ * Service interface for the relay of the transactional outbox.
+ * <p>
+ * Book and borrower changes append events to the outbox of their database in the same transaction.
+ * This service drains the outbox of every database in ordered batches to the configured
+ * {@link com.librarymanagementsystem.outbox.OutboxSink}, at least once.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ * @see com.librarymanagementsystem.service.impl.OutboxRelayServiceImpl
+ */
+public interface OutboxRelayService {
+
+    /**
+     * Delivers all committed events that were not relayed yet, and removes relayed events past the retention.
+     *
+     * @return the number of delivered events
+     */
+    int relay();
+}
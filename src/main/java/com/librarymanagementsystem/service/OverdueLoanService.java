@@ -0,0 +1,26 @@
+package com.librarymanagementsystem.service;
+
+/**
+ * Service interface for detecting overdue loans in the library system.
+ * <p>
+ * This interface defines the contract for the job that walks over all active loans,
+ * marks the ones that are past their due date as overdue and computes their fines.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ * @see com.librarymanagementsystem.service.impl.OverdueLoanServiceImpl
+ */
+public interface OverdueLoanService {
+
+    /**
+     * Scans all active loans and marks the overdue ones.
+     * <p>
+     * The scan is processed in keyset-ordered chunks and commits after every chunk. If a previous
+     * run was interrupted, the scan resumes from its last checkpoint.
+     * </p>
+     *
+     * @return the number of loans marked as overdue by this run
+     */
+    long scanOverdueLoans();
+}
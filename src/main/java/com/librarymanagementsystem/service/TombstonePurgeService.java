@@ -0,0 +1,22 @@
+package com.librarymanagementsystem.service;
+
+/**
+ * Service interface for the purge of soft-deleted books and borrowers.
+ * <p>
+ * Deletes only turn rows into tombstones; this service physically removes the tombstones that are
+ * older than the configured retention period, in bounded batches.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ * @see com.librarymanagementsystem.service.impl.TombstonePurgeServiceImpl
+ */
+public interface TombstonePurgeService {
+
+    /**
+     * Removes all tombstones older than the retention period.
+     *
+     * @return the number of removed rows
+     */
+    int purge();
+}
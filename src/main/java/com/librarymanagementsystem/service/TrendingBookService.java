@@ -0,0 +1,29 @@
+package com.librarymanagementsystem.service;
+
+import com.librarymanagementsystem.dto.TrendingBookDto;
+
+import java.util.List;
+
+/**
+ * Service interface for the trending books of the library system.
+ * <p>
+ * Trending books are the most borrowed books over the last hour, day or week, ranked from
+ * fixed-memory sketches fed by borrow events rather than from queries over the loan history.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ * @see com.librarymanagementsystem.service.impl.TrendingBookServiceImpl
+ */
+public interface TrendingBookService {
+
+    /**
+     * Retrieves the most borrowed books of a time window.
+     *
+     * @param window the time window: {@code hour}, {@code day} or {@code week}
+     * @param limit  the maximum number of books, or {@code null} for the configured default
+     * @return the trending books, most borrowed first
+     * @throws com.librarymanagementsystem.exception.BadRequestException if the window is unknown or the limit is out of range
+     */
+    List<TrendingBookDto> getTrendingBooks(String window, Integer limit);
+}
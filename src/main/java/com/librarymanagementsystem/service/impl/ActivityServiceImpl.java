@@ -0,0 +1,213 @@
+package com.librarymanagementsystem.service.impl;
+
+import com.librarymanagementsystem.activity.ActivityGranularity;
+import com.librarymanagementsystem.activity.ActivityRecorder;
+import com.librarymanagementsystem.activity.ActivityRing;
+import com.librarymanagementsystem.activity.ActivityType;
+import com.librarymanagementsystem.concurrent.SingleFlight;
+import com.librarymanagementsystem.dto.ActivityBucketDto;
+import com.librarymanagementsystem.exception.BadRequestException;
+import com.librarymanagementsystem.exception.ServiceUnavailableException;
+import com.librarymanagementsystem.repository.ActivityRollupRepository;
+import com.librarymanagementsystem.repository.projection.ActivityRollupView;
+import com.librarymanagementsystem.service.ActivityService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Implementation of the {@link ActivityService} interface.
+ * <p>
+ * A bucket is flushed once it has been closed for one more bucket length, so no late increment can
+ * race with its reset. All rows of a flush are inserted with one JDBC batch in one transaction and
+ * the buckets are released only after the commit, so a failed flush is retried as a whole by the
+ * next run. On shutdown every bucket, including the open ones, is flushed.
+ * </p>
+ * <p>
+ * Buckets are aligned to the Unix epoch, so their start is stored in UTC, where every bucket begins on a
+ * whole minute or hour. Requests give their range in the local time of the server, which is converted to
+ * UTC for the query; bucket starts are converted back. In a zone with a half-hour offset, hour buckets
+ * therefore begin at half past the local hour.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+@Service
+@Slf4j
+public class ActivityServiceImpl implements ActivityService {
+
+    private static final String INSERT_ROLLUP_SQL =
+            "insert into activity_rollup (granularity, bucket_start, activity_type, activity_count) values (?, ?, ?, ?)";
+
+    @Autowired
+    private ActivityRecorder activityRecorder;
+
+    @Autowired
+    private ActivityRollupRepository activityRollupRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Maximum number of buckets served by one activity request.
+    @Value("${library-system.activity.max-buckets:10080}")
+    private int maxBuckets = 10080;
+
+    // Longest time a request waits for the concurrent rollup query of the same range by another request.
+    @Value("${library-system.single-flight.timeout:PT5S}")
+    private Duration singleFlightTimeout = Duration.ofSeconds(5);
+
+    // Time zone of the date times of requests and responses; rollups are stored in UTC.
+    private ZoneId zone = ZoneId.systemDefault();
+
+    // Rollup queries, shared by concurrent requests for the same range, such as dashboards polling together.
+    private final SingleFlight<RollupRange, List<ActivityRollupView>> rollupLoads = new SingleFlight<>();
+
+    /**
+     * Writes the closed in-memory buckets to the rollup table in one batch.
+     *
+     * @return the number of written rollup rows
+     */
+    @Override
+    public int flush() {
+        long now = System.currentTimeMillis();
+        Map<ActivityGranularity, Long> before = new LinkedHashMap<>();
+        for (ActivityGranularity granularity : ActivityGranularity.values()) {
+            before.put(granularity, now - granularity.getBucketLength().toMillis());
+        }
+        return flush(before);
+    }
+
+    /**
+     * Flushes every bucket, including the open ones, when the application shuts down.
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        Map<ActivityGranularity, Long> before = new LinkedHashMap<>();
+        for (ActivityGranularity granularity : ActivityGranularity.values()) {
+            before.put(granularity, Long.MAX_VALUE);
+        }
+        try {
+            flush(before);
+        } catch (RuntimeException e) {
+            log.warn("Unable to flush the activity rollups on shutdown", e);
+        }
+    }
+
+    private int flush(Map<ActivityGranularity, Long> beforeMillis) {
+        Map<ActivityRing, List<ActivityRing.Bucket>> closed = new LinkedHashMap<>();
+        List<Object[]> rows = new ArrayList<>();
+        for (Map.Entry<ActivityGranularity, Long> entry : beforeMillis.entrySet()) {
+            ActivityRing ring = activityRecorder.getRing(entry.getKey());
+            List<ActivityRing.Bucket> buckets = ring.closedBuckets(entry.getValue());
+            closed.put(ring, buckets);
+            for (ActivityRing.Bucket bucket : buckets) {
+                Timestamp start = Timestamp.valueOf(LocalDateTime.ofInstant(Instant.ofEpochMilli(bucket.getStartMillis()), ZoneOffset.UTC));
+                for (ActivityType type : ActivityType.values()) {
+                    if (bucket.getCount(type) > 0) {
+                        rows.add(new Object[]{entry.getKey().name(), start, type.name(), bucket.getCount(type)});
+                    }
+                }
+            }
+            if (ring.getDropped() > 0) {
+                log.warn("Activity rollup flush is lagging, {} {} events dropped so far", ring.getDropped(), entry.getKey());
+            }
+        }
+
+        if (!rows.isEmpty()) {
+            new TransactionTemplate(transactionManager)
+                    .executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_ROLLUP_SQL, rows));
+        }
+        closed.forEach((ring, buckets) -> buckets.forEach(ring::release));
+        return rows.size();
+    }
+
+    /**
+     * Retrieves the activity of every bucket in the given range.
+     * <p>
+     * Concurrent requests for the same range share one query of the rollup table.
+     * </p>
+     *
+     * @param from        the inclusive start of the range
+     * @param to          the exclusive end of the range
+     * @param granularity the bucket size: {@code minute} or {@code hour}
+     * @return one entry per bucket of the range, including buckets without activity
+     * @throws BadRequestException if the range or granularity is invalid
+     * @throws ServiceUnavailableException if the shared query of another request did not finish in time
+     */
+    @Override
+    public List<ActivityBucketDto> getActivity(LocalDateTime from, LocalDateTime to, String granularity) {
+        ActivityGranularity activityGranularity;
+        try {
+            activityGranularity = ActivityGranularity.valueOf(granularity.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Unknown granularity: " + granularity + ", expected minute or hour");
+        }
+        ChronoUnit unit = activityGranularity == ActivityGranularity.MINUTE ? ChronoUnit.MINUTES : ChronoUnit.HOURS;
+        LocalDateTime start = toUtc(from).truncatedTo(unit);
+        LocalDateTime end = toUtc(to);
+        if (!start.isBefore(end)) {
+            throw new BadRequestException("from must be before to");
+        }
+        Duration bucketLength = activityGranularity.getBucketLength();
+        if (Duration.between(start, end).dividedBy(bucketLength) >= maxBuckets) {
+            throw new BadRequestException("The range must not span more than " + maxBuckets + " buckets");
+        }
+
+        // Keyed by the UTC start, which stays unique where local time repeats at the end of daylight saving time.
+        Map<LocalDateTime, ActivityBucketDto> buckets = new LinkedHashMap<>();
+        for (LocalDateTime bucketStart = start; bucketStart.isBefore(end); bucketStart = bucketStart.plus(bucketLength)) {
+            buckets.put(bucketStart, ActivityBucketDto.builder().bucketStart(fromUtc(bucketStart)).build());
+        }
+        List<ActivityRollupView> rollups = rollupLoads.load(new RollupRange(activityGranularity, start, end),
+                singleFlightTimeout, () -> activityRollupRepository.sumByBucket(activityGranularity, start, end));
+        for (ActivityRollupView view : rollups) {
+            ActivityBucketDto bucket = buckets.get(view.getBucketStart());
+            if (bucket == null) {
+                continue;
+            }
+            switch (view.getActivityType()) {
+                case BORROWED -> bucket.setBorrowed(view.getTotal());
+                case RETURNED -> bucket.setReturned(view.getTotal());
+                case CREATED -> bucket.setCreated(view.getTotal());
+                case DELETED -> bucket.setDeleted(view.getTotal());
+            }
+        }
+        return new ArrayList<>(buckets.values());
+    }
+
+    private LocalDateTime toUtc(LocalDateTime local) {
+        return LocalDateTime.ofInstant(local.atZone(zone).toInstant(), ZoneOffset.UTC);
+    }
+
+    private LocalDateTime fromUtc(LocalDateTime utc) {
+        return LocalDateTime.ofInstant(utc.toInstant(ZoneOffset.UTC), zone);
+    }
+
+    /**
+     * Key of a shared rollup query.
+     */
+    private record RollupRange(ActivityGranularity granularity, LocalDateTime from, LocalDateTime to) {
+    }
+}
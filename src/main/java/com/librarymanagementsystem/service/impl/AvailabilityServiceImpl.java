@@ -0,0 +1,376 @@
+package com.librarymanagementsystem.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.librarymanagementsystem.dto.AvailabilityEventDto;
+import com.librarymanagementsystem.event.BookEvent;
+import com.librarymanagementsystem.event.BookEventType;
+import com.librarymanagementsystem.service.AvailabilityService;
+import com.librarymanagementsystem.tenancy.BranchContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Implementation of the {@link AvailabilityService} interface.
+ * <p>
+ * Subscriptions are asynchronous requests: an idle stream holds a connection but no thread. Every
+ * committed borrow or return is encoded once, numbered and appended to the replay buffer under a short
+ * lock, and queued to the bounded outbox of every subscriber of the book's branch. A small pool of sender
+ * threads writes the outboxes to the sockets, one task per subscriber at a time, so a subscriber receives
+ * its events in order and a slow socket only delays its own stream. Replays are queued under the same lock
+ * before the subscriber is registered, so a replayed event is never sent twice.
+ * </p>
+ * <p>
+ * A subscriber whose outbox overflows is closed, and reconnects with the id of its last event like after a
+ * timeout. Event ids are the start time of the node followed by a sequence number. An id of an earlier run,
+ * or one older than the buffer, cannot be resumed and is answered with a {@code reset} event.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+@Service
+@Slf4j
+public class AvailabilityServiceImpl implements AvailabilityService {
+
+    // Comment line sent to idle streams, so that proxies and load balancers keep them open.
+    private static final Set<ResponseBodyEmitter.DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("").build();
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Number of recent events kept for reconnecting clients.
+    @Value("${library-system.availability.replay-size:1024}")
+    private int replaySize = 1024;
+
+    // Number of events queued for one subscriber before it is closed as too slow.
+    @Value("${library-system.availability.outbox-size:256}")
+    private int outboxSize = 256;
+
+    // Number of threads writing events to the streams.
+    @Value("${library-system.availability.sender-threads:4}")
+    private int senderThreads = 4;
+
+    // Time after which a stream is closed; clients reconnect with the id of their last event.
+    @Value("${library-system.availability.timeout:PT30M}")
+    private Duration timeout = Duration.ofMinutes(30);
+
+    // Prefix of the event ids of this run.
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    // Holds at most one task per subscriber, so its queue is bounded by the number of subscribers.
+    private ExecutorService sender;
+
+    private Counter slowSubscribers;
+
+    // Recent events, oldest first, and the sequence number of the newest; guarded by the replay buffer.
+    private final ArrayDeque<FeedEvent> replay = new ArrayDeque<>();
+
+    private long sequence;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger threads = new AtomicInteger();
+        sender = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "availability-sender-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("library.availability.subscribers", subscribers, Set::size)
+                .description("Number of open book availability streams")
+                .register(meterRegistry);
+        slowSubscribers = Counter.builder("library.availability.slow-subscribers")
+                .description("Number of availability streams closed because their outbox overflowed")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sender.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    /**
+     * Subscribes the current request to the availability changes of its branch.
+     *
+     * @param lastEventId the {@code Last-Event-ID} sent by a reconnecting client, or {@code null}
+     * @return the emitter streaming the events
+     */
+    @Override
+    public SseEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, BranchContext.current());
+        emitter.onCompletion(() -> close(subscriber));
+        emitter.onTimeout(() -> close(subscriber));
+        emitter.onError(e -> close(subscriber));
+
+        synchronized (replay) {
+            resume(subscriber, lastEventId);
+            if (!subscriber.closed) {
+                subscribers.add(subscriber);
+            }
+        }
+        schedule(subscriber);
+        return emitter;
+    }
+
+    /**
+     * Streams a committed borrow or return to the subscribers of the book's branch.
+     *
+     * @param event the book change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookEvent(BookEvent event) {
+        boolean borrowed = event.getType() == BookEventType.BORROWED;
+        if (!borrowed && event.getType() != BookEventType.RETURNED) {
+            return;
+        }
+
+        AvailabilityEventDto change = AvailabilityEventDto.builder()
+                .bookId(event.getBook().getId())
+                .borrowerId(event.getBorrowerId())
+                .available(!borrowed)
+                .changedOn(LocalDateTime.now())
+                .build();
+        String data;
+        try {
+            data = objectMapper.writeValueAsString(change);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize availability event: " + e.getMessage(), e);
+        }
+        broadcast(event.getBook().getBranchId(), borrowed ? "borrowed" : "returned", data);
+    }
+
+    /**
+     * Sends a heartbeat to every idle stream.
+     */
+    @Scheduled(fixedDelayString = "${library-system.availability.heartbeat-interval:PT30S}",
+            initialDelayString = "${library-system.availability.heartbeat-interval:PT30S}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.isIdle()) {
+                enqueue(subscriber, HEARTBEAT);
+                schedule(subscriber);
+            }
+        }
+    }
+
+    /**
+     * Appends an event to the replay buffer and queues it to the subscribers of its branch.
+     */
+    private void broadcast(String branchId, String name, String data) {
+        synchronized (replay) {
+            sequence++;
+            FeedEvent event = new FeedEvent(sequence, branchId, SseEmitter.event()
+                    .id(epoch + "-" + sequence)
+                    .name(name)
+                    .data(data, MediaType.APPLICATION_JSON)
+                    .build());
+            replay.addLast(event);
+            if (replay.size() > replaySize) {
+                replay.removeFirst();
+            }
+
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.accepts(event)) {
+                    enqueue(subscriber, event.data());
+                }
+            }
+        }
+        subscribers.forEach(this::schedule);
+    }
+
+    /**
+     * Queues the buffered events a reconnecting subscriber missed, or a {@code reset} event if they are
+     * not buffered any more or do not fit its outbox. Called with the replay buffer locked.
+     */
+    private void resume(Subscriber subscriber, String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return;
+        }
+
+        long after = parseSequence(lastEventId);
+        FeedEvent oldest = replay.peekFirst();
+        long firstResumable = oldest == null ? sequence : oldest.sequence() - 1;
+        if (after < firstResumable || after > sequence || sequence - after > outboxSize) {
+            enqueue(subscriber, SseEmitter.event().id(epoch + "-" + sequence).name("reset").data("").build());
+            return;
+        }
+        for (FeedEvent event : replay) {
+            if (event.sequence() > after && subscriber.accepts(event)) {
+                enqueue(subscriber, event.data());
+            }
+        }
+    }
+
+    /**
+     * @return the sequence number of an event id of this run, or {@code -1} if the id is of another run or invalid
+     */
+    private long parseSequence(String eventId) {
+        int separator = eventId.lastIndexOf('-');
+        if (separator < 0 || !eventId.substring(0, separator).equals(epoch)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Adds an event to the outbox of a subscriber, or marks the subscriber as too slow if the outbox is full.
+     */
+    private void enqueue(Subscriber subscriber, Set<ResponseBodyEmitter.DataWithMediaType> data) {
+        synchronized (subscriber) {
+            if (subscriber.closed || subscriber.overflowed) {
+                return;
+            }
+            if (subscriber.outbox.size() >= outboxSize) {
+                // The sender completes the stream once its current write returns; the client then resumes.
+                subscriber.overflowed = true;
+                subscriber.outbox.clear();
+                return;
+            }
+            subscriber.outbox.addLast(data);
+        }
+    }
+
+    /**
+     * Starts a sender task for a subscriber with queued events, unless one is running already.
+     */
+    private void schedule(Subscriber subscriber) {
+        synchronized (subscriber) {
+            if (subscriber.sending || (subscriber.outbox.isEmpty() && !subscriber.overflowed)) {
+                return;
+            }
+            subscriber.sending = true;
+        }
+        try {
+            sender.execute(() -> drain(subscriber));
+        } catch (RejectedExecutionException e) {
+            // Shutting down; the stream is completed by shutdown.
+        }
+    }
+
+    /**
+     * Writes the outbox of a subscriber to its stream until it is empty.
+     */
+    private void drain(Subscriber subscriber) {
+        while (true) {
+            Set<ResponseBodyEmitter.DataWithMediaType> data;
+            boolean slow;
+            synchronized (subscriber) {
+                slow = subscriber.overflowed && !subscriber.closed;
+                data = subscriber.closed ? null : subscriber.outbox.pollFirst();
+                if (slow || data == null) {
+                    subscriber.sending = false;
+                }
+            }
+            if (slow) {
+                close(subscriber);
+                slowSubscribers.increment();
+                log.debug("Closing slow availability stream of branch {}", subscriber.branchId);
+                subscriber.emitter.complete();
+                return;
+            }
+            if (data == null) {
+                return;
+            }
+            if (!send(subscriber, data)) {
+                return;
+            }
+        }
+    }
+
+    private boolean send(Subscriber subscriber, Set<ResponseBodyEmitter.DataWithMediaType> data) {
+        try {
+            subscriber.emitter.send(data);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // The client went away; the container completes the emitter.
+            close(subscriber);
+            synchronized (subscriber) {
+                subscriber.sending = false;
+            }
+            return false;
+        }
+    }
+
+    private void close(Subscriber subscriber) {
+        synchronized (subscriber) {
+            subscriber.closed = true;
+            subscriber.outbox.clear();
+        }
+        subscribers.remove(subscriber);
+    }
+
+    /**
+     * An encoded event with the branch it belongs to.
+     */
+    private record FeedEvent(long sequence, String branchId, Set<ResponseBodyEmitter.DataWithMediaType> data) {
+    }
+
+    /**
+     * An open stream, the branch it was opened for and the events waiting to be written to it.
+     * The outbox and the flags are guarded by the subscriber.
+     */
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+
+        // Branch of the subscribing request; null receives the events of all branches.
+        private final String branchId;
+
+        private final ArrayDeque<Set<ResponseBodyEmitter.DataWithMediaType>> outbox = new ArrayDeque<>();
+
+        // Whether a sender task is writing the outbox.
+        private boolean sending;
+
+        // Whether the outbox overflowed; the stream is completed instead of written.
+        private boolean overflowed;
+
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter, String branchId) {
+            this.emitter = emitter;
+            this.branchId = branchId;
+        }
+
+        private boolean accepts(FeedEvent event) {
+            return branchId == null || branchId.equals(event.branchId());
+        }
+
+        private synchronized boolean isIdle() {
+            return !sending && outbox.isEmpty();
+        }
+    }
+}
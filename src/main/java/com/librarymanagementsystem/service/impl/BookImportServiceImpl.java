@@ -0,0 +1,581 @@
+package com.librarymanagementsystem.service.impl;
+
+import com.librarymanagementsystem.catalog.BookRecord;
+import com.librarymanagementsystem.catalog.Isbn;
+import com.librarymanagementsystem.dto.BookDto;
+import com.librarymanagementsystem.dto.ErrorDetailsDto;
+import com.librarymanagementsystem.dto.ImportJobStatusDto;
+import com.librarymanagementsystem.event.BookBulkEvent;
+import com.librarymanagementsystem.event.BookEventType;
+import com.librarymanagementsystem.exception.ErrorCode;
+import com.librarymanagementsystem.exception.NotFoundException;
+import com.librarymanagementsystem.repository.BookRepository;
+import com.librarymanagementsystem.repository.projection.IsbnView;
+import com.librarymanagementsystem.service.BookImportService;
+import com.librarymanagementsystem.service.LibraryStatsService;
+import com.librarymanagementsystem.tenancy.BranchContext;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the {@link BookImportService} interface.
+ * <p>
+ * An import runs as a three stage pipeline:
+ * <ol>
+ *     <li>the reader streams the source line by line and cuts it into batches,</li>
+ *     <li>a pool of parser threads turns each batch into validated {@link BookDto}s,</li>
+ *     <li>a single writer checks the ISBNs of each batch with one query and inserts the accepted
+ *     rows with one JDBC batch, in its own transaction together with their outbox events.</li>
+ * </ol>
+ * The number of batches in flight is bounded, so memory use does not depend on the size of the source.
+ * Books are imported into the branch of the request that started the job; the writer works for that
+ * branch, so the ISBN check only sees books of the same branch.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+@Service
+@Slf4j
+public class BookImportServiceImpl implements BookImportService {
+
+    private static final String INSERT_BOOK_SQL =
+            "insert into book (author, title, isbn, isbn_key, created_on, last_updated_on, branch_id) values (?, ?, ?, ?, ?, ?, ?)";
+
+    // Number of finished jobs whose status is kept for the status endpoint.
+    private static final int MAX_FINISHED_JOBS = 100;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private LibraryStatsService libraryStatsService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Number of CSV rows per parsed and inserted batch.
+    @Value("${library-system.import.batch-size:1000}")
+    private int batchSize = 1000;
+
+    // Number of threads parsing and validating batches.
+    @Value("${library-system.import.parser-threads:4}")
+    private int parserThreads = 4;
+
+    // Number of imports that may run at the same time.
+    @Value("${library-system.import.concurrent-jobs:1}")
+    private int concurrentJobs = 1;
+
+    // Branch of imports started outside of a request, such as by the command line runner.
+    @Value("${library-system.branch.default-branch:main}")
+    private String defaultBranch = "main";
+
+    // Number of rejected rows reported in detail per job.
+    @Value("${library-system.import.max-reported-rejections:100}")
+    private int maxReportedRejections = 100;
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    private ExecutorService jobExecutor;
+
+    @PostConstruct
+    void init() {
+        jobExecutor = Executors.newFixedThreadPool(Math.max(1, concurrentJobs));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        jobExecutor.shutdownNow();
+    }
+
+    /**
+     * Spools the given CSV stream to a temporary file and imports it in the background.
+     *
+     * @param csv    the CSV content
+     * @param source a descriptive name of the source, used in the job status
+     * @return the initial status of the started job
+     */
+    @Override
+    public ImportJobStatusDto startImport(InputStream csv, String source) {
+        Path file;
+        try {
+            file = Files.createTempFile("book-import-", ".csv");
+            Files.copy(csv, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to spool the import source: " + e.getMessage(), e);
+        }
+
+        ImportJob job = register(source);
+        jobExecutor.execute(() -> {
+            try {
+                run(job, file);
+            } finally {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    log.warn("Unable to delete spooled import file:{}", file, e);
+                }
+            }
+        });
+        return job.toDto();
+    }
+
+    /**
+     * Imports the given CSV file in the calling thread.
+     *
+     * @param file the CSV file to import
+     * @return the final status of the import job
+     */
+    @Override
+    public ImportJobStatusDto importFile(Path file) {
+        ImportJob job = register(file.toString());
+        run(job, file);
+        return job.toDto();
+    }
+
+    /**
+     * Retrieves the status of an import job.
+     *
+     * @param jobId the ID of the import job
+     * @return the current status of the job
+     * @throws NotFoundException if no job of the branch of the request exists with the given ID
+     */
+    @Override
+    public ImportJobStatusDto getImportStatus(String jobId) {
+        ImportJob job = jobs.get(jobId);
+        if (job == null || !job.branchId.equals(BranchContext.current())) {
+            throw new NotFoundException(ErrorCode.IMPORT_JOB_NOT_FOUND, jobId);
+        }
+        return job.toDto();
+    }
+
+    /**
+     * Registers a new job and forgets the oldest finished jobs beyond {@link #MAX_FINISHED_JOBS}.
+     */
+    private ImportJob register(String source) {
+        List<ImportJob> finished = jobs.values().stream()
+                .filter(job -> job.finishedOn != null)
+                .sorted((a, b) -> a.finishedOn.compareTo(b.finishedOn))
+                .collect(Collectors.toList());
+        for (int i = 0; i < finished.size() - MAX_FINISHED_JOBS + 1; i++) {
+            jobs.remove(finished.get(i).id);
+        }
+
+        String branchId = BranchContext.current() != null ? BranchContext.current() : defaultBranch;
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), source, branchId);
+        jobs.put(job.id, job);
+        return job;
+    }
+
+    /**
+     * Runs the import pipeline for the given file.
+     */
+    private void run(ImportJob job, Path file) {
+        log.info("Starting book import, jobId:{}, source:{}", job.id, job.source);
+
+        int inFlight = Math.max(1, parserThreads) * 2;
+        Semaphore permits = new Semaphore(inFlight);
+        BlockingQueue<ParsedBatch> parsed = new ArrayBlockingQueue<>(inFlight);
+        ExecutorService parsers = Executors.newFixedThreadPool(Math.max(1, parserThreads));
+        ExecutorService writer = Executors.newSingleThreadExecutor();
+        AtomicInteger readingDone = new AtomicInteger();
+
+        writer.execute(() -> {
+            try (BranchContext.Scope scope = BranchContext.open(job.branchId)) {
+                write(job, parsed, permits, readingDone);
+            }
+        });
+
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8), 1 << 20)) {
+            long lineNumber = 0;
+            int[] columns = {0, 1, 2};
+            List<String> lines = new ArrayList<>(batchSize);
+            long firstLine = 1;
+            String line;
+            while ((line = reader.readLine()) != null && job.failure == null) {
+                lineNumber++;
+                if (lineNumber == 1) {
+                    int[] header = parseHeader(line);
+                    if (header != null) {
+                        columns = header;
+                        firstLine = 2;
+                        continue;
+                    }
+                }
+                if (line.isBlank()) {
+                    continue;
+                }
+                lines.add(line);
+                if (lines.size() == batchSize) {
+                    submit(job, parsers, parsed, permits, new RawBatch(firstLine, lines, columns));
+                    lines = new ArrayList<>(batchSize);
+                    firstLine = lineNumber + 1;
+                }
+            }
+            if (!lines.isEmpty() && job.failure == null) {
+                submit(job, parsers, parsed, permits, new RawBatch(firstLine, lines, columns));
+            }
+            // All permits are back once every submitted batch has been written.
+            permits.acquire(inFlight);
+        } catch (IOException e) {
+            job.fail("Unable to read the import source: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.fail("Import interrupted");
+        } finally {
+            readingDone.set(1);
+            parsers.shutdownNow();
+            writer.shutdown();
+            try {
+                writer.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        job.finish();
+        log.info("Finished book import, jobId:{}, state:{}, read:{}, imported:{}, rejected:{}",
+                job.id, job.state(), job.rowsRead.get(), job.rowsImported.get(), job.rowsRejected.get());
+    }
+
+    /**
+     * Hands a raw batch to the parser pool once a slot in the pipeline is free.
+     */
+    private void submit(ImportJob job, ExecutorService parsers, BlockingQueue<ParsedBatch> parsed,
+                        Semaphore permits, RawBatch batch) throws InterruptedException {
+        permits.acquire();
+        job.rowsRead.addAndGet(batch.lines.size());
+        parsers.execute(() -> {
+            ParsedBatch result;
+            try {
+                result = parse(job, batch);
+            } catch (RuntimeException e) {
+                job.fail("Unable to parse rows starting at line " + batch.firstLine + ": " + e.getMessage());
+                result = new ParsedBatch(List.of(), List.of());
+            }
+            try {
+                parsed.put(result);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                permits.release();
+            }
+        });
+    }
+
+    /**
+     * Parses and validates a raw batch. Invalid rows are rejected on the job.
+     */
+    private ParsedBatch parse(ImportJob job, RawBatch batch) {
+        List<BookDto> books = new ArrayList<>(batch.lines.size());
+        List<Long> lineNumbers = new ArrayList<>(batch.lines.size());
+        long lineNumber = batch.firstLine;
+        for (String line : batch.lines) {
+            List<String> values = parseCsvLine(line);
+            if (values.size() <= Math.max(batch.columns[0], Math.max(batch.columns[1], batch.columns[2]))) {
+                job.reject(lineNumber++, "Expected author, title and isbn columns");
+                continue;
+            }
+            BookDto bookDto = BookDto.builder()
+                    .author(values.get(batch.columns[0]).trim())
+                    .title(values.get(batch.columns[1]).trim())
+                    .isbn(values.get(batch.columns[2]).trim())
+                    .build();
+            Set<ConstraintViolation<BookDto>> violations = validator.validate(bookDto);
+            if (!violations.isEmpty()) {
+                job.reject(lineNumber++, violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining(", ")));
+                continue;
+            }
+            books.add(bookDto);
+            lineNumbers.add(lineNumber++);
+        }
+        return new ParsedBatch(books, lineNumbers);
+    }
+
+    /**
+     * Writer loop: checks ISBNs set-wise and inserts every parsed batch until reading is done.
+     */
+    private void write(ImportJob job, BlockingQueue<ParsedBatch> parsed, Semaphore permits, AtomicInteger readingDone) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        while (true) {
+            ParsedBatch batch;
+            try {
+                batch = parsed.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (batch == null) {
+                if (readingDone.get() == 1) {
+                    return;
+                }
+                continue;
+            }
+            try {
+                if (job.failure == null && !batch.books.isEmpty()) {
+                    insert(job, batch, transactionTemplate);
+                }
+            } catch (RuntimeException e) {
+                log.error("Book import failed, jobId:{}", job.id, e);
+                job.fail("Unable to insert books: " + e.getMessage());
+            } finally {
+                permits.release();
+            }
+        }
+    }
+
+    /**
+     * Inserts the rows of a batch that do not conflict with an existing ISBN.
+     * <p>
+     * A row conflicts when a book with the same normalized ISBN but a different author or title exists, either
+     * in the catalog or earlier in the same batch. Earlier batches are already committed when a batch
+     * is checked, so a single query per batch covers the whole import.
+     * </p>
+     */
+    private void insert(ImportJob job, ParsedBatch batch, TransactionTemplate transactionTemplate) {
+        Set<Long> isbnKeys = batch.books.stream().map(bookDto -> Isbn.toKey(bookDto.getIsbn())).collect(Collectors.toSet());
+        Map<Long, List<IsbnView>> existing = bookRepository.findIsbnViews(isbnKeys).stream()
+                .collect(Collectors.groupingBy(IsbnView::getIsbnKey));
+
+        Map<Long, BookDto> accepted = new HashMap<>();
+        List<BookDto> rows = new ArrayList<>(batch.books.size());
+        for (int i = 0; i < batch.books.size(); i++) {
+            BookDto bookDto = batch.books.get(i);
+            long isbnKey = Isbn.toKey(bookDto.getIsbn());
+            boolean conflict = existing.getOrDefault(isbnKey, List.of()).stream()
+                    .anyMatch(book -> !book.getAuthor().equals(bookDto.getAuthor()) || !book.getTitle().equals(bookDto.getTitle()));
+            BookDto sameIsbn = accepted.putIfAbsent(isbnKey, bookDto);
+            if (!conflict && sameIsbn != null) {
+                conflict = !sameIsbn.getAuthor().equals(bookDto.getAuthor()) || !sameIsbn.getTitle().equals(bookDto.getTitle());
+            }
+            if (conflict) {
+                job.reject(batch.lineNumbers.get(i), "Book already exists with the same ISBN and a different title or author");
+            } else {
+                rows.add(bookDto);
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_BOOK_SQL, new String[] {"id"}),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement statement, int i) throws SQLException {
+                            BookDto bookDto = rows.get(i);
+                            statement.setString(1, bookDto.getAuthor());
+                            statement.setString(2, bookDto.getTitle());
+                            statement.setString(3, bookDto.getIsbn());
+                            statement.setLong(4, Isbn.toKey(bookDto.getIsbn()));
+                            statement.setTimestamp(5, Timestamp.valueOf(now));
+                            statement.setTimestamp(6, Timestamp.valueOf(now));
+                            statement.setString(7, job.branchId);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return rows.size();
+                        }
+                    }, keyHolder);
+            // The outbox rows of the imported books are committed with them.
+            List<Map<String, Object>> keys = keyHolder.getKeyList();
+            List<BookRecord> books = new ArrayList<>(rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                BookDto bookDto = rows.get(i);
+                long id = ((Number) keys.get(i).values().iterator().next()).longValue();
+                books.add(new BookRecord(id, bookDto.getIsbn(), bookDto.getTitle(), bookDto.getAuthor(), null, now,
+                        job.branchId, 0L));
+            }
+            eventPublisher.publishEvent(new BookBulkEvent(BookEventType.CREATED, books));
+        });
+        job.rowsImported.addAndGet(rows.size());
+        libraryStatsService.recordBooksAdded(job.branchId, rows.size());
+    }
+
+    /**
+     * Returns the author, title and isbn column indexes if the given line is a header row,
+     * or {@code null} if it is a data row.
+     */
+    static int[] parseHeader(String line) {
+        List<String> names = parseCsvLine(line).stream()
+                .map(name -> name.trim().toLowerCase(Locale.ROOT))
+                .collect(Collectors.toList());
+        int[] columns = {names.indexOf("author"), names.indexOf("title"), names.indexOf("isbn")};
+        for (int column : columns) {
+            if (column < 0) {
+                return null;
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Splits a CSV line into its values. Values may be quoted, quotes inside quoted values are doubled.
+     */
+    static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>(4);
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    /**
+     * Lines read from the source, with the line number of the first line and the column layout.
+     */
+    private record RawBatch(long firstLine, List<String> lines, int[] columns) {
+    }
+
+    /**
+     * Valid rows of a batch, with their line numbers for conflict reporting.
+     */
+    private record ParsedBatch(List<BookDto> books, List<Long> lineNumbers) {
+    }
+
+    /**
+     * Mutable progress of a running or finished import job.
+     */
+    private final class ImportJob {
+
+        private final String id;
+        private final String source;
+        private final String branchId;
+        private final LocalDateTime startedOn = LocalDateTime.now();
+        private final long startedNanos = System.nanoTime();
+        private final AtomicLong rowsRead = new AtomicLong();
+        private final AtomicLong rowsImported = new AtomicLong();
+        private final AtomicLong rowsRejected = new AtomicLong();
+        private final ConcurrentLinkedQueue<ErrorDetailsDto> rejections = new ConcurrentLinkedQueue<>();
+        private volatile String failure;
+        private volatile LocalDateTime finishedOn;
+        private volatile long finishedNanos;
+
+        private ImportJob(String id, String source, String branchId) {
+            this.id = id;
+            this.source = source;
+            this.branchId = branchId;
+        }
+
+        private void reject(long lineNumber, String reason) {
+            if (rowsRejected.incrementAndGet() <= maxReportedRejections) {
+                rejections.add(new ErrorDetailsDto("line " + lineNumber, reason));
+            }
+        }
+
+        private void fail(String message) {
+            if (failure == null) {
+                failure = message;
+            }
+        }
+
+        private void finish() {
+            finishedNanos = System.nanoTime();
+            finishedOn = LocalDateTime.now();
+        }
+
+        private String state() {
+            if (finishedOn == null) {
+                return "RUNNING";
+            }
+            return failure == null ? "COMPLETED" : "FAILED";
+        }
+
+        private ImportJobStatusDto toDto() {
+            long end = finishedOn == null ? System.nanoTime() : finishedNanos;
+            double seconds = Math.max(1, end - startedNanos) / (double) Duration.ofSeconds(1).toNanos();
+            return ImportJobStatusDto.builder()
+                    .jobId(id)
+                    .source(source)
+                    .state(state())
+                    .rowsRead(rowsRead.get())
+                    .rowsImported(rowsImported.get())
+                    .rowsRejected(rowsRejected.get())
+                    .rowsPerSecond(rowsRead.get() / seconds)
+                    .startedOn(startedOn)
+                    .finishedOn(finishedOn)
+                    .message(failure)
+                    .rejectedRows(new ArrayList<>(rejections))
+                    .build();
+        }
+    }
+}
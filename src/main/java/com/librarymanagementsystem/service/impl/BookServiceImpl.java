@@ -1,20 +1,65 @@
 package com.librarymanagementsystem.service.impl;
 
+import com.librarymanagementsystem.catalog.BookRecord;
+import com.librarymanagementsystem.catalog.BookRecordView;
+import com.librarymanagementsystem.catalog.BorrowedBookIndex;
+import com.librarymanagementsystem.catalog.CatalogIndex;
+import com.librarymanagementsystem.catalog.Isbn;
+import com.librarymanagementsystem.concurrent.SingleFlight;
+import com.librarymanagementsystem.dto.AvailabilityCheckDto;
 import com.librarymanagementsystem.dto.BookDto;
+import com.librarymanagementsystem.dto.BookSearchCriteria;
+import com.librarymanagementsystem.dto.BorrowerDto;
+import com.librarymanagementsystem.dto.CursorPageDto;
+import com.librarymanagementsystem.dto.MultiGetResponseDto;
+import com.librarymanagementsystem.event.BookEvent;
+import com.librarymanagementsystem.event.BookEventType;
 import com.librarymanagementsystem.exception.AlreadyExistException;
+import com.librarymanagementsystem.exception.BadRequestException;
+import com.librarymanagementsystem.exception.ErrorCode;
 import com.librarymanagementsystem.exception.NotFoundException;
+import com.librarymanagementsystem.exception.PreconditionFailedException;
+import com.librarymanagementsystem.exception.ServiceUnavailableException;
+import com.librarymanagementsystem.logging.LogSampler;
 import com.librarymanagementsystem.mapper.LibraryMapper;
 import com.librarymanagementsystem.model.Book;
 import com.librarymanagementsystem.model.Borrower;
 import com.librarymanagementsystem.repository.BookRepository;
+import com.librarymanagementsystem.repository.BookSearchRepository;
+import com.librarymanagementsystem.repository.BookSearchSort;
 import com.librarymanagementsystem.repository.BorrowerRepository;
+import com.librarymanagementsystem.repository.SparseFieldRepository;
 import com.librarymanagementsystem.service.BookService;
+import com.librarymanagementsystem.service.BorrowerService;
+import com.librarymanagementsystem.sharding.BorrowerShardRouter;
+import com.librarymanagementsystem.tenancy.BranchContext;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Implementation of the {@link BookService} interface.
@@ -33,10 +78,26 @@ import org.springframework.stereotype.Service;
 @Slf4j
 public class BookServiceImpl implements BookService {
 
+    // Fields of BookDto that can be requested as a sparse fieldset; they map to Book attributes of the same name.
+    private static final List<String> BOOK_FIELDS = List.of("id", "author", "title", "isbn", "dueDate", "overdue", "fineAmount");
+
+    // Fields of BookDto that can be changed with a merge patch.
+    private static final Set<String> PATCHABLE_FIELDS = Set.of("author", "title", "isbn");
+
+    // Name of the relation embedding the borrower of a borrowed book, for the expand parameter.
+    private static final String EXPAND_BORROWER = "borrower";
+
     // Injecting the BorrowerRepository dependency to handle borrower-related database operations.
     @Autowired
     private BorrowerRepository borrowerRepository;
 
+    @Autowired
+    private BorrowerShardRouter shardRouter;
+
+    // Injecting the BorrowerService dependency to embed the borrowers of borrowed books.
+    @Autowired
+    private BorrowerService borrowerService;
+
     // Injecting the LibraryMapper dependency to convert between DTOs and entities.
     @Autowired
     private LibraryMapper mapper;
@@ -45,6 +106,66 @@ public class BookServiceImpl implements BookService {
     @Autowired
     private BookRepository bookRepository;
 
+    // Injecting the SparseFieldRepository dependency to read selected columns without building DTOs.
+    @Autowired
+    private SparseFieldRepository sparseFieldRepository;
+
+    // Injecting the ApplicationEventPublisher dependency to announce book changes to in-process listeners.
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Injecting the LogSampler dependency to rate-limit the repetitive conflict warnings.
+    @Autowired
+    private LogSampler logSampler;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Injecting the BorrowedBookIndex dependency to filter by availability without scanning the book table.
+    @Autowired
+    private BorrowedBookIndex borrowedBookIndex;
+
+    @Autowired
+    private BookSearchRepository bookSearchRepository;
+
+    // Injecting the CatalogIndex dependency to answer ISBN lookups and duplicate checks from memory.
+    @Autowired
+    private CatalogIndex catalogIndex;
+
+    @Autowired
+    private Validator validator;
+
+    // Number of days a borrowed book may be kept before the loan becomes overdue.
+    @Value("${library-system.loan.period-days:14}")
+    private int loanPeriodDays = 14;
+
+    // Maximum number of ids accepted by a multi-get request.
+    @Value("${library-system.multi-get.max-ids:200}")
+    private int multiGetMaxIds = 200;
+
+    // Number of ids per IN query of a multi-get request.
+    @Value("${library-system.multi-get.chunk-size:100}")
+    private int multiGetChunkSize = 100;
+
+    // Number of books per keyset query when listing books by availability.
+    @Value("${library-system.catalog.chunk-size:10000}")
+    private int availabilityChunkSize = 10000;
+
+    // Number of books of a search page when the request gives no limit.
+    @Value("${library-system.search.default-limit:50}")
+    private int searchDefaultLimit = 50;
+
+    // Largest number of books of a search page.
+    @Value("${library-system.search.max-limit:500}")
+    private int searchMaxLimit = 500;
+
+    // Longest time a request waits for the concurrent load of the same book by another request.
+    @Value("${library-system.single-flight.timeout:PT5S}")
+    private Duration singleFlightTimeout = Duration.ofSeconds(5);
+
+    // Loads of single books from the repository, shared by concurrent requests for the same book.
+    private final SingleFlight<BranchKey, BookDto> bookLoads = new SingleFlight<>();
+
     /**
      * Creates a new book in the library system.
      * <p>
@@ -57,8 +178,8 @@ public class BookServiceImpl implements BookService {
      */
     @Override
     public BookDto createBook(BookDto bookDto) {
-        validateIsbn(bookDto);
-        Book book = bookRepository.save(mapper.buildBookFromDto(bookDto));
+        validateIsbn(bookDto, null);
+        Book book = saveAndPublish(mapper.buildBookFromDto(bookDto), BookEventType.CREATED, null);
         return mapper.buildBookDtoFromEntity(book);
     }
 
@@ -66,62 +187,434 @@ public class BookServiceImpl implements BookService {
      * Retrieves all books in the library system.
      * <p>
      * This method fetches all {@link Book} entities from the repository and maps them
-     * to a list of {@link BookDto} objects.
+     * to a list of {@link BookDto} objects. While the {@link CatalogIndex} serves reads, the available
+     * books are built from its off-heap records instead, see {@link #readCatalogBooks(boolean)}.
      * </p>
      * @return a list of all books as {@link BookDto}
      */
     @Override
     public List<BookDto> getAllBooks() {
+        if (catalogIndex.isServingReads()) {
+            return readCatalogBooks(true);
+        }
         List<Book> books = bookRepository.findAll();
         return books.stream().map(mapper::buildBookDtoFromEntity).collect(Collectors.toList());
     }
 
+    /**
+     * Retrieves all available, or all borrowed, books in the library system.
+     * <p>
+     * Borrowed books are read by the ids of the branch in the {@link BorrowedBookIndex}, in chunked IN queries.
+     * Available books are read with keyset-ordered chunks of a {@code borrower_id is null} query, which only
+     * scans the available rows of the branch. While the bitmap is still being built, borrowed books are read
+     * the same way. While the {@link CatalogIndex} serves reads, available books are built from its off-heap
+     * records without reading the book table.
+     * </p>
+     * @param available {@code true} for the books that can be borrowed, {@code false} for the borrowed ones
+     * @return the matching books as {@link BookDto}, in ascending id order
+     */
+    @Override
+    public List<BookDto> getBooksByAvailability(boolean available) {
+        if (available && catalogIndex.isServingReads()) {
+            return readCatalogBooks(false);
+        }
+        List<Book> books;
+        if (available) {
+            books = readChunks(afterId -> bookRepository.findAvailable(afterId, PageRequest.ofSize(availabilityChunkSize)));
+        } else if (!borrowedBookIndex.isReady()) {
+            books = readChunks(afterId -> bookRepository.findBorrowed(afterId, PageRequest.ofSize(availabilityChunkSize)));
+        } else {
+            List<Long> ids = borrowedBookIndex.borrowedIds(BranchContext.current());
+            books = new ArrayList<>();
+            for (int from = 0; from < ids.size(); from += multiGetChunkSize) {
+                bookRepository.findAllById(ids.subList(from, Math.min(from + multiGetChunkSize, ids.size()))).forEach(books::add);
+            }
+        }
+        return books.stream()
+                .sorted(Comparator.comparing(Book::getId))
+                .map(mapper::buildBookDtoFromEntity)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Reads books in keyset-ordered chunks until a chunk comes back short.
+     *
+     * @param chunks the query of the chunk after the given id
+     * @return the books of all chunks, in ascending id order
+     */
+    private List<Book> readChunks(Function<Long, List<Book>> chunks) {
+        List<Book> books = new ArrayList<>();
+        List<Book> chunk;
+        do {
+            chunk = chunks.apply(books.isEmpty() ? 0L : books.get(books.size() - 1).getId());
+            books.addAll(chunk);
+        } while (chunk.size() == availabilityChunkSize);
+        return books;
+    }
+
+    /**
+     * Checks which of the given books can be borrowed.
+     * <p>
+     * Only the ids of the requested books are read, to drop unknown ids and books of other branches; their
+     * availability comes from the {@link BorrowedBookIndex}, or from the book rows while it is being built.
+     * </p>
+     * @param bookIds the IDs of the books to check; duplicates are ignored
+     * @return the available and borrowed IDs, and the IDs for which no book exists, in request order
+     * @throws BadRequestException if no or more than {@code multiGetMaxIds} IDs are given
+     */
+    @Override
+    public AvailabilityCheckDto checkAvailability(List<Long> bookIds) {
+        List<Long> ids = bookIds.stream().distinct().collect(Collectors.toList());
+        if (ids.isEmpty() || ids.size() > multiGetMaxIds) {
+            throw new BadRequestException("Between 1 and " + multiGetMaxIds + " ids are required");
+        }
+
+        boolean indexed = borrowedBookIndex.isReady();
+        Map<Long, Boolean> borrowed = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += multiGetChunkSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + multiGetChunkSize, ids.size()));
+            if (indexed) {
+                bookRepository.findExistingIds(chunk).forEach(id -> borrowed.put(id, borrowedBookIndex.isBorrowed(id)));
+            } else {
+                bookRepository.findAllById(chunk).forEach(book -> borrowed.put(book.getId(), book.getBorrowerId() != null));
+            }
+        }
+
+        AvailabilityCheckDto result = new AvailabilityCheckDto(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+        for (Long id : ids) {
+            Boolean isBorrowed = borrowed.get(id);
+            if (isBorrowed == null) {
+                result.getMissingIds().add(id);
+            } else if (isBorrowed) {
+                result.getBorrowedIds().add(id);
+            } else {
+                result.getAvailableIds().add(id);
+            }
+        }
+        return result;
+    }
+
     /**
      * Retrieves a specific book from the library system based on its ID.
      * <p>
      * This method fetches the {@link Book} entity from the repository by its ID
-     * and maps it to a {@link BookDto} object.
+     * and maps it to a {@link BookDto} object. While the {@link CatalogIndex} serves reads, an available
+     * book is built from its off-heap record instead; borrowed books, whose loan columns are not part of a
+     * record, and books not indexed yet are still read from the repository.
+     * </p>
+     * <p>
+     * Concurrent requests for the same book of the same branch share one repository read and receive the
+     * same {@link BookDto}, which must not be modified. A committed change of the book detaches the read in
+     * flight, see {@link #onBookEvent(BookEvent)}.
      * </p>
      * @param bookId the ID of the book to retrieve
      * @return the {@link BookDto} object representing the retrieved book
      * @throws NotFoundException if the book with the given ID does not exist
+     * @throws ServiceUnavailableException if the shared read of another request did not finish in time
      */
     @Override
     public BookDto getBookById(Long bookId) {
-        Book book = bookRepository.findById(bookId)
-                .orElseThrow(() -> new NotFoundException("Book not found with id: " + bookId));
-        return mapper.buildBookDtoFromEntity(book);
+        if (catalogIndex.isServingReads()) {
+            String branchId = BranchContext.current();
+            BookDto indexed = catalogIndex.read(bookId, record -> !record.isBorrowed() && record.belongsTo(branchId)
+                    ? mapper.buildBookDtoFromRecord(record) : null);
+            if (indexed != null) {
+                return indexed;
+            }
+        }
+        return bookLoads.load(new BranchKey(BranchContext.current(), bookId), singleFlightTimeout, () -> {
+            Book book = bookRepository.findById(bookId)
+                    .orElseThrow(() -> new NotFoundException(ErrorCode.BOOK_NOT_FOUND, bookId));
+            return mapper.buildBookDtoFromEntity(book);
+        });
+    }
+
+    /**
+     * Retrieves several books by their IDs.
+     * <p>
+     * The distinct IDs are split into chunks of a fixed size, and each chunk is read with a single
+     * {@code findAllById} IN query, so large requests neither produce huge IN lists nor one query per ID.
+     * </p>
+     * @param bookIds the IDs of the books to retrieve
+     * @return the found books in request order and the IDs that do not exist
+     * @throws BadRequestException if no ID or more than the configured maximum is given
+     */
+    @Override
+    public MultiGetResponseDto<BookDto> getBooksByIds(List<Long> bookIds) {
+        List<Long> ids = bookIds.stream().distinct().collect(Collectors.toList());
+        if (ids.isEmpty() || ids.size() > multiGetMaxIds) {
+            throw new BadRequestException("Between 1 and " + multiGetMaxIds + " ids are required");
+        }
+
+        Map<Long, Book> found = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += multiGetChunkSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + multiGetChunkSize, ids.size()));
+            bookRepository.findAllById(chunk).forEach(book -> found.put(book.getId(), book));
+        }
+
+        List<BookDto> items = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : ids) {
+            Book book = found.get(id);
+            if (book != null) {
+                items.add(mapper.buildBookDtoFromEntity(book));
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new MultiGetResponseDto<>(items, missingIds);
+    }
+
+    /**
+     * Embeds the related resources named by an {@code expand} parameter into the given books.
+     * <p>
+     * For {@code borrower}, the distinct borrower ids of the books are read with one
+     * {@link BorrowerService#getBorrowerSummaries} call, which runs a chunked IN query per shard involved.
+     * Books that are not borrowed, or whose borrower has been deleted meanwhile, are returned as given.
+     * </p>
+     * @param books  the books, which are not modified
+     * @param expand the names of the relations to embed, or {@code null} for none
+     * @return the books in the given order, copies of those with an embedded borrower
+     * @throws BadRequestException if a relation is unknown
+     */
+    @Override
+    public List<BookDto> expand(List<BookDto> books, List<String> expand) {
+        if (expand == null || expand.isEmpty()) {
+            return books;
+        }
+        for (String relation : expand) {
+            if (!EXPAND_BORROWER.equals(relation)) {
+                throw new BadRequestException("Unknown expansion: " + relation + ", expected borrower");
+            }
+        }
+
+        Set<Long> borrowerIds = books.stream()
+                .map(BookDto::getBorrowerId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (borrowerIds.isEmpty()) {
+            return books;
+        }
+        Map<Long, BorrowerDto> borrowers = borrowerService.getBorrowerSummaries(borrowerIds);
+        List<BookDto> expanded = new ArrayList<>(books.size());
+        for (BookDto book : books) {
+            BorrowerDto borrower = book.getBorrowerId() != null ? borrowers.get(book.getBorrowerId()) : null;
+            // Copies the book, which may be shared by concurrent requests, instead of setting the borrower.
+            expanded.add(borrower != null ? book.toBuilder().borrower(borrower).build() : book);
+        }
+        return expanded;
+    }
+
+    /**
+     * Retrieves the books with the given ISBN, in either its ISBN-10 or ISBN-13 form.
+     * <p>
+     * The ISBN is normalized and looked up in the ISBN index of the {@link CatalogIndex}; the database is
+     * only queried while the index is warming up.
+     * </p>
+     * @param isbn the ISBN, with or without hyphens
+     * @return the books with the ISBN of the branch of the request, in ascending id order
+     * @throws BadRequestException if the ISBN is not valid
+     */
+    @Override
+    public List<BookDto> getBooksByIsbn(String isbn) {
+        long isbnKey = Isbn.toKey(isbn);
+        if (isbnKey == Isbn.INVALID) {
+            throw new BadRequestException("ISBN must be a valid ISBN-10 or ISBN-13");
+        }
+        if (!catalogIndex.isReady()) {
+            return bookRepository.findByIsbnKey(isbnKey).stream()
+                    .sorted(Comparator.comparing(Book::getId))
+                    .map(mapper::buildBookDtoFromEntity)
+                    .collect(Collectors.toList());
+        }
+        return findIndexedByIsbn(isbnKey).stream()
+                .sorted(Comparator.comparing(BookRecord::getId))
+                .map(mapper::buildBookDtoFromRecord)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Retrieves the given fields of all books in the library system.
+     * <p>
+     * Only the requested columns are selected; no {@link Book} entity or {@link BookDto} is built.
+     * </p>
+     * @param fields the names of the {@link BookDto} fields to retrieve
+     * @return a list of maps holding the requested fields of every book
+     * @throws BadRequestException if a field name is unknown
+     */
+    @Override
+    public List<Map<String, Object>> getAllBooks(List<String> fields) {
+        return sparseFieldRepository.findAll(Book.class, validateFields(fields));
+    }
+
+    /**
+     * Retrieves the given fields of the available, or the borrowed, books in the library system.
+     * <p>
+     * Only the requested columns are selected, filtered on whether the book has a borrower.
+     * </p>
+     * @param available {@code true} for the books that can be borrowed, {@code false} for the borrowed ones
+     * @param fields    the names of the {@link BookDto} fields to retrieve
+     * @return a list of maps holding the requested fields of the matching books
+     * @throws BadRequestException if a field name is unknown
+     */
+    @Override
+    public List<Map<String, Object>> getBooksByAvailability(boolean available, List<String> fields) {
+        return sparseFieldRepository.findAll(Book.class, validateFields(fields), "borrowerId", available);
+    }
+
+    /**
+     * Searches the books matching a combination of filters, one page at a time.
+     * <p>
+     * The combination is validated against the indexes first, so that no search degrades into a scan and
+     * sort of the whole book table. The page is read with a keyset query starting after the cursor, plus
+     * one book telling whether a next page exists; the cursor is the sort order, the sort key and the id
+     * of the last book of the page.
+     * </p>
+     * @param criteria the filters, sort order, cursor and limit of the search
+     * @return the page of matching books and the cursor of the next page
+     * @throws BadRequestException if the combination is not supported, or the sort, cursor or limit is invalid
+     */
+    @Override
+    public CursorPageDto<BookDto> searchBooks(BookSearchCriteria criteria) {
+        int pageSize = criteria.getLimit() != null ? criteria.getLimit() : searchDefaultLimit;
+        if (pageSize < 1 || pageSize > searchMaxLimit) {
+            throw new BadRequestException("limit must be between 1 and " + searchMaxLimit);
+        }
+        String sortName = criteria.getSort() != null ? criteria.getSort() : "id";
+        boolean descending = sortName.startsWith("-");
+        BookSearchSort sort;
+        try {
+            sort = BookSearchSort.valueOf(sortName.substring(descending ? 1 : 0).toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Unknown sort: " + sortName + ", expected id, title, isbn, created or updated");
+        }
+        validateSearchShape(criteria, sort);
+
+        Comparable<?> afterValue = null;
+        Long afterId = null;
+        if (criteria.getCursor() != null) {
+            String[] cursor = decodeCursor(criteria.getCursor());
+            if (!cursor[0].equals(sortName)) {
+                throw new BadRequestException("The cursor belongs to another sort order than " + sortName);
+            }
+            try {
+                afterId = Long.parseLong(cursor[1]);
+                afterValue = sort.isById() ? null : sort.parse(cursor[2]);
+            } catch (RuntimeException e) {
+                throw new BadRequestException("Invalid cursor: " + criteria.getCursor());
+            }
+        }
+
+        List<Book> books = bookSearchRepository.search(criteria, sort, descending, afterValue, afterId, pageSize + 1);
+        List<BookDto> items = books.stream()
+                .limit(pageSize)
+                .map(mapper::buildBookDtoFromEntity)
+                .collect(Collectors.toList());
+        String nextCursor = books.size() > pageSize ? encodeCursor(sortName, sort, books.get(pageSize - 1)) : null;
+        return new CursorPageDto<>(items, nextCursor);
+    }
+
+    /**
+     * Retrieves the given fields of a specific book based on its ID.
+     * @param bookId the ID of the book to retrieve
+     * @param fields the names of the {@link BookDto} fields to retrieve
+     * @return a map holding the requested fields of the book
+     * @throws NotFoundException if the book with the given ID does not exist
+     * @throws BadRequestException if a field name is unknown
+     */
+    @Override
+    public Map<String, Object> getBookById(Long bookId, List<String> fields) {
+        return sparseFieldRepository.findById(Book.class, bookId, validateFields(fields))
+                .orElseThrow(() -> new NotFoundException(ErrorCode.BOOK_NOT_FOUND, bookId));
     }
 
     /**
      * Updates details of an existing book in the library system.
      * <p>
      * This method updates the details of the book identified by the given book ID
-     * with the information provided in the {@link BookDto}.
+     * with the information provided in the {@link BookDto}. When the ISBN, title or author changes, the
+     * ISBN is validated against the other books as on creation.
      * </p>
      * @param bookId  the ID of the book to update
      * @param bookDto the {@link BookDto} object containing updated book information
      * @return the updated {@link BookDto} object
      * @throws NotFoundException if the book with the given ID does not exist
+     * @throws AlreadyExistException if another book has the same ISBN with a different title or author
      */
     @Override
     public BookDto updateBook(Long bookId, BookDto bookDto) {
         Book existingBook = bookRepository.findById(bookId)
-                .orElseThrow(() -> new NotFoundException("Book not found with id: " + bookId));
+                .orElseThrow(() -> new NotFoundException(ErrorCode.BOOK_NOT_FOUND, bookId));
+        if (!bookDto.getIsbn().equals(existingBook.getIsbn()) || isOtherBook(existingBook.getAuthor(), existingBook.getTitle(), bookDto)) {
+            validateIsbn(bookDto, bookId);
+        }
 
         existingBook.setTitle(bookDto.getTitle());
         existingBook.setAuthor(bookDto.getAuthor());
         existingBook.setIsbn(bookDto.getIsbn());
+        existingBook.setIsbnKey(mapper.isbnKey(bookDto.getIsbn()));
 
-        bookRepository.save(existingBook);
+        Book saved = saveAndPublish(existingBook, BookEventType.UPDATED, null);
 
-        return mapper.buildBookDtoFromEntity(existingBook);
+        return mapper.buildBookDtoFromEntity(saved);
+    }
+
+    /**
+     * Applies a JSON Merge Patch to an existing book.
+     * <p>
+     * The patched fields are checked against the {@link BookDto} constraints before the book is read.
+     * {@link Book} is a dynamic-update entity, so the {@code UPDATE} only sets the changed columns plus
+     * the version, and its {@code version} condition turns a concurrent change into a 412 response.
+     * A patch changing the ISBN, title or author is validated against the other books as on creation,
+     * before the book is modified.
+     * </p>
+     * @param bookId          the ID of the book to patch
+     * @param patch           the merge patch
+     * @param expectedVersion the version from {@code If-Match}, or {@code null}
+     * @return the patched {@link BookDto} object
+     * @throws NotFoundException if the book with the given ID does not exist
+     * @throws BadRequestException if the patch holds an unknown or invalid field
+     * @throws PreconditionFailedException if the book is not at the expected version
+     * @throws AlreadyExistException if another book has the same ISBN with a different title or author
+     */
+    @Override
+    public BookDto patchBook(Long bookId, Map<String, Object> patch, Long expectedVersion) {
+        Map<String, String> changes = validatePatch(patch);
+        Book book = bookRepository.findById(bookId)
+                .orElseThrow(() -> new NotFoundException(ErrorCode.BOOK_NOT_FOUND, bookId));
+        if (expectedVersion != null && !expectedVersion.equals(book.getVersion())) {
+            throw new PreconditionFailedException(ErrorCode.PRECONDITION_FAILED);
+        }
+
+        BookDto patched = BookDto.builder()
+                .author(changes.getOrDefault("author", book.getAuthor()))
+                .title(changes.getOrDefault("title", book.getTitle()))
+                .isbn(changes.getOrDefault("isbn", book.getIsbn()))
+                .build();
+        boolean isbnChanged = !patched.getIsbn().equals(book.getIsbn());
+        if (!isbnChanged && !isOtherBook(book.getAuthor(), book.getTitle(), patched)) {
+            return mapper.buildBookDtoFromEntity(book);
+        }
+        // Validated before the book is modified, so the query of the check does not flush the change.
+        validateIsbn(patched, bookId);
+
+        book.setAuthor(patched.getAuthor());
+        book.setTitle(patched.getTitle());
+        if (isbnChanged) {
+            book.setIsbn(patched.getIsbn());
+            book.setIsbnKey(mapper.isbnKey(patched.getIsbn()));
+        }
+
+        Book saved = saveAndPublish(book, BookEventType.UPDATED, null);
+        return mapper.buildBookDtoFromEntity(saved);
     }
 
     /**
      * Deletes a book from the library system based on its ID.
      * <p>
-     * This method deletes the book identified by the given book ID from the library system.
+     * This method turns the book identified by the given book ID into a tombstone with a single-row
+     * update. The row is hidden from every query from then on and is physically removed by the
+     * tombstone purge job once the retention period has passed.
      * </p>
      * @param bookId the ID of the book to delete
      * @throws NotFoundException if the book with the given ID does not exist
@@ -129,46 +622,55 @@ public class BookServiceImpl implements BookService {
     @Override
     public void deleteBook(Long bookId) {
         Book book = bookRepository.findById(bookId)
-                .orElseThrow(() -> new NotFoundException("Book not found with id: " + bookId));
-        bookRepository.delete(book);
+                .orElseThrow(() -> new NotFoundException(ErrorCode.BOOK_NOT_FOUND, bookId));
+        book.setDeleted(true);
+        book.setDeletedOn(LocalDateTime.now());
+        saveAndPublish(book, BookEventType.DELETED, null);
     }
 
     /**
      * Marks a book as borrowed by a borrower.
      * <p>
-     * This method finds the {@link Book} and {@link Borrower} entities by their IDs,
-     * checks if the book is already borrowed, and then updates the borrowing status.
+     * This method finds the {@link Book} in the catalog and the {@link Borrower} on its shard,
+     * checks if the book is already borrowed, and then updates the borrowing status of the book.
      * </p>
      * @param bookId the ID of the book to be borrowed
      * @param borrowerId the ID of the borrower
      * @return the updated {@link BookDto} with borrowing details
      * @throws NotFoundException if the book or borrower does not exist
-     * @throws AlreadyExistException if the book is already borrowed by the borrower
+     * @throws AlreadyExistException if the book is already borrowed, by the given or by another borrower
      */
     @Override
     public BookDto borrowedBook(Long bookId, Long borrowerId) {
         Book book = bookRepository.findById(bookId)
-                .orElseThrow(() -> new NotFoundException("Book does not exist"));
-        Borrower borrower = borrowerRepository.findById(borrowerId)
-                .orElseThrow(() -> new NotFoundException("Borrower does not exist"));
+                .orElseThrow(() -> new NotFoundException(ErrorCode.BOOK_NOT_FOUND, bookId));
+        Borrower borrower = shardRouter.onShardOf(borrowerId, shard -> borrowerRepository.findById(borrowerId))
+                .orElseThrow(() -> new NotFoundException(ErrorCode.BORROWER_NOT_FOUND, borrowerId));
 
-        if (borrower.getBooks().contains(book)) {
-            log.warn("Book is already borrowed by the given borrower, bookId:{}, borrowerId:{}", bookId, borrowerId);
-            throw new AlreadyExistException("Book is already borrowed by the borrower");
+        if (book.getBorrowerId() != null) {
+            long suppressed = logSampler.sample("book-already-borrowed");
+            if (suppressed >= 0) {
+                log.warn("Book is already borrowed, bookId:{}, borrowerId:{}, holderId:{}, suppressed:{}",
+                        bookId, borrowerId, book.getBorrowerId(), suppressed);
+            }
+            // A loan is only ended by a return, which keeps the fine of the current holder.
+            throw new AlreadyExistException(borrower.getId().equals(book.getBorrowerId())
+                    ? ErrorCode.BOOK_ALREADY_BORROWED : ErrorCode.BOOK_ON_LOAN);
         }
 
-        book.setBorrowedBy(borrower);
-        borrower.getBooks().add(book);
-        borrowerRepository.save(borrower);
-        book = bookRepository.save(book);
+        book.setBorrowerId(borrower.getId());
+        book.setDueDate(LocalDateTime.now().plusDays(loanPeriodDays));
+        book.setOverdue(false);
+        book.setFineAmount(null);
+        book = saveAndPublish(book, BookEventType.BORROWED, borrowerId);
         return mapper.buildBookDtoFromEntity(book);
     }
 
     /**
      * Marks a book as returned by a borrower.
      * <p>
-     * This method finds the {@link Book} and {@link Borrower} entities by their IDs,
-     * checks if the book is borrowed by the borrower, and then updates the borrowing status.
+     * This method finds the {@link Book} in the catalog and the {@link Borrower} on its shard,
+     * checks if the book is borrowed by the borrower, and then updates the borrowing status of the book.
      * </p>
      * @param bookId the ID of the book to be returned
      * @param borrowerId the ID of the borrower
@@ -179,38 +681,238 @@ public class BookServiceImpl implements BookService {
     @Override
     public BookDto returnBook(Long bookId, Long borrowerId) {
         Book book = bookRepository.findById(bookId)
-                .orElseThrow(() -> new NotFoundException("Book does not exist"));
-        Borrower borrower = borrowerRepository.findById(borrowerId)
-                .orElseThrow(() -> new NotFoundException("Borrower does not borrow this book"));
+                .orElseThrow(() -> new NotFoundException(ErrorCode.BOOK_NOT_FOUND, bookId));
+        Borrower borrower = shardRouter.onShardOf(borrowerId, shard -> borrowerRepository.findById(borrowerId))
+                .orElseThrow(() -> new NotFoundException(ErrorCode.LOAN_NOT_FOUND, borrowerId));
 
-        if (!borrower.getBooks().contains(book)) {
-            log.warn("Book is not borrowed by the given borrower, bookId:{}, borrowerId:{}", bookId, borrowerId);
-            throw new AlreadyExistException("Book is not borrowed by the given borrower");
+        if (!borrower.getId().equals(book.getBorrowerId())) {
+            long suppressed = logSampler.sample("book-not-borrowed");
+            if (suppressed >= 0) {
+                log.warn("Book is not borrowed by the given borrower, bookId:{}, borrowerId:{}, suppressed:{}",
+                        bookId, borrowerId, suppressed);
+            }
+            throw new AlreadyExistException(ErrorCode.BOOK_NOT_BORROWED);
         }
 
-        book.setBorrowedBy(null);
-        borrower.getBooks().remove(book);
-        borrowerRepository.save(borrower);
-        book = bookRepository.save(book);
+        if (Boolean.TRUE.equals(book.getOverdue())) {
+            log.info("Overdue book returned, bookId:{}, borrowerId:{}, fine:{}", bookId, borrowerId, book.getFineAmount());
+        }
+        book.setBorrowerId(null);
+        book.setDueDate(null);
+        book.setOverdue(null);
+        book.setFineAmount(null);
+        book = saveAndPublish(book, BookEventType.RETURNED, borrowerId);
         return mapper.buildBookDtoFromEntity(book);
     }
 
+    /**
+     * Detaches the repository reads in flight for a changed book once the change is committed, so that
+     * requests made after the change do not receive a read that started before it.
+     *
+     * @param event the book change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookEvent(BookEvent event) {
+        Long bookId = event.getBook().getId();
+        bookLoads.forget(new BranchKey(event.getBook().getBranchId(), bookId));
+        bookLoads.forget(new BranchKey(null, bookId));
+    }
+
+    /**
+     * Saves the given book and publishes a {@link BookEvent} describing the change, in one transaction.
+     * <p>
+     * Synchronous listeners, such as the outbox writer, take part in the transaction of the change;
+     * transactional listeners see the event once the change is committed.
+     * </p>
+     *
+     * @param book       the changed book
+     * @param type       the type of the change
+     * @param borrowerId the borrower involved in a borrow or return, otherwise {@code null}
+     * @return the saved book
+     */
+    private Book saveAndPublish(Book book, BookEventType type, Long borrowerId) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            Book saved = bookRepository.save(book);
+            // Runs the update callbacks and the version increment now, so that the event carries the final row.
+            bookRepository.flush();
+            eventPublisher.publishEvent(new BookEvent(type, mapper.buildBookRecordFromEntity(saved), borrowerId));
+            return saved;
+        });
+    }
+
+    /**
+     * Validates a merge patch against the constraints of the {@link BookDto} fields.
+     *
+     * @param patch the merge patch
+     * @return the new value of every patched field, in patch order
+     * @throws BadRequestException if a field is unknown or read-only, or its value is not valid
+     */
+    private Map<String, String> validatePatch(Map<String, Object> patch) {
+        Map<String, String> changes = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> entry : patch.entrySet()) {
+            String field = entry.getKey();
+            if (!PATCHABLE_FIELDS.contains(field)) {
+                throw new BadRequestException("Unknown or read-only field: " + field);
+            }
+            if (entry.getValue() != null && !(entry.getValue() instanceof String)) {
+                throw new BadRequestException("Field " + field + " must be a string");
+            }
+            String value = (String) entry.getValue();
+            Set<ConstraintViolation<BookDto>> violations = validator.validateValue(BookDto.class, field, value);
+            if (!violations.isEmpty()) {
+                throw new BadRequestException(violations.iterator().next().getMessage());
+            }
+            changes.put(field, value);
+        }
+        return changes;
+    }
+
+    /**
+     * Validates the requested sparse fieldset.
+     * @param fields the requested field names
+     * @return the distinct field names, in request order
+     * @throws BadRequestException if the list is empty or a field name is unknown
+     */
+    private List<String> validateFields(List<String> fields) {
+        List<String> distinct = fields.stream().map(String::trim).filter(field -> !field.isEmpty()).distinct().collect(Collectors.toList());
+        if (distinct.isEmpty()) {
+            throw new BadRequestException("At least one field is required, supported fields: " + BOOK_FIELDS);
+        }
+        distinct.stream().filter(field -> !BOOK_FIELDS.contains(field)).findFirst().ifPresent(field -> {
+            throw new BadRequestException("Unknown field: " + field + ", supported fields: " + BOOK_FIELDS);
+        });
+        return distinct;
+    }
+
     /**
      * Validates the ISBN of the given book.
      * <p>
-     * This method checks if a book with the same ISBN already exists in the system
-     * with a different title or author. If it does, an {@link AlreadyExistException} is thrown.
+     * This method checks if a book with the same ISBN, in its ISBN-10 or ISBN-13 form, already exists
+     * in the branch with a different title or author. If it does, an {@link AlreadyExistException} is
+     * thrown. The check is answered by the ISBN index of the {@link CatalogIndex}, and by the database
+     * while the index is warming up.
      * </p>
      * @param bookDto the data transfer object containing the book's details
+     * @param bookId  the ID of the book being updated, which is not checked against itself, or {@code null}
      * @throws AlreadyExistException if a book with the same ISBN already exists with a different title or author
      */
-    private void validateIsbn(BookDto bookDto) {
-        List<Book> books = bookRepository.findByIsbn(bookDto.getIsbn());
-        books.forEach(book -> {
-            if (!book.getAuthor().equals(bookDto.getAuthor()) || !book.getTitle().equals(bookDto.getTitle())) {
-                log.warn("Book already exists with the same ISBN:{}, author:{}, and title:{}", bookDto.getIsbn(), bookDto.getAuthor(), bookDto.getTitle());
-                throw new AlreadyExistException("Book already exists with the same title and author");
+    private void validateIsbn(BookDto bookDto, Long bookId) {
+        long isbnKey = Isbn.toKey(bookDto.getIsbn());
+        boolean conflict = catalogIndex.isReady()
+                ? findIndexedByIsbn(isbnKey).stream().anyMatch(book -> !book.getId().equals(bookId)
+                        && isOtherBook(book.getAuthor(), book.getTitle(), bookDto))
+                : bookRepository.findByIsbnKey(isbnKey).stream().anyMatch(book -> !book.getId().equals(bookId)
+                        && isOtherBook(book.getAuthor(), book.getTitle(), bookDto));
+        if (conflict) {
+            long suppressed = logSampler.sample("book-already-exists");
+            if (suppressed >= 0) {
+                log.warn("Book already exists with the same ISBN:{}, author:{}, and title:{}, suppressed:{}",
+                        bookDto.getIsbn(), bookDto.getAuthor(), bookDto.getTitle(), suppressed);
             }
-        });
+            throw new AlreadyExistException(ErrorCode.BOOK_ALREADY_EXISTS);
+        }
+    }
+
+    private static boolean isOtherBook(String author, String title, BookDto bookDto) {
+        return !author.equals(bookDto.getAuthor()) || !title.equals(bookDto.getTitle());
+    }
+
+    /**
+     * Rejects the filter and sort combinations no index can serve: two range filters, or a range filter
+     * on another column than the sort order. Equality filters on author and availability combine with all.
+     */
+    private void validateSearchShape(BookSearchCriteria criteria, BookSearchSort sort) {
+        List<BookSearchSort> ranges = new ArrayList<>();
+        if (criteria.getTitlePrefix() != null) {
+            ranges.add(BookSearchSort.TITLE);
+        }
+        if (criteria.getIsbnPrefix() != null) {
+            if (Isbn.toKeyRange(criteria.getIsbnPrefix()) == null) {
+                throw new BadRequestException("isbnPrefix must be 1 to 13 digits of an ISBN-13");
+            }
+            ranges.add(BookSearchSort.ISBN);
+        }
+        if (criteria.getCreatedFrom() != null || criteria.getCreatedTo() != null) {
+            ranges.add(BookSearchSort.CREATED);
+        }
+        if (criteria.getUpdatedFrom() != null || criteria.getUpdatedTo() != null) {
+            ranges.add(BookSearchSort.UPDATED);
+        }
+        if (ranges.size() > 1) {
+            throw new BadRequestException("Only one of titlePrefix, isbnPrefix, created range and updated range can be given");
+        }
+        if (!ranges.isEmpty() && !sort.isById() && ranges.get(0) != sort) {
+            throw new BadRequestException("A " + ranges.get(0).name().toLowerCase(Locale.ROOT)
+                    + " filter can only be sorted by id or " + ranges.get(0).name().toLowerCase(Locale.ROOT));
+        }
+    }
+
+    private static String encodeCursor(String sortName, BookSearchSort sort, Book last) {
+        Object value = switch (sort) {
+            case ID -> "";
+            case TITLE -> last.getTitle();
+            case ISBN -> last.getIsbnKey();
+            case CREATED -> last.getCreatedOn();
+            case UPDATED -> last.getLastUpdated();
+        };
+        String cursor = sortName + ":" + last.getId() + ":" + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the sort order, the id and the sort key of a cursor
+     */
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":", 3);
+            if (parts.length == 3) {
+                return parts;
+            }
+        } catch (IllegalArgumentException e) {
+            // Reported below.
+        }
+        throw new BadRequestException("Invalid cursor: " + cursor);
+    }
+
+    /**
+     * Reads the books of the branch of the request from the off-heap records of the {@link CatalogIndex}.
+     * <p>
+     * Available books are built straight from their records. Borrowed books are read from the database in
+     * chunked IN queries, as their loan columns are maintained by the overdue job and not part of a record.
+     * </p>
+     *
+     * @param includeBorrowed whether borrowed books are included
+     * @return the books in ascending id order
+     */
+    private List<BookDto> readCatalogBooks(boolean includeBorrowed) {
+        String branchId = BranchContext.current();
+        List<BookDto> books = catalogIndex.readAll(record -> !record.isBorrowed() && record.belongsTo(branchId),
+                mapper::buildBookDtoFromRecord);
+        if (includeBorrowed) {
+            List<Long> ids = catalogIndex.readAll(record -> record.isBorrowed() && record.belongsTo(branchId),
+                    BookRecordView::getId);
+            for (int from = 0; from < ids.size(); from += multiGetChunkSize) {
+                bookRepository.findAllById(ids.subList(from, Math.min(from + multiGetChunkSize, ids.size())))
+                        .forEach(book -> books.add(mapper.buildBookDtoFromEntity(book)));
+            }
+        }
+        books.sort(Comparator.comparing(BookDto::getId));
+        return books;
+    }
+
+    /**
+     * @return the indexed books with the given normalized ISBN of the branch of the request
+     */
+    private List<BookRecord> findIndexedByIsbn(long isbnKey) {
+        String branchId = BranchContext.current();
+        return catalogIndex.findByIsbn(isbnKey).stream()
+                .filter(record -> branchId == null || branchId.equals(record.getBranchId()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Key of a shared read: the id of the entity and the branch of the request, {@code null} for all branches.
+     */
+    private record BranchKey(String branchId, Long id) {
     }
-}
\ No newline at end of file
+}
@@ -1,17 +1,55 @@
 package com.librarymanagementsystem.service.impl;
 
+import com.librarymanagementsystem.catalog.BookRecord;
+import com.librarymanagementsystem.concurrent.SingleFlight;
+import com.librarymanagementsystem.dto.BookDto;
 import com.librarymanagementsystem.dto.BorrowerDto;
+import com.librarymanagementsystem.dto.KeysetPageDto;
+import com.librarymanagementsystem.dto.MultiGetResponseDto;
+import com.librarymanagementsystem.event.BookBulkEvent;
+import com.librarymanagementsystem.event.BookEventType;
+import com.librarymanagementsystem.event.BorrowerEvent;
+import com.librarymanagementsystem.event.BorrowerEventType;
+import com.librarymanagementsystem.exception.AlreadyExistException;
+import com.librarymanagementsystem.exception.BadRequestException;
+import com.librarymanagementsystem.exception.ErrorCode;
 import com.librarymanagementsystem.exception.NotFoundException;
+import com.librarymanagementsystem.exception.PreconditionFailedException;
+import com.librarymanagementsystem.exception.ServiceUnavailableException;
 import com.librarymanagementsystem.mapper.LibraryMapper;
 import com.librarymanagementsystem.model.Borrower;
+import com.librarymanagementsystem.repository.BookRepository;
 import com.librarymanagementsystem.repository.BorrowerRepository;
+import com.librarymanagementsystem.repository.SparseFieldRepository;
 import com.librarymanagementsystem.service.BorrowerService;
+import com.librarymanagementsystem.sharding.BorrowerShardRouter;
+import com.librarymanagementsystem.tenancy.BranchContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Implementation of the {@link BorrowerService} interface.
@@ -19,6 +57,12 @@ import java.util.stream.Collectors;
  * It uses {@link BorrowerRepository} for data persistence and {@link LibraryMapper}
  * for mapping between DTOs and entities.
  * <p>
+ * Borrowers are spread over several databases. Every repository call runs through the
+ * {@link BorrowerShardRouter}, so operations on one borrower touch only the shard owning it, and
+ * listings gather the results of all shards. Change events are published inside the shard transaction,
+ * so the outbox event of a change is stored on the same shard and committed with it.
+ * </p>
+ * <p>
  * This class is annotated with {@link Service}, indicating that it's a service component
  * in the Spring context, and {@link Slf4j}, providing logging capabilities.
  * </p>
@@ -30,92 +74,499 @@ import java.util.stream.Collectors;
 @Slf4j
 public class BorrowerServiceImpl implements BorrowerService {
 
+    // Fields of BorrowerDto that can be requested as a sparse fieldset; they map to Borrower attributes of the same name.
+    private static final List<String> BORROWER_FIELDS = List.of("id", "name", "email");
+
+    // Fields of BorrowerDto that can be changed with a merge patch.
+    private static final Set<String> PATCHABLE_FIELDS = Set.of("name", "email");
+
     @Autowired
     private BorrowerRepository borrowerRepository;
 
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BorrowerShardRouter shardRouter;
+
     @Autowired
     private LibraryMapper mapper;
 
+    @Autowired
+    private SparseFieldRepository sparseFieldRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private Validator validator;
+
+    // Maximum number of ids accepted by a multi-get request.
+    @Value("${library-system.multi-get.max-ids:200}")
+    private int multiGetMaxIds = 200;
+
+    // Number of ids per IN query of a multi-get request.
+    @Value("${library-system.multi-get.chunk-size:100}")
+    private int multiGetChunkSize = 100;
+
+    // Number of borrowers per page when the request does not give a limit.
+    @Value("${library-system.borrowers.default-limit:50}")
+    private int borrowersDefaultLimit = 50;
+
+    // Maximum number of borrowers per page.
+    @Value("${library-system.borrowers.max-limit:500}")
+    private int borrowersMaxLimit = 500;
+
+    // Number of borrowed books per page when the request does not give a limit.
+    @Value("${library-system.borrowed-books.default-limit:50}")
+    private int borrowedBooksDefaultLimit = 50;
+
+    // Maximum number of borrowed books per page.
+    @Value("${library-system.borrowed-books.max-limit:500}")
+    private int borrowedBooksMaxLimit = 500;
+
+    // Longest time a request waits for the concurrent load of the same borrower by another request.
+    @Value("${library-system.single-flight.timeout:PT5S}")
+    private Duration singleFlightTimeout = Duration.ofSeconds(5);
+
+    // Loads of single borrowers from their shard, shared by concurrent requests for the same borrower.
+    private final SingleFlight<BranchKey, BorrowerDto> borrowerLoads = new SingleFlight<>();
+
     /**
      * Creates a new borrower in the library system.
      * <p>
      * This method maps the given {@link BorrowerDto} to a {@link Borrower} entity,
-     * saves it using the repository, and then maps the saved entity back to a DTO.
+     * saves it on the shard of its branch and email, and then maps the saved entity back to a DTO.
+     * The unique indexes of that shard reject a second borrower of the branch with the same email, and
+     * one with the same name stored on the same shard. The other shards are checked for the name and
+     * email before the insert; borrowers placed round-robin before hashing may hold either.
      * </p>
      * @param borrowerDto the data transfer object containing the borrower's details
      * @return the created {@link BorrowerDto} with updated information (e.g., ID)
+     * @throws AlreadyExistException if a borrower of the branch on another shard has the same name or email
      */
     @Override
     public BorrowerDto createBorrower(BorrowerDto borrowerDto) {
-        log.info("Creating new borrower: {}", borrowerDto);
+        int home = shardRouter.shardFor(BranchContext.current(), borrowerDto.getEmail());
+        validateUniqueOnOtherShards(home, borrowerDto.getName(), borrowerDto.getEmail());
 
-        Borrower borrower = mapper.buildBorrowerFromDto(borrowerDto);
-        borrower = borrowerRepository.save(borrower);
+        Borrower borrower = shardRouter.onShard(home, shard -> {
+            Borrower saved = borrowerRepository.save(mapper.buildBorrowerFromDto(borrowerDto));
+            eventPublisher.publishEvent(new BorrowerEvent(BorrowerEventType.CREATED, saved.getId(), Set.of(), saved.getBranchId()));
+            return saved;
+        });
 
-        BorrowerDto result = mapper.buildBorrowerDtoFromEntity(borrower);
-        log.info("Created borrower: {}", result);
-
-        return result;
+        log.debug("Created borrower, id:{}", borrower.getId());
+        return mapper.buildBorrowerDtoFromEntity(borrower);
     }
 
     /**
-     * Retrieves all borrowers from the database.
+     * Retrieves one page of all borrowers, in ascending id order.
+     * <p>
+     * Every shard reads its own next page plus one row with a keyset query, in parallel. Borrower ids are
+     * unique across shards, so merging the shard pages by id and cutting at the limit gives exactly the
+     * page a single database would have returned, and tells whether a next page exists.
+     * </p>
      *
-     * @return a list of {@link BorrowerDto} objects representing all borrowers
+     * @param after the id of the last borrower of the previous page, or {@code null} for the first page
+     * @param limit the maximum number of borrowers of the page, or {@code null} for the configured default
+     * @return the page of borrowers
+     * @throws BadRequestException if the limit is not between 1 and the configured maximum
      */
     @Override
-    public List<BorrowerDto> getAllBorrowers() {
-        List<Borrower> borrowers = borrowerRepository.findAll();
-        return borrowers.stream()
+    public KeysetPageDto<BorrowerDto> getAllBorrowers(Long after, Integer limit) {
+        int pageSize = limit != null ? limit : borrowersDefaultLimit;
+        if (pageSize < 1 || pageSize > borrowersMaxLimit) {
+            throw new BadRequestException("limit must be between 1 and " + borrowersMaxLimit);
+        }
+
+        long afterId = after != null ? after : 0L;
+        List<Borrower> borrowers = shardRouter.onEveryShard(shard -> borrowerRepository.findPage(afterId,
+                        PageRequest.ofSize(pageSize + 1))).stream()
+                .flatMap(List::stream)
+                .sorted(Comparator.comparing(Borrower::getId))
+                .limit(pageSize + 1L)
+                .collect(Collectors.toList());
+
+        List<BorrowerDto> items = borrowers.stream()
+                .limit(pageSize)
                 .map(mapper::buildBorrowerDtoFromEntity)
                 .collect(Collectors.toList());
+        return new KeysetPageDto<>(items, borrowers.size() > pageSize ? items.get(pageSize - 1).getId() : null);
     }
 
     /**
      * Retrieves a borrower by their unique identifier.
+     * <p>
+     * Concurrent requests for the same borrower of the same branch share one read of the shard and receive
+     * the same {@link BorrowerDto}, which must not be modified. A committed change of the borrower detaches
+     * the read in flight, see {@link #onBorrowerEvent(BorrowerEvent)}.
+     * </p>
      *
      * @param id the identifier of the borrower to retrieve
      * @return the {@link BorrowerDto} object representing the retrieved borrower
      * @throws NotFoundException if no borrower exists with the specified ID
+     * @throws ServiceUnavailableException if the shared read of another request did not finish in time
      */
     @Override
     public BorrowerDto getBorrowerById(Long id) {
-        Borrower borrower = borrowerRepository.findById(id)
-                .orElseThrow(() -> new NotFoundException("Borrower not found with id: " + id));
-        return mapper.buildBorrowerDtoFromEntity(borrower);
+        return borrowerLoads.load(new BranchKey(BranchContext.current(), id), singleFlightTimeout, () -> {
+            Borrower borrower = shardRouter.onShardOf(id, shard -> borrowerRepository.findById(id))
+                    .orElseThrow(() -> new NotFoundException(ErrorCode.BORROWER_NOT_FOUND, id));
+            return mapper.buildBorrowerDtoFromEntity(borrower);
+        });
+    }
+
+    /**
+     * Retrieves several borrowers by their unique identifiers.
+     * <p>
+     * The distinct IDs are grouped by their shard, and every shard involved reads its IDs in fixed size
+     * chunks, each with a single {@code findAllById} IN query. The shards are read in parallel.
+     * </p>
+     *
+     * @param ids the identifiers of the borrowers to retrieve
+     * @return the found borrowers in request order and the IDs that do not exist
+     * @throws BadRequestException if no ID or more than the configured maximum is given
+     */
+    @Override
+    public MultiGetResponseDto<BorrowerDto> getBorrowersByIds(List<Long> ids) {
+        List<Long> distinctIds = ids.stream().distinct().collect(Collectors.toList());
+        if (distinctIds.isEmpty() || distinctIds.size() > multiGetMaxIds) {
+            throw new BadRequestException("Between 1 and " + multiGetMaxIds + " ids are required");
+        }
+
+        Map<Long, Borrower> found = findAllById(distinctIds);
+        List<BorrowerDto> items = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : distinctIds) {
+            Borrower borrower = found.get(id);
+            if (borrower != null) {
+                items.add(mapper.buildBorrowerDtoFromEntity(borrower));
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new MultiGetResponseDto<>(items, missingIds);
+    }
+
+    /**
+     * Retrieves any number of borrowers by their unique identifiers, for embedding them in other resources.
+     * <p>
+     * The borrowers are read like those of {@link #getBorrowersByIds(List)}: one {@code findAllById} IN
+     * query per chunk of IDs on every shard involved, the shards in parallel. The number of queries
+     * therefore depends on the number of distinct borrowers, not on the number of resources embedding them.
+     * </p>
+     *
+     * @param ids the identifiers of the borrowers to retrieve
+     * @return the found borrowers by their ID
+     */
+    @Override
+    public Map<Long, BorrowerDto> getBorrowerSummaries(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, BorrowerDto> borrowers = new HashMap<>();
+        findAllById(new ArrayList<>(new HashSet<>(ids)))
+                .forEach((id, borrower) -> borrowers.put(id, mapper.buildBorrowerDtoFromEntity(borrower)));
+        return borrowers;
+    }
+
+    /**
+     * Retrieves one page of the books currently borrowed by a borrower.
+     * <p>
+     * The existence of the borrower is checked on its shard. The page is then read from the catalog with a
+     * single keyset query on the {@code (borrower_id, id)} index that selects {@link BookDto}s directly.
+     * One extra row is fetched to tell whether a next page exists.
+     * </p>
+     *
+     * @param id    the unique identifier of the borrower
+     * @param after the id of the last book of the previous page, or {@code null} for the first page
+     * @param limit the maximum number of books of the page, or {@code null} for the configured default
+     * @return the page of borrowed books
+     * @throws NotFoundException if no borrower is found with the given ID
+     * @throws BadRequestException if the limit is not between 1 and the configured maximum
+     */
+    @Override
+    public KeysetPageDto<BookDto> getBorrowedBooks(Long id, Long after, Integer limit) {
+        int pageSize = limit != null ? limit : borrowedBooksDefaultLimit;
+        if (pageSize < 1 || pageSize > borrowedBooksMaxLimit) {
+            throw new BadRequestException("limit must be between 1 and " + borrowedBooksMaxLimit);
+        }
+        if (!shardRouter.onShardOf(id, shard -> borrowerRepository.existsById(id))) {
+            throw new NotFoundException(ErrorCode.BORROWER_NOT_FOUND, id);
+        }
+
+        List<BookDto> books = bookRepository.findBorrowedBooks(id, after != null ? after : 0L,
+                PageRequest.ofSize(pageSize + 1));
+        if (books.size() <= pageSize) {
+            return new KeysetPageDto<>(books, null);
+        }
+        List<BookDto> page = books.subList(0, pageSize);
+        return new KeysetPageDto<>(page, page.get(pageSize - 1).getId());
+    }
+
+    /**
+     * Retrieves the given fields of all borrowers, selecting only the requested columns on every shard.
+     *
+     * @param fields the names of the {@link BorrowerDto} fields to retrieve
+     * @return a list of maps holding the requested fields of every borrower
+     * @throws BadRequestException if a field name is unknown
+     */
+    @Override
+    public List<Map<String, Object>> getAllBorrowers(List<String> fields) {
+        List<String> attributes = validateFields(fields);
+        return shardRouter.onEveryShard(shard -> sparseFieldRepository.findAll(Borrower.class, attributes)).stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Retrieves the given fields of a borrower by their unique identifier.
+     *
+     * @param id     the identifier of the borrower to retrieve
+     * @param fields the names of the {@link BorrowerDto} fields to retrieve
+     * @return a map holding the requested fields of the borrower
+     * @throws NotFoundException if no borrower exists with the specified ID
+     * @throws BadRequestException if a field name is unknown
+     */
+    @Override
+    public Map<String, Object> getBorrowerById(Long id, List<String> fields) {
+        List<String> attributes = validateFields(fields);
+        return shardRouter.onShardOf(id, shard -> sparseFieldRepository.findById(Borrower.class, id, attributes))
+                .orElseThrow(() -> new NotFoundException(ErrorCode.BORROWER_NOT_FOUND, id));
     }
 
     /**
      * Updates an existing borrower's details.
+     * <p>
+     * The id of a borrower names its shard, so a borrower stays on the shard it was created on even when
+     * its email changes. A changed name or email is therefore checked against the other shards before the
+     * update, and the unique indexes of the borrower's shard cover that shard.
+     * </p>
      *
      * @param id          the identifier of the borrower to update
      * @param borrowerDto the {@link BorrowerDto} object containing updated details
      * @return the updated {@link BorrowerDto} object
      * @throws NotFoundException if no borrower exists with the specified ID
+     * @throws AlreadyExistException if a borrower of the branch on another shard has the new name or email
      */
     @Override
     public BorrowerDto updateBorrower(Long id, BorrowerDto borrowerDto) {
-        Borrower existingBorrower = borrowerRepository.findById(id)
-                .orElseThrow(() -> new NotFoundException("Borrower not found with id: " + id));
+        Borrower existingBorrower = shardRouter.onShardOf(id, shard -> {
+            Borrower borrower = borrowerRepository.findById(id)
+                    .orElseThrow(() -> new NotFoundException(ErrorCode.BORROWER_NOT_FOUND, id));
+            validateUniqueOnOtherShards(shard, changed(borrowerDto.getName(), borrower.getName()),
+                    changed(borrowerDto.getEmail(), borrower.getEmail()));
+            borrower.setName(borrowerDto.getName());
+            borrower.setEmail(borrowerDto.getEmail());
+            Borrower saved = borrowerRepository.save(borrower);
+            eventPublisher.publishEvent(new BorrowerEvent(BorrowerEventType.UPDATED, id, Set.of(), saved.getBranchId()));
+            return saved;
+        });
 
-        existingBorrower.setName(borrowerDto.getName());
-        existingBorrower.setEmail(borrowerDto.getEmail());
+        return mapper.buildBorrowerDtoFromEntity(existingBorrower);
+    }
 
-        borrowerRepository.save(existingBorrower);
+    /**
+     * Applies a JSON Merge Patch to an existing borrower.
+     * <p>
+     * The patched fields are checked against the {@link BorrowerDto} constraints before the borrower is
+     * read. {@link Borrower} is a dynamic-update entity, so the {@code UPDATE} only sets the changed
+     * columns plus the version, and its {@code version} condition turns a concurrent change into a 412
+     * response. A changed name or email is checked against the other shards, as in
+     * {@link #updateBorrower(Long, BorrowerDto)}.
+     * </p>
+     *
+     * @param id              the identifier of the borrower to patch
+     * @param patch           the merge patch
+     * @param expectedVersion the version from {@code If-Match}, or {@code null}
+     * @return the patched {@link BorrowerDto} object
+     * @throws NotFoundException if no borrower exists with the specified ID
+     * @throws BadRequestException if the patch holds an unknown or invalid field
+     * @throws PreconditionFailedException if the borrower is not at the expected version
+     * @throws AlreadyExistException if a borrower of the branch on another shard has the new name or email
+     */
+    @Override
+    public BorrowerDto patchBorrower(Long id, Map<String, Object> patch, Long expectedVersion) {
+        Map<String, String> changes = validatePatch(patch);
+        Borrower saved = shardRouter.onShardOf(id, shard -> {
+            Borrower borrower = borrowerRepository.findById(id)
+                    .orElseThrow(() -> new NotFoundException(ErrorCode.BORROWER_NOT_FOUND, id));
+            if (expectedVersion != null && !expectedVersion.equals(borrower.getVersion())) {
+                throw new PreconditionFailedException(ErrorCode.PRECONDITION_FAILED);
+            }
 
-        return mapper.buildBorrowerDtoFromEntity(existingBorrower);
+            String name = changed(changes.get("name"), borrower.getName());
+            String email = changed(changes.get("email"), borrower.getEmail());
+            if (name == null && email == null) {
+                return borrower;
+            }
+            validateUniqueOnOtherShards(shard, name, email);
+            if (name != null) {
+                borrower.setName(name);
+            }
+            if (email != null) {
+                borrower.setEmail(email);
+            }
+            Borrower updated = borrowerRepository.save(borrower);
+            eventPublisher.publishEvent(new BorrowerEvent(BorrowerEventType.UPDATED, id, Set.of(), updated.getBranchId()));
+            return updated;
+        });
+        return mapper.buildBorrowerDtoFromEntity(saved);
     }
 
     /**
      * Deletes a borrower by their unique identifier.
+     * <p>
+     * The books held by the borrower are turned into tombstones with one bulk update in the catalog, together
+     * with their outbox events, then
+     * the borrower with one single-row update on its shard. The two databases are written in separate
+     * transactions, books first, so a failure in between leaves a borrower without books that a repeated
+     * delete removes. The tombstones are removed by the purge job later.
+     * </p>
      *
      * @param id the identifier of the borrower to delete
      * @throws NotFoundException if no borrower exists with the specified ID
      */
     @Override
     public void deleteBorrower(Long id) {
-        Borrower borrower = borrowerRepository.findById(id)
-                .orElseThrow(() -> new NotFoundException("Borrower not found with id: " + id));
-        borrowerRepository.delete(borrower);
+        LocalDateTime now = LocalDateTime.now();
+        // Books held by the borrower are deleted with it.
+        Set<Long> removedBookIds = new TransactionTemplate(transactionManager).execute(status -> {
+            List<BookRecord> books = bookRepository.findRecordsByBorrowerId(id);
+            Set<Long> bookIds = books.stream().map(BookRecord::getId).collect(Collectors.toCollection(HashSet::new));
+            if (!books.isEmpty()) {
+                bookRepository.markDeleted(bookIds, now);
+                eventPublisher.publishEvent(new BookBulkEvent(BookEventType.DELETED, books));
+            }
+            return bookIds;
+        });
+        shardRouter.onShardOf(id, shard -> {
+            if (borrowerRepository.markDeleted(id, now) == 0) {
+                throw new NotFoundException(ErrorCode.BORROWER_NOT_FOUND, id);
+            }
+            eventPublisher.publishEvent(new BorrowerEvent(BorrowerEventType.DELETED, id, removedBookIds,
+                    BranchContext.current()));
+            return null;
+        });
+    }
+
+    /**
+     * Checks the shards other than the given one for a live borrower of the branch with the given name or email.
+     * The unique indexes of the given shard cover that shard.
+     *
+     * @param home  the shard the borrower is stored on
+     * @param name  the name to check, or {@code null} to check the email only
+     * @param email the email to check, or {@code null} to check the name only
+     * @throws AlreadyExistException if another shard holds a borrower with the name or email
+     */
+    private void validateUniqueOnOtherShards(int home, String name, String email) {
+        if (shardRouter.getShardCount() == 1 || (name == null && email == null)) {
+            return;
+        }
+        List<Integer> others = IntStream.range(0, shardRouter.getShardCount())
+                .filter(shard -> shard != home)
+                .boxed()
+                .toList();
+        boolean exists = shardRouter.onShards(others, shard -> borrowerRepository.existsByNameOrEmail(name, email))
+                .contains(true);
+        if (exists) {
+            throw new AlreadyExistException(ErrorCode.BORROWER_ALREADY_EXISTS);
+        }
+    }
+
+    /**
+     * @return the new value if it differs from the current one, otherwise {@code null}
+     */
+    private static String changed(String value, String current) {
+        return value == null || value.equals(current) ? null : value;
+    }
+
+    /**
+     * Validates a merge patch against the constraints of the {@link BorrowerDto} fields.
+     *
+     * @param patch the merge patch
+     * @return the new value of every patched field, in patch order
+     * @throws BadRequestException if a field is unknown or read-only, or its value is not valid
+     */
+    private Map<String, String> validatePatch(Map<String, Object> patch) {
+        Map<String, String> changes = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> entry : patch.entrySet()) {
+            String field = entry.getKey();
+            if (!PATCHABLE_FIELDS.contains(field)) {
+                throw new BadRequestException("Unknown or read-only field: " + field);
+            }
+            if (entry.getValue() != null && !(entry.getValue() instanceof String)) {
+                throw new BadRequestException("Field " + field + " must be a string");
+            }
+            String value = (String) entry.getValue();
+            Set<ConstraintViolation<BorrowerDto>> violations = validator.validateValue(BorrowerDto.class, field, value);
+            if (!violations.isEmpty()) {
+                throw new BadRequestException(violations.iterator().next().getMessage());
+            }
+            changes.put(field, value);
+        }
+        return changes;
+    }
+
+    /**
+     * Validates the requested sparse fieldset.
+     *
+     * @param fields the requested field names
+     * @return the distinct field names, in request order
+     * @throws BadRequestException if the list is empty or a field name is unknown
+     */
+    private List<String> validateFields(List<String> fields) {
+        List<String> distinct = fields.stream().map(String::trim).filter(field -> !field.isEmpty()).distinct().collect(Collectors.toList());
+        if (distinct.isEmpty()) {
+            throw new BadRequestException("At least one field is required, supported fields: " + BORROWER_FIELDS);
+        }
+        distinct.stream().filter(field -> !BORROWER_FIELDS.contains(field)).findFirst().ifPresent(field -> {
+            throw new BadRequestException("Unknown field: " + field + ", supported fields: " + BORROWER_FIELDS);
+        });
+        return distinct;
+    }
+
+    /**
+     * Reads the borrowers with the given distinct IDs from their shards, in chunks of IN queries.
+     *
+     * @param ids the distinct IDs of the borrowers
+     * @return the found borrowers by their ID
+     */
+    private Map<Long, Borrower> findAllById(List<Long> ids) {
+        Map<Integer, List<Long>> idsByShard = ids.stream()
+                .collect(Collectors.groupingBy(shardRouter::shardOf, TreeMap::new, Collectors.toList()));
+        Map<Long, Borrower> found = new HashMap<>();
+        shardRouter.onShards(idsByShard.keySet(), shard -> {
+            List<Long> shardIds = idsByShard.get(shard);
+            List<Borrower> borrowers = new ArrayList<>(shardIds.size());
+            for (int from = 0; from < shardIds.size(); from += multiGetChunkSize) {
+                List<Long> chunk = shardIds.subList(from, Math.min(from + multiGetChunkSize, shardIds.size()));
+                borrowerRepository.findAllById(chunk).forEach(borrowers::add);
+            }
+            return borrowers;
+        }).forEach(borrowers -> borrowers.forEach(borrower -> found.put(borrower.getId(), borrower)));
+        return found;
+    }
+
+    /**
+     * Detaches the shard reads in flight for a changed borrower once the change is committed, so that
+     * requests made after the change do not receive a read that started before it.
+     *
+     * @param event the borrower change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBorrowerEvent(BorrowerEvent event) {
+        borrowerLoads.forget(new BranchKey(event.getBranchId(), event.getBorrowerId()));
+        borrowerLoads.forget(new BranchKey(null, event.getBorrowerId()));
+    }
+
+    /**
+     * Key of a shared read: the id of the borrower and the branch of the request, {@code null} for all branches.
+     */
+    private record BranchKey(String branchId, Long id) {
     }
 }
@@ -0,0 +1,224 @@
+package com.librarymanagementsystem.service.impl;
+
+import com.librarymanagementsystem.dto.LibraryStatsDto;
+import com.librarymanagementsystem.event.BookEvent;
+import com.librarymanagementsystem.event.BookEventType;
+import com.librarymanagementsystem.event.BorrowerEvent;
+import com.librarymanagementsystem.event.BorrowerEventType;
+import com.librarymanagementsystem.repository.BookRepository;
+import com.librarymanagementsystem.repository.BorrowerRepository;
+import com.librarymanagementsystem.repository.projection.BorrowerLoanCountView;
+import com.librarymanagementsystem.repository.projection.BranchBookCountView;
+import com.librarymanagementsystem.repository.projection.BranchBorrowerCountView;
+import com.librarymanagementsystem.service.LibraryStatsService;
+import com.librarymanagementsystem.sharding.BorrowerShardRouter;
+import com.librarymanagementsystem.tenancy.BranchContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Implementation of the {@link LibraryStatsService} interface.
+ * <p>
+ * Every library branch has its own counters. The totals are {@link LongAdder}s, so concurrent borrows
+ * and returns update striped cells instead of contending on a single counter. They are changed from the
+ * {@link BookEvent}s and {@link BorrowerEvent}s published by the book and borrower services once the
+ * change is committed. Borrowers with active loans are tracked as a map from borrower id to the number
+ * of books held, whose size is the reported count.
+ * </p>
+ * <p>
+ * {@link #reconcile()} replaces the counters of every branch with a fresh count from the database.
+ * Changes committed while the counts are read can leave a small drift, which the next reconciliation
+ * corrects.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+@Service
+@Slf4j
+public class LibraryStatsServiceImpl implements LibraryStatsService {
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BorrowerRepository borrowerRepository;
+
+    @Autowired
+    private BorrowerShardRouter shardRouter;
+
+    private final Map<String, BranchCounters> branches = new ConcurrentHashMap<>();
+
+    private volatile LocalDateTime reconciledOn;
+
+    /**
+     * Returns the current statistics of the branch of the request from the counters, without querying
+     * the database.
+     *
+     * @return the current statistics
+     */
+    @Override
+    public LibraryStatsDto getStats() {
+        BranchCounters counters = branches.getOrDefault(BranchContext.current(), new BranchCounters());
+        long books = counters.totalBooks.sum();
+        long onLoan = counters.booksOnLoan.sum();
+        return LibraryStatsDto.builder()
+                .totalBooks(books)
+                .booksOnLoan(onLoan)
+                .availableBooks(Math.max(books - onLoan, 0))
+                .borrowers(counters.borrowers.sum())
+                .borrowersWithActiveLoans(counters.loansByBorrower.size())
+                .reconciledOn(reconciledOn)
+                .build();
+    }
+
+    /**
+     * Records books added to the catalog without going through the book service, such as by a bulk import.
+     *
+     * @param branchId the branch the books were added to
+     * @param count    the number of added books
+     */
+    @Override
+    public void recordBooksAdded(String branchId, int count) {
+        counters(branchId).totalBooks.add(count);
+    }
+
+    /**
+     * Recounts books, loans and borrowers of every branch in the database and corrects the counters.
+     * Borrowers are counted on every shard.
+     * <p>
+     * Each adder is moved by the difference to the fresh count rather than reset, so increments made
+     * by concurrent requests in the meantime are not lost.
+     * </p>
+     */
+    @Override
+    public void reconcile() {
+        Map<String, BranchCounters> fresh = new HashMap<>();
+        for (BranchBookCountView view : bookRepository.countBooksByBranch()) {
+            BranchCounters counters = fresh.computeIfAbsent(view.getBranchId(), branchId -> new BranchCounters());
+            counters.totalBooks.add(view.getBooks());
+            counters.booksOnLoan.add(view.getOnLoan());
+        }
+        for (List<BranchBorrowerCountView> shardCounts : shardRouter.onEveryShard(shard -> borrowerRepository.countByBranch())) {
+            for (BranchBorrowerCountView view : shardCounts) {
+                fresh.computeIfAbsent(view.getBranchId(), branchId -> new BranchCounters()).borrowers.add(view.getBorrowers());
+            }
+        }
+        for (BorrowerLoanCountView view : bookRepository.findLoanCountsByBorrower()) {
+            fresh.computeIfAbsent(view.getBranchId(), branchId -> new BranchCounters())
+                    .loansByBorrower.put(view.getBorrowerId(), view.getLoans().intValue());
+        }
+
+        Set<String> branchIds = new HashSet<>(branches.keySet());
+        branchIds.addAll(fresh.keySet());
+        long drift = 0;
+        for (String branchId : branchIds) {
+            drift += counters(branchId).correctTo(fresh.getOrDefault(branchId, new BranchCounters()));
+        }
+        reconciledOn = LocalDateTime.now();
+
+        if (drift > 0) {
+            log.info("Library statistics reconciled, branches:{}, corrected drift:{}", branchIds.size(), drift);
+        }
+    }
+
+    /**
+     * Applies a committed book change to the counters of its branch.
+     *
+     * @param event the book change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookEvent(BookEvent event) {
+        BranchCounters counters = counters(event.getBook().getBranchId());
+        if (event.getType() == BookEventType.CREATED) {
+            counters.totalBooks.increment();
+        } else if (event.getType() == BookEventType.DELETED) {
+            counters.totalBooks.decrement();
+            Long borrowerId = event.getBook().getBorrowerId();
+            if (borrowerId != null) {
+                counters.booksOnLoan.decrement();
+                counters.removeLoans(borrowerId, 1);
+            }
+        } else if (event.getType() == BookEventType.BORROWED) {
+            counters.booksOnLoan.increment();
+            counters.loansByBorrower.merge(event.getBorrowerId(), 1, Integer::sum);
+        } else if (event.getType() == BookEventType.RETURNED) {
+            counters.booksOnLoan.decrement();
+            counters.removeLoans(event.getBorrowerId(), 1);
+        }
+    }
+
+    /**
+     * Applies a committed borrower change to the counters of its branch. The books held by a deleted
+     * borrower are deleted with it, so they leave both the catalog and the loan totals.
+     *
+     * @param event the borrower change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBorrowerEvent(BorrowerEvent event) {
+        BranchCounters counters = counters(event.getBranchId());
+        if (event.getType() == BorrowerEventType.CREATED) {
+            counters.borrowers.increment();
+        } else if (event.getType() == BorrowerEventType.DELETED) {
+            counters.borrowers.decrement();
+            int removedBooks = event.getRemovedBookIds().size();
+            counters.totalBooks.add(-removedBooks);
+            counters.booksOnLoan.add(-removedBooks);
+            counters.loansByBorrower.remove(event.getBorrowerId());
+        }
+    }
+
+    private BranchCounters counters(String branchId) {
+        return branches.computeIfAbsent(branchId, id -> new BranchCounters());
+    }
+
+    /**
+     * Counters of one branch.
+     */
+    private static final class BranchCounters {
+
+        private final LongAdder totalBooks = new LongAdder();
+
+        private final LongAdder booksOnLoan = new LongAdder();
+
+        private final LongAdder borrowers = new LongAdder();
+
+        // Number of books held per borrower; borrowers without loans are not in the map.
+        private final Map<Long, Integer> loansByBorrower = new ConcurrentHashMap<>();
+
+        private void removeLoans(Long borrowerId, int count) {
+            loansByBorrower.computeIfPresent(borrowerId, (id, loans) -> loans > count ? loans - count : null);
+        }
+
+        /**
+         * Moves every counter to the value of the given fresh counters.
+         *
+         * @return the total absolute correction
+         */
+        private long correctTo(BranchCounters fresh) {
+            long books = fresh.totalBooks.sum();
+            long onLoan = fresh.booksOnLoan.sum();
+            long borrowerCount = fresh.borrowers.sum();
+            long drift = Math.abs(books - totalBooks.sum()) + Math.abs(onLoan - booksOnLoan.sum())
+                    + Math.abs(borrowerCount - borrowers.sum())
+                    + Math.abs(fresh.loansByBorrower.size() - loansByBorrower.size());
+            totalBooks.add(books - totalBooks.sum());
+            booksOnLoan.add(onLoan - booksOnLoan.sum());
+            borrowers.add(borrowerCount - borrowers.sum());
+            loansByBorrower.keySet().retainAll(fresh.loansByBorrower.keySet());
+            loansByBorrower.putAll(fresh.loansByBorrower);
+            return drift;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.librarymanagementsystem.service.impl;
+
+import com.librarymanagementsystem.model.JobCheckpoint;
+import com.librarymanagementsystem.model.OutboxEvent;
+import com.librarymanagementsystem.outbox.OutboxSink;
+import com.librarymanagementsystem.repository.JobCheckpointRepository;
+import com.librarymanagementsystem.repository.OutboxEventRepository;
+import com.librarymanagementsystem.service.OutboxRelayService;
+import com.librarymanagementsystem.sharding.BorrowerShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Implementation of the {@link OutboxRelayService} interface.
+ * <p>
+ * The position of the relay in the outbox of every database is the id of the last delivered event,
+ * stored in the {@link JobCheckpoint} named {@code outbox-relay-<shard>} in the catalog database. A batch
+ * is read after that id, handed to the {@link OutboxSink}, and only then the checkpoint is advanced, so a
+ * failure between the two leads to a repeated delivery, never a lost one. Events are neither flagged nor
+ * deleted one by one: delivering a batch costs a single checkpoint update, and relayed events are removed
+ * with one bulk delete per run once they are older than the retention.
+ * </p>
+ * <p>
+ * Ids are assigned on insert but become visible on commit, so a batch may lack the id of a transaction still in
+ * flight. The checkpoint only moves over the gap-free prefix of a batch: a missing id holds back the events
+ * after it until its transaction commits and it shows up. An id that stays missing for longer than the gap
+ * timeout, measured from the append of the next event, belongs to a rolled back transaction and is skipped;
+ * the timeout must therefore exceed the longest transaction writing to the outbox.
+ * </p>
+ * <p>
+ * Each batch runs in a transaction holding the write lock of the checkpoint, and locked checkpoints are
+ * skipped, so when several nodes run the relay every database is drained by one node at a time.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "library-system.outbox.enabled", matchIfMissing = true)
+public class OutboxRelayServiceImpl implements OutboxRelayService {
+
+    /**
+     * Prefix of the names of the checkpoint rows owned by the relay, followed by the shard index.
+     */
+    static final String JOB_NAME = "outbox-relay-";
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private JobCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private BorrowerShardRouter shardRouter;
+
+    @Autowired
+    private OutboxSink sink;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Maximum number of events delivered per batch.
+    @Value("${library-system.outbox.batch-size:500}")
+    private int batchSize = 500;
+
+    // Time after which a missing id is taken for a rolled back transaction and skipped.
+    @Value("${library-system.outbox.gap-timeout:PT1M}")
+    private Duration gapTimeout = Duration.ofMinutes(1);
+
+    // Time a relayed event is kept before it is removed.
+    @Value("${library-system.outbox.retention:PT24H}")
+    private Duration retention = Duration.ofHours(24);
+
+    /**
+     * Delivers all committed events that were not relayed yet, and removes relayed events past the retention.
+     *
+     * @return the number of delivered events
+     */
+    @Override
+    public int relay() {
+        int relayed = 0;
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            relayed += relayShard(shard);
+        }
+        return relayed;
+    }
+
+    /**
+     * Drains the outbox of one database in batches, then removes its relayed events past the retention.
+     *
+     * @param shard the index of the database
+     * @return the number of delivered events
+     */
+    private int relayShard(int shard) {
+        String jobName = JOB_NAME + shard;
+        if (!checkpointRepository.existsById(jobName)) {
+            checkpointRepository.save(JobCheckpoint.builder().jobName(jobName).lastProcessedId(0L).build());
+        }
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        LocalDateTime gapExpiredBefore = LocalDateTime.now().minus(gapTimeout);
+        int relayed = 0;
+        int delivered;
+        do {
+            Integer count = transactionTemplate.execute(status -> relayBatch(shard, jobName, gapExpiredBefore));
+            delivered = count == null ? 0 : count;
+            relayed += delivered;
+        } while (delivered >= batchSize);
+
+        long lastRelayedId = checkpointRepository.findById(jobName).map(JobCheckpoint::getLastProcessedId).orElse(0L);
+        LocalDateTime before = LocalDateTime.now().minus(retention);
+        int removed = shardRouter.onShard(shard, index -> outboxEventRepository.deleteRelayed(lastRelayedId, before));
+        if (relayed > 0 || removed > 0) {
+            log.debug("Relayed outbox, shard:{}, delivered:{}, removed:{}, position:{}", shard, relayed, removed, lastRelayedId);
+        }
+        return relayed;
+    }
+
+    /**
+     * Delivers the gap-free prefix of the next batch of one database and advances its checkpoint.
+     *
+     * @param shard            the index of the database
+     * @param jobName          the name of the checkpoint of the database
+     * @param gapExpiredBefore the append time before which an event ends a gap that is skipped
+     * @return the number of delivered events, {@code 0} if none is left or another node relays the database
+     */
+    private int relayBatch(int shard, String jobName, LocalDateTime gapExpiredBefore) {
+        Optional<JobCheckpoint> locked = checkpointRepository.findAndLock(jobName);
+        if (locked.isEmpty()) {
+            return 0;
+        }
+
+        JobCheckpoint checkpoint = locked.get();
+        List<OutboxEvent> batch = shardRouter.onShard(shard, index -> outboxEventRepository.findBatch(
+                checkpoint.getLastProcessedId(), PageRequest.ofSize(batchSize)));
+        List<OutboxEvent> events = batch.subList(0, committedPrefix(shard, checkpoint.getLastProcessedId(), batch, gapExpiredBefore));
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        sink.send(shard, events);
+        checkpoint.setLastProcessedId(events.get(events.size() - 1).getId());
+        checkpointRepository.save(checkpoint);
+        return events.size();
+    }
+
+    /**
+     * Returns the length of the prefix of a batch that the checkpoint may move over: it ends before the first
+     * missing id whose gap has not expired yet.
+     *
+     * @param shard            the index of the database, for logging
+     * @param afterId          the id of the last relayed event
+     * @param batch            the batch in ascending id order
+     * @param gapExpiredBefore the append time before which an event ends a gap that is skipped
+     * @return the number of leading events of the batch that may be delivered
+     */
+    private int committedPrefix(int shard, long afterId, List<OutboxEvent> batch, LocalDateTime gapExpiredBefore) {
+        long expectedId = afterId + 1;
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxEvent event = batch.get(i);
+            if (event.getId() != expectedId) {
+                if (!event.getCreatedOn().isBefore(gapExpiredBefore)) {
+                    return i;
+                }
+                log.warn("Skipping outbox ids of rolled back transactions, shard:{}, from:{}, to:{}",
+                        shard, expectedId, event.getId() - 1);
+            }
+            expectedId = event.getId() + 1;
+        }
+        return batch.size();
+    }
+}
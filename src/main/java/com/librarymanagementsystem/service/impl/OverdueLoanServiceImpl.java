@@ -0,0 +1,179 @@
+package com.librarymanagementsystem.service.impl;
+
+import com.librarymanagementsystem.model.JobCheckpoint;
+import com.librarymanagementsystem.repository.BookRepository;
+import com.librarymanagementsystem.repository.JobCheckpointRepository;
+import com.librarymanagementsystem.repository.projection.LoanView;
+import com.librarymanagementsystem.service.OverdueLoanService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Implementation of the {@link OverdueLoanService} interface.
+ * <p>
+ * Active loans are read as id/due date projections in keyset-ordered chunks, so neither the
+ * {@code Book} entities nor their borrowers are ever loaded. A wave of chunks is handed to a
+ * fixed pool of workers; each worker computes the fines of its chunk and writes them with one
+ * bulk update per distinct fine, in its own transaction. Once a whole wave is committed the
+ * highest id of the wave is stored in the {@link JobCheckpoint}, which is where an interrupted
+ * run resumes.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+@Service
+@Slf4j
+public class OverdueLoanServiceImpl implements OverdueLoanService {
+
+    /**
+     * Name of the checkpoint row owned by this job.
+     */
+    static final String JOB_NAME = "overdue-loan-scan";
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private JobCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Number of loans read and updated per chunk.
+    @Value("${library-system.overdue.chunk-size:5000}")
+    private int chunkSize = 5000;
+
+    // Number of chunks processed in parallel.
+    @Value("${library-system.overdue.workers:4}")
+    private int workers = 4;
+
+    // Fine charged for every started day a loan is overdue.
+    @Value("${library-system.overdue.fine-per-day:0.50}")
+    private BigDecimal finePerDay = new BigDecimal("0.50");
+
+    /**
+     * Scans all active loans and marks the overdue ones.
+     *
+     * @return the number of loans marked as overdue by this run
+     */
+    @Override
+    public long scanOverdueLoans() {
+        JobCheckpoint checkpoint = checkpointRepository.findById(JOB_NAME)
+                .orElseGet(() -> JobCheckpoint.builder().jobName(JOB_NAME).lastProcessedId(0L).build());
+
+        if (checkpoint.getLastProcessedId() > 0 && checkpoint.getRunStartedOn() != null) {
+            log.info("Resuming overdue loan scan after id:{}", checkpoint.getLastProcessedId());
+        } else {
+            checkpoint.setLastProcessedId(0L);
+            checkpoint.setRunStartedOn(LocalDateTime.now());
+            checkpoint = checkpointRepository.save(checkpoint);
+        }
+
+        LocalDateTime now = checkpoint.getRunStartedOn();
+        long afterId = checkpoint.getLastProcessedId();
+        long marked = 0;
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, workers));
+        try {
+            while (true) {
+                // Read the next wave of chunks; only ids and due dates are held in memory.
+                List<List<LoanView>> wave = new ArrayList<>(workers);
+                for (int i = 0; i < workers; i++) {
+                    List<LoanView> chunk = bookRepository.findOverdueLoans(afterId, now, PageRequest.of(0, chunkSize));
+                    if (chunk.isEmpty()) {
+                        break;
+                    }
+                    wave.add(chunk);
+                    afterId = chunk.get(chunk.size() - 1).getId();
+                }
+                if (wave.isEmpty()) {
+                    break;
+                }
+
+                List<Future<Integer>> results = new ArrayList<>(wave.size());
+                for (List<LoanView> chunk : wave) {
+                    results.add(pool.submit(() -> processChunk(chunk, now)));
+                }
+                for (Future<Integer> result : results) {
+                    marked += result.get();
+                }
+
+                checkpoint.setLastProcessedId(afterId);
+                checkpoint = checkpointRepository.save(checkpoint);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Overdue loan scan interrupted after id: " + checkpoint.getLastProcessedId(), e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Overdue loan scan failed after id: " + checkpoint.getLastProcessedId(), e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // The run is complete, the next one starts from the beginning again.
+        checkpoint.setLastProcessedId(0L);
+        checkpoint.setRunStartedOn(null);
+        checkpointRepository.save(checkpoint);
+
+        log.info("Overdue loan scan finished, marked:{}", marked);
+        return marked;
+    }
+
+    /**
+     * Computes the fines of a chunk of overdue loans and writes them in a single transaction.
+     * <p>
+     * Loans are grouped by fine, so a chunk costs one bulk update per distinct number of overdue days.
+     * Loans returned since they were read are skipped by the update.
+     * </p>
+     *
+     * @param chunk the overdue loans of the chunk
+     * @param now   the reference time of the run
+     * @return the number of updated loans
+     */
+    private int processChunk(List<LoanView> chunk, LocalDateTime now) {
+        Map<BigDecimal, List<Long>> idsByFine = new HashMap<>();
+        for (LoanView loan : chunk) {
+            idsByFine.computeIfAbsent(computeFine(loan.getDueDate(), now), fine -> new ArrayList<>()).add(loan.getId());
+        }
+
+        Integer updated = new TransactionTemplate(transactionManager).execute(status -> {
+            int count = 0;
+            LocalDateTime updatedOn = LocalDateTime.now();
+            for (Map.Entry<BigDecimal, List<Long>> entry : idsByFine.entrySet()) {
+                count += bookRepository.markOverdue(entry.getValue(), entry.getKey(), now, updatedOn);
+            }
+            return count;
+        });
+        return updated == null ? 0 : updated;
+    }
+
+    /**
+     * Computes the fine of a loan for every started day past its due date.
+     *
+     * @param dueDate the due date of the loan
+     * @param now     the reference time of the run
+     * @return the fine of the loan
+     */
+    private BigDecimal computeFine(LocalDateTime dueDate, LocalDateTime now) {
+        long days = Math.max(1, ChronoUnit.DAYS.between(dueDate.toLocalDate(), now.toLocalDate()));
+        return finePerDay.multiply(BigDecimal.valueOf(days));
+    }
+}
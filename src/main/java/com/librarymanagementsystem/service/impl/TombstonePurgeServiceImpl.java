@@ -0,0 +1,90 @@
+package com.librarymanagementsystem.service.impl;
+
+import com.librarymanagementsystem.repository.BookRepository;
+import com.librarymanagementsystem.repository.BorrowerRepository;
+import com.librarymanagementsystem.service.TombstonePurgeService;
+import com.librarymanagementsystem.sharding.BorrowerShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+
+/**
+ * Implementation of the {@link TombstonePurgeService} interface.
+ * <p>
+ * Every batch is a single bounded {@code delete} in its own short transaction, so a purge never holds
+ * locks on more than {@code library-system.purge.batch-size} rows at a time. Books are purged in the
+ * catalog, borrowers on every shard one after the other.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+@Service
+@Slf4j
+public class TombstonePurgeServiceImpl implements TombstonePurgeService {
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BorrowerRepository borrowerRepository;
+
+    @Autowired
+    private BorrowerShardRouter shardRouter;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Time a tombstone is kept before it is purged.
+    @Value("${library-system.purge.retention:P7D}")
+    private Duration retention = Duration.ofDays(7);
+
+    // Maximum number of rows removed by one delete statement.
+    @Value("${library-system.purge.batch-size:1000}")
+    private int batchSize = 1000;
+
+    /**
+     * Removes all tombstones older than the retention period.
+     *
+     * @return the number of removed rows
+     */
+    @Override
+    public int purge() {
+        LocalDateTime before = LocalDateTime.now().minus(retention);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        int books = purgeInBatches(() -> transactionTemplate.execute(status -> bookRepository.purgeDeleted(before, batchSize)));
+        int borrowers = 0;
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            int target = shard;
+            borrowers += purgeInBatches(() -> shardRouter.onShard(target, index -> borrowerRepository.purgeDeleted(before, batchSize)));
+        }
+        if (books > 0 || borrowers > 0) {
+            log.info("Purged tombstones deleted before {}, books:{}, borrowers:{}", before, books, borrowers);
+        }
+        return books + borrowers;
+    }
+
+    /**
+     * Runs the given bounded delete until a batch removes fewer rows than the batch size.
+     *
+     * @param batch the bounded delete in its own transaction, returning the number of removed rows
+     * @return the total number of removed rows
+     */
+    private int purgeInBatches(Supplier<Integer> batch) {
+        int total = 0;
+        int removed;
+        do {
+            Integer count = batch.get();
+            removed = count == null ? 0 : count;
+            total += removed;
+        } while (removed >= batchSize);
+        return total;
+    }
+}
@@ -0,0 +1,87 @@
+package com.librarymanagementsystem.service.impl;
+
+import com.librarymanagementsystem.dto.TrendingBookDto;
+import com.librarymanagementsystem.exception.BadRequestException;
+import com.librarymanagementsystem.model.Book;
+import com.librarymanagementsystem.repository.BookRepository;
+import com.librarymanagementsystem.service.TrendingBookService;
+import com.librarymanagementsystem.trending.HeavyHitter;
+import com.librarymanagementsystem.tenancy.BranchContext;
+import com.librarymanagementsystem.trending.TrendingBooks;
+import com.librarymanagementsystem.trending.TrendingWindow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the {@link TrendingBookService} interface.
+ * <p>
+ * The ranking comes from {@link TrendingBooks}; only the details of the listed books are read from
+ * the database, with a single IN query. Books deleted since they were borrowed are left out.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+@Service
+@Slf4j
+public class TrendingBookServiceImpl implements TrendingBookService {
+
+    @Autowired
+    private TrendingBooks trendingBooks;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    // Number of trending books listed when the request does not give a limit.
+    @Value("${library-system.trending.default-limit:10}")
+    private int defaultLimit = 10;
+
+    /**
+     * Retrieves the most borrowed books of a time window, ranked among the borrows of the branch of the request.
+     *
+     * @param window the time window: {@code hour}, {@code day} or {@code week}
+     * @param limit  the maximum number of books, or {@code null} for the configured default
+     * @return the trending books, most borrowed first
+     * @throws BadRequestException if the window is unknown or the limit is out of range
+     */
+    @Override
+    public List<TrendingBookDto> getTrendingBooks(String window, Integer limit) {
+        TrendingWindow trendingWindow;
+        try {
+            trendingWindow = TrendingWindow.valueOf(window.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Unknown window: " + window + ", expected hour, day or week");
+        }
+        int size = limit != null ? limit : defaultLimit;
+        if (size < 1 || size > trendingBooks.getCandidates()) {
+            throw new BadRequestException("limit must be between 1 and " + trendingBooks.getCandidates());
+        }
+
+        List<HeavyHitter> hitters = trendingBooks.top(BranchContext.current(), trendingWindow, size);
+        if (hitters.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Book> books = bookRepository.findAllById(hitters.stream().map(HeavyHitter::getBookId).toList())
+                .stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+
+        List<TrendingBookDto> trending = new ArrayList<>(hitters.size());
+        for (HeavyHitter hitter : hitters) {
+            Book book = books.get(hitter.getBookId());
+            if (book != null) {
+                trending.add(new TrendingBookDto(book.getId(), book.getAuthor(), book.getTitle(), book.getIsbn(),
+                        hitter.getCount()));
+            }
+        }
+        return trending;
+    }
+}
@@ -0,0 +1,189 @@
+package com.librarymanagementsystem.sharding;
+
+import com.librarymanagementsystem.tenancy.BranchContext;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Router running borrower storage work on the shard that owns the borrower.
+ * <p>
+ * Shard {@code k} of {@code n} hands out the borrower ids {@code k}, {@code k + n}, {@code k + 2n}, ...,
+ * so the owner of a borrower is its id modulo the shard count, and no lookup table is needed. New
+ * borrowers are placed by a hash of their branch and email, so borrowers of a branch sharing an email land
+ * on the same shard and its unique index rejects the duplicate. Work on one shard runs in a transaction of its own with the shard
+ * bound in the {@link ShardContext}; work on several shards runs in parallel, one thread per shard.
+ * </p>
+ * <p>
+ * With a single shard the work simply runs in the caller's transaction, or a new one, on the primary
+ * database.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+@Component
+public class BorrowerShardRouter {
+
+    @Autowired
+    private ShardRoutingDataSource dataSource;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private int shardCount = 1;
+
+    private ExecutorService shardExecutor;
+
+    @PostConstruct
+    void init() {
+        shardCount = dataSource.getShardCount();
+        if (shardCount > 1) {
+            AtomicInteger threads = new AtomicInteger();
+            shardExecutor = Executors.newFixedThreadPool(shardCount, runnable -> {
+                Thread thread = new Thread(runnable, "borrower-shard-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (shardExecutor != null) {
+            shardExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * @return the number of borrower shards
+     */
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    /**
+     * @param borrowerId the id of a borrower
+     * @return the index of the shard owning the borrower
+     */
+    public int shardOf(Long borrowerId) {
+        return (int) Math.floorMod(borrowerId, (long) shardCount);
+    }
+
+    /**
+     * @param branchId the branch of a new borrower
+     * @param email    the email of the new borrower
+     * @return the index of the shard to store the new borrower on, the same for every borrower of the
+     *         branch with this email
+     */
+    public int shardFor(String branchId, String email) {
+        return Math.floorMod(Objects.hash(branchId, email), shardCount);
+    }
+
+    /**
+     * Runs the given work in a transaction on the given shard.
+     *
+     * @param shard the index of the shard
+     * @param work  the work, using the borrower repository
+     * @param <T>   the type of the result
+     * @return the result of the work
+     */
+    public <T> T onShard(int shard, IntFunction<T> work) {
+        if (shardCount == 1) {
+            return new TransactionTemplate(transactionManager).execute(status -> work.apply(shard));
+        }
+
+        // A session opened in view outside a transaction already holds a connection of the primary
+        // database; set it aside so the transaction opens a session of its own on the shard.
+        Object viewSession = TransactionSynchronizationManager.isActualTransactionActive()
+                ? null : TransactionSynchronizationManager.unbindResourceIfPossible(entityManagerFactory);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try (ShardContext.Scope scope = ShardContext.open(shard)) {
+            return transactionTemplate.execute(status -> work.apply(shard));
+        } finally {
+            if (viewSession != null) {
+                TransactionSynchronizationManager.bindResource(entityManagerFactory, viewSession);
+            }
+        }
+    }
+
+    /**
+     * Runs the given work in a transaction on the shard owning the given borrower.
+     *
+     * @param borrowerId the id of the borrower
+     * @param work       the work, using the borrower repository
+     * @param <T>        the type of the result
+     * @return the result of the work
+     */
+    public <T> T onShardOf(Long borrowerId, IntFunction<T> work) {
+        return onShard(shardOf(borrowerId), work);
+    }
+
+    /**
+     * Runs the given work on every shard in parallel.
+     *
+     * @param work the work, using the borrower repository
+     * @param <T>  the type of the results
+     * @return the results, in shard order
+     */
+    public <T> List<T> onEveryShard(IntFunction<T> work) {
+        return onShards(IntStream.range(0, shardCount).boxed().toList(), work);
+    }
+
+    /**
+     * Runs the given work on the given shards in parallel, binding the caller's branch on every shard.
+     *
+     * @param shards the indexes of the shards
+     * @param work   the work, using the borrower repository
+     * @param <T>    the type of the results
+     * @return the results, in the order of the given shards
+     */
+    public <T> List<T> onShards(Collection<Integer> shards, IntFunction<T> work) {
+        if (shards.size() == 1) {
+            return Collections.singletonList(onShard(shards.iterator().next(), work));
+        }
+
+        String branchId = BranchContext.current();
+        List<CompletableFuture<T>> futures = new ArrayList<>(shards.size());
+        for (int shard : shards) {
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try (BranchContext.Scope scope = BranchContext.open(branchId)) {
+                    return onShard(shard, work);
+                }
+            }, shardExecutor));
+        }
+
+        List<T> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<T> future : futures) {
+            try {
+                results.add(future.join());
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        return results;
+    }
+}
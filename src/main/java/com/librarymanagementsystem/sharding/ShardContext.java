@@ -0,0 +1,61 @@
+package com.librarymanagementsystem.sharding;
+
+/**
+ * Holder of the borrower shard the current thread works on.
+ * <p>
+ * While a shard is bound, connections taken from the {@link ShardRoutingDataSource} go to that shard's
+ * database. Threads without a bound shard use the primary database, which also holds the catalog.
+ * Shards are bound by {@link BorrowerShardRouter}, not directly by services.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    /**
+     * @return the shard bound to the current thread, or {@code null} if the thread uses the primary database
+     */
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds the given shard to the current thread until the returned scope is closed, which restores
+     * the previous binding.
+     *
+     * @param shard the index of the shard to bind
+     * @return the scope of the binding
+     */
+    public static Scope open(int shard) {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(shard);
+        return scope;
+    }
+
+    /**
+     * Binding of a shard to the current thread, undone by {@link #close()}.
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private final Integer previous;
+
+        private Scope(Integer previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.librarymanagementsystem.sharding;
+
+import com.librarymanagementsystem.model.Borrower;
+import com.librarymanagementsystem.model.OutboxEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.model.relational.Namespace;
+import org.hibernate.boot.model.relational.Sequence;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.cfg.SchemaToolingSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.jpa.boot.spi.JpaSettings;
+import org.hibernate.mapping.Table;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.hibernate.tool.schema.Action;
+import org.hibernate.tool.schema.spi.SchemaFilter;
+import org.hibernate.tool.schema.spi.SchemaFilterProvider;
+import org.hibernate.tool.schema.spi.SchemaManagementToolCoordinator;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Prepares the borrower table of every shard at startup.
+ * <p>
+ * Hibernate only manages the schema of the primary database. This component applies the same
+ * {@code ddl-auto} action to the borrower and outbox tables of every further shard, and then makes the identity
+ * column of each shard hand out only the ids the shard owns, see {@link BorrowerShardRouter}. Both steps
+ * are skipped when the application runs on a single database.
+ * </p>
+ * <p>
+ * When {@code ddl-auto} creates missing schema objects, it also creates the partial unique indexes of the
+ * borrower table on every shard, including the primary database, which JPA mappings cannot declare.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+@Component
+@Slf4j
+public class ShardSchemaManager implements Integrator, HibernatePropertiesCustomizer, SmartInitializingSingleton {
+
+    /**
+     * The unique indexes of the borrower table by name, with their columns. They only cover the rows not
+     * deleted, so a tombstone does not block a new borrower with the name or email of a deleted one.
+     */
+    private static final Map<String, String> LIVE_UNIQUE_INDEXES = Map.of(
+            "uk_borrower_branch_live_name", "branch_id, name",
+            "uk_borrower_branch_live_email", "branch_id, email");
+
+    /**
+     * The unique constraints of earlier versions, which covered the tombstones as well.
+     */
+    private static final List<String> LEGACY_UNIQUE_CONSTRAINTS = List.of("uk_borrower_branch_name", "uk_borrower_branch_email");
+
+    /**
+     * The {@code ddl-auto} actions that create missing schema objects.
+     */
+    private static final Set<Action> SCHEMA_CREATING_ACTIONS = EnumSet.of(Action.CREATE, Action.CREATE_ONLY,
+            Action.CREATE_DROP, Action.UPDATE);
+
+    @Autowired
+    private ShardRoutingDataSource dataSource;
+
+    private Metadata metadata;
+
+    private ServiceRegistry serviceRegistry;
+
+    private Map<String, Object> settings;
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(JpaSettings.INTEGRATOR_PROVIDER, (IntegratorProvider) () -> List.of(this));
+    }
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+        this.metadata = metadata;
+        this.serviceRegistry = sessionFactory.getServiceRegistry();
+        this.settings = sessionFactory.getProperties();
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (metadata == null) {
+            return;
+        }
+
+        Table table = metadata.getEntityBinding(Borrower.class.getName()).getTable();
+        if (dataSource.getShardCount() > 1) {
+            Set<String> tableNames = Stream.of(Borrower.class, OutboxEvent.class)
+                    .map(entity -> metadata.getEntityBinding(entity.getName()).getTable().getName())
+                    .collect(Collectors.toSet());
+            Map<String, Object> shardSettings = new HashMap<>(settings);
+            shardSettings.put(SchemaToolingSettings.HBM2DDL_FILTER_PROVIDER, new ShardTableFilterProvider(tableNames));
+            for (int shard = 1; shard < dataSource.getShardCount(); shard++) {
+                try (ShardContext.Scope scope = ShardContext.open(shard)) {
+                    SchemaManagementToolCoordinator.process(metadata, serviceRegistry, shardSettings, action -> { });
+                }
+            }
+            alignIdentities(table.getName());
+        }
+        if (SCHEMA_CREATING_ACTIONS.contains(Action.interpretHbm2ddlSetting(settings.get(SchemaToolingSettings.HBM2DDL_AUTO)))) {
+            createLiveUniqueIndexes(table.getName());
+        }
+    }
+
+    /**
+     * Creates the unique indexes of the borrower table on every shard, limited to the rows not deleted, and
+     * drops the unique constraints that covered the tombstones as well.
+     * <p>
+     * Only PostgreSQL supports partial indexes; on other databases the table is left alone and a warning is
+     * logged. The indexes are created before the old constraints are dropped, so uniqueness holds throughout.
+     * </p>
+     *
+     * @param tableName the name of the borrower table
+     */
+    void createLiveUniqueIndexes(String tableName) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        for (int shard = 0; shard < dataSource.getShardCount(); shard++) {
+            try (ShardContext.Scope scope = ShardContext.open(shard)) {
+                String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                        connection.getMetaData().getDatabaseProductName());
+                if (!"PostgreSQL".equals(database)) {
+                    log.warn("Partial indexes are not supported, borrower names and emails are not unique, shard:{}, database:{}",
+                            shard, database);
+                    continue;
+                }
+
+                LIVE_UNIQUE_INDEXES.forEach((indexName, columns) -> jdbcTemplate.execute("create unique index if not exists "
+                        + indexName + " on " + tableName + " (" + columns + ") where deleted = false"));
+                LEGACY_UNIQUE_CONSTRAINTS.forEach(constraintName -> jdbcTemplate.execute("alter table " + tableName
+                        + " drop constraint if exists " + constraintName));
+            }
+        }
+    }
+
+    /**
+     * Makes the identity column of the given table hand out, on shard {@code k} of {@code n}, only ids
+     * congruent to {@code k} modulo {@code n}, continuing after the highest existing id.
+     * <p>
+     * Shards already stepping by the shard count are left alone. Rows of the wrong residue, left over from
+     * a time with another shard count, are reported: they are not reachable until moved to their shard.
+     * </p>
+     *
+     * @param tableName the name of the table with an {@code id} identity column
+     */
+    void alignIdentities(String tableName) {
+        int shardCount = dataSource.getShardCount();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        for (int shard = 0; shard < shardCount; shard++) {
+            try (ShardContext.Scope scope = ShardContext.open(shard)) {
+                String increment = jdbcTemplate.queryForObject("select max(identity_increment) from information_schema.columns "
+                        + "where lower(table_name) = ? and lower(column_name) = 'id'", String.class, tableName);
+                if (increment != null && Long.parseLong(increment) == shardCount) {
+                    continue;
+                }
+
+                long maxId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from " + tableName, Long.class);
+                long restartWith = maxId + 1 + Math.floorMod(shard - (maxId + 1), (long) shardCount);
+                jdbcTemplate.execute("alter table " + tableName + " alter column id set increment by " + shardCount);
+                jdbcTemplate.execute("alter table " + tableName + " alter column id restart with " + restartWith);
+                log.info("Aligned identity of shard, table:{}, shard:{}, shards:{}, next id:{}",
+                        tableName, shard, shardCount, restartWith);
+
+                long misplaced = jdbcTemplate.queryForObject("select count(*) from " + tableName + " where mod(id, ?) <> ?",
+                        Long.class, shardCount, shard);
+                if (misplaced > 0) {
+                    log.warn("Rows stored on the wrong shard must be moved, table:{}, shard:{}, rows:{}",
+                            tableName, shard, misplaced);
+                }
+            }
+        }
+    }
+
+    /**
+     * Schema filter limiting the schema tooling to the tables stored on every shard.
+     */
+    private record ShardTableFilterProvider(Set<String> tableNames) implements SchemaFilterProvider, SchemaFilter {
+
+        @Override
+        public boolean includeNamespace(Namespace namespace) {
+            return true;
+        }
+
+        @Override
+        public boolean includeTable(Table candidate) {
+            return tableNames.contains(candidate.getName());
+        }
+
+        @Override
+        public boolean includeSequence(Sequence sequence) {
+            return false;
+        }
+
+        @Override
+        public SchemaFilter getCreateFilter() {
+            return this;
+        }
+
+        @Override
+        public SchemaFilter getDropFilter() {
+            return this;
+        }
+
+        @Override
+        public SchemaFilter getTruncatorFilter() {
+            return this;
+        }
+
+        @Override
+        public SchemaFilter getMigrateFilter() {
+            return this;
+        }
+
+        @Override
+        public SchemaFilter getValidateFilter() {
+            return this;
+        }
+    }
+}
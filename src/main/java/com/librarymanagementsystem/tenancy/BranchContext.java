@@ -0,0 +1,81 @@
+package com.librarymanagementsystem.tenancy;
+
+import java.util.regex.Pattern;
+
+/**
+ * Holder of the library branch the current thread works for.
+ * <p>
+ * The branch of a web request is bound by {@link BranchFilter}. Background work on behalf of a branch,
+ * such as an import job, binds it explicitly with {@link #open(String)}. Threads without a
+ * bound branch, such as scheduled jobs, work on all branches.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+public final class BranchContext {
+
+    private static final Pattern BRANCH_ID = Pattern.compile("[A-Za-z0-9_-]{1,32}");
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private BranchContext() {
+    }
+
+    /**
+     * @return the branch bound to the current thread, or {@code null} if the thread works on all branches
+     */
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds the given branch to the current thread until the returned scope is closed, which restores
+     * the previous binding.
+     * <p>
+     * Typical usage example:
+     * <pre>
+     *     try (BranchContext.Scope scope = BranchContext.open(branchId)) {
+     *         ...
+     *     }
+     * </pre>
+     * </p>
+     *
+     * @param branchId the branch to bind
+     * @return the scope of the binding
+     */
+    public static Scope open(String branchId) {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(branchId);
+        return scope;
+    }
+
+    /**
+     * @param branchId a branch id received from a client
+     * @return {@code true} if the id is 1 to 32 letters, digits, {@code -} or {@code _}
+     */
+    public static boolean isValid(String branchId) {
+        return branchId != null && BRANCH_ID.matcher(branchId).matches();
+    }
+
+    /**
+     * Binding of a branch to the current thread, undone by {@link #close()}.
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private final String previous;
+
+        private Scope(String previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.librarymanagementsystem.tenancy;
+
+import com.librarymanagementsystem.exception.BadRequestException;
+import com.librarymanagementsystem.exception.ErrorCode;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.io.IOException;
+
+/**
+ * Servlet filter binding the branch of every request to the {@link BranchContext}.
+ * <p>
+ * The branch is taken from the {@code library-system.branch.header} header, {@code X-Branch-Id} by
+ * default, and falls back to {@code library-system.branch.default-branch} when the header is absent.
+ * The filter runs before the persistence context of the request is opened, so every query of the
+ * request is scoped to the branch. An invalid branch id is answered with a {@code 400} error body.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class BranchFilter extends OncePerRequestFilter {
+
+    @Autowired
+    @Qualifier("handlerExceptionResolver")
+    private HandlerExceptionResolver exceptionResolver;
+
+    // Request header naming the branch.
+    @Value("${library-system.branch.header:X-Branch-Id}")
+    private String header = "X-Branch-Id";
+
+    // Branch of requests without the header.
+    @Value("${library-system.branch.default-branch:main}")
+    private String defaultBranch = "main";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String branchId = request.getHeader(header);
+        if (branchId == null) {
+            branchId = defaultBranch;
+        } else if (!BranchContext.isValid(branchId)) {
+            exceptionResolver.resolveException(request, response, null, new BadRequestException(ErrorCode.INVALID_BRANCH));
+            return;
+        }
+        try (BranchContext.Scope scope = BranchContext.open(branchId)) {
+            chain.doFilter(request, response);
+        }
+    }
+}
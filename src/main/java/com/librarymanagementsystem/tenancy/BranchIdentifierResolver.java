@@ -0,0 +1,50 @@
+package com.librarymanagementsystem.tenancy;
+
+import org.hibernate.cfg.MultiTenancySettings;
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Hibernate tenant resolver scoping every session to the branch of the {@link BranchContext}.
+ * <p>
+ * {@code Book} and {@code Borrower} carry their branch in a {@code @TenantId} column, so Hibernate adds
+ * the branch to every entity, JPQL and criteria query and sets it on every new row. Sessions opened
+ * without a bound branch, as by scheduled jobs, use the {@link #ALL_BRANCHES} root tenant, which
+ * Hibernate does not restrict.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+@Component
+public class BranchIdentifierResolver implements CurrentTenantIdentifierResolver<String>, HibernatePropertiesCustomizer {
+
+    /**
+     * Tenant identifier of sessions working on all branches.
+     */
+    public static final String ALL_BRANCHES = "*";
+
+    @Override
+    public String resolveCurrentTenantIdentifier() {
+        String branchId = BranchContext.current();
+        return branchId != null ? branchId : ALL_BRANCHES;
+    }
+
+    @Override
+    public boolean validateExistingCurrentSessions() {
+        return false;
+    }
+
+    @Override
+    public boolean isRoot(String tenantId) {
+        return ALL_BRANCHES.equals(tenantId);
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(MultiTenancySettings.MULTI_TENANT_IDENTIFIER_RESOLVER, this);
+    }
+}
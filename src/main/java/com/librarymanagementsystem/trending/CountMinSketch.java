@@ -0,0 +1,84 @@
+package com.librarymanagementsystem.trending;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-Min sketch of {@code long} keys.
+ * <p>
+ * The sketch is a fixed {@code depth x width} table of counters; a key increments one counter per row
+ * and its count is estimated as the minimum of those counters. The estimate never undercounts and
+ * overcounts by at most {@code e * N / width} with probability {@code 1 - e^-depth}, where {@code N} is
+ * the total number of increments. Memory does not depend on the number of distinct keys. Counters are
+ * updated with atomic increments, so the sketch can be fed from many threads without locking.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+public final class CountMinSketch {
+
+    private final int depth;
+
+    private final int mask;
+
+    private final AtomicLongArray counters;
+
+    /**
+     * @param width the number of counters per row, rounded up to a power of two
+     * @param depth the number of rows
+     */
+    public CountMinSketch(int width, int depth) {
+        if (width < 1 || depth < 1) {
+            throw new IllegalArgumentException("Sketch width and depth must be positive");
+        }
+        int roundedWidth = Integer.highestOneBit(width) == width ? width : Integer.highestOneBit(width) << 1;
+        this.depth = depth;
+        this.mask = roundedWidth - 1;
+        this.counters = new AtomicLongArray(roundedWidth * depth);
+    }
+
+    /**
+     * Counts one occurrence of the given key.
+     *
+     * @param key the key
+     * @return the estimated count of the key after the increment
+     */
+    public long add(long key) {
+        long hash = mix(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            long count = counters.incrementAndGet(index(row, h1, h2));
+            estimate = Math.min(estimate, count);
+        }
+        return estimate;
+    }
+
+    /**
+     * @param key the key
+     * @return the estimated count of the key
+     */
+    public long estimate(long key) {
+        long hash = mix(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(index(row, h1, h2)));
+        }
+        return estimate;
+    }
+
+    // Row hashes are derived from two halves of one 64-bit hash (Kirsch-Mitzenmacher).
+    private int index(int row, int h1, int h2) {
+        return row * (mask + 1) + ((h1 + row * h2) & mask);
+    }
+
+    private static long mix(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        hash ^= hash >>> 32;
+        hash *= 0xD6E8FEB86659FD93L;
+        return hash ^ (hash >>> 32);
+    }
+}
@@ -0,0 +1,25 @@
+package com.librarymanagementsystem.trending;
+
+import lombok.Value;
+
+/**
+ * A frequently borrowed book with its estimated number of borrows in a window.
+ * <p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ * </p>
+ */
+@Value
+public class HeavyHitter {
+
+    /**
+     * The id of the book.
+     */
+    long bookId;
+
+    /**
+     * The estimated number of borrows; never lower than the actual number.
+     */
+    long count;
+}
@@ -0,0 +1,150 @@
+package com.librarymanagementsystem.trending;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Sliding window of heavy hitters, made of a ring of time buckets.
+ * <p>
+ * Each bucket holds a {@link CountMinSketch} and a bounded set of top candidates, so the memory of a
+ * window is fixed regardless of the number of distinct keys. A bucket is identified by its epoch,
+ * the number of bucket lengths since the Unix epoch. When a key is recorded into a slot that still
+ * holds an expired bucket, a new bucket is swapped in with a compare-and-set; recording threads never
+ * wait for a rotation, and increments that race with it may be lost, which the approximate counts
+ * tolerate.
+ * </p>
+ * <p>
+ * The top keys of the window are the candidates of all live buckets, ranked by the sum of their
+ * per-bucket estimates.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+public class HeavyHitterWindow {
+
+    private final long bucketMillis;
+
+    private final int sketchWidth;
+
+    private final int sketchDepth;
+
+    private final int candidates;
+
+    private final AtomicReferenceArray<Bucket> buckets;
+
+    /**
+     * @param window      the time window to cover
+     * @param sketchWidth the number of counters per sketch row
+     * @param sketchDepth the number of sketch rows
+     * @param candidates  the number of top candidates kept per bucket
+     */
+    public HeavyHitterWindow(TrendingWindow window, int sketchWidth, int sketchDepth, int candidates) {
+        this.bucketMillis = window.getBucketLength().toMillis();
+        this.sketchWidth = sketchWidth;
+        this.sketchDepth = sketchDepth;
+        this.candidates = candidates;
+        this.buckets = new AtomicReferenceArray<>(window.getBuckets());
+    }
+
+    /**
+     * Records one occurrence of the given key.
+     *
+     * @param key        the key
+     * @param nowMillis  the current time in milliseconds since the Unix epoch
+     */
+    public void record(long key, long nowMillis) {
+        long epoch = nowMillis / bucketMillis;
+        int slot = (int) (epoch % buckets.length());
+        Bucket bucket = buckets.get(slot);
+        while (bucket == null || bucket.epoch < epoch) {
+            Bucket fresh = new Bucket(epoch, new CountMinSketch(sketchWidth, sketchDepth));
+            if (buckets.compareAndSet(slot, bucket, fresh)) {
+                bucket = fresh;
+            } else {
+                bucket = buckets.get(slot);
+            }
+        }
+        if (bucket.epoch == epoch) {
+            bucket.offer(key, bucket.sketch.add(key), candidates);
+        }
+    }
+
+    /**
+     * Returns the keys with the highest estimated counts in the window.
+     *
+     * @param limit      the maximum number of keys
+     * @param nowMillis  the current time in milliseconds since the Unix epoch
+     * @return the heavy hitters, highest count first
+     */
+    public List<HeavyHitter> top(int limit, long nowMillis) {
+        long epoch = nowMillis / bucketMillis;
+        List<Bucket> live = new ArrayList<>(buckets.length());
+        Set<Long> keys = new HashSet<>();
+        for (int slot = 0; slot < buckets.length(); slot++) {
+            Bucket bucket = buckets.get(slot);
+            if (bucket != null && bucket.epoch > epoch - buckets.length() && bucket.epoch <= epoch) {
+                live.add(bucket);
+                keys.addAll(bucket.candidateKeys());
+            }
+        }
+
+        List<HeavyHitter> hitters = new ArrayList<>(keys.size());
+        for (Long key : keys) {
+            long count = 0;
+            for (Bucket bucket : live) {
+                count += bucket.sketch.estimate(key);
+            }
+            hitters.add(new HeavyHitter(key, count));
+        }
+        hitters.sort(Comparator.comparingLong(HeavyHitter::getCount).reversed()
+                .thenComparingLong(HeavyHitter::getBookId));
+        return hitters.size() > limit ? new ArrayList<>(hitters.subList(0, limit)) : hitters;
+    }
+
+    /**
+     * One time bucket: a sketch of all keys and the keys with the highest estimates seen so far.
+     */
+    private static final class Bucket {
+
+        private final long epoch;
+
+        private final CountMinSketch sketch;
+
+        // Candidate key -> estimate when last offered; bounded by the candidate capacity.
+        private final Map<Long, Long> top = new HashMap<>();
+
+        private Bucket(long epoch, CountMinSketch sketch) {
+            this.epoch = epoch;
+            this.sketch = sketch;
+        }
+
+        // The candidate set is small, so a linear scan for the minimum is cheaper than maintaining a heap.
+        private synchronized void offer(long key, long count, int capacity) {
+            if (top.containsKey(key) || top.size() < capacity) {
+                top.put(key, count);
+                return;
+            }
+            Map.Entry<Long, Long> min = null;
+            for (Map.Entry<Long, Long> entry : top.entrySet()) {
+                if (min == null || entry.getValue() < min.getValue()) {
+                    min = entry;
+                }
+            }
+            if (count > min.getValue()) {
+                top.remove(min.getKey());
+                top.put(key, count);
+            }
+        }
+
+        private synchronized Set<Long> candidateKeys() {
+            return new HashSet<>(top.keySet());
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.librarymanagementsystem.trending;
+
+import com.librarymanagementsystem.event.BookEvent;
+import com.librarymanagementsystem.event.BookEventType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks the most borrowed books of every library branch over the last hour, day and week.
+ * <p>
+ * Every committed {@link BookEventType#BORROWED} event is recorded into one {@link HeavyHitterWindow}
+ * per {@link TrendingWindow} of the branch of the book. Each branch has its own sketches and candidates,
+ * so the borrows of a large branch never push the books of a small branch out of its ranking. The
+ * memory used per branch is fixed by the sketch size and the number of candidates, regardless of the
+ * size of the catalog, and no loan history is queried to rank the books.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+@Component
+public class TrendingBooks {
+
+    // Number of counters per sketch row.
+    @Value("${library-system.trending.sketch-width:2048}")
+    private int sketchWidth = 2048;
+
+    // Number of sketch rows.
+    @Value("${library-system.trending.sketch-depth:4}")
+    private int sketchDepth = 4;
+
+    // Number of top candidates kept per time bucket; the most that can be listed for a window.
+    @Value("${library-system.trending.candidates:100}")
+    private int candidates = 100;
+
+    private final Map<String, Map<TrendingWindow, HeavyHitterWindow>> branches = new ConcurrentHashMap<>();
+
+    /**
+     * Records a borrow of the given book in every window of its branch.
+     *
+     * @param branchId the branch of the borrowed book
+     * @param bookId   the id of the borrowed book
+     */
+    public void recordBorrow(String branchId, long bookId) {
+        long now = System.currentTimeMillis();
+        for (HeavyHitterWindow window : branches.computeIfAbsent(branchId, this::createWindows).values()) {
+            window.record(bookId, now);
+        }
+    }
+
+    /**
+     * Returns the most borrowed books of the given branch and window.
+     *
+     * @param branchId the branch
+     * @param window   the time window
+     * @param limit    the maximum number of books
+     * @return the most borrowed books, highest count first
+     */
+    public List<HeavyHitter> top(String branchId, TrendingWindow window, int limit) {
+        Map<TrendingWindow, HeavyHitterWindow> windows = branches.get(branchId);
+        if (windows == null) {
+            return List.of();
+        }
+        return windows.get(window).top(limit, System.currentTimeMillis());
+    }
+
+    /**
+     * @return the number of top candidates kept per time bucket
+     */
+    public int getCandidates() {
+        return candidates;
+    }
+
+    /**
+     * Records the borrowed book of a committed borrow.
+     *
+     * @param event the book change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookEvent(BookEvent event) {
+        if (event.getType() == BookEventType.BORROWED) {
+            recordBorrow(event.getBook().getBranchId(), event.getBook().getId());
+        }
+    }
+
+    private Map<TrendingWindow, HeavyHitterWindow> createWindows(String branchId) {
+        Map<TrendingWindow, HeavyHitterWindow> windows = new EnumMap<>(TrendingWindow.class);
+        for (TrendingWindow window : TrendingWindow.values()) {
+            windows.put(window, new HeavyHitterWindow(window, sketchWidth, sketchDepth, candidates));
+        }
+        return windows;
+    }
+}
@@ -0,0 +1,53 @@
+package com.librarymanagementsystem.trending;
+
+import java.time.Duration;
+
+/**
+ * The time windows for which trending books are tracked.
+ * <p>
+ * Each window is covered by a ring of fixed-length buckets, so it slides forward one bucket at a time.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+public enum TrendingWindow {
+
+    /**
+     * The last hour, in 5 minute buckets.
+     */
+    HOUR(Duration.ofMinutes(5), 12),
+
+    /**
+     * The last day, in 1 hour buckets.
+     */
+    DAY(Duration.ofHours(1), 24),
+
+    /**
+     * The last week, in 1 day buckets.
+     */
+    WEEK(Duration.ofDays(1), 7);
+
+    private final Duration bucketLength;
+
+    private final int buckets;
+
+    TrendingWindow(Duration bucketLength, int buckets) {
+        this.bucketLength = bucketLength;
+        this.buckets = buckets;
+    }
+
+    /**
+     * @return the length of one bucket
+     */
+    public Duration getBucketLength() {
+        return bucketLength;
+    }
+
+    /**
+     * @return the number of buckets covering the window
+     */
+    public int getBuckets() {
+        return buckets;
+    }
+}
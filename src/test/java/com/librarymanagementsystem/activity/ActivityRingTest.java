@@ -0,0 +1,49 @@
+package com.librarymanagementsystem.activity;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+public class ActivityRingTest {
+
+    private static final long MINUTE = Duration.ofMinutes(1).toMillis();
+
+    private static final long NOW = 1_000_000 * MINUTE;
+
+    // Test for counting activity and returning closed buckets
+    @Test
+    void testClosedBuckets() {
+        ActivityRing ring = new ActivityRing(ActivityGranularity.MINUTE);
+        ring.record(ActivityType.BORROWED, 1, NOW);
+        ring.record(ActivityType.BORROWED, 2, NOW + 10);
+        ring.record(ActivityType.RETURNED, 1, NOW + MINUTE);
+
+        List<ActivityRing.Bucket> closed = ring.closedBuckets(NOW + MINUTE);
+
+        Assertions.assertEquals(1, closed.size());
+        Assertions.assertEquals(NOW, closed.get(0).getStartMillis());
+        Assertions.assertEquals(3, closed.get(0).getCount(ActivityType.BORROWED));
+        Assertions.assertEquals(0, closed.get(0).getCount(ActivityType.RETURNED));
+    }
+
+    // Test for reusing a released slot and dropping activity for a slot that was not flushed
+    @Test
+    void testReleaseAndDrop() {
+        ActivityRing ring = new ActivityRing(ActivityGranularity.MINUTE);
+        long nextLap = NOW + ActivityGranularity.MINUTE.getBuckets() * MINUTE;
+        ring.record(ActivityType.CREATED, 1, NOW);
+
+        ring.record(ActivityType.CREATED, 1, nextLap);
+        Assertions.assertEquals(1, ring.getDropped());
+
+        ring.closedBuckets(nextLap).forEach(ring::release);
+        ring.record(ActivityType.CREATED, 5, nextLap);
+        List<ActivityRing.Bucket> closed = ring.closedBuckets(nextLap + MINUTE);
+
+        Assertions.assertEquals(1, closed.size());
+        Assertions.assertEquals(nextLap, closed.get(0).getStartMillis());
+        Assertions.assertEquals(5, closed.get(0).getCount(ActivityType.CREATED));
+    }
+}
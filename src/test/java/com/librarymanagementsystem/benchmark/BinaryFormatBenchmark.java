@@ -0,0 +1,128 @@
+package com.librarymanagementsystem.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.librarymanagementsystem.dto.ApiResponse;
+import com.librarymanagementsystem.dto.BookDto;
+import com.librarymanagementsystem.json.LibraryJsonModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the encodings of the bulk endpoints on a listing of 10,000 books in the full {@link ApiResponse}
+ * envelope, 10% of them borrowed.
+ * <p>
+ * {@code encode} writes the listing to a discarding stream, as the message converter writes to the response;
+ * {@code decode} reads it back into DTOs, as a client would. All formats use the {@link LibraryJsonModule}
+ * like the converters of the application. {@link #main(String[])} prints the payload size of every format
+ * before running the benchmarks; the GC profiler reports the bytes allocated per listing as
+ * {@code gc.alloc.rate.norm}.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinaryFormatBenchmark {
+
+    private static final int BOOKS = 10_000;
+
+    private static final TypeReference<ApiResponse<List<BookDto>>> LISTING = new TypeReference<>() { };
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    private ObjectMapper mapper;
+
+    private ApiResponse<List<BookDto>> listing;
+
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = mapper(format);
+        listing = listing();
+        payload = mapper.writeValueAsBytes(listing);
+    }
+
+    @Benchmark
+    public ObjectMapper encode() throws IOException {
+        mapper.writeValue(OutputStream.nullOutputStream(), listing);
+        return mapper;
+    }
+
+    @Benchmark
+    public ApiResponse<List<BookDto>> decode() throws IOException {
+        return mapper.readValue(payload, LISTING);
+    }
+
+    public static void main(String[] args) throws IOException, RunnerException {
+        ApiResponse<List<BookDto>> listing = listing();
+        for (String format : List.of("json", "cbor", "smile")) {
+            System.out.printf("%-5s %,d bytes%n", format, mapper(format).writeValueAsBytes(listing).length);
+        }
+        new Runner(new OptionsBuilder()
+                .include(BinaryFormatBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+
+    private static ObjectMapper mapper(String format) {
+        ObjectMapper mapper = switch (format) {
+            case "cbor" -> CBORMapper.builder().build();
+            case "smile" -> SmileMapper.builder().build();
+            default -> JsonMapper.builder().build();
+        };
+        return mapper.findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .registerModule(new LibraryJsonModule());
+    }
+
+    private static ApiResponse<List<BookDto>> listing() {
+        List<BookDto> books = new ArrayList<>(BOOKS);
+        for (long id = 1; id <= BOOKS; id++) {
+            boolean borrowed = id % 10 == 0;
+            books.add(BookDto.builder()
+                    .id(id)
+                    .author("Author " + id % 500)
+                    .title("Java clean architecture, volume " + id)
+                    .isbn(String.valueOf(9780130000000L + id))
+                    .dueDate(borrowed ? LocalDateTime.of(2024, 6, 1, 10, 15).plusMinutes(id) : null)
+                    .overdue(borrowed ? id % 20 == 0 : null)
+                    .fineAmount(borrowed && id % 20 == 0 ? BigDecimal.valueOf(250, 2) : null)
+                    .version(1L)
+                    .build());
+        }
+        return ApiResponse.of(null, "Books retrieved successfully", books);
+    }
+}
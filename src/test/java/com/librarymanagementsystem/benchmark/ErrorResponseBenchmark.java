@@ -0,0 +1,71 @@
+package com.librarymanagementsystem.benchmark;
+
+import com.librarymanagementsystem.dto.ErrorDto;
+import com.librarymanagementsystem.exception.ErrorCode;
+import com.librarymanagementsystem.exception.GlobalExceptionHandler;
+import com.librarymanagementsystem.exception.NotFoundException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time and allocation of producing a 404 error body for a missing book.
+ * <p>
+ * {@code legacyNotFound} reproduces the former path, a stack-trace capturing exception with a
+ * concatenated message and a new {@link ErrorDto} per response; {@code notFound} is the current path
+ * through {@link GlobalExceptionHandler}. Run {@link #main(String[])} from the test classpath; the GC
+ * profiler reports the bytes allocated per response as {@code gc.alloc.rate.norm}.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ErrorResponseBenchmark {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    private long bookId = 12345L;
+
+    @Benchmark
+    public ErrorDto legacyNotFound() {
+        try {
+            throw new RuntimeException("Book not found with id: " + bookId++);
+        } catch (RuntimeException e) {
+            return ErrorDto.builder().message(e.getMessage()).build();
+        }
+    }
+
+    @Benchmark
+    public ErrorDto notFound() {
+        try {
+            throw new NotFoundException(ErrorCode.BOOK_NOT_FOUND, bookId++);
+        } catch (NotFoundException e) {
+            return handler.handleNotFoundException(e);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ErrorResponseBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
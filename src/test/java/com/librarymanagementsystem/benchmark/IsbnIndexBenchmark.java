@@ -0,0 +1,124 @@
+package com.librarymanagementsystem.benchmark;
+
+import com.librarymanagementsystem.catalog.LongMultiMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.ref.Reference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Measures ISBN lookups and the memory per entry of the ISBN index of the catalog.
+ * <p>
+ * {@code boxedLookup} reads a {@code HashMap<Long, List<Long>>}, the straightforward index;
+ * {@code primitiveLookup} reads the {@link LongMultiMap} used by the catalog. Both hold one million
+ * ISBN-13 keys with one book id each. Run {@link #main(String[])} from the test classpath: it first prints
+ * the retained heap per entry of both structures, then runs the benchmarks, where the GC profiler reports
+ * the bytes allocated per lookup as {@code gc.alloc.rate.norm}.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IsbnIndexBenchmark {
+
+    private static final int ENTRIES = 1_000_000;
+
+    // First ISBN-13 of the benchmark; the keys are consecutive, like the ISBNs of a publisher.
+    private static final long FIRST_KEY = 9780130000000L;
+
+    private Map<Long, List<Long>> boxed;
+
+    private LongMultiMap primitive;
+
+    private long next;
+
+    @Setup
+    public void setUp() {
+        boxed = boxedIndex();
+        primitive = primitiveIndex();
+    }
+
+    @Benchmark
+    public long boxedLookup() {
+        List<Long> ids = boxed.get(nextKey());
+        return ids != null ? ids.get(0) : 0;
+    }
+
+    @Benchmark
+    public long primitiveLookup() {
+        long[] found = {0};
+        primitive.forEach(nextKey(), id -> found[0] = id);
+        return found[0];
+    }
+
+    private long nextKey() {
+        next = (next + 7919) % ENTRIES;
+        return FIRST_KEY + next;
+    }
+
+    private static Map<Long, List<Long>> boxedIndex() {
+        Map<Long, List<Long>> index = new HashMap<>();
+        for (long i = 0; i < ENTRIES; i++) {
+            List<Long> ids = new ArrayList<>(1);
+            ids.add(i + 1);
+            index.put(FIRST_KEY + i, ids);
+        }
+        return index;
+    }
+
+    private static LongMultiMap primitiveIndex() {
+        LongMultiMap index = new LongMultiMap(16);
+        for (long i = 0; i < ENTRIES; i++) {
+            index.put(FIRST_KEY + i, i + 1);
+        }
+        return index;
+    }
+
+    /**
+     * @return the heap retained by the built structure, per entry
+     */
+    private static long retainedBytesPerEntry(Supplier<Object> build) {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long before = runtime.totalMemory() - runtime.freeMemory();
+        Object index = build.get();
+        System.gc();
+        long after = runtime.totalMemory() - runtime.freeMemory();
+        Reference.reachabilityFence(index);
+        return (after - before) / ENTRIES;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        System.out.println("HashMap<Long, List<Long>> bytes/entry: " + retainedBytesPerEntry(IsbnIndexBenchmark::boxedIndex));
+        System.out.println("LongMultiMap bytes/entry: " + retainedBytesPerEntry(IsbnIndexBenchmark::primitiveIndex)
+                + " (estimated " + primitiveIndex().sizeInBytes() / ENTRIES + ")");
+        new Runner(new OptionsBuilder()
+                .include(IsbnIndexBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,106 @@
+package com.librarymanagementsystem.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.librarymanagementsystem.dto.ApiResponse;
+import com.librarymanagementsystem.dto.BookDto;
+import com.librarymanagementsystem.json.LibraryJsonModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the serialization of a listing of 10,000 books in the full {@link ApiResponse} envelope.
+ * <p>
+ * {@code reflective} uses Jackson's bean serializers; {@code specialized} adds the {@link LibraryJsonModule}.
+ * Both write UTF-8 to a discarding stream, as the message converter writes to the response, and produce
+ * the same bytes. {@code borrowedPercent} sets the share of borrowed books, which carry a due date and,
+ * for every second one, a fine: 10 for a catalog listing, 100 for the books of a borrower. Run {@link #main(String[])}
+ * from the test classpath; the GC profiler reports the bytes allocated per listing as
+ * {@code gc.alloc.rate.norm}.
+ * </p>
+ * Author: Gajendrasinh Zala
+ * Email: gajendrasinh.zala93@gmail.com
+ * Github: https://github.com/Gajendrasinh
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    private static final int BOOKS = 10_000;
+
+    private final ObjectMapper reflective = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private final ObjectMapper specialized = reflective.copy().registerModule(new LibraryJsonModule());
+
+    @Param({"10", "100"})
+    private int borrowedPercent;
+
+    private ApiResponse<List<BookDto>> listing;
+
+    @Setup
+    public void setUp() {
+        List<BookDto> books = new ArrayList<>(BOOKS);
+        for (long id = 1; id <= BOOKS; id++) {
+            boolean borrowed = id % 100 < borrowedPercent;
+            books.add(BookDto.builder()
+                    .id(id)
+                    .author("Author " + id % 500)
+                    .title("Java clean architecture, volume " + id)
+                    .isbn(String.valueOf(9780130000000L + id))
+                    .dueDate(borrowed ? LocalDateTime.of(2024, 6, 1, 10, 15).plusMinutes(id) : null)
+                    .overdue(borrowed ? id % 2 == 0 : null)
+                    .fineAmount(borrowed && id % 2 == 0 ? BigDecimal.valueOf(250, 2) : null)
+                    .version(1L)
+                    .build());
+        }
+        listing = ApiResponse.of(null, "Books retrieved successfully", books);
+    }
+
+    @Benchmark
+    public ObjectMapper reflective() throws IOException {
+        reflective.writeValue(OutputStream.nullOutputStream(), listing);
+        return reflective;
+    }
+
+    @Benchmark
+    public ObjectMapper specialized() throws IOException {
+        specialized.writeValue(OutputStream.nullOutputStream(), listing);
+        return specialized;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JsonSerializationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
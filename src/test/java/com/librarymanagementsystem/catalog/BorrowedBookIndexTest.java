@@ -0,0 +1,63 @@
+package com.librarymanagementsystem.catalog;
+
+import com.librarymanagementsystem.event.BookEvent;
+import com.librarymanagementsystem.event.BookEventType;
+import com.librarymanagementsystem.repository.BookRepository;
+import com.librarymanagementsystem.repository.projection.BookBranchView;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@ExtendWith(MockitoExtension.class)
+public class BorrowedBookIndexTest {
+
+    @InjectMocks
+    private BorrowedBookIndex index;
+
+    @Mock
+    private BookRepository bookRepository;
+
+    // Test for borrowedIds method listing only the borrowed books of the given branch
+    @Test
+    void testBorrowedIdsByBranch() {
+        Mockito.when(bookRepository.findBorrowedIdsWithBranch(Mockito.eq(0L), Mockito.any()))
+                .thenReturn(List.of(getView(3L, "north"), getView(5L, "south"), getView(8L, "north")));
+        index.build();
+
+        index.onBookEvent(new BookEvent(BookEventType.BORROWED, getRecord(2L, "south"), 1L));
+        index.onBookEvent(new BookEvent(BookEventType.RETURNED, getRecord(8L, "north"), 1L));
+
+        Assertions.assertEquals(List.of(3L), index.borrowedIds("north"));
+        Assertions.assertEquals(List.of(2L, 5L), index.borrowedIds("south"));
+        Assertions.assertEquals(List.of(), index.borrowedIds("east"));
+        Assertions.assertEquals(List.of(2L, 3L, 5L), index.borrowedIds(null));
+        Assertions.assertTrue(index.isBorrowed(5L));
+        Assertions.assertFalse(index.isBorrowed(8L));
+        Assertions.assertEquals(3, index.cardinality());
+    }
+
+    private BookBranchView getView(Long id, String branchId) {
+        return new BookBranchView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getBranchId() {
+                return branchId;
+            }
+        };
+    }
+
+    private BookRecord getRecord(Long id, String branchId) {
+        return new BookRecord(id, "9780132350884", "Clean Code", "Robert Martin", null, LocalDateTime.now(), branchId, 1L);
+    }
+}
@@ -0,0 +1,59 @@
+package com.librarymanagementsystem.catalog;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class CatalogSnapshotFileTest {
+
+    @TempDir
+    Path tempDir;
+
+    // Test for writing and reading a snapshot file
+    @Test
+    void testWriteAndRead() throws IOException {
+        Path file = tempDir.resolve("catalog.snapshot");
+        LocalDateTime snapshotTime = LocalDateTime.of(2024, 6, 1, 10, 15, 30, 123456000);
+        List<BookRecord> records = List.of(
+                getBookRecord(1L, null, LocalDateTime.of(2024, 5, 1, 8, 0), 3L),
+                getBookRecord(2L, 67890L, null, null));
+
+        long written = CatalogSnapshotFile.write(file, records, snapshotTime);
+
+        List<BookRecord> read = new ArrayList<>();
+        LocalDateTime readTime = CatalogSnapshotFile.read(file, read::add);
+
+        Assertions.assertEquals(2, written);
+        Assertions.assertEquals(snapshotTime, readTime);
+        Assertions.assertEquals(records, read);
+    }
+
+    // Test for reading a file that is not a snapshot
+    @Test
+    void testReadInvalidFile() throws IOException {
+        Path file = tempDir.resolve("catalog.snapshot");
+        Files.write(file, new byte[32]);
+
+        Assertions.assertThrows(IOException.class, () -> CatalogSnapshotFile.read(file, record -> { }));
+    }
+
+    private BookRecord getBookRecord(Long id, Long borrowerId, LocalDateTime lastUpdated, Long version) {
+        return BookRecord.builder()
+                .id(id)
+                .isbn("978-0-13-468599-1")
+                .title("Java clean architecture")
+                .author("Gajendrasinh Zala")
+                .borrowerId(borrowerId)
+                .lastUpdated(lastUpdated)
+                .branchId("main")
+                .version(version)
+                .build();
+    }
+}
@@ -0,0 +1,77 @@
+package com.librarymanagementsystem.catalog;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class IdBitmapTest {
+
+    // Test for adding, looking up and removing ids
+    @Test
+    void testAddContainsRemove() {
+        IdBitmap bitmap = new IdBitmap();
+
+        Assertions.assertTrue(bitmap.add(7L));
+        Assertions.assertFalse(bitmap.add(7L));
+        Assertions.assertTrue(bitmap.add(1L << 40));
+
+        Assertions.assertTrue(bitmap.contains(7L));
+        Assertions.assertTrue(bitmap.contains(1L << 40));
+        Assertions.assertFalse(bitmap.contains(8L));
+        Assertions.assertEquals(2, bitmap.cardinality());
+
+        Assertions.assertTrue(bitmap.remove(7L));
+        Assertions.assertFalse(bitmap.remove(7L));
+        Assertions.assertFalse(bitmap.contains(7L));
+        Assertions.assertEquals(1, bitmap.cardinality());
+    }
+
+    // Test for converting a chunk to a bitmap container and back when it crosses 4096 ids
+    @Test
+    void testDenseChunk() {
+        IdBitmap bitmap = new IdBitmap();
+        for (long id = 0; id <= IdBitmap.ARRAY_MAX; id++) {
+            bitmap.add(id * 2);
+        }
+        Assertions.assertEquals(IdBitmap.ARRAY_MAX + 1, bitmap.cardinality());
+        Assertions.assertTrue(bitmap.contains(2L * IdBitmap.ARRAY_MAX));
+        Assertions.assertFalse(bitmap.contains(3L));
+
+        bitmap.remove(0L);
+        bitmap.remove(2L);
+
+        Assertions.assertEquals(IdBitmap.ARRAY_MAX - 1, bitmap.cardinality());
+        Assertions.assertFalse(bitmap.contains(2L));
+        Assertions.assertTrue(bitmap.contains(4L));
+        Assertions.assertTrue(bitmap.contains(2L * IdBitmap.ARRAY_MAX));
+    }
+
+    // Test for forEach method passing the ids of all chunks in ascending order
+    @Test
+    void testForEachAscending() {
+        IdBitmap bitmap = new IdBitmap();
+        List<Long> expected = List.of(3L, 65535L, 65536L, 70000L, 5_000_000_000L);
+        for (int i = expected.size() - 1; i >= 0; i--) {
+            bitmap.add(expected.get(i));
+        }
+
+        List<Long> ids = new ArrayList<>();
+        bitmap.forEach(ids::add);
+
+        Assertions.assertEquals(expected, ids);
+    }
+
+    // Test for sizeInBytes method staying far below a boxed set for a million ids
+    @Test
+    void testSizeInBytes() {
+        IdBitmap bitmap = new IdBitmap();
+        for (long id = 1; id <= 1_000_000; id++) {
+            bitmap.add(id * 3);
+        }
+
+        Assertions.assertEquals(1_000_000, bitmap.cardinality());
+        Assertions.assertTrue(bitmap.sizeInBytes() < 1_000_000, "bytes: " + bitmap.sizeInBytes());
+    }
+}
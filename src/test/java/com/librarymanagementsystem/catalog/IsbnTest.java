@@ -0,0 +1,39 @@
+package com.librarymanagementsystem.catalog;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class IsbnTest {
+
+    // Test for toKey method normalizing the hyphenated, plain and ISBN-10 forms to the same key
+    @Test
+    void testToKey() {
+        Assertions.assertEquals(9780134685991L, Isbn.toKey("978-0-13-468599-1"));
+        Assertions.assertEquals(9780134685991L, Isbn.toKey("9780134685991"));
+        Assertions.assertEquals(9780134685991L, Isbn.toKey("0-13-468599-7"));
+        Assertions.assertEquals(9780804429573L, Isbn.toKey("080442957X"));
+        Assertions.assertEquals(9791032305690L, Isbn.toKey("979 10 323 0569 0"));
+    }
+
+    // Test for toKey method rejecting wrong check digits, lengths and characters
+    @Test
+    void testToKeyInvalid() {
+        Assertions.assertEquals(Isbn.INVALID, Isbn.toKey("978-0-13-468599-2"));
+        Assertions.assertEquals(Isbn.INVALID, Isbn.toKey("0-13-468599-8"));
+        Assertions.assertEquals(Isbn.INVALID, Isbn.toKey("X134685997"));
+        Assertions.assertEquals(Isbn.INVALID, Isbn.toKey("881"));
+        Assertions.assertEquals(Isbn.INVALID, Isbn.toKey("1234567890128"));
+        Assertions.assertEquals(Isbn.INVALID, Isbn.toKey("97801346859911"));
+        Assertions.assertEquals(Isbn.INVALID, Isbn.toKey("978-0-13-46859A-1"));
+        Assertions.assertEquals(Isbn.INVALID, Isbn.toKey(null));
+    }
+
+    // Test for toKeyRange method turning the digits of an ISBN-13 prefix into a range of keys
+    @Test
+    void testToKeyRange() {
+        Assertions.assertArrayEquals(new long[]{9780130000000L, 9780140000000L}, Isbn.toKeyRange("978-0-13"));
+        Assertions.assertArrayEquals(new long[]{9780134685991L, 9780134685992L}, Isbn.toKeyRange("9780134685991"));
+        Assertions.assertNull(Isbn.toKeyRange("978-X"));
+        Assertions.assertNull(Isbn.toKeyRange("-"));
+    }
+}
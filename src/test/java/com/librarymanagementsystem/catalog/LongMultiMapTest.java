@@ -0,0 +1,56 @@
+package com.librarymanagementsystem.catalog;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class LongMultiMapTest {
+
+    // Test for mapping one and several ids to a key, and removing them again
+    @Test
+    void testPutGetRemove() {
+        LongMultiMap map = new LongMultiMap(4);
+
+        Assertions.assertTrue(map.put(9780134685991L, 1L));
+        Assertions.assertFalse(map.put(9780134685991L, 1L));
+        Assertions.assertTrue(map.put(9780134685991L, 2L));
+        Assertions.assertTrue(map.put(9780132350884L, 3L));
+
+        Assertions.assertArrayEquals(new long[]{1L, 2L}, map.get(9780134685991L));
+        Assertions.assertArrayEquals(new long[]{3L}, map.get(9780132350884L));
+        Assertions.assertArrayEquals(new long[0], map.get(9780596520687L));
+        Assertions.assertEquals(2, map.size());
+
+        Assertions.assertTrue(map.remove(9780134685991L, 1L));
+        Assertions.assertFalse(map.remove(9780134685991L, 1L));
+        Assertions.assertArrayEquals(new long[]{2L}, map.get(9780134685991L));
+        Assertions.assertTrue(map.remove(9780134685991L, 2L));
+        Assertions.assertFalse(map.containsKey(9780134685991L));
+        Assertions.assertEquals(1, map.size());
+    }
+
+    // Test for growing the table and keeping every key reachable after removals shift entries back
+    @Test
+    void testGrowAndRemoveKeepsProbeSequences() {
+        LongMultiMap map = new LongMultiMap(8);
+        for (long key = 1; key <= 10_000; key++) {
+            map.put(key, key + 1);
+        }
+        for (long key = 1; key <= 10_000; key += 3) {
+            Assertions.assertTrue(map.remove(key, key + 1));
+        }
+
+        for (long key = 1; key <= 10_000; key++) {
+            Assertions.assertEquals((key - 1) % 3 != 0, map.containsKey(key), "key " + key);
+        }
+        Assertions.assertEquals(6666, map.size());
+    }
+
+    // Test for rejecting the reserved key and non-positive ids
+    @Test
+    void testInvalidArguments() {
+        LongMultiMap map = new LongMultiMap(8);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> map.put(0L, 1L));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> map.put(1L, 0L));
+    }
+}
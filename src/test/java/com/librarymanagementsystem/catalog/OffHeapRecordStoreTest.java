@@ -0,0 +1,109 @@
+package com.librarymanagementsystem.catalog;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class OffHeapRecordStoreTest {
+
+    // Test for storing and reading records, including null columns and multi-byte characters
+    @Test
+    void testPutAndRead() {
+        OffHeapRecordStore store = new OffHeapRecordStore(4096);
+        BookRecord available = getBookRecord(1L, null, "Java clean architecture", "main");
+        BookRecord borrowed = BookRecord.builder().id(2L).title("Straße der Bücher – 本").borrowerId(67890L).version(4L).build();
+
+        store.put(available);
+        store.put(borrowed);
+
+        Assertions.assertEquals(available, store.read(1L, BookRecord::copyOf));
+        Assertions.assertEquals(borrowed, store.read(2L, BookRecord::copyOf));
+        Assertions.assertNull(store.read(3L, BookRecord::copyOf));
+        Assertions.assertFalse(store.read(1L, BookRecordView::isBorrowed));
+        Assertions.assertTrue(store.read(2L, BookRecordView::isBorrowed));
+        Assertions.assertTrue(store.<Boolean>read(1L, record -> record.belongsTo("main")));
+        Assertions.assertFalse(store.<Boolean>read(1L, record -> record.belongsTo("mai")));
+        Assertions.assertTrue(store.<Boolean>read(1L, record -> record.belongsTo(null)));
+        Assertions.assertFalse(store.<Boolean>read(2L, record -> record.belongsTo("main")));
+        Assertions.assertEquals(2, store.size());
+    }
+
+    // Test for replacing and removing records
+    @Test
+    void testReplaceAndRemove() {
+        OffHeapRecordStore store = new OffHeapRecordStore(4096);
+        store.put(getBookRecord(1L, null, "Java clean architecture", "main"));
+        store.put(getBookRecord(1L, 67890L, "Java clean architecture, 2nd edition", "main"));
+
+        Assertions.assertEquals(1, store.size());
+        Assertions.assertEquals("Java clean architecture, 2nd edition", store.read(1L, BookRecordView::getTitle));
+        Assertions.assertEquals(67890L, store.read(1L, BookRecordView::getBorrowerId));
+
+        Assertions.assertTrue(store.remove(1L));
+        Assertions.assertFalse(store.remove(1L));
+        Assertions.assertNull(store.read(1L, BookRecordView::getTitle));
+        Assertions.assertEquals(0, store.liveBytes());
+    }
+
+    // Test for compacting the segments once most of their bytes belong to replaced records
+    @Test
+    void testCompaction() {
+        OffHeapRecordStore store = new OffHeapRecordStore(1024);
+        for (int round = 0; round < 50; round++) {
+            for (long id = 1; id <= 20; id++) {
+                store.put(getBookRecord(id, null, "Title " + id + " round " + round, id % 2 == 0 ? "main" : "north"));
+            }
+        }
+
+        Assertions.assertEquals(20, store.size());
+        Assertions.assertTrue(store.offHeapBytes() <= 2 * store.liveBytes() + 2048, "Segments were not compacted");
+        List<String> titles = new ArrayList<>();
+        store.forEach(record -> titles.add(record.getTitle()));
+        Assertions.assertEquals(20, titles.size());
+        Assertions.assertTrue(titles.stream().allMatch(title -> title.endsWith("round 49")));
+        Assertions.assertEquals("north", store.read(7L, BookRecordView::getBranchId));
+    }
+
+    // Test for evacuating the emptiest segments after removals and reusing their numbers for new records
+    @Test
+    void testCompactionAfterRemovals() {
+        OffHeapRecordStore store = new OffHeapRecordStore(1024);
+        for (long id = 1; id <= 200; id++) {
+            store.put(getBookRecord(id, null, "Title " + id, "main"));
+        }
+        long before = store.offHeapBytes();
+        for (long id = 1; id <= 200; id++) {
+            if (id % 10 != 0) {
+                store.remove(id);
+            }
+        }
+        for (long id = 201; id <= 220; id++) {
+            store.put(getBookRecord(id, 67890L, "Title " + id, "north"));
+        }
+
+        Assertions.assertEquals(40, store.size());
+        Assertions.assertTrue(store.offHeapBytes() < before, "Segments were not dropped");
+        Assertions.assertTrue(store.offHeapBytes() <= 2 * store.liveBytes() + 2048, "Segments were not compacted");
+        long[] ids = {10L, 15L, 200L, 220L};
+        List<String> titles = new ArrayList<>();
+        store.forEach(ids, 0, ids.length, record -> titles.add(record.getTitle()));
+        Assertions.assertEquals(List.of("Title 10", "Title 200", "Title 220"), titles);
+        Assertions.assertEquals(67890L, store.read(205L, BookRecordView::getBorrowerId));
+    }
+
+    private BookRecord getBookRecord(Long id, Long borrowerId, String title, String branchId) {
+        return BookRecord.builder()
+                .id(id)
+                .isbn("978-0-13-468599-1")
+                .title(title)
+                .author("Gajendrasinh Zala")
+                .borrowerId(borrowerId)
+                .lastUpdated(LocalDateTime.of(2024, 5, 1, 8, 0, 0, 123456000))
+                .branchId(branchId)
+                .version(2L)
+                .build();
+    }
+}
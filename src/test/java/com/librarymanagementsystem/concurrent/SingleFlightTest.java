@@ -0,0 +1,138 @@
+package com.librarymanagementsystem.concurrent;
+
+import com.librarymanagementsystem.exception.ErrorCode;
+import com.librarymanagementsystem.exception.NotFoundException;
+import com.librarymanagementsystem.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public class SingleFlightTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private static final int CALLERS = 8;
+
+    private final SingleFlight<Long, String> flight = new SingleFlight<>();
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+    private final CountDownLatch loading = new CountDownLatch(1);
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    // Test for load method running one load for concurrent callers of the same key and sharing its result
+    @Test
+    void testConcurrentCallersShareOneLoad() throws Exception {
+        List<Future<String>> results = startCallers(() -> "Java clean architecture");
+
+        release.countDown();
+
+        for (Future<String> result : results) {
+            Assertions.assertEquals("Java clean architecture", result.get(10, TimeUnit.SECONDS));
+        }
+        Assertions.assertEquals(1, loads.get());
+        Assertions.assertEquals(0, flight.inFlight());
+        Assertions.assertEquals("Java clean architecture, 2nd edition",
+                flight.load(1L, TIMEOUT, () -> "Java clean architecture, 2nd edition"));
+    }
+
+    // Test for load method throwing the exception of the shared load to every caller
+    @Test
+    void testFailurePropagatesToEveryCaller() throws Exception {
+        NotFoundException notFound = new NotFoundException(ErrorCode.BOOK_NOT_FOUND, 1L);
+        List<Future<String>> results = startCallers(() -> {
+            throw notFound;
+        });
+
+        release.countDown();
+
+        for (Future<String> result : results) {
+            ExecutionException e = Assertions.assertThrows(ExecutionException.class, () -> result.get(10, TimeUnit.SECONDS));
+            Assertions.assertSame(notFound, e.getCause());
+        }
+        Assertions.assertEquals(1, loads.get());
+        Assertions.assertEquals(0, flight.inFlight());
+    }
+
+    // Test for load method giving up waiting after the timeout while the leader keeps loading
+    @Test
+    void testWaiterTimeout() throws Exception {
+        Future<String> leader = executor.submit(() -> flight.load(1L, TIMEOUT, this::blockingLoad));
+        Assertions.assertTrue(loading.await(10, TimeUnit.SECONDS));
+
+        ServiceUnavailableException e = Assertions.assertThrows(ServiceUnavailableException.class,
+                () -> flight.load(1L, Duration.ofMillis(50), () -> "not loaded"));
+        Assertions.assertEquals(ErrorCode.LOAD_TIMEOUT, e.getErrorCode());
+
+        release.countDown();
+        Assertions.assertEquals("Java clean architecture", leader.get(10, TimeUnit.SECONDS));
+    }
+
+    // Test for forget method letting later callers start a new load instead of joining the one in flight
+    @Test
+    void testForget() throws Exception {
+        Future<String> leader = executor.submit(() -> flight.load(1L, TIMEOUT, this::blockingLoad));
+        Assertions.assertTrue(loading.await(10, TimeUnit.SECONDS));
+
+        flight.forget(1L);
+
+        Assertions.assertEquals("Java clean architecture, 2nd edition",
+                flight.load(1L, TIMEOUT, () -> "Java clean architecture, 2nd edition"));
+        release.countDown();
+        Assertions.assertEquals("Java clean architecture", leader.get(10, TimeUnit.SECONDS));
+        Assertions.assertEquals(0, flight.inFlight());
+    }
+
+    /**
+     * Starts the callers of key 1 and waits until the leader is loading and the others are waiting for it.
+     */
+    private List<Future<String>> startCallers(Supplier<String> result) throws Exception {
+        List<Future<String>> results = new ArrayList<>();
+        results.add(executor.submit(() -> flight.load(1L, TIMEOUT, () -> {
+            blockingLoad();
+            return result.get();
+        })));
+        Assertions.assertTrue(loading.await(10, TimeUnit.SECONDS));
+        for (int i = 1; i < CALLERS; i++) {
+            results.add(executor.submit(() -> flight.load(1L, TIMEOUT, () -> {
+                loads.incrementAndGet();
+                return "not shared";
+            })));
+        }
+        // The waiters cannot be observed joining the flight; give them time to reach it.
+        Thread.sleep(200);
+        return results;
+    }
+
+    private String blockingLoad() {
+        loads.incrementAndGet();
+        loading.countDown();
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "Java clean architecture";
+    }
+}
@@ -0,0 +1,46 @@
+package com.librarymanagementsystem.exception;
+
+import com.librarymanagementsystem.dto.ErrorDto;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+public class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    // Test for returning the pre-built body of an error code
+    @Test
+    void testHandleNotFoundExceptionWithErrorCode() {
+        NotFoundException e = new NotFoundException(ErrorCode.BOOK_NOT_FOUND, 12345L);
+
+        ErrorDto errorDto = handler.handleNotFoundException(e);
+
+        Assertions.assertSame(ErrorCode.BOOK_NOT_FOUND.getErrorBody(), errorDto);
+        Assertions.assertEquals("LMS-1001", errorDto.getCode());
+        Assertions.assertEquals("Book not found with id: 12345", e.getMessage());
+        Assertions.assertEquals(0, e.getStackTrace().length);
+    }
+
+    // Test for building the body of an exception with a free-form message
+    @Test
+    void testHandleBadRequestExceptionWithMessage() {
+        ErrorDto errorDto = handler.handleBadRequestException(new BadRequestException("Unknown field: isbn13"));
+
+        Assertions.assertEquals("LMS-3000", errorDto.getCode());
+        Assertions.assertEquals("Unknown field: isbn13", errorDto.getMessage());
+    }
+
+    // Test for answering a constraint violation with a conflict that does not reveal the SQL
+    @Test
+    void testHandleDataIntegrityViolationException() {
+        DataIntegrityViolationException e = new DataIntegrityViolationException(
+                "could not execute statement [ERROR: duplicate key value violates unique constraint \"uk_borrower_branch_live_email\"]");
+
+        ErrorDto errorDto = handler.handleDataIntegrityViolationException(e);
+
+        Assertions.assertSame(ErrorCode.DATA_CONFLICT.getErrorBody(), errorDto);
+        Assertions.assertEquals("LMS-2005", errorDto.getCode());
+        Assertions.assertFalse(errorDto.getMessage().contains("uk_borrower"));
+    }
+}
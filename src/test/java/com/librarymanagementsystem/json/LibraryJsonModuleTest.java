@@ -0,0 +1,108 @@
+package com.librarymanagementsystem.json;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.librarymanagementsystem.dto.ApiResponse;
+import com.librarymanagementsystem.dto.BookDto;
+import com.librarymanagementsystem.dto.BorrowerDto;
+import com.librarymanagementsystem.dto.ErrorDetailsDto;
+import com.librarymanagementsystem.dto.ErrorDto;
+import com.librarymanagementsystem.dto.KeysetPageDto;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+public class LibraryJsonModuleTest {
+
+    private static final TypeReference<ApiResponse<List<BookDto>>> LISTING = new TypeReference<>() { };
+
+    private final ObjectMapper reflective = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private final ObjectMapper specialized = reflective.copy().registerModule(new LibraryJsonModule());
+
+    // Test for the specialized serializers writing the same JSON as the reflective bean serializers
+    @Test
+    void testSameOutputAsReflectiveSerializers() throws Exception {
+        BookDto borrowed = new BookDto(1L, "Gajendrasinh Zala", "Java \"clean\" architecture", "978-0-13-468599-1",
+                LocalDateTime.of(2024, 6, 1, 10, 15, 30, 123456000), true, new BigDecimal("12.50"), 3L);
+        BookDto available = BookDto.builder().id(2L).title("Straße der Bücher").isbn("9780132350884").version(1L).build();
+        BorrowerDto borrower = new BorrowerDto(3L, "Gajendrasinh Zala", "gajendrasinh.zala93@gmail.com", 2L);
+        ErrorDto error = new ErrorDto("LMS-1001", "Book not found", List.of(new ErrorDetailsDto("title", "Title is a required field")));
+
+        List<Object> values = List.of(
+                borrowed,
+                available,
+                new BookDto(),
+                borrowed.toBuilder().borrowerId(3L).borrower(borrower).build(),
+                borrower,
+                new BorrowerDto(),
+                error,
+                ErrorDto.builder().message("Internal error").build(),
+                new ErrorDto(null, null, Arrays.asList(null, new ErrorDetailsDto(null, null))),
+                ApiResponse.of(null, "Books retrieved successfully", List.of(borrowed, available)),
+                ApiResponse.of(ApiResponse.COMPACT, null, List.of(borrower)),
+                ApiResponse.of(null, "Borrowers retrieved successfully", new KeysetPageDto<>(List.of(borrower), 3L)),
+                ApiResponse.of(null, "Fields retrieved successfully", List.of(Map.of("title", "Java"))),
+                new ApiResponse<>(null, null, null));
+
+        for (Object value : values) {
+            Assertions.assertEquals(reflective.writeValueAsString(value), specialized.writeValueAsString(value));
+        }
+    }
+
+    // Test for the specialized serializers writing the same document in CBOR and Smile as in JSON
+    @Test
+    void testBinaryFormats() throws Exception {
+        BookDto book = new BookDto(1L, "Gajendrasinh Zala", "Java clean architecture", "978-0-13-468599-1",
+                LocalDateTime.of(2024, 6, 1, 10, 15, 30, 123456000), true, new BigDecimal("12.50"), 3L);
+        Object response = ApiResponse.of(null, "Books retrieved successfully", List.of(book, new BookDto()));
+        // CBOR and Smile keep the fine as a decimal, JSON parses it as a double by default.
+        JsonNode json = specialized.readerFor(JsonNode.class)
+                .with(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+                .readValue(specialized.writeValueAsBytes(response));
+
+        for (ObjectMapper binary : List.of(CBORMapper.builder().build(), SmileMapper.builder().build())) {
+            binary.findAndRegisterModules()
+                    .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                    .registerModule(new LibraryJsonModule());
+            byte[] encoded = binary.writeValueAsBytes(response);
+            Assertions.assertEquals(json, binary.readTree(encoded));
+            Assertions.assertEquals(specialized.readValue(specialized.writeValueAsBytes(response), LISTING).getData(),
+                    binary.readValue(encoded, LISTING).getData());
+        }
+    }
+
+    // Test for writing due dates in the ISO-8601 format of the configured LocalDateTime serializer
+    @Test
+    void testDueDateFormat() throws Exception {
+        List<LocalDateTime> dueDates = List.of(
+                LocalDateTime.of(2024, 6, 1, 10, 15),
+                LocalDateTime.of(2024, 12, 31, 23, 59, 59, 100000000),
+                LocalDateTime.of(2024, 1, 9, 0, 0, 1, 918139330),
+                LocalDateTime.of(2024, 1, 9, 0, 0, 1, 1),
+                LocalDateTime.of(999, 1, 1, 0, 0),
+                LocalDateTime.of(12024, 1, 1, 0, 0));
+
+        for (LocalDateTime dueDate : dueDates) {
+            BookDto book = BookDto.builder().id(1L).dueDate(dueDate).build();
+            Assertions.assertEquals(reflective.writeValueAsString(book), specialized.writeValueAsString(book));
+        }
+        ObjectMapper timestamps = specialized.copy().enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        Assertions.assertTrue(timestamps.writeValueAsString(BookDto.builder().dueDate(dueDates.get(0)).build())
+                .contains("\"dueDate\":[2024,6,1,10,15]"));
+    }
+}
@@ -0,0 +1,39 @@
+package com.librarymanagementsystem.logging;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+public class LogSamplerTest {
+
+    // Test for suppressing occurrences beyond the permits of an interval
+    @Test
+    void testSample() {
+        LogSampler sampler = new LogSampler();
+        ReflectionTestUtils.setField(sampler, "permits", 2);
+
+        Assertions.assertEquals(0, sampler.sample("conflict"));
+        Assertions.assertEquals(0, sampler.sample("conflict"));
+        Assertions.assertEquals(-1, sampler.sample("conflict"));
+        Assertions.assertEquals(-1, sampler.sample("conflict"));
+        Assertions.assertEquals(0, sampler.sample("other"));
+    }
+
+    // Test for reporting the suppressed occurrences in the next interval
+    @Test
+    void testSampleReportsSuppressed() {
+        LogSampler sampler = new LogSampler();
+        ReflectionTestUtils.setField(sampler, "permits", 1);
+        ReflectionTestUtils.setField(sampler, "interval", Duration.ZERO);
+        Assertions.assertEquals(0, sampler.sample("conflict"));
+
+        ReflectionTestUtils.setField(sampler, "interval", Duration.ofHours(1));
+        Assertions.assertEquals(-1, sampler.sample("conflict"));
+        Assertions.assertEquals(-1, sampler.sample("conflict"));
+
+        ReflectionTestUtils.setField(sampler, "interval", Duration.ZERO);
+        Assertions.assertEquals(2, sampler.sample("conflict"));
+    }
+}
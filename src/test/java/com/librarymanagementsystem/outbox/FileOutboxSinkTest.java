@@ -0,0 +1,58 @@
+package com.librarymanagementsystem.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.librarymanagementsystem.model.OutboxEvent;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class FileOutboxSinkTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // Test for send method appending one JSON line per event across batches
+    @Test
+    void testSendAppendsLines() throws IOException {
+        Path file = tempDir.resolve("outbox/outbox.jsonl");
+        FileOutboxSink sink = new FileOutboxSink();
+        ReflectionTestUtils.setField(sink, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(sink, "file", file);
+
+        sink.send(0, List.of(getOutboxEvent(1L, "{\"type\":\"CREATED\"}"), getOutboxEvent(2L, "{\"type\":\"BORROWED\"}")));
+        sink.send(2, List.of(getOutboxEvent(1L, "{\"type\":\"RETURNED\"}")));
+
+        List<String> lines = Files.readAllLines(file);
+        Assertions.assertEquals(3, lines.size());
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        Assertions.assertEquals(0, first.get("shard").asInt());
+        Assertions.assertEquals(1L, first.get("id").asLong());
+        Assertions.assertEquals("BOOK", first.get("aggregateType").asText());
+        Assertions.assertEquals("CREATED", first.get("payload").get("type").asText());
+        JsonNode last = objectMapper.readTree(lines.get(2));
+        Assertions.assertEquals(2, last.get("shard").asInt());
+        Assertions.assertEquals("RETURNED", last.get("payload").get("type").asText());
+    }
+
+    private OutboxEvent getOutboxEvent(Long id, String payload) {
+        return OutboxEvent.builder()
+                .id(id)
+                .aggregateType("BOOK")
+                .aggregateId(12345L)
+                .eventType("CREATED")
+                .branchId("main")
+                .payload(payload)
+                .createdOn(LocalDateTime.of(2024, 6, 1, 10, 15))
+                .build();
+    }
+}
@@ -0,0 +1,107 @@
+package com.librarymanagementsystem.service;
+
+import com.librarymanagementsystem.activity.ActivityGranularity;
+import com.librarymanagementsystem.activity.ActivityType;
+import com.librarymanagementsystem.dto.ActivityBucketDto;
+import com.librarymanagementsystem.exception.BadRequestException;
+import com.librarymanagementsystem.repository.ActivityRollupRepository;
+import com.librarymanagementsystem.repository.projection.ActivityRollupView;
+import com.librarymanagementsystem.service.impl.ActivityServiceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+@ExtendWith(MockitoExtension.class)
+public class ActivityServiceTest {
+
+    @InjectMocks
+    private ActivityServiceImpl service;
+
+    @Mock
+    private ActivityRollupRepository activityRollupRepository;
+
+    // Test for getActivity method filling buckets without activity
+    @Test
+    void testGetActivity() {
+        ReflectionTestUtils.setField(service, "zone", ZoneOffset.UTC);
+        LocalDateTime from = LocalDateTime.of(2024, 6, 1, 10, 30);
+        LocalDateTime to = LocalDateTime.of(2024, 6, 1, 13, 0);
+        Mockito.when(activityRollupRepository.sumByBucket(ActivityGranularity.HOUR, from.withMinute(0), to))
+                .thenReturn(List.of(
+                        getView(LocalDateTime.of(2024, 6, 1, 11, 0), ActivityType.BORROWED, 4L),
+                        getView(LocalDateTime.of(2024, 6, 1, 11, 0), ActivityType.RETURNED, 2L)));
+
+        List<ActivityBucketDto> activity = service.getActivity(from, to, "hour");
+
+        Assertions.assertEquals(3, activity.size());
+        Assertions.assertEquals(LocalDateTime.of(2024, 6, 1, 10, 0), activity.get(0).getBucketStart());
+        Assertions.assertEquals(0, activity.get(0).getBorrowed());
+        Assertions.assertEquals(4, activity.get(1).getBorrowed());
+        Assertions.assertEquals(2, activity.get(1).getReturned());
+    }
+
+    // Test for getActivity method querying UTC buckets in a zone with a half-hour offset
+    @Test
+    void testGetActivityInHalfHourZone() {
+        ReflectionTestUtils.setField(service, "zone", ZoneId.of("Asia/Kolkata"));
+        LocalDateTime from = LocalDateTime.of(2024, 6, 1, 10, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 6, 1, 12, 30);
+        Mockito.when(activityRollupRepository.sumByBucket(ActivityGranularity.HOUR,
+                        LocalDateTime.of(2024, 6, 1, 4, 0), LocalDateTime.of(2024, 6, 1, 7, 0)))
+                .thenReturn(List.of(getView(LocalDateTime.of(2024, 6, 1, 5, 0), ActivityType.BORROWED, 4L)));
+
+        List<ActivityBucketDto> activity = service.getActivity(from, to, "hour");
+
+        Assertions.assertEquals(3, activity.size());
+        Assertions.assertEquals(LocalDateTime.of(2024, 6, 1, 9, 30), activity.get(0).getBucketStart());
+        Assertions.assertEquals(LocalDateTime.of(2024, 6, 1, 10, 30), activity.get(1).getBucketStart());
+        Assertions.assertEquals(4, activity.get(1).getBorrowed());
+        Assertions.assertEquals(LocalDateTime.of(2024, 6, 1, 11, 30), activity.get(2).getBucketStart());
+    }
+
+    // Test for getActivity method rejecting an unknown granularity
+    @Test
+    void testGetActivityUnknownGranularity() {
+        LocalDateTime from = LocalDateTime.of(2024, 6, 1, 10, 0);
+
+        Assertions.assertThrows(BadRequestException.class, () -> service.getActivity(from, from.plusDays(1), "week"));
+        Mockito.verifyNoInteractions(activityRollupRepository);
+    }
+
+    // Test for getActivity method rejecting a range of too many buckets
+    @Test
+    void testGetActivityRangeTooLarge() {
+        LocalDateTime from = LocalDateTime.of(2024, 6, 1, 10, 0);
+
+        Assertions.assertThrows(BadRequestException.class, () -> service.getActivity(from, from.plusDays(30), "minute"));
+    }
+
+    private ActivityRollupView getView(LocalDateTime bucketStart, ActivityType type, Long total) {
+        return new ActivityRollupView() {
+            @Override
+            public LocalDateTime getBucketStart() {
+                return bucketStart;
+            }
+
+            @Override
+            public ActivityType getActivityType() {
+                return type;
+            }
+
+            @Override
+            public Long getTotal() {
+                return total;
+            }
+        };
+    }
+}
@@ -0,0 +1,167 @@
+package com.librarymanagementsystem.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.librarymanagementsystem.catalog.BookRecord;
+import com.librarymanagementsystem.event.BookEvent;
+import com.librarymanagementsystem.event.BookEventType;
+import com.librarymanagementsystem.service.impl.AvailabilityServiceImpl;
+import com.librarymanagementsystem.tenancy.BranchContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedConstruction;
+import org.mockito.Mockito;
+import org.mockito.invocation.Invocation;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class AvailabilityServiceTest {
+
+    private AvailabilityServiceImpl service;
+
+    private MockedConstruction<SseEmitter> emitters;
+
+    @BeforeEach
+    void setUp() {
+        service = new AvailabilityServiceImpl();
+        ReflectionTestUtils.setField(service, "objectMapper", new ObjectMapper().findAndRegisterModules());
+        ReflectionTestUtils.setField(service, "meterRegistry", new SimpleMeterRegistry());
+        // One sender thread, so that a task submitted after the events runs after they are sent.
+        ReflectionTestUtils.setField(service, "senderThreads", 1);
+        ReflectionTestUtils.invokeMethod(service, "init");
+        emitters = Mockito.mockConstruction(SseEmitter.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        emitters.close();
+        ReflectionTestUtils.invokeMethod(service, "shutdown");
+    }
+
+    // Test for onBookEvent method streaming borrows and returns to the subscribers of the book's branch
+    @Test
+    void testStreamToBranchSubscribers() throws Exception {
+        subscribe("main", null);
+        subscribe("north", null);
+
+        service.onBookEvent(getBookEvent(BookEventType.BORROWED, 1L, "main"));
+        service.onBookEvent(getBookEvent(BookEventType.CREATED, 2L, "main"));
+        service.onBookEvent(getBookEvent(BookEventType.RETURNED, 3L, "north"));
+
+        String main = sent(emitters.constructed().get(0));
+        String north = sent(emitters.constructed().get(1));
+        Assertions.assertTrue(main.contains("event:borrowed\ndata:{\"bookId\":1,\"borrowerId\":67890,\"available\":false"));
+        Assertions.assertFalse(main.contains("\"bookId\":2"));
+        Assertions.assertFalse(main.contains("\"bookId\":3"));
+        Assertions.assertTrue(north.contains("event:returned\ndata:{\"bookId\":3,\"borrowerId\":67890,\"available\":true"));
+        Assertions.assertFalse(north.contains("\"bookId\":1"));
+    }
+
+    // Test for subscribe method replaying the events after the Last-Event-ID
+    @Test
+    void testResumeFromLastEventId() throws Exception {
+        subscribe("main", null);
+        service.onBookEvent(getBookEvent(BookEventType.BORROWED, 1L, "main"));
+        service.onBookEvent(getBookEvent(BookEventType.BORROWED, 2L, "main"));
+        service.onBookEvent(getBookEvent(BookEventType.BORROWED, 3L, "main"));
+        Matcher firstId = Pattern.compile("id:(\\S+)").matcher(sent(emitters.constructed().get(0)));
+        Assertions.assertTrue(firstId.find());
+
+        subscribe("main", firstId.group(1));
+
+        String resumed = sent(emitters.constructed().get(1));
+        Assertions.assertFalse(resumed.contains("\"bookId\":1"));
+        Assertions.assertTrue(resumed.contains("\"bookId\":2"));
+        Assertions.assertTrue(resumed.indexOf("\"bookId\":2") < resumed.indexOf("\"bookId\":3"));
+    }
+
+    // Test for subscribe method answering an id that is no longer buffered with a reset event
+    @Test
+    void testResetForEvictedEventId() throws Exception {
+        ReflectionTestUtils.setField(service, "replaySize", 1);
+        subscribe("main", null);
+        service.onBookEvent(getBookEvent(BookEventType.BORROWED, 1L, "main"));
+        service.onBookEvent(getBookEvent(BookEventType.BORROWED, 2L, "main"));
+        service.onBookEvent(getBookEvent(BookEventType.BORROWED, 3L, "main"));
+        Matcher firstId = Pattern.compile("id:(\\S+)").matcher(sent(emitters.constructed().get(0)));
+        Assertions.assertTrue(firstId.find());
+
+        subscribe("main", firstId.group(1));
+        subscribe("main", "unknown-1");
+
+        Assertions.assertTrue(sent(emitters.constructed().get(1)).contains("event:reset"));
+        Assertions.assertFalse(sent(emitters.constructed().get(1)).contains("bookId"));
+        Assertions.assertTrue(sent(emitters.constructed().get(2)).contains("event:reset"));
+    }
+
+    // Test for a subscriber whose outbox overflows being closed instead of holding up the others
+    @Test
+    void testCloseSlowSubscriber() throws Exception {
+        ReflectionTestUtils.setField(service, "outboxSize", 2);
+        subscribe("main", null);
+        CountDownLatch release = new CountDownLatch(1);
+        sender().execute(() -> {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        service.onBookEvent(getBookEvent(BookEventType.BORROWED, 1L, "main"));
+        service.onBookEvent(getBookEvent(BookEventType.BORROWED, 2L, "main"));
+        service.onBookEvent(getBookEvent(BookEventType.BORROWED, 3L, "main"));
+        subscribe("main", null);
+        service.onBookEvent(getBookEvent(BookEventType.BORROWED, 4L, "main"));
+        release.countDown();
+
+        SseEmitter slow = emitters.constructed().get(0);
+        Assertions.assertEquals("", sent(slow));
+        Mockito.verify(slow).complete();
+        Assertions.assertTrue(sent(emitters.constructed().get(1)).contains("\"bookId\":4"));
+    }
+
+    private void subscribe(String branchId, String lastEventId) {
+        try (BranchContext.Scope scope = BranchContext.open(branchId)) {
+            service.subscribe(lastEventId);
+        }
+    }
+
+    private String sent(SseEmitter emitter) throws Exception {
+        // Waits for the sender to send everything queued so far.
+        sender().submit(() -> { }).get();
+        StringBuilder text = new StringBuilder();
+        for (Invocation invocation : Mockito.mockingDetails(emitter).getInvocations()) {
+            if (invocation.getMethod().getName().equals("send")) {
+                Set<ResponseBodyEmitter.DataWithMediaType> data = invocation.getArgument(0);
+                data.forEach(part -> text.append(part.getData()));
+            }
+        }
+        return text.toString();
+    }
+
+    private ExecutorService sender() {
+        return (ExecutorService) ReflectionTestUtils.getField(service, "sender");
+    }
+
+    private BookEvent getBookEvent(BookEventType type, Long bookId, String branchId) {
+        BookRecord book = BookRecord.builder()
+                .id(bookId)
+                .isbn("978-0-13-468599-1")
+                .title("Java clean architecture")
+                .author("Gajendrasinh Zala")
+                .branchId(branchId)
+                .build();
+        return new BookEvent(type, book, 67890L);
+    }
+}
@@ -0,0 +1,121 @@
+package com.librarymanagementsystem.service;
+
+import com.librarymanagementsystem.dto.ImportJobStatusDto;
+import com.librarymanagementsystem.event.BookBulkEvent;
+import com.librarymanagementsystem.event.BookEventType;
+import com.librarymanagementsystem.exception.NotFoundException;
+import com.librarymanagementsystem.repository.BookRepository;
+import com.librarymanagementsystem.repository.projection.IsbnView;
+import com.librarymanagementsystem.service.impl.BookImportServiceImpl;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+@ExtendWith(MockitoExtension.class)
+public class BookImportServiceTest {
+
+    @InjectMocks
+    private BookImportServiceImpl service;
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private LibraryStatsService libraryStatsService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @TempDir
+    Path tempDir;
+
+    // Test for importFile method
+    @Test
+    void testImportFile() throws IOException {
+        Path file = tempDir.resolve("catalog.csv");
+        Files.writeString(file, String.join("\n",
+                "isbn,title,author",
+                "978-0-13-468599-1,Core Java,Gajendrasinh Zala",
+                "0132350882,Clean Code,\"Martin, Robert\"",
+                "9780134685991,Another Title,Gajendrasinh Zala",
+                "9780596520687,Missing author"));
+        Mockito.when(bookRepository.findIsbnViews(Mockito.anyCollection()))
+                .thenReturn(List.of(getIsbnView(9780132350884L, "Someone Else", "Clean Code")));
+        Mockito.when(jdbcTemplate.batchUpdate(Mockito.any(PreparedStatementCreator.class),
+                Mockito.any(BatchPreparedStatementSetter.class), Mockito.any(KeyHolder.class))).thenAnswer(invocation -> {
+            invocation.getArgument(2, KeyHolder.class).getKeyList().add(Map.of("id", 7L));
+            return new int[] {1};
+        });
+
+        ImportJobStatusDto status = service.importFile(file);
+
+        Assertions.assertEquals("COMPLETED", status.getState());
+        Assertions.assertEquals(4, status.getRowsRead());
+        Assertions.assertEquals(1, status.getRowsImported());
+        Assertions.assertEquals(3, status.getRowsRejected());
+        Assertions.assertEquals(3, status.getRejectedRows().size());
+        Mockito.verify(bookRepository, Mockito.times(1)).findIsbnViews(Mockito.anyCollection());
+        Mockito.verify(jdbcTemplate, Mockito.times(1)).batchUpdate(Mockito.any(PreparedStatementCreator.class),
+                Mockito.any(BatchPreparedStatementSetter.class), Mockito.any(KeyHolder.class));
+        Mockito.verify(libraryStatsService, Mockito.times(1)).recordBooksAdded("main", 1);
+        ArgumentCaptor<BookBulkEvent> event = ArgumentCaptor.forClass(BookBulkEvent.class);
+        Mockito.verify(eventPublisher, Mockito.times(1)).publishEvent(event.capture());
+        Assertions.assertEquals(BookEventType.CREATED, event.getValue().getType());
+        Assertions.assertEquals(1, event.getValue().getBooks().size());
+        Assertions.assertEquals(7L, event.getValue().getBooks().get(0).getId());
+        Assertions.assertEquals("978-0-13-468599-1", event.getValue().getBooks().get(0).getIsbn());
+    }
+
+    // Test for NotFoundException in getImportStatus
+    @Test
+    void testGetImportStatusNotFound() {
+        Assertions.assertThrows(NotFoundException.class, () -> service.getImportStatus("unknown"));
+    }
+
+    private IsbnView getIsbnView(Long isbnKey, String author, String title) {
+        return new IsbnView() {
+            @Override
+            public Long getIsbnKey() {
+                return isbnKey;
+            }
+
+            @Override
+            public String getAuthor() {
+                return author;
+            }
+
+            @Override
+            public String getTitle() {
+                return title;
+            }
+        };
+    }
+}
@@ -1,26 +1,57 @@
 package com.librarymanagementsystem.service;
 
+import com.librarymanagementsystem.catalog.BookRecord;
+import com.librarymanagementsystem.catalog.BookRecordView;
+import com.librarymanagementsystem.catalog.BorrowedBookIndex;
+import com.librarymanagementsystem.catalog.CatalogIndex;
+import com.librarymanagementsystem.dto.AvailabilityCheckDto;
 import com.librarymanagementsystem.dto.BookDto;
+import com.librarymanagementsystem.dto.BookSearchCriteria;
+import com.librarymanagementsystem.dto.BorrowerDto;
+import com.librarymanagementsystem.dto.CursorPageDto;
+import com.librarymanagementsystem.dto.MultiGetResponseDto;
 import com.librarymanagementsystem.exception.AlreadyExistException;
+import com.librarymanagementsystem.exception.BadRequestException;
+import com.librarymanagementsystem.exception.ErrorCode;
 import com.librarymanagementsystem.exception.NotFoundException;
+import com.librarymanagementsystem.exception.PreconditionFailedException;
+import com.librarymanagementsystem.logging.LogSampler;
 import com.librarymanagementsystem.mapper.LibraryMapper;
 import com.librarymanagementsystem.model.Book;
 import com.librarymanagementsystem.model.Borrower;
 import com.librarymanagementsystem.repository.BookRepository;
+import com.librarymanagementsystem.repository.BookSearchRepository;
+import com.librarymanagementsystem.repository.BookSearchSort;
 import com.librarymanagementsystem.repository.BorrowerRepository;
+import com.librarymanagementsystem.repository.SparseFieldRepository;
 import com.librarymanagementsystem.service.impl.BookServiceImpl;
+import com.librarymanagementsystem.sharding.BorrowerShardRouter;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import com.librarymanagementsystem.tenancy.BranchContext;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.math.BigDecimal;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.LongStream;
 
 @ExtendWith(MockitoExtension.class)
 public class BookServiceTest {
@@ -37,10 +68,45 @@ public class BookServiceTest {
     @Mock
     private LibraryMapper mapper;
 
+    @Mock
+    private SparseFieldRepository sparseFieldRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private LogSampler logSampler;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private BorrowedBookIndex borrowedBookIndex;
+
+    @Mock
+    private BookSearchRepository bookSearchRepository;
+
+    @Mock
+    private CatalogIndex catalogIndex;
+
+    @Mock
+    private BorrowerService borrowerService;
+
+    @Spy
+    private BorrowerShardRouter shardRouter = new BorrowerShardRouter();
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(shardRouter, "transactionManager", transactionManager);
+    }
+
     // Test for createBook method
     @Test
     void testCreateBook() {
-        Mockito.when(bookRepository.findByIsbn(Mockito.anyString())).thenReturn(Collections.emptyList());
+        Mockito.when(bookRepository.findByIsbnKey(Mockito.anyLong())).thenReturn(Collections.emptyList());
         Mockito.when(bookRepository.save(Mockito.any())).thenReturn(getBook());
         Mockito.when(mapper.buildBookDtoFromEntity(Mockito.any())).thenReturn(getBookDto());
 
@@ -50,14 +116,14 @@ public class BookServiceTest {
         Assertions.assertEquals("Core Java", bookDto.getTitle());
         Assertions.assertEquals("881", bookDto.getIsbn());
 
-        Mockito.verify(bookRepository, Mockito.times(1)).findByIsbn(Mockito.anyString());
+        Mockito.verify(bookRepository, Mockito.times(1)).findByIsbnKey(Mockito.anyLong());
         Mockito.verify(bookRepository, Mockito.times(1)).save(Mockito.any());
     }
 
     // Test for AlreadyExistException in createBook
     @Test
     void testCreateBookThrowAlreadyExistException() {
-        Mockito.when(bookRepository.findByIsbn(Mockito.anyString())).thenReturn(Collections.singletonList(getBook()));
+        Mockito.when(bookRepository.findByIsbnKey(Mockito.anyLong())).thenReturn(Collections.singletonList(getBook()));
         BookDto bookDto = getBookDto();
         bookDto.setAuthor("Test");
 
@@ -79,6 +145,47 @@ public class BookServiceTest {
         Mockito.verify(bookRepository, Mockito.times(1)).findAll();
     }
 
+    // Test for getAllBooks method with a sparse fieldset
+    @Test
+    void testGetAllBooksWithFields() {
+        Mockito.when(sparseFieldRepository.findAll(Book.class, List.of("id", "title")))
+                .thenReturn(List.of(Map.of("id", 12345L, "title", "Java clean architecture")));
+
+        List<Map<String, Object>> books = service.getAllBooks(List.of("id", "title", "id"));
+
+        Assertions.assertEquals(1, books.size());
+        Assertions.assertEquals("Java clean architecture", books.get(0).get("title"));
+        Mockito.verify(bookRepository, Mockito.never()).findAll();
+    }
+
+    // Test for getBooksByAvailability method with a sparse fieldset
+    @Test
+    void testGetAvailableBooksWithFields() {
+        Mockito.when(sparseFieldRepository.findAll(Book.class, List.of("id", "title"), "borrowerId", true))
+                .thenReturn(List.of(Map.of("id", 12345L, "title", "Java clean architecture")));
+
+        List<Map<String, Object>> books = service.getBooksByAvailability(true, List.of("id", "title"));
+
+        Assertions.assertEquals(1, books.size());
+        Assertions.assertEquals(12345L, books.get(0).get("id"));
+        Mockito.verify(sparseFieldRepository, Mockito.never()).findAll(Book.class, List.of("id", "title"));
+    }
+
+    // Test for BadRequestException in getAllBooks with an unknown field
+    @Test
+    void testGetAllBooksWithUnknownField() {
+        Assertions.assertThrows(BadRequestException.class, () -> service.getAllBooks(List.of("id", "borrowedBy")));
+    }
+
+    // Test for NotFoundException in getBookById with a sparse fieldset
+    @Test
+    void testGetBookByIdWithFieldsNotFound() {
+        Mockito.when(sparseFieldRepository.findById(Mockito.eq(Book.class), Mockito.anyLong(), Mockito.anyList()))
+                .thenReturn(Optional.empty());
+
+        Assertions.assertThrows(NotFoundException.class, () -> service.getBookById(12345L, List.of("title")));
+    }
+
     // Test for getBookById method
     @Test
     void testGetBookById() {
@@ -91,6 +198,164 @@ public class BookServiceTest {
         Mockito.verify(bookRepository, Mockito.times(1)).findById(Mockito.anyLong());
     }
 
+    // Test for getBookById method serving available books from the catalog and borrowed ones from the repository
+    @Test
+    void testGetBookByIdFromCatalog() {
+        BookRecord available = BookRecord.builder().id(12345L).title("Java clean architecture").branchId("main").build();
+        BookRecord borrowed = BookRecord.builder().id(99L).borrowerId(67890L).branchId("main").build();
+        Mockito.when(catalogIndex.isServingReads()).thenReturn(true);
+        Mockito.when(catalogIndex.read(Mockito.anyLong(), Mockito.any())).thenAnswer(invocation -> {
+            Function<BookRecordView, ?> reader = invocation.getArgument(1);
+            return reader.apply(invocation.<Long>getArgument(0) == 12345L ? available : borrowed);
+        });
+        Mockito.when(mapper.buildBookDtoFromRecord(available)).thenReturn(getBookDto());
+        Mockito.when(bookRepository.findById(99L)).thenReturn(Optional.of(getBook()));
+        Mockito.when(mapper.buildBookDtoFromEntity(Mockito.any())).thenReturn(getBookDto());
+
+        Assertions.assertEquals("Gajendrasinh Zala", service.getBookById(12345L).getAuthor());
+        Mockito.verify(bookRepository, Mockito.never()).findById(Mockito.anyLong());
+
+        service.getBookById(99L);
+        Mockito.verify(bookRepository, Mockito.times(1)).findById(99L);
+    }
+
+    // Test for getBooksByIds method
+    @Test
+    void testGetBooksByIds() {
+        Mockito.when(bookRepository.findAllById(List.of(12345L, 99L))).thenReturn(List.of(getBook()));
+        Mockito.when(mapper.buildBookDtoFromEntity(Mockito.any())).thenReturn(getBookDto());
+
+        MultiGetResponseDto<BookDto> result = service.getBooksByIds(List.of(12345L, 99L, 12345L));
+
+        Assertions.assertEquals(1, result.getItems().size());
+        Assertions.assertEquals(List.of(99L), result.getMissingIds());
+    }
+
+    // Test for getBooksByIds method rejecting too many ids
+    @Test
+    void testGetBooksByIdsTooMany() {
+        List<Long> ids = LongStream.rangeClosed(1, 201).boxed().toList();
+
+        Assertions.assertThrows(BadRequestException.class, () -> service.getBooksByIds(ids));
+        Mockito.verifyNoInteractions(bookRepository);
+    }
+
+    // Test for expand method embedding the borrowers of a page with one batched read
+    @Test
+    void testExpandBorrower() {
+        BookDto available = getBookDto();
+        BookDto borrowed = getBookDto().toBuilder().id(1L).borrowerId(67890L).build();
+        BookDto borrowedBySame = getBookDto().toBuilder().id(2L).borrowerId(67890L).build();
+        BookDto borrowerDeleted = getBookDto().toBuilder().id(3L).borrowerId(99L).build();
+        BorrowerDto borrower = new BorrowerDto(67890L, "John Doe", "john.doe@example.com", 1L);
+        Mockito.when(borrowerService.getBorrowerSummaries(Mockito.anyCollection())).thenReturn(Map.of(67890L, borrower));
+
+        List<BookDto> books = service.expand(List.of(available, borrowed, borrowedBySame, borrowerDeleted), List.of("borrower"));
+
+        Assertions.assertSame(available, books.get(0));
+        Assertions.assertSame(borrower, books.get(1).getBorrower());
+        Assertions.assertSame(borrower, books.get(2).getBorrower());
+        Assertions.assertSame(borrowerDeleted, books.get(3));
+        Assertions.assertNull(borrowed.getBorrower());
+        Mockito.verify(borrowerService, Mockito.times(1)).getBorrowerSummaries(Set.of(67890L, 99L));
+    }
+
+    // Test for expand method skipping the borrower read without expansion or borrowed books, and rejecting unknown relations
+    @Test
+    void testExpandWithoutBorrowedBooks() {
+        List<BookDto> books = List.of(getBookDto());
+
+        Assertions.assertSame(books, service.expand(books, null));
+        Assertions.assertSame(books, service.expand(books, List.of("borrower")));
+        Assertions.assertThrows(BadRequestException.class, () -> service.expand(books, List.of("author")));
+        Mockito.verifyNoInteractions(borrowerService);
+    }
+
+    // Test for getBooksByAvailability method reading the borrowed books by the ids of the branch in the bitmap
+    @Test
+    void testGetBorrowedBooks() {
+        Book book = getBook();
+        Mockito.when(borrowedBookIndex.isReady()).thenReturn(true);
+        Mockito.when(borrowedBookIndex.borrowedIds("main")).thenReturn(List.of(12345L));
+        Mockito.when(bookRepository.findAllById(List.of(12345L))).thenReturn(List.of(book));
+        Mockito.when(mapper.buildBookDtoFromEntity(book)).thenReturn(getBookDto());
+
+        List<BookDto> books;
+        try (BranchContext.Scope scope = BranchContext.open("main")) {
+            books = service.getBooksByAvailability(false);
+        }
+
+        Assertions.assertEquals(1, books.size());
+        Mockito.verify(bookRepository, Mockito.never()).findAll();
+    }
+
+    // Test for getBooksByAvailability method reading the available books in keyset-ordered chunks
+    @Test
+    void testGetAvailableBooks() {
+        ReflectionTestUtils.setField(service, "availabilityChunkSize", 1);
+        Book book = getBook();
+        Mockito.when(bookRepository.findAvailable(Mockito.eq(0L), Mockito.any())).thenReturn(List.of(book));
+        Mockito.when(bookRepository.findAvailable(Mockito.eq(12345L), Mockito.any())).thenReturn(List.of());
+        Mockito.when(mapper.buildBookDtoFromEntity(book)).thenReturn(getBookDto());
+
+        List<BookDto> books = service.getBooksByAvailability(true);
+
+        Assertions.assertEquals(1, books.size());
+        Mockito.verify(bookRepository, Mockito.never()).findAll();
+        Mockito.verifyNoInteractions(borrowedBookIndex);
+    }
+
+    // Test for checkAvailability method partitioning the ids by the bitmap
+    @Test
+    void testCheckAvailability() {
+        Mockito.when(borrowedBookIndex.isReady()).thenReturn(true);
+        Mockito.when(bookRepository.findExistingIds(List.of(1L, 2L, 3L))).thenReturn(List.of(1L, 2L));
+        Mockito.when(borrowedBookIndex.isBorrowed(1L)).thenReturn(true);
+        Mockito.when(borrowedBookIndex.isBorrowed(2L)).thenReturn(false);
+
+        AvailabilityCheckDto result = service.checkAvailability(List.of(1L, 2L, 3L, 1L));
+
+        Assertions.assertEquals(List.of(2L), result.getAvailableIds());
+        Assertions.assertEquals(List.of(1L), result.getBorrowedIds());
+        Assertions.assertEquals(List.of(3L), result.getMissingIds());
+        Mockito.verify(bookRepository, Mockito.never()).findAllById(Mockito.any());
+    }
+
+    // Test for searchBooks method returning a cursor that continues after the last book of the page
+    @Test
+    void testSearchBooks() {
+        Book first = getBook();
+        Book second = getBook();
+        second.setId(12346L);
+        second.setTitle("Java concurrency");
+        BookSearchCriteria criteria = BookSearchCriteria.builder().titlePrefix("Java").sort("title").limit(1).build();
+        Mockito.when(bookSearchRepository.search(criteria, BookSearchSort.TITLE, false, null, null, 2))
+                .thenReturn(List.of(first, second));
+        Mockito.when(mapper.buildBookDtoFromEntity(first)).thenReturn(getBookDto());
+
+        CursorPageDto<BookDto> page = service.searchBooks(criteria);
+
+        Assertions.assertEquals(1, page.getItems().size());
+        Assertions.assertNotNull(page.getNextCursor());
+
+        criteria.setCursor(page.getNextCursor());
+        Mockito.when(bookSearchRepository.search(criteria, BookSearchSort.TITLE, false, "Java clean architecture", 12345L, 2))
+                .thenReturn(List.of(second));
+
+        Assertions.assertNull(service.searchBooks(criteria).getNextCursor());
+    }
+
+    // Test for searchBooks method rejecting filter combinations no index can serve
+    @Test
+    void testSearchBooksUnsupportedShape() {
+        BookSearchCriteria twoRanges = BookSearchCriteria.builder().titlePrefix("Java").isbnPrefix("978").build();
+        BookSearchCriteria otherSort = BookSearchCriteria.builder().isbnPrefix("978").sort("-created").build();
+
+        Assertions.assertThrows(BadRequestException.class, () -> service.searchBooks(twoRanges));
+        Assertions.assertThrows(BadRequestException.class, () -> service.searchBooks(otherSort));
+        Mockito.verifyNoInteractions(bookSearchRepository);
+    }
+
     // Test for NotFoundException in getBookById
     @Test
     void testGetBookByIdNotFound() {
@@ -121,16 +386,33 @@ public class BookServiceTest {
         Assertions.assertThrows(NotFoundException.class, () -> service.updateBook(12345L, getBookDto()));
     }
 
+    // Test for AlreadyExistException in updateBook when another book has the same ISBN
+    @Test
+    void testUpdateBookThrowAlreadyExistException() {
+        Book other = getBook();
+        other.setId(2L);
+        Mockito.when(bookRepository.findById(12345L)).thenReturn(Optional.of(getBook()));
+        Mockito.when(bookRepository.findByIsbnKey(Mockito.anyLong())).thenReturn(List.of(getBook(), other));
+        BookDto bookDto = getBookDto();
+        bookDto.setTitle("Clean Architecture");
+
+        Assertions.assertThrows(AlreadyExistException.class, () -> service.updateBook(12345L, bookDto));
+        Mockito.verify(bookRepository, Mockito.never()).save(Mockito.any());
+    }
+
     // Test for deleteBook method
     @Test
     void testDeleteBook() {
-        Mockito.when(bookRepository.findById(Mockito.anyLong())).thenReturn(Optional.of(getBook()));
-        Mockito.doNothing().when(bookRepository).delete(Mockito.any());
+        Book book = getBook();
+        Mockito.when(bookRepository.findById(Mockito.anyLong())).thenReturn(Optional.of(book));
 
         service.deleteBook(12345L);
 
+        Assertions.assertTrue(book.isDeleted());
+        Assertions.assertNotNull(book.getDeletedOn());
         Mockito.verify(bookRepository, Mockito.times(1)).findById(Mockito.anyLong());
-        Mockito.verify(bookRepository, Mockito.times(1)).delete(Mockito.any());
+        Mockito.verify(bookRepository, Mockito.times(1)).save(book);
+        Mockito.verify(bookRepository, Mockito.never()).delete(Mockito.any());
     }
 
     // Test for NotFoundException in deleteBook
@@ -141,13 +423,80 @@ public class BookServiceTest {
         Assertions.assertThrows(NotFoundException.class, () -> service.deleteBook(12345L));
     }
 
+    // Test for patchBook method changing one field
+    @Test
+    void testPatchBook() {
+        Book book = getBook();
+        book.setVersion(3L);
+        Mockito.when(bookRepository.findById(12345L)).thenReturn(Optional.of(book));
+        Mockito.when(bookRepository.save(book)).thenReturn(book);
+        Mockito.when(mapper.buildBookDtoFromEntity(book)).thenReturn(getBookDto());
+
+        service.patchBook(12345L, Map.of("title", "Clean Architecture"), 3L);
+
+        Assertions.assertEquals("Clean Architecture", book.getTitle());
+        Assertions.assertEquals("Gajendrasinh Zala", book.getAuthor());
+        Mockito.verify(bookRepository, Mockito.times(1)).save(book);
+        Mockito.verify(eventPublisher, Mockito.times(1)).publishEvent(Mockito.any(Object.class));
+    }
+
+    // Test for AlreadyExistException in patchBook when another book has the same ISBN
+    @Test
+    void testPatchBookThrowAlreadyExistException() {
+        Book book = getBook();
+        Book other = getBook();
+        other.setId(2L);
+        Mockito.when(bookRepository.findById(12345L)).thenReturn(Optional.of(book));
+        Mockito.when(bookRepository.findByIsbnKey(Mockito.anyLong())).thenReturn(List.of(book, other));
+
+        Assertions.assertThrows(AlreadyExistException.class,
+                () -> service.patchBook(12345L, Map.of("author", "Robert Martin"), null));
+        Assertions.assertEquals("Gajendrasinh Zala", book.getAuthor());
+        Mockito.verify(bookRepository, Mockito.never()).save(Mockito.any());
+    }
+
+    // Test for patchBook method with a patch that changes nothing
+    @Test
+    void testPatchBookUnchanged() {
+        Mockito.when(bookRepository.findById(12345L)).thenReturn(Optional.of(getBook()));
+
+        service.patchBook(12345L, Map.of("title", "Java clean architecture"), null);
+
+        Mockito.verify(bookRepository, Mockito.never()).save(Mockito.any());
+        Mockito.verify(eventPublisher, Mockito.never()).publishEvent(Mockito.any(Object.class));
+    }
+
+    // Test for PreconditionFailedException in patchBook
+    @Test
+    void testPatchBookVersionMismatch() {
+        Book book = getBook();
+        book.setVersion(4L);
+        Mockito.when(bookRepository.findById(12345L)).thenReturn(Optional.of(book));
+
+        Assertions.assertThrows(PreconditionFailedException.class,
+                () -> service.patchBook(12345L, Map.of("title", "Clean Architecture"), 3L));
+        Mockito.verify(bookRepository, Mockito.never()).save(Mockito.any());
+    }
+
+    // Test for BadRequestException in patchBook
+    @Test
+    void testPatchBookInvalidField() {
+        Map<String, Object> blankTitle = new HashMap<>();
+        blankTitle.put("title", null);
+
+        Assertions.assertThrows(BadRequestException.class, () -> service.patchBook(12345L, Map.of("dueDate", "2030-01-01"), null));
+        Assertions.assertThrows(BadRequestException.class, () -> service.patchBook(12345L, Map.of("title", 42), null));
+        BadRequestException e = Assertions.assertThrows(BadRequestException.class, () -> service.patchBook(12345L, blankTitle, null));
+        Assertions.assertEquals("Title is a required field", e.getMessage());
+        Mockito.verify(bookRepository, Mockito.never()).findById(Mockito.anyLong());
+    }
+
     // Test for borrowedBook method
     @Test
     void testBorrowedBook() {
         Mockito.when(bookRepository.findById(Mockito.anyLong())).thenReturn(Optional.of(getBook()));
         Mockito.when(borrowerRepository.findById(Mockito.anyLong())).thenReturn(Optional.of(getBorrower()));
         Mockito.when(bookRepository.save(Mockito.any())).thenReturn(getBook());
-        Mockito.when(borrowerRepository.save(Mockito.any())).thenReturn(getBorrower());
         Mockito.when(mapper.buildBookDtoFromEntity(Mockito.any())).thenReturn(getBookDto());
 
         BookDto borrowedBookDto = service.borrowedBook(12345L, 67890L);
@@ -156,7 +505,7 @@ public class BookServiceTest {
         Mockito.verify(bookRepository, Mockito.times(1)).findById(Mockito.anyLong());
         Mockito.verify(borrowerRepository, Mockito.times(1)).findById(Mockito.anyLong());
         Mockito.verify(bookRepository, Mockito.times(1)).save(Mockito.any());
-        Mockito.verify(borrowerRepository, Mockito.times(1)).save(Mockito.any());
+        Mockito.verify(borrowerRepository, Mockito.never()).save(Mockito.any());
     }
 
     // Test for NotFoundException in borrowedBook
@@ -170,23 +519,40 @@ public class BookServiceTest {
     // Test for AlreadyExistException in borrowedBook
     @Test
     void testBorrowedBookAlreadyBorrowed() {
-        Borrower borrower = getBorrower();
-        borrower.getBooks().add(getBook());
-        Mockito.when(bookRepository.findById(Mockito.anyLong())).thenReturn(Optional.of(getBook()));
-        Mockito.when(borrowerRepository.findById(Mockito.anyLong())).thenReturn(Optional.of(borrower));
+        Book book = getBook();
+        book.setBorrowerId(67890L);
+        Mockito.when(bookRepository.findById(Mockito.anyLong())).thenReturn(Optional.of(book));
+        Mockito.when(borrowerRepository.findById(Mockito.anyLong())).thenReturn(Optional.of(getBorrower()));
 
         Assertions.assertThrows(AlreadyExistException.class, () -> service.borrowedBook(12345L, 67890L));
     }
 
+    // Test for AlreadyExistException in borrowedBook for a book held by another borrower
+    @Test
+    void testBorrowedBookHeldByAnotherBorrower() {
+        Book book = getBook();
+        book.setBorrowerId(11111L);
+        book.setFineAmount(new BigDecimal("2.50"));
+        Mockito.when(bookRepository.findById(Mockito.anyLong())).thenReturn(Optional.of(book));
+        Mockito.when(borrowerRepository.findById(Mockito.anyLong())).thenReturn(Optional.of(getBorrower()));
+
+        AlreadyExistException e = Assertions.assertThrows(AlreadyExistException.class, () -> service.borrowedBook(12345L, 67890L));
+
+        Assertions.assertEquals(ErrorCode.BOOK_ON_LOAN, e.getErrorCode());
+        Assertions.assertEquals(11111L, book.getBorrowerId());
+        Assertions.assertEquals(new BigDecimal("2.50"), book.getFineAmount());
+        Mockito.verify(bookRepository, Mockito.never()).save(Mockito.any());
+        Mockito.verifyNoInteractions(eventPublisher);
+    }
+
     // Test for returnBook method
     @Test
     void testReturnBook() {
-        Borrower borrower = getBorrower();
-        borrower.getBooks().add(getBook());
-        Mockito.when(bookRepository.findById(Mockito.anyLong())).thenReturn(Optional.of(getBook()));
-        Mockito.when(borrowerRepository.findById(Mockito.anyLong())).thenReturn(Optional.of(borrower));
+        Book book = getBook();
+        book.setBorrowerId(67890L);
+        Mockito.when(bookRepository.findById(Mockito.anyLong())).thenReturn(Optional.of(book));
+        Mockito.when(borrowerRepository.findById(Mockito.anyLong())).thenReturn(Optional.of(getBorrower()));
         Mockito.when(bookRepository.save(Mockito.any())).thenReturn(getBook());
-        Mockito.when(borrowerRepository.save(Mockito.any())).thenReturn(getBorrower());
         Mockito.when(mapper.buildBookDtoFromEntity(Mockito.any())).thenReturn(getBookDto());
 
         BookDto returnedBookDto = service.returnBook(12345L, 67890L);
@@ -195,7 +561,7 @@ public class BookServiceTest {
         Mockito.verify(bookRepository, Mockito.times(1)).findById(Mockito.anyLong());
         Mockito.verify(borrowerRepository, Mockito.times(1)).findById(Mockito.anyLong());
         Mockito.verify(bookRepository, Mockito.times(1)).save(Mockito.any());
-        Mockito.verify(borrowerRepository, Mockito.times(1)).save(Mockito.any());
+        Mockito.verify(borrowerRepository, Mockito.never()).save(Mockito.any());
     }
 
     // Test for NotFoundException in returnBook
@@ -224,6 +590,6 @@ public class BookServiceTest {
     }
 
     private Borrower getBorrower() {
-        return Borrower.builder().id(67890L).name("John Doe").books(Collections.emptySet()).build();
+        return Borrower.builder().id(67890L).name("John Doe").build();
     }
 }
@@ -1,21 +1,45 @@
 package com.librarymanagementsystem.service;
 
+import com.librarymanagementsystem.catalog.BookRecord;
+import com.librarymanagementsystem.dto.BookDto;
 import com.librarymanagementsystem.dto.BorrowerDto;
+import com.librarymanagementsystem.dto.KeysetPageDto;
+import com.librarymanagementsystem.dto.MultiGetResponseDto;
+import com.librarymanagementsystem.event.BookBulkEvent;
+import com.librarymanagementsystem.event.BookEventType;
+import com.librarymanagementsystem.event.BorrowerEvent;
+import com.librarymanagementsystem.exception.AlreadyExistException;
+import com.librarymanagementsystem.exception.BadRequestException;
 import com.librarymanagementsystem.exception.NotFoundException;
+import com.librarymanagementsystem.exception.PreconditionFailedException;
 import com.librarymanagementsystem.mapper.LibraryMapper;
 import com.librarymanagementsystem.model.Borrower;
+import com.librarymanagementsystem.repository.BookRepository;
 import com.librarymanagementsystem.repository.BorrowerRepository;
+import com.librarymanagementsystem.repository.SparseFieldRepository;
 import com.librarymanagementsystem.service.impl.BorrowerServiceImpl;
+import com.librarymanagementsystem.sharding.BorrowerShardRouter;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 
-import java.util.Collections;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.IntFunction;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -28,9 +52,32 @@ public class BorrowerServiceTest {
     @Mock
     private BorrowerRepository borrowerRepository;
 
+    @Mock
+    private BookRepository bookRepository;
+
     @Mock
     private LibraryMapper libraryMapper;
 
+    @Mock
+    private SparseFieldRepository sparseFieldRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private BorrowerShardRouter shardRouter = new BorrowerShardRouter();
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(shardRouter, "transactionManager", transactionManager);
+    }
+
     // Test for createBorrower method
     @Test
     void testCreateBorrower() {
@@ -48,19 +95,56 @@ public class BorrowerServiceTest {
         Mockito.verify(libraryMapper, Mockito.times(1)).buildBorrowerDtoFromEntity(borrower);
     }
 
+    // Test for AlreadyExistException in createBorrower when another shard holds the name or email
+    @Test
+    void testCreateBorrowerExistsOnOtherShard() {
+        ReflectionTestUtils.setField(shardRouter, "shardCount", 2);
+        Mockito.doReturn(List.of(true)).when(shardRouter).onShards(Mockito.any(), Mockito.any());
+
+        assertThrows(AlreadyExistException.class, () -> borrowerService.createBorrower(getBorrowerDto()));
+        Mockito.verify(borrowerRepository, Mockito.never()).save(Mockito.any());
+    }
+
     // Test for getAllBorrowers method
     @Test
     void testGetAllBorrowers() {
-        List<Borrower> borrowers = Collections.singletonList(getBorrower());
+        Borrower next = Borrower.builder().id(2L).name("John Doe").email("john.doe@example.com").build();
         BorrowerDto borrowerDto = getBorrowerDto();
-        Mockito.when(borrowerRepository.findAll()).thenReturn(borrowers);
+        Mockito.when(borrowerRepository.findPage(0L, PageRequest.ofSize(2))).thenReturn(List.of(getBorrower(), next));
         Mockito.when(libraryMapper.buildBorrowerDtoFromEntity(Mockito.any())).thenReturn(borrowerDto);
 
-        List<BorrowerDto> borrowerDtos = borrowerService.getAllBorrowers();
+        KeysetPageDto<BorrowerDto> page = borrowerService.getAllBorrowers(null, 1);
+
+        assertEquals(1, page.getItems().size());
+        assertEquals(borrowerDto.getName(), page.getItems().get(0).getName());
+        assertEquals(1L, page.getNextAfter());
+        Mockito.verify(borrowerRepository, Mockito.never()).findAll();
+    }
+
+    // Test for getAllBorrowers method throwing BadRequestException for an invalid limit
+    @Test
+    void testGetAllBorrowersInvalidLimit() {
+        assertThrows(BadRequestException.class, () -> borrowerService.getAllBorrowers(null, 0));
+        Mockito.verify(borrowerRepository, Mockito.never()).findPage(Mockito.anyLong(), Mockito.any());
+    }
+
+    // Test for getAllBorrowers method with a sparse fieldset
+    @Test
+    void testGetAllBorrowersWithFields() {
+        Mockito.when(sparseFieldRepository.findAll(Borrower.class, List.of("id", "name")))
+                .thenReturn(List.of(Map.of("id", 1L, "name", "Gajendrasinh Zala")));
+
+        List<Map<String, Object>> borrowers = borrowerService.getAllBorrowers(List.of("id", " name"));
+
+        assertEquals(1, borrowers.size());
+        assertEquals("Gajendrasinh Zala", borrowers.get(0).get("name"));
+        Mockito.verify(borrowerRepository, Mockito.never()).findAll();
+    }
 
-        assertEquals(1, borrowerDtos.size());
-        assertEquals(borrowerDto.getName(), borrowerDtos.get(0).getName());
-        Mockito.verify(borrowerRepository, Mockito.times(1)).findAll();
+    // Test for getAllBorrowers method throwing BadRequestException for an unknown field
+    @Test
+    void testGetAllBorrowersWithUnknownField() {
+        assertThrows(BadRequestException.class, () -> borrowerService.getAllBorrowers(List.of("books")));
     }
 
     // Test for getBorrowerById method
@@ -86,6 +170,60 @@ public class BorrowerServiceTest {
         assertThrows(NotFoundException.class, () -> borrowerService.getBorrowerById(1L));
     }
 
+    // Test for getBorrowersByIds method
+    @Test
+    void testGetBorrowersByIds() {
+        Borrower borrower = getBorrower();
+        Mockito.when(borrowerRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(borrower));
+        Mockito.when(libraryMapper.buildBorrowerDtoFromEntity(borrower)).thenReturn(getBorrowerDto());
+
+        MultiGetResponseDto<BorrowerDto> result = borrowerService.getBorrowersByIds(List.of(1L, 2L));
+
+        assertEquals(1, result.getItems().size());
+        assertEquals(List.of(2L), result.getMissingIds());
+    }
+
+    // Test for getBorrowersByIds method rejecting an empty id list
+    @Test
+    void testGetBorrowersByIdsEmpty() {
+        assertThrows(BadRequestException.class, () -> borrowerService.getBorrowersByIds(List.of()));
+    }
+
+    // Test for getBorrowedBooks method
+    @Test
+    void testGetBorrowedBooks() {
+        Mockito.when(borrowerRepository.existsById(1L)).thenReturn(true);
+        Mockito.when(bookRepository.findBorrowedBooks(1L, 10L, PageRequest.ofSize(3)))
+                .thenReturn(List.of(getBookDto(11L), getBookDto(12L), getBookDto(13L)));
+
+        KeysetPageDto<BookDto> page = borrowerService.getBorrowedBooks(1L, 10L, 2);
+
+        assertEquals(2, page.getItems().size());
+        assertEquals(12L, page.getNextAfter());
+    }
+
+    // Test for getBorrowedBooks method on the last page
+    @Test
+    void testGetBorrowedBooksLastPage() {
+        Mockito.when(borrowerRepository.existsById(1L)).thenReturn(true);
+        Mockito.when(bookRepository.findBorrowedBooks(1L, 0L, PageRequest.ofSize(51)))
+                .thenReturn(List.of(getBookDto(11L)));
+
+        KeysetPageDto<BookDto> page = borrowerService.getBorrowedBooks(1L, null, null);
+
+        assertEquals(1, page.getItems().size());
+        assertNull(page.getNextAfter());
+    }
+
+    // Test for getBorrowedBooks method throwing NotFoundException
+    @Test
+    void testGetBorrowedBooksBorrowerNotFound() {
+        Mockito.when(borrowerRepository.existsById(1L)).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> borrowerService.getBorrowedBooks(1L, null, null));
+        Mockito.verifyNoInteractions(bookRepository);
+    }
+
     // Test for updateBorrower method
     @Test
     void testUpdateBorrower() {
@@ -111,34 +249,123 @@ public class BorrowerServiceTest {
         assertThrows(NotFoundException.class, () -> borrowerService.updateBorrower(1L, getBorrowerDto()));
     }
 
+    // Test for AlreadyExistException in updateBorrower when another shard holds the new email
+    @Test
+    void testUpdateBorrowerExistsOnOtherShard() {
+        onTwoShardsWithDuplicate();
+        Mockito.when(borrowerRepository.findById(1L)).thenReturn(Optional.of(getBorrower()));
+        BorrowerDto borrowerDto = getBorrowerDto();
+        borrowerDto.setEmail("john.doe@example.com");
+
+        assertThrows(AlreadyExistException.class, () -> borrowerService.updateBorrower(1L, borrowerDto));
+        Mockito.verify(shardRouter).onShards(Mockito.eq(List.of(0)), Mockito.any());
+        Mockito.verify(borrowerRepository, Mockito.never()).save(Mockito.any());
+    }
+
+    // Test for patchBorrower method changing one field
+    @Test
+    void testPatchBorrower() {
+        Borrower borrower = getBorrower();
+        borrower.setVersion(1L);
+        Mockito.when(borrowerRepository.findById(1L)).thenReturn(Optional.of(borrower));
+        Mockito.when(borrowerRepository.save(borrower)).thenReturn(borrower);
+        Mockito.when(libraryMapper.buildBorrowerDtoFromEntity(borrower)).thenReturn(getBorrowerDto());
+
+        borrowerService.patchBorrower(1L, Map.of("email", "gajendrasinh@example.com"), 1L);
+
+        assertEquals("gajendrasinh@example.com", borrower.getEmail());
+        Mockito.verify(borrowerRepository, Mockito.times(1)).save(borrower);
+    }
+
+    // Test for AlreadyExistException in patchBorrower when another shard holds the new email
+    @Test
+    void testPatchBorrowerExistsOnOtherShard() {
+        onTwoShardsWithDuplicate();
+        Borrower borrower = getBorrower();
+        Mockito.when(borrowerRepository.findById(1L)).thenReturn(Optional.of(borrower));
+
+        assertThrows(AlreadyExistException.class,
+                () -> borrowerService.patchBorrower(1L, Map.of("email", "john.doe@example.com"), null));
+        Mockito.verify(shardRouter).onShards(Mockito.eq(List.of(0)), Mockito.any());
+        assertEquals("gajendrasinh.zala93@gmail.com", borrower.getEmail());
+        Mockito.verify(borrowerRepository, Mockito.never()).save(Mockito.any());
+    }
+
+    // Test for patchBorrower method throwing PreconditionFailedException
+    @Test
+    void testPatchBorrowerVersionMismatch() {
+        Borrower borrower = getBorrower();
+        borrower.setVersion(2L);
+        Mockito.when(borrowerRepository.findById(1L)).thenReturn(Optional.of(borrower));
+
+        assertThrows(PreconditionFailedException.class,
+                () -> borrowerService.patchBorrower(1L, Map.of("name", "John Doe"), 1L));
+        Mockito.verify(borrowerRepository, Mockito.never()).save(Mockito.any());
+    }
+
+    // Test for patchBorrower method throwing BadRequestException for an invalid email
+    @Test
+    void testPatchBorrowerInvalidEmail() {
+        BadRequestException e = assertThrows(BadRequestException.class,
+                () -> borrowerService.patchBorrower(1L, Map.of("email", "not-an-email"), null));
+
+        assertEquals("Email should be valid", e.getMessage());
+        Mockito.verify(borrowerRepository, Mockito.never()).findById(Mockito.anyLong());
+    }
+
     // Test for deleteBorrower method
     @Test
     void testDeleteBorrower() {
-        Borrower borrower = getBorrower();
-        Mockito.when(borrowerRepository.findById(Mockito.anyLong())).thenReturn(Optional.of(borrower));
-        Mockito.doNothing().when(borrowerRepository).delete(Mockito.any());
+        Mockito.when(borrowerRepository.markDeleted(Mockito.eq(1L), Mockito.any())).thenReturn(1);
+        List<BookRecord> books = List.of(getBookRecord(11L), getBookRecord(12L));
+        Mockito.when(bookRepository.findRecordsByBorrowerId(1L)).thenReturn(books);
 
         borrowerService.deleteBorrower(1L);
 
-        Mockito.verify(borrowerRepository, Mockito.times(1)).findById(Mockito.anyLong());
-        Mockito.verify(borrowerRepository, Mockito.times(1)).delete(Mockito.any());
+        Mockito.verify(bookRepository, Mockito.times(1)).markDeleted(Mockito.eq(Set.of(11L, 12L)), Mockito.any());
+        Mockito.verify(borrowerRepository, Mockito.never()).delete(Mockito.any());
+        Mockito.verify(eventPublisher, Mockito.times(1)).publishEvent(new BookBulkEvent(BookEventType.DELETED, books));
+        Mockito.verify(eventPublisher, Mockito.times(1)).publishEvent(Mockito.any(BorrowerEvent.class));
     }
 
     // Test for deleteBorrower method throwing NotFoundException
     @Test
     void testDeleteBorrowerNotFound() {
-        Mockito.when(borrowerRepository.findById(Mockito.anyLong())).thenReturn(Optional.empty());
+        Mockito.when(borrowerRepository.markDeleted(Mockito.eq(1L), Mockito.any())).thenReturn(0);
 
         assertThrows(NotFoundException.class, () -> borrowerService.deleteBorrower(1L));
+        Mockito.verify(bookRepository, Mockito.never()).markDeleted(Mockito.anyCollection(), Mockito.any());
     }
 
     // Helper methods for creating sample Borrower and BorrowerDto
+    private BookRecord getBookRecord(Long id) {
+        return new BookRecord(id, "9780132350884", "Clean Code", "Robert Martin", 1L, LocalDateTime.now(), "main", 1L);
+    }
+
+    private BookDto getBookDto(Long id) {
+        return BookDto.builder()
+                .id(id)
+                .author("Gajendrasinh Zala")
+                .title("Core Java")
+                .isbn("978-0-13-468599-1")
+                .build();
+    }
+
+    /**
+     * Runs the work of one shard directly on two shards, the other shard reporting a duplicate borrower.
+     */
+    private void onTwoShardsWithDuplicate() {
+        ReflectionTestUtils.setField(shardRouter, "shardCount", 2);
+        Mockito.doAnswer(invocation -> invocation.<IntFunction<?>>getArgument(1).apply(invocation.getArgument(0)))
+                .when(shardRouter).onShard(Mockito.anyInt(), Mockito.any());
+        Mockito.doReturn(List.of(true)).when(shardRouter).onShards(Mockito.any(), Mockito.any());
+    }
+
     private Borrower getBorrower() {
         return Borrower.builder()
                 .id(1L)
                 .name("Gajendrasinh Zala")
                 .email("gajendrasinh.zala93@gmail.com")
-                .books(Collections.emptySet())
                 .build();
     }
 
@@ -0,0 +1,178 @@
+package com.librarymanagementsystem.service;
+
+import com.librarymanagementsystem.catalog.BookRecord;
+import com.librarymanagementsystem.dto.LibraryStatsDto;
+import com.librarymanagementsystem.event.BookEvent;
+import com.librarymanagementsystem.event.BookEventType;
+import com.librarymanagementsystem.event.BorrowerEvent;
+import com.librarymanagementsystem.event.BorrowerEventType;
+import com.librarymanagementsystem.repository.BookRepository;
+import com.librarymanagementsystem.repository.BorrowerRepository;
+import com.librarymanagementsystem.repository.projection.BorrowerLoanCountView;
+import com.librarymanagementsystem.repository.projection.BranchBookCountView;
+import com.librarymanagementsystem.repository.projection.BranchBorrowerCountView;
+import com.librarymanagementsystem.service.impl.LibraryStatsServiceImpl;
+import com.librarymanagementsystem.sharding.BorrowerShardRouter;
+import com.librarymanagementsystem.tenancy.BranchContext;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Set;
+
+@ExtendWith(MockitoExtension.class)
+public class LibraryStatsServiceTest {
+
+    @InjectMocks
+    private LibraryStatsServiceImpl service;
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private BorrowerRepository borrowerRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private BorrowerShardRouter shardRouter = new BorrowerShardRouter();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(shardRouter, "transactionManager", transactionManager);
+    }
+
+    // Test for the counters maintained from book and borrower events
+    @Test
+    void testEventsUpdateCounters() {
+        service.onBorrowerEvent(new BorrowerEvent(BorrowerEventType.CREATED, 1L, Set.of(), "main"));
+        service.onBookEvent(new BookEvent(BookEventType.CREATED, getBookRecord(10L, null), null));
+        service.onBookEvent(new BookEvent(BookEventType.CREATED, getBookRecord(11L, null), null));
+        service.onBookEvent(new BookEvent(BookEventType.BORROWED, getBookRecord(10L, 1L), 1L));
+        service.onBookEvent(new BookEvent(BookEventType.BORROWED, getBookRecord(11L, 1L), 1L));
+        service.onBookEvent(new BookEvent(BookEventType.RETURNED, getBookRecord(11L, null), 1L));
+
+        LibraryStatsDto stats = getStats("main");
+
+        Assertions.assertEquals(2, stats.getTotalBooks());
+        Assertions.assertEquals(1, stats.getBooksOnLoan());
+        Assertions.assertEquals(1, stats.getAvailableBooks());
+        Assertions.assertEquals(1, stats.getBorrowers());
+        Assertions.assertEquals(1, stats.getBorrowersWithActiveLoans());
+
+        service.onBorrowerEvent(new BorrowerEvent(BorrowerEventType.DELETED, 1L, Set.of(10L), "main"));
+        stats = getStats("main");
+
+        Assertions.assertEquals(1, stats.getTotalBooks());
+        Assertions.assertEquals(0, stats.getBooksOnLoan());
+        Assertions.assertEquals(0, stats.getBorrowers());
+        Assertions.assertEquals(0, stats.getBorrowersWithActiveLoans());
+        Assertions.assertEquals(0, getStats("north").getTotalBooks());
+        Mockito.verifyNoInteractions(bookRepository, borrowerRepository);
+    }
+
+    // Test for reconcile method correcting drifted counters of every branch
+    @Test
+    void testReconcile() {
+        service.onBookEvent(new BookEvent(BookEventType.CREATED, getBookRecord(10L, null), null));
+        Mockito.when(bookRepository.countBooksByBranch())
+                .thenReturn(List.of(getBookCount("main", 5L, 3L), getBookCount("north", 2L, 0L)));
+        Mockito.when(borrowerRepository.countByBranch())
+                .thenReturn(List.of(getBorrowerCount("main", 4L)));
+        Mockito.when(bookRepository.findLoanCountsByBorrower())
+                .thenReturn(List.of(getLoanCount("main", 1L, 2L), getLoanCount("main", 2L, 1L)));
+
+        service.reconcile();
+        LibraryStatsDto stats = getStats("main");
+
+        Assertions.assertEquals(5, stats.getTotalBooks());
+        Assertions.assertEquals(3, stats.getBooksOnLoan());
+        Assertions.assertEquals(2, stats.getAvailableBooks());
+        Assertions.assertEquals(4, stats.getBorrowers());
+        Assertions.assertEquals(2, stats.getBorrowersWithActiveLoans());
+        Assertions.assertNotNull(stats.getReconciledOn());
+
+        stats = getStats("north");
+        Assertions.assertEquals(2, stats.getTotalBooks());
+        Assertions.assertEquals(0, stats.getBorrowers());
+    }
+
+    private LibraryStatsDto getStats(String branchId) {
+        try (BranchContext.Scope scope = BranchContext.open(branchId)) {
+            return service.getStats();
+        }
+    }
+
+    private BookRecord getBookRecord(Long id, Long borrowerId) {
+        return BookRecord.builder()
+                .id(id)
+                .isbn("978-0-13-468599-1")
+                .title("Core Java")
+                .author("Gajendrasinh Zala")
+                .borrowerId(borrowerId)
+                .branchId("main")
+                .build();
+    }
+
+    private BranchBookCountView getBookCount(String branchId, Long books, Long onLoan) {
+        return new BranchBookCountView() {
+            @Override
+            public String getBranchId() {
+                return branchId;
+            }
+
+            @Override
+            public Long getBooks() {
+                return books;
+            }
+
+            @Override
+            public Long getOnLoan() {
+                return onLoan;
+            }
+        };
+    }
+
+    private BranchBorrowerCountView getBorrowerCount(String branchId, Long borrowers) {
+        return new BranchBorrowerCountView() {
+            @Override
+            public String getBranchId() {
+                return branchId;
+            }
+
+            @Override
+            public Long getBorrowers() {
+                return borrowers;
+            }
+        };
+    }
+
+    private BorrowerLoanCountView getLoanCount(String branchId, Long borrowerId, Long loans) {
+        return new BorrowerLoanCountView() {
+            @Override
+            public String getBranchId() {
+                return branchId;
+            }
+
+            @Override
+            public Long getBorrowerId() {
+                return borrowerId;
+            }
+
+            @Override
+            public Long getLoans() {
+                return loans;
+            }
+        };
+    }
+}
@@ -0,0 +1,156 @@
+package com.librarymanagementsystem.service;
+
+import com.librarymanagementsystem.model.JobCheckpoint;
+import com.librarymanagementsystem.model.OutboxEvent;
+import com.librarymanagementsystem.outbox.OutboxSink;
+import com.librarymanagementsystem.repository.JobCheckpointRepository;
+import com.librarymanagementsystem.repository.OutboxEventRepository;
+import com.librarymanagementsystem.service.impl.OutboxRelayServiceImpl;
+import com.librarymanagementsystem.sharding.BorrowerShardRouter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@ExtendWith(MockitoExtension.class)
+public class OutboxRelayServiceTest {
+
+    @InjectMocks
+    private OutboxRelayServiceImpl service;
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private JobCheckpointRepository checkpointRepository;
+
+    @Mock
+    private OutboxSink sink;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private BorrowerShardRouter shardRouter = new BorrowerShardRouter();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(shardRouter, "transactionManager", transactionManager);
+    }
+
+    // Test for relay method delivering batches in order and advancing the checkpoint after each
+    @Test
+    void testRelayInBatches() {
+        ReflectionTestUtils.setField(service, "batchSize", 2);
+        JobCheckpoint checkpoint = getCheckpoint(0L);
+        Mockito.when(checkpointRepository.existsById("outbox-relay-0")).thenReturn(true);
+        Mockito.when(checkpointRepository.findAndLock("outbox-relay-0")).thenReturn(Optional.of(checkpoint));
+        Mockito.when(checkpointRepository.findById("outbox-relay-0")).thenReturn(Optional.of(checkpoint));
+        Mockito.when(outboxEventRepository.findBatch(Mockito.eq(0L), Mockito.any()))
+                .thenReturn(List.of(getOutboxEvent(1L), getOutboxEvent(2L)));
+        Mockito.when(outboxEventRepository.findBatch(Mockito.eq(2L), Mockito.any()))
+                .thenReturn(List.of(getOutboxEvent(3L)));
+
+        int relayed = service.relay();
+
+        Assertions.assertEquals(3, relayed);
+        Assertions.assertEquals(3L, checkpoint.getLastProcessedId());
+        Mockito.verify(sink, Mockito.times(2)).send(Mockito.eq(0), Mockito.anyList());
+        Mockito.verify(checkpointRepository, Mockito.times(2)).save(checkpoint);
+        Mockito.verify(outboxEventRepository).deleteRelayed(Mockito.eq(3L), Mockito.any());
+    }
+
+    // Test for relay method holding back the events after an id whose transaction may still commit
+    @Test
+    void testRelayStopsAtOpenGap() {
+        JobCheckpoint checkpoint = getCheckpoint(0L);
+        Mockito.when(checkpointRepository.existsById("outbox-relay-0")).thenReturn(true);
+        Mockito.when(checkpointRepository.findAndLock("outbox-relay-0")).thenReturn(Optional.of(checkpoint));
+        Mockito.when(checkpointRepository.findById("outbox-relay-0")).thenReturn(Optional.of(checkpoint));
+        List<OutboxEvent> batch = List.of(getOutboxEvent(1L), getOutboxEvent(2L), getOutboxEvent(4L, LocalDateTime.now()));
+        Mockito.when(outboxEventRepository.findBatch(Mockito.eq(0L), Mockito.any())).thenReturn(batch);
+
+        int relayed = service.relay();
+
+        Assertions.assertEquals(2, relayed);
+        Assertions.assertEquals(2L, checkpoint.getLastProcessedId());
+        Mockito.verify(sink).send(0, batch.subList(0, 2));
+    }
+
+    // Test for relay method skipping an id that stayed missing for longer than the gap timeout
+    @Test
+    void testRelaySkipsExpiredGap() {
+        JobCheckpoint checkpoint = getCheckpoint(2L);
+        Mockito.when(checkpointRepository.existsById("outbox-relay-0")).thenReturn(true);
+        Mockito.when(checkpointRepository.findAndLock("outbox-relay-0")).thenReturn(Optional.of(checkpoint));
+        Mockito.when(checkpointRepository.findById("outbox-relay-0")).thenReturn(Optional.of(checkpoint));
+        Mockito.when(outboxEventRepository.findBatch(Mockito.eq(2L), Mockito.any()))
+                .thenReturn(List.of(getOutboxEvent(4L, LocalDateTime.now().minusMinutes(5)), getOutboxEvent(5L)));
+
+        int relayed = service.relay();
+
+        Assertions.assertEquals(2, relayed);
+        Assertions.assertEquals(5L, checkpoint.getLastProcessedId());
+    }
+
+    // Test for relay method keeping the checkpoint when the sink fails
+    @Test
+    void testRelaySinkFailure() {
+        JobCheckpoint checkpoint = getCheckpoint(5L);
+        Mockito.when(checkpointRepository.existsById("outbox-relay-0")).thenReturn(true);
+        Mockito.when(checkpointRepository.findAndLock("outbox-relay-0")).thenReturn(Optional.of(checkpoint));
+        Mockito.when(outboxEventRepository.findBatch(Mockito.eq(5L), Mockito.any()))
+                .thenReturn(List.of(getOutboxEvent(6L)));
+        Mockito.doThrow(new IllegalStateException("disk full")).when(sink).send(Mockito.eq(0), Mockito.anyList());
+
+        Assertions.assertThrows(IllegalStateException.class, () -> service.relay());
+
+        Assertions.assertEquals(5L, checkpoint.getLastProcessedId());
+        Mockito.verify(checkpointRepository, Mockito.never()).save(Mockito.any());
+    }
+
+    // Test for relay method skipping a database whose checkpoint is locked by another node
+    @Test
+    void testRelayLockedByAnotherNode() {
+        Mockito.when(checkpointRepository.existsById("outbox-relay-0")).thenReturn(false);
+        Mockito.when(checkpointRepository.findAndLock("outbox-relay-0")).thenReturn(Optional.empty());
+
+        int relayed = service.relay();
+
+        Assertions.assertEquals(0, relayed);
+        Mockito.verify(checkpointRepository).save(Mockito.argThat(saved -> saved.getLastProcessedId() == 0L));
+        Mockito.verify(outboxEventRepository, Mockito.never()).findBatch(Mockito.any(), Mockito.any());
+        Mockito.verifyNoInteractions(sink);
+    }
+
+    private JobCheckpoint getCheckpoint(Long lastProcessedId) {
+        return JobCheckpoint.builder().jobName("outbox-relay-0").lastProcessedId(lastProcessedId).build();
+    }
+
+    private OutboxEvent getOutboxEvent(Long id) {
+        return getOutboxEvent(id, LocalDateTime.now().minusMinutes(1));
+    }
+
+    private OutboxEvent getOutboxEvent(Long id, LocalDateTime createdOn) {
+        return OutboxEvent.builder()
+                .id(id)
+                .aggregateType("BOOK")
+                .aggregateId(12345L)
+                .eventType("BORROWED")
+                .branchId("main")
+                .payload("{}")
+                .createdOn(createdOn)
+                .build();
+    }
+}
@@ -0,0 +1,89 @@
+package com.librarymanagementsystem.service;
+
+import com.librarymanagementsystem.model.JobCheckpoint;
+import com.librarymanagementsystem.repository.BookRepository;
+import com.librarymanagementsystem.repository.JobCheckpointRepository;
+import com.librarymanagementsystem.repository.projection.LoanView;
+import com.librarymanagementsystem.service.impl.OverdueLoanServiceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+@ExtendWith(MockitoExtension.class)
+public class OverdueLoanServiceTest {
+
+    @InjectMocks
+    private OverdueLoanServiceImpl service;
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private JobCheckpointRepository checkpointRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    // Test for scanOverdueLoans method
+    @Test
+    void testScanOverdueLoans() {
+        LocalDateTime now = LocalDateTime.now();
+        Mockito.when(checkpointRepository.findById(Mockito.anyString())).thenReturn(Optional.empty());
+        Mockito.when(checkpointRepository.save(Mockito.any())).thenAnswer(invocation -> invocation.getArgument(0));
+        Mockito.when(bookRepository.findOverdueLoans(Mockito.eq(0L), Mockito.any(), Mockito.any()))
+                .thenReturn(List.of(getLoan(1L, now.minusDays(3)), getLoan(2L, now.minusDays(3))));
+        Mockito.when(bookRepository.findOverdueLoans(Mockito.eq(2L), Mockito.any(), Mockito.any()))
+                .thenReturn(Collections.emptyList());
+        Mockito.when(bookRepository.markOverdue(Mockito.anyCollection(), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(2);
+
+        long marked = service.scanOverdueLoans();
+
+        Assertions.assertEquals(2, marked);
+        Mockito.verify(bookRepository, Mockito.times(1)).markOverdue(Mockito.eq(List.of(1L, 2L)), Mockito.eq(new BigDecimal("1.50")), Mockito.any(), Mockito.any());
+    }
+
+    // Test for resuming scanOverdueLoans from a checkpoint
+    @Test
+    void testScanOverdueLoansResumesFromCheckpoint() {
+        JobCheckpoint checkpoint = JobCheckpoint.builder()
+                .jobName("overdue-loan-scan")
+                .lastProcessedId(42L)
+                .runStartedOn(LocalDateTime.now())
+                .build();
+        Mockito.when(checkpointRepository.findById(Mockito.anyString())).thenReturn(Optional.of(checkpoint));
+        Mockito.when(checkpointRepository.save(Mockito.any())).thenAnswer(invocation -> invocation.getArgument(0));
+        Mockito.when(bookRepository.findOverdueLoans(Mockito.eq(42L), Mockito.any(), Mockito.any()))
+                .thenReturn(Collections.emptyList());
+
+        long marked = service.scanOverdueLoans();
+
+        Assertions.assertEquals(0, marked);
+        Assertions.assertEquals(0L, checkpoint.getLastProcessedId());
+        Mockito.verify(bookRepository, Mockito.never()).findOverdueLoans(Mockito.eq(0L), Mockito.any(), Mockito.any());
+    }
+
+    private LoanView getLoan(Long id, LocalDateTime dueDate) {
+        return new LoanView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getDueDate() {
+                return dueDate;
+            }
+        };
+    }
+}
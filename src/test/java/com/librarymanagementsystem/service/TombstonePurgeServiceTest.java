@@ -0,0 +1,64 @@
+package com.librarymanagementsystem.service;
+
+import com.librarymanagementsystem.repository.BookRepository;
+import com.librarymanagementsystem.repository.BorrowerRepository;
+import com.librarymanagementsystem.service.impl.TombstonePurgeServiceImpl;
+import com.librarymanagementsystem.sharding.BorrowerShardRouter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+public class TombstonePurgeServiceTest {
+
+    @InjectMocks
+    private TombstonePurgeServiceImpl service;
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private BorrowerRepository borrowerRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private BorrowerShardRouter shardRouter = new BorrowerShardRouter();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(shardRouter, "transactionManager", transactionManager);
+    }
+
+    // Test for purge method running batches until a short batch
+    @Test
+    void testPurgeInBatches() {
+        ReflectionTestUtils.setField(service, "batchSize", 2);
+        Mockito.when(bookRepository.purgeDeleted(Mockito.any(), Mockito.eq(2))).thenReturn(2, 2, 1);
+        Mockito.when(borrowerRepository.purgeDeleted(Mockito.any(), Mockito.eq(2))).thenReturn(0);
+
+        int purged = service.purge();
+
+        Assertions.assertEquals(5, purged);
+        Mockito.verify(bookRepository, Mockito.times(3)).purgeDeleted(Mockito.any(), Mockito.eq(2));
+        Mockito.verify(borrowerRepository, Mockito.times(1)).purgeDeleted(Mockito.any(), Mockito.eq(2));
+    }
+
+    // Test for purge method with nothing to purge
+    @Test
+    void testPurgeNothing() {
+        Mockito.when(bookRepository.purgeDeleted(Mockito.any(), Mockito.anyInt())).thenReturn(0);
+        Mockito.when(borrowerRepository.purgeDeleted(Mockito.any(), Mockito.anyInt())).thenReturn(0);
+
+        Assertions.assertEquals(0, service.purge());
+    }
+}
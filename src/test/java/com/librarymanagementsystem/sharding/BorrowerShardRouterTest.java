@@ -0,0 +1,104 @@
+package com.librarymanagementsystem.sharding;
+
+import com.librarymanagementsystem.tenancy.BranchContext;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.stream.IntStream;
+
+public class BorrowerShardRouterTest {
+
+    private ShardRoutingDataSource dataSource;
+
+    private BorrowerShardRouter router;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new ShardRoutingDataSource(IntStream.range(0, 3)
+                .mapToObj(shard -> (DataSource) new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build())
+                .toList());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        for (int shard = 0; shard < 3; shard++) {
+            try (ShardContext.Scope scope = ShardContext.open(shard)) {
+                jdbcTemplate.execute("create table shard_name (name varchar(10))");
+                jdbcTemplate.update("insert into shard_name values (?)", "shard-" + shard);
+            }
+        }
+
+        router = new BorrowerShardRouter();
+        ReflectionTestUtils.setField(router, "dataSource", dataSource);
+        ReflectionTestUtils.setField(router, "entityManagerFactory", Mockito.mock(EntityManagerFactory.class));
+        ReflectionTestUtils.setField(router, "transactionManager", new DataSourceTransactionManager(dataSource));
+        router.init();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        router.shutdown();
+        dataSource.close();
+    }
+
+    // Test for shardOf method deriving the owning shard from the borrower id
+    @Test
+    void testShardOf() {
+        Assertions.assertEquals(3, router.getShardCount());
+        Assertions.assertEquals(0, router.shardOf(3L));
+        Assertions.assertEquals(1, router.shardOf(4L));
+        Assertions.assertEquals(2, router.shardOf(5L));
+    }
+
+    // Test for shardFor method placing the borrowers of a branch with the same email on the same shard
+    @Test
+    void testShardFor() {
+        int shard = router.shardFor("north", "john.doe@example.com");
+        Assertions.assertTrue(shard >= 0 && shard < 3);
+        Assertions.assertEquals(shard, router.shardFor("north", "john.doe@example.com"));
+        Assertions.assertEquals(3, IntStream.range(0, 30)
+                .map(i -> router.shardFor("north", "reader" + i + "@example.com")).distinct().count());
+    }
+
+    // Test for onShardOf method running on the database of the owning shard
+    @Test
+    void testOnShardOf() {
+        Assertions.assertEquals("shard-1", router.onShardOf(7L, shard -> readShardName()));
+        Assertions.assertEquals("shard-0", readShardName());
+    }
+
+    // Test for onEveryShard method gathering the results of all shards with the caller's branch
+    @Test
+    void testOnEveryShard() {
+        try (BranchContext.Scope scope = BranchContext.open("north")) {
+            List<String> results = router.onEveryShard(shard -> readShardName() + "@" + BranchContext.current());
+
+            Assertions.assertEquals(List.of("shard-0@north", "shard-1@north", "shard-2@north"), results);
+        }
+    }
+
+    // Test for onShards method rethrowing the failure of a shard
+    @Test
+    void testOnShardsFailure() {
+        Assertions.assertThrows(IllegalStateException.class, () -> router.onShards(List.of(0, 2), shard -> {
+            if (shard == 2) {
+                throw new IllegalStateException("shard down");
+            }
+            return readShardName();
+        }));
+    }
+
+    private String readShardName() {
+        return jdbcTemplate.queryForObject("select name from shard_name", String.class);
+    }
+}
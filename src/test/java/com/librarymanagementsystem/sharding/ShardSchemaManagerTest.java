@@ -0,0 +1,67 @@
+package com.librarymanagementsystem.sharding;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.stream.IntStream;
+
+public class ShardSchemaManagerTest {
+
+    private ShardRoutingDataSource dataSource;
+
+    private ShardSchemaManager schemaManager;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new ShardRoutingDataSource(IntStream.range(0, 3)
+                .mapToObj(shard -> (DataSource) new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build())
+                .toList());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        for (int shard = 0; shard < 3; shard++) {
+            try (ShardContext.Scope scope = ShardContext.open(shard)) {
+                jdbcTemplate.execute("create table borrower (id bigint generated by default as identity primary key, "
+                        + "name varchar(20))");
+            }
+        }
+
+        schemaManager = new ShardSchemaManager();
+        ReflectionTestUtils.setField(schemaManager, "dataSource", dataSource);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        dataSource.close();
+    }
+
+    // Test for alignIdentities method making every shard hand out only the ids it owns
+    @Test
+    void testAlignIdentities() {
+        try (ShardContext.Scope scope = ShardContext.open(0)) {
+            jdbcTemplate.update("insert into borrower (name) values ('a'), ('b')");
+        }
+
+        schemaManager.alignIdentities("borrower");
+        schemaManager.alignIdentities("borrower");
+
+        Assertions.assertEquals(List.of(3L, 6L), insertTwo(0));
+        Assertions.assertEquals(List.of(1L, 4L), insertTwo(1));
+        Assertions.assertEquals(List.of(2L, 5L), insertTwo(2));
+    }
+
+    private List<Long> insertTwo(int shard) {
+        try (ShardContext.Scope scope = ShardContext.open(shard)) {
+            jdbcTemplate.update("insert into borrower (name) values ('x'), ('y')");
+            return jdbcTemplate.queryForList("select id from borrower where name <> 'a' and name <> 'b' order by id", Long.class);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.librarymanagementsystem.tenancy;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class BranchContextTest {
+
+    // Test for nested scopes restoring the previous branch on close
+    @Test
+    void testOpenRestoresPreviousBranch() {
+        Assertions.assertNull(BranchContext.current());
+        try (BranchContext.Scope outer = BranchContext.open("main")) {
+            try (BranchContext.Scope inner = BranchContext.open("north")) {
+                Assertions.assertEquals("north", BranchContext.current());
+            }
+            Assertions.assertEquals("main", BranchContext.current());
+        }
+        Assertions.assertNull(BranchContext.current());
+    }
+
+    // Test for isValid method
+    @Test
+    void testIsValid() {
+        Assertions.assertTrue(BranchContext.isValid("north-1_b"));
+        Assertions.assertFalse(BranchContext.isValid(""));
+        Assertions.assertFalse(BranchContext.isValid("bad!"));
+        Assertions.assertFalse(BranchContext.isValid("x".repeat(33)));
+        Assertions.assertFalse(BranchContext.isValid(null));
+    }
+}
@@ -0,0 +1,60 @@
+package com.librarymanagementsystem.trending;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+public class HeavyHitterWindowTest {
+
+    private static final long NOW = Duration.ofDays(20000).toMillis();
+
+    // Test for ranking the most recorded keys of a window
+    @Test
+    void testTop() {
+        HeavyHitterWindow window = new HeavyHitterWindow(TrendingWindow.HOUR, 1024, 4, 3);
+        record(window, 7L, 5, NOW);
+        record(window, 8L, 3, NOW);
+        record(window, 9L, 1, NOW);
+        record(window, 10L, 4, NOW);
+
+        List<HeavyHitter> top = window.top(2, NOW);
+
+        Assertions.assertEquals(List.of(new HeavyHitter(7L, 5), new HeavyHitter(10L, 4)), top);
+    }
+
+    // Test for summing the buckets of a window and dropping expired buckets
+    @Test
+    void testBucketsExpire() {
+        HeavyHitterWindow window = new HeavyHitterWindow(TrendingWindow.HOUR, 1024, 4, 10);
+        long fiveMinutes = Duration.ofMinutes(5).toMillis();
+        record(window, 7L, 2, NOW);
+        record(window, 7L, 3, NOW + fiveMinutes);
+
+        Assertions.assertEquals(List.of(new HeavyHitter(7L, 5)), window.top(10, NOW + fiveMinutes));
+        Assertions.assertEquals(List.of(new HeavyHitter(7L, 3)), window.top(10, NOW + 12 * fiveMinutes));
+
+        record(window, 8L, 1, NOW + 13 * fiveMinutes);
+        Assertions.assertEquals(List.of(new HeavyHitter(8L, 1)), window.top(10, NOW + 13 * fiveMinutes));
+    }
+
+    // Test for the estimates of the sketch
+    @Test
+    void testCountMinSketch() {
+        CountMinSketch sketch = new CountMinSketch(1000, 4);
+        for (long key = 0; key < 500; key++) {
+            sketch.add(key);
+        }
+        sketch.add(42L);
+
+        Assertions.assertTrue(sketch.estimate(42L) >= 2);
+        Assertions.assertTrue(sketch.estimate(999_999L) <= 2);
+    }
+
+    private void record(HeavyHitterWindow window, long key, int times, long nowMillis) {
+        for (int i = 0; i < times; i++) {
+            window.record(key, nowMillis);
+        }
+    }
+}